@@ -39,12 +39,44 @@ public final class AlertConfig implements Validator {
 
     private int port;
 
-    private int waitTimeout;
+    private static final int DEFAULT_WAIT_TIMEOUT_MILLIS = 60_000;
+
+    /**
+     * Mark each alert as failed if it is not sent after x milliseconds, the sending will be cancelled.
+     */
+    private int waitTimeout = DEFAULT_WAIT_TIMEOUT_MILLIS;
 
     private Duration maxHeartbeatInterval = Duration.ofSeconds(60);
 
     private String alertServerAddress;
 
+    /**
+     * The max number of threads used to send alerts of each alert plugin, so a slow plugin will not block the alerts
+     * sent by the other plugins.
+     */
+    private int senderThreadsPerPlugin = 4;
+
+    /**
+     * The max number of alerts waiting to be sent by each alert plugin, once full the alerts will be marked as failed.
+     */
+    private int senderQueueCapacityPerPlugin = 100;
+
+    /**
+     * The expire time of the cached plugin instances bound to an alert group.
+     */
+    private Duration alertGroupCacheExpireTime = Duration.ofSeconds(10);
+
+    /**
+     * The number of threads used to post the listener events, the events of the same workflow instance are posted by
+     * one thread in order.
+     */
+    private int listenerEventPostThreads = 4;
+
+    /**
+     * Whether to post the events of the same workflow instance fetched in one round as one message.
+     */
+    private boolean listenerEventCoalesceEnabled = false;
+
     @Override
     public boolean supports(Class<?> clazz) {
         return AlertConfig.class.isAssignableFrom(clazz);
@@ -58,6 +90,28 @@ public final class AlertConfig implements Validator {
             errors.rejectValue("max-heartbeat-interval", null, "should be a valid duration");
         }
 
+        if (waitTimeout <= 0) {
+            log.warn("The alert wait-timeout: {} is not positive, will use the default value: {}", waitTimeout,
+                    DEFAULT_WAIT_TIMEOUT_MILLIS);
+            alertConfig.setWaitTimeout(DEFAULT_WAIT_TIMEOUT_MILLIS);
+        }
+
+        if (senderThreadsPerPlugin <= 0) {
+            errors.rejectValue("sender-threads-per-plugin", null, "should be a positive value");
+        }
+
+        if (senderQueueCapacityPerPlugin <= 0) {
+            errors.rejectValue("sender-queue-capacity-per-plugin", null, "should be a positive value");
+        }
+
+        if (listenerEventPostThreads <= 0) {
+            errors.rejectValue("listener-event-post-threads", null, "should be a positive value");
+        }
+
+        if (alertGroupCacheExpireTime.isNegative()) {
+            errors.rejectValue("alert-group-cache-expire-time", null, "should not be negative");
+        }
+
         if (StringUtils.isEmpty(alertServerAddress)) {
             alertConfig.setAlertServerAddress(NetUtils.getAddr(alertConfig.getPort()));
         }
@@ -68,6 +122,12 @@ public final class AlertConfig implements Validator {
     private void printConfig() {
         log.info("Alert config: port -> {}", port);
         log.info("Alert config: alertServerAddress -> {}", alertServerAddress);
+        log.info("Alert config: waitTimeout -> {}", waitTimeout);
         log.info("Alert config: maxHeartbeatInterval -> {}", maxHeartbeatInterval);
+        log.info("Alert config: senderThreadsPerPlugin -> {}", senderThreadsPerPlugin);
+        log.info("Alert config: senderQueueCapacityPerPlugin -> {}", senderQueueCapacityPerPlugin);
+        log.info("Alert config: alertGroupCacheExpireTime -> {}", alertGroupCacheExpireTime);
+        log.info("Alert config: listenerEventPostThreads -> {}", listenerEventPostThreads);
+        log.info("Alert config: listenerEventCoalesceEnabled -> {}", listenerEventCoalesceEnabled);
     }
 }
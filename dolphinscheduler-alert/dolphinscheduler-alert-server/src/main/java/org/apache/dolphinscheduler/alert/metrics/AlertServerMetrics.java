@@ -17,12 +17,14 @@
 
 package org.apache.dolphinscheduler.alert.metrics;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import lombok.experimental.UtilityClass;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @UtilityClass
 public class AlertServerMetrics {
@@ -39,12 +41,34 @@ public class AlertServerMetrics {
                     .description("Alert failure count")
                     .register(Metrics.globalRegistry);
 
+    private final Timer listenerEventPostLagTimer =
+            Timer.builder("ds.alert.listener.event.post.lag")
+                    .description("The time from the listener event is created to it is posted")
+                    .register(Metrics.globalRegistry);
+
     public void registerPendingAlertGauge(final Supplier<Number> supplier) {
         Gauge.builder("ds.alert.pending", supplier)
                 .description("Number of pending alert")
                 .register(Metrics.globalRegistry);
     }
 
+    public void registerSenderQueueGauge(final int pluginDefineId, final Supplier<Number> supplier) {
+        Gauge.builder("ds.alert.sender.queue.size", supplier)
+                .description("Number of alerts waiting to be sent by the alert plugin")
+                .tag("plugin_define_id", String.valueOf(pluginDefineId))
+                .register(Metrics.globalRegistry);
+    }
+
+    public void registerListenerEventBacklogGauge(final Supplier<Number> supplier) {
+        Gauge.builder("ds.alert.listener.event.backlog", supplier)
+                .description("Number of listener events waiting to be posted")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void recordListenerEventPostLag(final long milliseconds) {
+        listenerEventPostLagTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
     public static void registerUncachedException(final Supplier<Number> supplier) {
         Gauge.builder("ds.alert.uncached.exception", supplier)
                 .description("number of uncached exception")
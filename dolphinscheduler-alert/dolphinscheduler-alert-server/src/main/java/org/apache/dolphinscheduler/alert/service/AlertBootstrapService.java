@@ -44,15 +44,26 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
-import javax.annotation.Nullable;
-
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -64,6 +75,8 @@ import com.google.common.collect.Lists;
 @Slf4j
 public final class AlertBootstrapService extends BaseDaemonThread implements AutoCloseable {
 
+    private static final long SENDER_THREAD_KEEP_ALIVE_SECONDS = 60L;
+
     @Autowired
     private AlertDao alertDao;
     @Autowired
@@ -71,6 +84,27 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
     @Autowired
     private AlertConfig alertConfig;
 
+    /**
+     * pluginDefineId -> the executor to send the alerts of the plugin
+     */
+    private final Map<Integer, ThreadPoolExecutor> senderExecutors = new ConcurrentHashMap<>();
+
+    /**
+     * alertGroupId -> the plugin instances bound to the alert group
+     */
+    private final Map<Integer, CachedAlertGroupInstances> alertGroupInstancesCache = new ConcurrentHashMap<>();
+
+    /**
+     * the ids of the alerts which are sending, their results are not written yet
+     */
+    private final Set<Integer> sendingAlertIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * mark the sending alerts as failed once timeout
+     */
+    private final ScheduledExecutorService timeoutScheduler = Executors.newSingleThreadScheduledExecutor(
+            ThreadUtils.newDaemonThreadFactory("AlertSendTimeoutThread"));
+
     public AlertBootstrapService() {
         super("AlertBootstrapService");
     }
@@ -80,13 +114,7 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
         log.info("Alert sender thread started");
         while (!ServerLifeCycleManager.isStopped()) {
             try {
-                List<Alert> alerts = alertDao.listPendingAlerts();
-                if (CollectionUtils.isEmpty(alerts)) {
-                    log.debug("There is not waiting alerts");
-                    continue;
-                }
-                AlertServerMetrics.registerPendingAlertGauge(alerts::size);
-                this.send(alerts);
+                this.sendPendingAlerts();
             } catch (Exception e) {
                 log.error("Alert sender thread meet an exception", e);
             } finally {
@@ -96,53 +124,131 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
         log.info("Alert sender thread stopped");
     }
 
-    public void send(List<Alert> alerts) {
+    /**
+     * Fetch the pending alerts page by page in the order of id and send them. The pages whose alerts are all still
+     * sending are skipped, so the alerts blocked by a slow plugin will not occupy the fetch window of the others.
+     */
+    public void sendPendingAlerts() {
+        int minAlertId = 0;
+        while (true) {
+            List<Alert> alerts = alertDao.listPendingAlerts(minAlertId);
+            if (CollectionUtils.isEmpty(alerts)) {
+                log.debug("There is not waiting alerts");
+                return;
+            }
+            if (minAlertId == 0) {
+                AlertServerMetrics.registerPendingAlertGauge(alerts::size);
+            }
+            if (this.send(alerts) > 0) {
+                return;
+            }
+            minAlertId = alerts.get(alerts.size() - 1).getId();
+        }
+    }
+
+    /**
+     * Send the alerts to the plugin instances bound to the alert group, the alerts are sent concurrently by the sender
+     * executor of each plugin. The send result of each alert is written in its own transaction once all of its plugin
+     * instances have finished, so a slow or failed alert will not delay or roll back the others.
+     * <p> The alerts which are still sending are skipped, they will be written once finished. The alerts rejected by a
+     * full sender executor are not written, they are kept pending and sent again in the next round.
+     *
+     * @return the number of the alerts which are not skipped as still sending
+     */
+    public int send(List<Alert> alerts) {
+        Map<Integer, List<AlertPluginInstance>> alertGroupInstances = new HashMap<>();
+        int handledAlerts = 0;
         for (Alert alert : alerts) {
-            // get alert group from alert
             int alertId = alert.getId();
-            int alertGroupId = Optional.ofNullable(alert.getAlertGroupId()).orElse(0);
-            List<AlertPluginInstance> alertInstanceList = alertDao.listInstanceByAlertGroupId(alertGroupId);
+            if (!sendingAlertIds.add(alertId)) {
+                log.debug("The alert {} is still sending, skip it", alertId);
+                continue;
+            }
+            handledAlerts++;
+            try {
+                // get alert group from alert
+                int alertGroupId = Optional.ofNullable(alert.getAlertGroupId()).orElse(0);
+                List<AlertPluginInstance> alertInstanceList =
+                        alertGroupInstances.computeIfAbsent(alertGroupId, this::getAlertGroupInstances);
+                if (CollectionUtils.isEmpty(alertInstanceList)) {
+                    writeAlertResults(alertId, alertInstanceList, Collections.emptyList());
+                    continue;
+                }
+                if (isAnySenderFull(alertInstanceList)) {
+                    // Don't send the alert to part of the plugin instances, it will be sent to all of them again
+                    log.warn("The alert sender of alert {} is full, will retry in the next round", alertId);
+                    sendingAlertIds.remove(alertId);
+                    continue;
+                }
+                AlertData alertData = AlertData.builder()
+                        .id(alertId)
+                        .content(alert.getContent())
+                        .log(alert.getLog())
+                        .title(alert.getTitle())
+                        .warnType(alert.getWarningType().getCode())
+                        .alertType(alert.getAlertType().getCode())
+                        .build();
+                List<CompletableFuture<AlertResult>> alertResultFutures = new ArrayList<>(alertInstanceList.size());
+                for (AlertPluginInstance instance : alertInstanceList) {
+                    alertResultFutures.add(this.sendAsync(instance, alertData));
+                }
+                CompletableFuture.allOf(alertResultFutures.toArray(new CompletableFuture[0]))
+                        .whenComplete((result, ex) -> {
+                            if (isAnyRejected(alertResultFutures)) {
+                                log.warn("The alert sender of alert {} is full, will retry in the next round",
+                                        alertId);
+                                sendingAlertIds.remove(alertId);
+                                return;
+                            }
+                            writeAlertResults(alertId, alertInstanceList, alertResultFutures);
+                        });
+            } catch (Exception ex) {
+                log.error("Send alert {} error, will retry in the next round", alertId, ex);
+                sendingAlertIds.remove(alertId);
+            }
+        }
+        return handledAlerts;
+    }
+
+    /**
+     * Write the send result of the alert and its send status of each plugin instance in one transaction, the alert
+     * will be sent again in the next round if the write failed.
+     */
+    private void writeAlertResults(int alertId,
+                                   List<AlertPluginInstance> alertInstanceList,
+                                   List<CompletableFuture<AlertResult>> alertResultFutures) {
+        try {
             if (CollectionUtils.isEmpty(alertInstanceList)) {
                 log.error("send alert msg fail,no bind plugin instance.");
                 List<AlertResult> alertResults = Lists.newArrayList(new AlertResult("false",
                         "no bind plugin instance"));
-                alertDao.updateAlert(AlertStatus.EXECUTION_FAILURE, JSONUtils.toJsonString(alertResults), alertId);
-                continue;
+                alertDao.updateAlertAndInsertSendStatus(sentAlert(alertId, AlertStatus.EXECUTION_FAILURE,
+                        alertResults), Collections.emptyList());
+                return;
             }
-            AlertData alertData = AlertData.builder()
-                    .id(alertId)
-                    .content(alert.getContent())
-                    .log(alert.getLog())
-                    .title(alert.getTitle())
-                    .warnType(alert.getWarningType().getCode())
-                    .alertType(alert.getAlertType().getCode())
-                    .build();
-
             int sendSuccessCount = 0;
-            List<AlertSendStatus> alertSendStatuses = new ArrayList<>();
             List<AlertResult> alertResults = new ArrayList<>();
-            for (AlertPluginInstance instance : alertInstanceList) {
-                AlertResult alertResult = this.alertResultHandler(instance, alertData);
-                if (alertResult != null) {
-                    AlertStatus sendStatus = Boolean.parseBoolean(alertResult.getStatus())
-                            ? AlertStatus.EXECUTION_SUCCESS
-                            : AlertStatus.EXECUTION_FAILURE;
-                    AlertSendStatus alertSendStatus = AlertSendStatus.builder()
-                            .alertId(alertId)
-                            .alertPluginInstanceId(instance.getId())
-                            .sendStatus(sendStatus)
-                            .log(JSONUtils.toJsonString(alertResult))
-                            .createTime(new Date())
-                            .build();
-                    alertSendStatuses.add(alertSendStatus);
-                    if (AlertStatus.EXECUTION_SUCCESS.equals(sendStatus)) {
-                        sendSuccessCount++;
-                        AlertServerMetrics.incAlertSuccessCount();
-                    } else {
-                        AlertServerMetrics.incAlertFailCount();
-                    }
-                    alertResults.add(alertResult);
+            List<AlertSendStatus> alertSendStatuses = new ArrayList<>();
+            for (int i = 0; i < alertInstanceList.size(); i++) {
+                AlertResult alertResult = this.awaitAlertResult(alertResultFutures.get(i), alertId);
+                AlertStatus sendStatus = Boolean.parseBoolean(alertResult.getStatus())
+                        ? AlertStatus.EXECUTION_SUCCESS
+                        : AlertStatus.EXECUTION_FAILURE;
+                AlertSendStatus alertSendStatus = AlertSendStatus.builder()
+                        .alertId(alertId)
+                        .alertPluginInstanceId(alertInstanceList.get(i).getId())
+                        .sendStatus(sendStatus)
+                        .log(JSONUtils.toJsonString(alertResult))
+                        .createTime(new Date())
+                        .build();
+                alertSendStatuses.add(alertSendStatus);
+                if (AlertStatus.EXECUTION_SUCCESS.equals(sendStatus)) {
+                    sendSuccessCount++;
+                    AlertServerMetrics.incAlertSuccessCount();
+                } else {
+                    AlertServerMetrics.incAlertFailCount();
                 }
+                alertResults.add(alertResult);
             }
             AlertStatus alertStatus = AlertStatus.EXECUTION_SUCCESS;
             if (sendSuccessCount == 0) {
@@ -150,12 +256,56 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
             } else if (sendSuccessCount < alertInstanceList.size()) {
                 alertStatus = AlertStatus.EXECUTION_PARTIAL_SUCCESS;
             }
-            // we update the alert first to avoid duplicate key in alertSendStatus
-            // this may loss the alertSendStatus if the server restart
-            // todo: use transaction to update these two table
-            alertDao.updateAlert(alertStatus, JSONUtils.toJsonString(alertResults), alertId);
-            alertDao.insertAlertSendStatus(alertSendStatuses);
+            alertDao.updateAlertAndInsertSendStatus(sentAlert(alertId, alertStatus, alertResults), alertSendStatuses);
+        } catch (Exception ex) {
+            log.error("Write the send result of alert {} error, will send it again in the next round", alertId, ex);
+        } finally {
+            sendingAlertIds.remove(alertId);
+        }
+    }
+
+    private boolean isAnySenderFull(List<AlertPluginInstance> alertInstanceList) {
+        for (AlertPluginInstance instance : alertInstanceList) {
+            ThreadPoolExecutor senderExecutor = senderExecutors.get(instance.getPluginDefineId());
+            if (senderExecutor != null && senderExecutor.getQueue().remainingCapacity() == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isAnyRejected(List<CompletableFuture<AlertResult>> alertResultFutures) {
+        for (CompletableFuture<AlertResult> alertResultFuture : alertResultFutures) {
+            if (alertResultFuture.handle((alertResult, ex) -> ex instanceof RejectedExecutionException).join()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Alert sentAlert(int alertId, AlertStatus alertStatus, List<AlertResult> alertResults) {
+        Alert alert = new Alert();
+        alert.setId(alertId);
+        alert.setAlertStatus(alertStatus);
+        alert.setLog(JSONUtils.toJsonString(alertResults));
+        return alert;
+    }
+
+    /**
+     * Get the plugin instances bound to the alert group, the bindings are cached for
+     * {@link AlertConfig#getAlertGroupCacheExpireTime()} to avoid querying them for each alert.
+     */
+    private List<AlertPluginInstance> getAlertGroupInstances(int alertGroupId) {
+        long now = System.currentTimeMillis();
+        CachedAlertGroupInstances cachedAlertGroupInstances = alertGroupInstancesCache.get(alertGroupId);
+        if (cachedAlertGroupInstances != null && cachedAlertGroupInstances.getExpireTime() > now) {
+            return cachedAlertGroupInstances.getAlertInstanceList();
         }
+        List<AlertPluginInstance> alertInstanceList =
+                Optional.ofNullable(alertDao.listInstanceByAlertGroupId(alertGroupId)).orElse(Collections.emptyList());
+        long expireTime = now + alertConfig.getAlertGroupCacheExpireTime().toMillis();
+        alertGroupInstancesCache.put(alertGroupId, new CachedAlertGroupInstances(alertInstanceList, expireTime));
+        return alertInstanceList;
     }
 
     /**
@@ -188,29 +338,33 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
             return new AlertSendResponse(false, sendResponseResults);
         }
 
+        List<CompletableFuture<AlertResult>> alertResultFutures = new ArrayList<>(alertInstanceList.size());
         for (AlertPluginInstance instance : alertInstanceList) {
-            AlertResult alertResult = this.alertResultHandler(instance, alertData);
-            if (alertResult != null) {
-                AlertSendResponse.AlertSendResponseResult alertSendResponseResult =
-                        new AlertSendResponse.AlertSendResponseResult(
-                                Boolean.parseBoolean(alertResult.getStatus()),
-                                alertResult.getMessage());
-                sendResponseStatus = sendResponseStatus && alertSendResponseResult.isSuccess();
-                sendResponseResults.add(alertSendResponseResult);
-            }
+            alertResultFutures.add(this.sendAsync(instance, alertData));
+        }
+        for (CompletableFuture<AlertResult> alertResultFuture : alertResultFutures) {
+            AlertResult alertResult = this.awaitAlertResult(alertResultFuture, alertData.getId());
+            AlertSendResponse.AlertSendResponseResult alertSendResponseResult =
+                    new AlertSendResponse.AlertSendResponseResult(
+                            Boolean.parseBoolean(alertResult.getStatus()),
+                            alertResult.getMessage());
+            sendResponseStatus = sendResponseStatus && alertSendResponseResult.isSuccess();
+            sendResponseResults.add(alertSendResponseResult);
         }
 
         return new AlertSendResponse(sendResponseStatus, sendResponseResults);
     }
 
     /**
-     * alert result handler
+     * Submit the alert to the sender executor of the plugin
      *
      * @param instance  instance
      * @param alertData alertData
-     * @return AlertResult
+     * @return the future of the AlertResult, the AlertResult is completed directly if the alert doesn't need to be sent,
+     *         and is completed as failed once the sending is timeout, the future is completed exceptionally by
+     *         {@link RejectedExecutionException} if the sender executor of the plugin is full
      */
-    private @Nullable AlertResult alertResultHandler(AlertPluginInstance instance, AlertData alertData) {
+    private CompletableFuture<AlertResult> sendAsync(AlertPluginInstance instance, AlertData alertData) {
         String pluginInstanceName = instance.getInstanceName();
         int pluginDefineId = instance.getPluginDefineId();
         Optional<AlertChannel> alertChannelOptional = alertPluginManager.getAlertChannel(instance.getPluginDefineId());
@@ -219,7 +373,7 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
                     pluginInstanceName,
                     pluginDefineId);
             log.error("Alert Plugin {} send error : not found plugin {}", pluginInstanceName, pluginDefineId);
-            return new AlertResult("false", message);
+            return CompletableFuture.completedFuture(new AlertResult("false", message));
         }
         AlertChannel alertChannel = alertChannelOptional.get();
 
@@ -235,7 +389,7 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
         if (warningType == null) {
             String message = String.format("Alert Plugin %s send error : plugin warnType is null", pluginInstanceName);
             log.error("Alert Plugin {} send error : plugin warnType is null", pluginInstanceName);
-            return new AlertResult("false", message);
+            return CompletableFuture.completedFuture(new AlertResult("false", message));
         }
 
         boolean sendWarning = false;
@@ -263,7 +417,7 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
             log.info(
                     "Alert Plugin {} send ignore warning type not match: plugin warning type is {}, alert data warning type is {}",
                     pluginInstanceName, warningType.getCode(), alertData.getWarnType());
-            return new AlertResult("false", message);
+            return CompletableFuture.completedFuture(new AlertResult("false", message));
         }
 
         AlertInfo alertInfo = AlertInfo.builder()
@@ -271,38 +425,85 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
                 .alertParams(paramsMap)
                 .alertPluginInstanceId(instance.getId())
                 .build();
-        int waitTimeout = alertConfig.getWaitTimeout();
+        CompletableFuture<AlertResult> alertResultFuture = new CompletableFuture<>();
+        Future<?> sendFuture;
         try {
-            AlertResult alertResult;
-            if (waitTimeout <= 0) {
-                if (alertData.getAlertType() == AlertType.CLOSE_ALERT.getCode()) {
-                    alertResult = alertChannel.closeAlert(alertInfo);
-                } else {
-                    alertResult = alertChannel.process(alertInfo);
+            sendFuture = getSenderExecutor(pluginDefineId).submit(() -> {
+                try {
+                    AlertResult alertResult;
+                    if (alertData.getAlertType() == AlertType.CLOSE_ALERT.getCode()) {
+                        alertResult = alertChannel.closeAlert(alertInfo);
+                    } else {
+                        alertResult = alertChannel.process(alertInfo);
+                    }
+                    if (alertResult == null) {
+                        throw new RuntimeException("Alert result cannot be null");
+                    }
+                    alertResultFuture.complete(alertResult);
+                } catch (Throwable e) {
+                    alertResultFuture.completeExceptionally(e);
                 }
-            } else {
-                CompletableFuture<AlertResult> future;
-                if (alertData.getAlertType() == AlertType.CLOSE_ALERT.getCode()) {
-                    future = CompletableFuture.supplyAsync(() -> alertChannel.closeAlert(alertInfo));
-                } else {
-                    future = CompletableFuture.supplyAsync(() -> alertChannel.process(alertInfo));
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("send alert error alert data id :{}, the alert sender of plugin {} is full", alertData.getId(),
+                    pluginDefineId);
+            alertResultFuture.completeExceptionally(e);
+            return alertResultFuture;
+        }
+        int waitTimeout = alertConfig.getWaitTimeout();
+        if (waitTimeout > 0) {
+            timeoutScheduler.schedule(() -> {
+                String message = String.format("Send alert timeout after %s ms", waitTimeout);
+                if (alertResultFuture.complete(new AlertResult("false", message))) {
+                    log.error("send alert error alert data id :{}, {}", alertData.getId(), message);
+                    sendFuture.cancel(true);
                 }
-                alertResult = future.get(waitTimeout, TimeUnit.MILLISECONDS);
-            }
-            if (alertResult == null) {
-                throw new RuntimeException("Alert result cannot be null");
-            }
-            return alertResult;
+            }, waitTimeout, TimeUnit.MILLISECONDS);
+        }
+        return alertResultFuture;
+    }
+
+    /**
+     * Wait for the AlertResult, the future will be completed as failed once the sending is timeout, see
+     * {@link #sendAsync(AlertPluginInstance, AlertData)}.
+     */
+    private AlertResult awaitAlertResult(Future<AlertResult> alertResultFuture, int alertId) {
+        try {
+            return alertResultFuture.get();
         } catch (InterruptedException e) {
-            log.error("send alert error alert data id :{},", alertData.getId(), e);
+            log.error("send alert error alert data id :{},", alertId, e);
             Thread.currentThread().interrupt();
             return new AlertResult("false", e.getMessage());
-        } catch (Exception e) {
-            log.error("send alert error alert data id :{},", alertData.getId(), e);
-            return new AlertResult("false", e.getMessage());
+        } catch (ExecutionException e) {
+            log.error("send alert error alert data id :{},", alertId, e.getCause());
+            return new AlertResult("false", e.getCause().getMessage());
         }
     }
 
+    private ThreadPoolExecutor getSenderExecutor(int pluginDefineId) {
+        return senderExecutors.computeIfAbsent(pluginDefineId, this::createSenderExecutor);
+    }
+
+    private ThreadPoolExecutor createSenderExecutor(int pluginDefineId) {
+        int senderThreads = alertConfig.getSenderThreadsPerPlugin();
+        ThreadPoolExecutor senderExecutor = new ThreadPoolExecutor(
+                senderThreads,
+                senderThreads,
+                SENDER_THREAD_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(alertConfig.getSenderQueueCapacityPerPlugin()),
+                ThreadUtils.newDaemonThreadFactory("AlertSender-" + pluginDefineId + "-%d"),
+                (runnable, executor) -> {
+                    // The plugin is busy, keep the alert pending rather than blocking the alert bootstrap thread
+                    throw new RejectedExecutionException(executor.isShutdown()
+                            ? "The alert sender of plugin " + pluginDefineId + " is closed"
+                            : "The alert sender of plugin " + pluginDefineId + " is full");
+                });
+        senderExecutor.allowCoreThreadTimeOut(true);
+        AlertServerMetrics.registerSenderQueueGauge(pluginDefineId, () -> senderExecutor.getQueue().size());
+        return senderExecutor;
+    }
+
     public AlertSendResponse syncTestSend(int pluginDefineId, String pluginInstanceParams) {
 
         boolean sendResponseStatus = true;
@@ -360,7 +561,19 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
 
     @Override
     public void close() {
+        senderExecutors.values().forEach(ThreadPoolExecutor::shutdownNow);
+        senderExecutors.clear();
+        timeoutScheduler.shutdownNow();
         log.info("Closed AlertBootstrapService...");
     }
 
+    @Getter
+    @AllArgsConstructor
+    private static class CachedAlertGroupInstances {
+
+        private final List<AlertPluginInstance> alertInstanceList;
+
+        private final long expireTime;
+    }
+
 }
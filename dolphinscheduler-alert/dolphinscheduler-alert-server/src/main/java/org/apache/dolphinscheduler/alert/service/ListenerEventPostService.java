@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.alert.api.AlertData;
 import org.apache.dolphinscheduler.alert.api.AlertInfo;
 import org.apache.dolphinscheduler.alert.api.AlertResult;
 import org.apache.dolphinscheduler.alert.config.AlertConfig;
+import org.apache.dolphinscheduler.alert.metrics.AlertServerMetrics;
 import org.apache.dolphinscheduler.alert.plugin.AlertPluginManager;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.AlertStatus;
@@ -53,14 +54,20 @@ import org.apache.curator.shaded.com.google.common.collect.Lists;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -82,6 +89,10 @@ public final class ListenerEventPostService extends BaseDaemonThread implements
     @Autowired
     private AlertConfig alertConfig;
 
+    private final AtomicLong listenerEventBacklog = new AtomicLong();
+
+    private volatile ExecutorService listenerEventPostExecutor;
+
     public ListenerEventPostService() {
         super("ListenerEventPostService");
     }
@@ -89,8 +100,11 @@ public final class ListenerEventPostService extends BaseDaemonThread implements
     @Override
     public void run() {
         log.info("listener event post thread started");
+        AlertServerMetrics.registerListenerEventBacklogGauge(listenerEventBacklog::get);
         while (!ServerLifeCycleManager.isStopped()) {
+            boolean hasMoreEvents = false;
             try {
+                listenerEventBacklog.set(listenerEventMapper.countListenerEventByStatus(AlertStatus.WAIT_EXECUTION));
                 List<ListenerEvent> listenerEvents = listenerEventMapper
                         .listingListenerEventByStatus(AlertStatus.WAIT_EXECUTION, QUERY_ALERT_THRESHOLD);
                 if (CollectionUtils.isEmpty(listenerEvents)) {
@@ -98,41 +112,83 @@ public final class ListenerEventPostService extends BaseDaemonThread implements
                     continue;
                 }
                 this.send(listenerEvents);
+                hasMoreEvents = listenerEvents.size() >= QUERY_ALERT_THRESHOLD;
             } catch (Exception e) {
                 log.error("listener event post thread meet an exception", e);
             } finally {
-                ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS * 5L);
+                // Fetch the next round directly if the backlog is not drained
+                if (!hasMoreEvents) {
+                    ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS * 5L);
+                }
             }
         }
         log.info("listener event post thread stopped");
     }
 
+    /**
+     * Post the listener events to all the global alert plugin instances.
+     * <p> The events of different workflow instances are posted concurrently, while the events of the same workflow
+     * instance are posted in order, and will be posted as one message if
+     * {@link AlertConfig#isListenerEventCoalesceEnabled()}. The post results are written in batches once all the events
+     * are posted.
+     */
     public void send(List<ListenerEvent> listenerEvents) {
+        List<AlertPluginInstance> globalAlertInstanceList =
+                alertPluginInstanceMapper.queryAllGlobalAlertPluginInstanceList();
+        if (CollectionUtils.isEmpty(globalAlertInstanceList)) {
+            log.error("post listener event fail,no bind global plugin instance.");
+            this.writePostResults(Lists.newArrayList(new ListenerEventPostResult(listenerEvents,
+                    AlertStatus.EXECUTION_FAILURE, "no bind plugin instance")));
+            return;
+        }
+
+        List<ListenerEventPostResult> postResults = new ArrayList<>();
+        Map<String, List<ListenerEventMessage>> messageLanes = new LinkedHashMap<>();
+        boolean coalesceEnabled = alertConfig.isListenerEventCoalesceEnabled();
         for (ListenerEvent listenerEvent : listenerEvents) {
-            int eventId = listenerEvent.getId();
-            List<AlertPluginInstance> globalAlertInstanceList =
-                    alertPluginInstanceMapper.queryAllGlobalAlertPluginInstanceList();
-            if (CollectionUtils.isEmpty(globalAlertInstanceList)) {
-                log.error("post listener event fail,no bind global plugin instance.");
-                listenerEventMapper.updateListenerEvent(eventId, AlertStatus.EXECUTION_FAILURE,
-                        "no bind plugin instance", new Date());
-                continue;
-            }
             AbstractListenerEvent event = generateEventFromContent(listenerEvent);
             if (event == null) {
                 log.error("parse listener event to abstract listener event fail.ed {}", listenerEvent.getContent());
-                listenerEventMapper.updateListenerEvent(eventId, AlertStatus.EXECUTION_FAILURE,
-                        "parse listener event to abstract listener event failed", new Date());
+                postResults.add(new ListenerEventPostResult(Lists.newArrayList(listenerEvent),
+                        AlertStatus.EXECUTION_FAILURE, "parse listener event to abstract listener event failed"));
                 continue;
             }
-            List<AbstractListenerEvent> events = Lists.newArrayList(event);
+            Long workflowInstanceId = getWorkflowInstanceId(event);
+            String lane = workflowInstanceId == null ? "event-" + listenerEvent.getId()
+                    : "workflowInstance-" + workflowInstanceId;
+            List<ListenerEventMessage> messages = messageLanes.computeIfAbsent(lane, k -> new ArrayList<>());
+            if (coalesceEnabled && workflowInstanceId != null && !messages.isEmpty()) {
+                messages.get(messages.size() - 1).add(listenerEvent, event);
+            } else {
+                messages.add(new ListenerEventMessage(listenerEvent, event));
+            }
+        }
+
+        ExecutorService postExecutor = getListenerEventPostExecutor();
+        List<CompletableFuture<List<ListenerEventPostResult>>> lanePostFutures = messageLanes.values()
+                .stream()
+                .map(messages -> CompletableFuture.supplyAsync(
+                        () -> this.post(messages, globalAlertInstanceList), postExecutor))
+                .collect(Collectors.toList());
+        for (CompletableFuture<List<ListenerEventPostResult>> lanePostFuture : lanePostFutures) {
+            postResults.addAll(lanePostFuture.join());
+        }
+        this.writePostResults(postResults);
+    }
+
+    private List<ListenerEventPostResult> post(List<ListenerEventMessage> messages,
+                                               List<AlertPluginInstance> globalAlertInstanceList) {
+        List<ListenerEventPostResult> postResults = new ArrayList<>(messages.size());
+        for (ListenerEventMessage message : messages) {
+            ListenerEvent firstListenerEvent = message.getListenerEvents().get(0);
+            AbstractListenerEvent firstEvent = message.getEvents().get(0);
             AlertData alertData = AlertData.builder()
-                    .id(eventId)
-                    .content(JSONUtils.toJsonString(events))
-                    .log(listenerEvent.getLog())
-                    .title(event.getTitle())
+                    .id(firstListenerEvent.getId())
+                    .content(JSONUtils.toJsonString(message.getEvents()))
+                    .log(firstListenerEvent.getLog())
+                    .title(firstEvent.getTitle())
                     .warnType(WarningType.GLOBAL.getCode())
-                    .alertType(event.getEventType().getCode())
+                    .alertType(firstEvent.getEventType().getCode())
                     .build();
 
             int sendSuccessCount = 0;
@@ -147,7 +203,7 @@ public final class ListenerEventPostService extends BaseDaemonThread implements
                         sendSuccessCount++;
                     } else {
                         AlertSendStatus alertSendStatus = AlertSendStatus.builder()
-                                .alertId(eventId)
+                                .alertId(firstListenerEvent.getId())
                                 .alertPluginInstanceId(instance.getId())
                                 .sendStatus(sendStatus)
                                 .log(JSONUtils.toJsonString(alertResult))
@@ -158,14 +214,91 @@ public final class ListenerEventPostService extends BaseDaemonThread implements
                 }
             }
             if (sendSuccessCount == globalAlertInstanceList.size()) {
-                listenerEventMapper.deleteById(eventId);
+                postResults.add(new ListenerEventPostResult(message.getListenerEvents(),
+                        AlertStatus.EXECUTION_SUCCESS, null));
             } else {
                 AlertStatus alertStatus =
                         sendSuccessCount == 0 ? AlertStatus.EXECUTION_FAILURE : AlertStatus.EXECUTION_PARTIAL_SUCCESS;
-                listenerEventMapper.updateListenerEvent(eventId, alertStatus, JSONUtils.toJsonString(failedPostResults),
-                        new Date());
+                postResults.add(new ListenerEventPostResult(message.getListenerEvents(), alertStatus,
+                        JSONUtils.toJsonString(failedPostResults)));
+            }
+        }
+        return postResults;
+    }
+
+    /**
+     * Delete the events posted successfully by one statement, and update the status of the other events by one
+     * statement.
+     */
+    private void writePostResults(List<ListenerEventPostResult> postResults) {
+        long now = System.currentTimeMillis();
+        List<Integer> postedEventIds = new ArrayList<>();
+        List<ListenerEvent> failedEvents = new ArrayList<>();
+        for (ListenerEventPostResult postResult : postResults) {
+            for (ListenerEvent listenerEvent : postResult.getListenerEvents()) {
+                if (AlertStatus.EXECUTION_SUCCESS.equals(postResult.getPostStatus())) {
+                    postedEventIds.add(listenerEvent.getId());
+                } else {
+                    failedEvents.add(ListenerEvent.builder()
+                            .id(listenerEvent.getId())
+                            .postStatus(postResult.getPostStatus())
+                            .log(postResult.getLog())
+                            .build());
+                }
+                if (listenerEvent.getCreateTime() != null) {
+                    AlertServerMetrics.recordListenerEventPostLag(now - listenerEvent.getCreateTime().getTime());
+                }
+            }
+        }
+        if (!postedEventIds.isEmpty()) {
+            listenerEventMapper.deleteBatchIds(postedEventIds);
+        }
+        if (!failedEvents.isEmpty()) {
+            listenerEventMapper.batchUpdateListenerEvent(failedEvents, new Date(now));
+        }
+    }
+
+    private ExecutorService getListenerEventPostExecutor() {
+        if (listenerEventPostExecutor == null) {
+            synchronized (this) {
+                if (listenerEventPostExecutor == null) {
+                    listenerEventPostExecutor = ThreadUtils.newDaemonFixedThreadExecutor(
+                            "ListenerEventPostThread-%d", alertConfig.getListenerEventPostThreads());
+                }
             }
         }
+        return listenerEventPostExecutor;
+    }
+
+    /**
+     * Get the workflow instance which the event belongs to.
+     *
+     * @return the workflow instance id, null if the event doesn't belong to any workflow instance
+     */
+    private static @Nullable Long getWorkflowInstanceId(AbstractListenerEvent event) {
+        if (event instanceof ProcessStartListenerEvent) {
+            return toLong(((ProcessStartListenerEvent) event).getProcessId());
+        }
+        if (event instanceof ProcessEndListenerEvent) {
+            return toLong(((ProcessEndListenerEvent) event).getProcessId());
+        }
+        if (event instanceof ProcessFailListenerEvent) {
+            return toLong(((ProcessFailListenerEvent) event).getProcessId());
+        }
+        if (event instanceof TaskStartListenerEvent) {
+            return ((TaskStartListenerEvent) event).getProcessId();
+        }
+        if (event instanceof TaskEndListenerEvent) {
+            return ((TaskEndListenerEvent) event).getProcessId();
+        }
+        if (event instanceof TaskFailListenerEvent) {
+            return ((TaskFailListenerEvent) event).getProcessId();
+        }
+        return null;
+    }
+
+    private static @Nullable Long toLong(@Nullable Integer value) {
+        return value == null ? null : value.longValue();
     }
 
     /**
@@ -255,8 +388,40 @@ public final class ListenerEventPostService extends BaseDaemonThread implements
                 return null;
         }
     }
+
     @Override
     public void close() {
+        if (listenerEventPostExecutor != null) {
+            listenerEventPostExecutor.shutdownNow();
+        }
         log.info("Closed ListenerEventPostService...");
     }
+
+    @Getter
+    private static class ListenerEventMessage {
+
+        private final List<ListenerEvent> listenerEvents = new ArrayList<>();
+
+        private final List<AbstractListenerEvent> events = new ArrayList<>();
+
+        ListenerEventMessage(ListenerEvent listenerEvent, AbstractListenerEvent event) {
+            add(listenerEvent, event);
+        }
+
+        void add(ListenerEvent listenerEvent, AbstractListenerEvent event) {
+            listenerEvents.add(listenerEvent);
+            events.add(event);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class ListenerEventPostResult {
+
+        private final List<ListenerEvent> listenerEvents;
+
+        private final AlertStatus postStatus;
+
+        private final String log;
+    }
 }
@@ -17,14 +17,21 @@
 
 package org.apache.dolphinscheduler.alert.runner;
 
+import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.apache.dolphinscheduler.alert.api.AlertChannel;
+import org.apache.dolphinscheduler.alert.api.AlertInfo;
 import org.apache.dolphinscheduler.alert.api.AlertResult;
 import org.apache.dolphinscheduler.alert.config.AlertConfig;
 import org.apache.dolphinscheduler.alert.plugin.AlertPluginManager;
 import org.apache.dolphinscheduler.alert.service.AlertBootstrapService;
+import org.apache.dolphinscheduler.common.enums.AlertStatus;
+import org.apache.dolphinscheduler.common.enums.AlertType;
 import org.apache.dolphinscheduler.common.enums.WarningType;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.AlertDao;
@@ -36,14 +43,20 @@ import org.apache.dolphinscheduler.dao.entity.PluginDefine;
 import org.apache.dolphinscheduler.extract.alert.request.AlertSendResponse;
 import org.apache.dolphinscheduler.spi.params.PluginParamsTransfer;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
@@ -52,6 +65,8 @@ import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.Lists;
+
 public class AlertBootstrapServiceTest {
 
     private static final Logger logger = LoggerFactory.getLogger(AlertBootstrapServiceTest.class);
@@ -83,6 +98,14 @@ public class AlertBootstrapServiceTest {
     @BeforeEach
     public void before() {
         MockitoAnnotations.initMocks(this);
+        when(alertConfig.getSenderThreadsPerPlugin()).thenReturn(4);
+        when(alertConfig.getSenderQueueCapacityPerPlugin()).thenReturn(100);
+        when(alertConfig.getAlertGroupCacheExpireTime()).thenReturn(Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    public void after() {
+        alertBootstrapService.close();
     }
 
     @Test
@@ -196,6 +219,211 @@ public class AlertBootstrapServiceTest {
         alertBootstrapService.send(alertList);
     }
 
+    @Test
+    public void testSendConcurrentlyAndWriteEachAlert() {
+        List<Alert> alertList = createAlerts(3);
+        AlertPluginInstance alertPluginInstance =
+                new AlertPluginInstance(PLUGIN_DEFINE_ID, PLUGIN_INSTANCE_PARAMS, PLUGIN_INSTANCE_NAME);
+        alertPluginInstance.setId(1);
+        when(alertDao.listInstanceByAlertGroupId(ALERT_GROUP_ID))
+                .thenReturn(Collections.singletonList(alertPluginInstance));
+
+        // Each alert is blocked until all the alerts are sending, which only happens if they are sent concurrently
+        CountDownLatch sendingLatch = new CountDownLatch(alertList.size());
+        AlertChannel alertChannelMock = mock(AlertChannel.class);
+        when(alertChannelMock.closeAlert(Mockito.any())).thenAnswer(invocation -> {
+            sendingLatch.countDown();
+            Assertions.assertTrue(sendingLatch.await(5, TimeUnit.SECONDS));
+            return new AlertResult("true", "success");
+        });
+        when(alertPluginManager.getAlertChannel(PLUGIN_DEFINE_ID)).thenReturn(Optional.of(alertChannelMock));
+
+        alertBootstrapService.send(alertList);
+
+        // The bindings of the alert group are queried once
+        verify(alertDao, times(1)).listInstanceByAlertGroupId(ALERT_GROUP_ID);
+        // Each alert is written in its own transaction
+        ArgumentCaptor<Alert> sentAlertCaptor = ArgumentCaptor.forClass(Alert.class);
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> verify(alertDao, times(3))
+                .updateAlertAndInsertSendStatus(sentAlertCaptor.capture(), Mockito.anyList()));
+        sentAlertCaptor.getAllValues()
+                .forEach(alert -> Assertions.assertEquals(AlertStatus.EXECUTION_SUCCESS, alert.getAlertStatus()));
+    }
+
+    @Test
+    public void testWriteEachAlertOnceFinished() throws Exception {
+        List<Alert> alertList = createAlerts(2);
+        AlertPluginInstance alertPluginInstance =
+                new AlertPluginInstance(PLUGIN_DEFINE_ID, PLUGIN_INSTANCE_PARAMS, PLUGIN_INSTANCE_NAME);
+        alertPluginInstance.setId(1);
+        when(alertDao.listInstanceByAlertGroupId(ALERT_GROUP_ID))
+                .thenReturn(Collections.singletonList(alertPluginInstance));
+
+        // The first alert is blocked until the second alert is written
+        CountDownLatch slowAlertLatch = new CountDownLatch(1);
+        AlertChannel alertChannelMock = mock(AlertChannel.class);
+        when(alertChannelMock.closeAlert(Mockito.any())).thenAnswer(invocation -> {
+            AlertInfo alertInfo = invocation.getArgument(0);
+            if (alertInfo.getAlertData().getId() == 1) {
+                Assertions.assertTrue(slowAlertLatch.await(5, TimeUnit.SECONDS));
+            }
+            return new AlertResult("true", "success");
+        });
+        when(alertPluginManager.getAlertChannel(PLUGIN_DEFINE_ID)).thenReturn(Optional.of(alertChannelMock));
+
+        alertBootstrapService.send(alertList);
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> verify(alertDao)
+                .updateAlertAndInsertSendStatus(Mockito.argThat(alert -> alert.getId() == 2), Mockito.anyList()));
+        verify(alertDao, never())
+                .updateAlertAndInsertSendStatus(Mockito.argThat(alert -> alert.getId() == 1), Mockito.anyList());
+
+        // The sending alert will not be sent again
+        alertBootstrapService.send(Collections.singletonList(alertList.get(0)));
+        slowAlertLatch.countDown();
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> verify(alertDao)
+                .updateAlertAndInsertSendStatus(Mockito.argThat(alert -> alert.getId() == 1), Mockito.anyList()));
+        verify(alertChannelMock, times(2)).closeAlert(Mockito.any());
+    }
+
+    @Test
+    public void testKeepAlertPendingIfSenderIsFull() throws Exception {
+        when(alertConfig.getSenderThreadsPerPlugin()).thenReturn(1);
+        when(alertConfig.getSenderQueueCapacityPerPlugin()).thenReturn(1);
+        List<Alert> alertList = createAlerts(3);
+        AlertPluginInstance alertPluginInstance =
+                new AlertPluginInstance(PLUGIN_DEFINE_ID, PLUGIN_INSTANCE_PARAMS, PLUGIN_INSTANCE_NAME);
+        alertPluginInstance.setId(1);
+        when(alertDao.listInstanceByAlertGroupId(ALERT_GROUP_ID))
+                .thenReturn(Collections.singletonList(alertPluginInstance));
+
+        // The first alert occupies the only sender thread, the second one fills the queue
+        CountDownLatch sendingLatch = new CountDownLatch(1);
+        AlertChannel alertChannelMock = mock(AlertChannel.class);
+        when(alertChannelMock.closeAlert(Mockito.any())).thenAnswer(invocation -> {
+            Assertions.assertTrue(sendingLatch.await(5, TimeUnit.SECONDS));
+            return new AlertResult("true", "success");
+        });
+        when(alertPluginManager.getAlertChannel(PLUGIN_DEFINE_ID)).thenReturn(Optional.of(alertChannelMock));
+
+        alertBootstrapService.send(alertList);
+        // The bootstrap thread is not blocked, and the rejected alert is kept pending without writing the result
+        sendingLatch.countDown();
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> verify(alertDao, times(2))
+                .updateAlertAndInsertSendStatus(Mockito.any(), Mockito.anyList()));
+        verify(alertDao, never()).updateAlertAndInsertSendStatus(
+                Mockito.argThat(alert -> alert.getId() == 3), Mockito.anyList());
+        verify(alertChannelMock, times(2)).closeAlert(Mockito.any());
+
+        // The pending alert is sent in the next round
+        alertBootstrapService.send(Collections.singletonList(alertList.get(2)));
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> verify(alertDao).updateAlertAndInsertSendStatus(
+                Mockito.argThat(alert -> alert.getId() == 3
+                        && alert.getAlertStatus() == AlertStatus.EXECUTION_SUCCESS),
+                Mockito.anyList()));
+    }
+
+    @Test
+    public void testStuckPluginNotBlockOtherAlerts() {
+        AlertPluginInstance stuckPluginInstance =
+                new AlertPluginInstance(PLUGIN_DEFINE_ID, PLUGIN_INSTANCE_PARAMS, "stuck-plugin-instance");
+        stuckPluginInstance.setId(1);
+        AlertPluginInstance healthyPluginInstance =
+                new AlertPluginInstance(2, PLUGIN_INSTANCE_PARAMS, "healthy-plugin-instance");
+        healthyPluginInstance.setId(2);
+        when(alertDao.listInstanceByAlertGroupId(ALERT_GROUP_ID))
+                .thenReturn(Collections.singletonList(stuckPluginInstance));
+        when(alertDao.listInstanceByAlertGroupId(2)).thenReturn(Collections.singletonList(healthyPluginInstance));
+
+        CountDownLatch stuckLatch = new CountDownLatch(1);
+        AlertChannel stuckAlertChannel = mock(AlertChannel.class);
+        when(stuckAlertChannel.closeAlert(Mockito.any())).thenAnswer(invocation -> {
+            stuckLatch.await();
+            return new AlertResult("true", "success");
+        });
+        AlertChannel healthyAlertChannel = mock(AlertChannel.class);
+        when(healthyAlertChannel.closeAlert(Mockito.any())).thenReturn(new AlertResult("true", "success"));
+        when(alertPluginManager.getAlertChannel(PLUGIN_DEFINE_ID)).thenReturn(Optional.of(stuckAlertChannel));
+        when(alertPluginManager.getAlertChannel(2)).thenReturn(Optional.of(healthyAlertChannel));
+
+        // The alerts of the stuck plugin fill the first fetch window, the alert of the healthy plugin is behind them
+        List<Alert> pendingAlerts = createAlerts(5);
+        pendingAlerts.get(4).setAlertGroupId(2);
+        when(alertDao.listPendingAlerts(Mockito.anyInt())).thenAnswer(invocation -> {
+            int minAlertId = invocation.getArgument(0);
+            List<Alert> page = new ArrayList<>();
+            for (Alert alert : pendingAlerts) {
+                if (alert.getId() > minAlertId && page.size() < 2) {
+                    page.add(alert);
+                }
+            }
+            return page;
+        });
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                alertBootstrapService.sendPendingAlerts();
+            }
+            await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> verify(alertDao).updateAlertAndInsertSendStatus(
+                    Mockito.argThat(alert -> alert.getId() == 5
+                            && alert.getAlertStatus() == AlertStatus.EXECUTION_SUCCESS),
+                    Mockito.anyList()));
+            verify(stuckAlertChannel, times(4)).closeAlert(Mockito.any());
+        } finally {
+            stuckLatch.countDown();
+        }
+    }
+
+    @Test
+    public void testSendTimeout() {
+        AlertPluginInstance slowPluginInstance =
+                new AlertPluginInstance(PLUGIN_DEFINE_ID, PLUGIN_INSTANCE_PARAMS, "slow-plugin-instance");
+        slowPluginInstance.setId(1);
+        AlertPluginInstance fastPluginInstance =
+                new AlertPluginInstance(2, PLUGIN_INSTANCE_PARAMS, "fast-plugin-instance");
+        fastPluginInstance.setId(2);
+        when(alertDao.listInstanceByAlertGroupId(ALERT_GROUP_ID))
+                .thenReturn(Lists.newArrayList(slowPluginInstance, fastPluginInstance));
+        when(alertConfig.getWaitTimeout()).thenReturn(500);
+
+        AlertChannel slowAlertChannel = mock(AlertChannel.class);
+        when(slowAlertChannel.process(Mockito.any())).thenAnswer(invocation -> {
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            return new AlertResult("true", "success");
+        });
+        AlertChannel fastAlertChannel = mock(AlertChannel.class);
+        when(fastAlertChannel.process(Mockito.any())).thenReturn(new AlertResult("true", "success"));
+        when(alertPluginManager.getAlertChannel(PLUGIN_DEFINE_ID)).thenReturn(Optional.of(slowAlertChannel));
+        when(alertPluginManager.getAlertChannel(2)).thenReturn(Optional.of(fastAlertChannel));
+
+        AlertSendResponse alertSendResponse =
+                alertBootstrapService.syncHandler(ALERT_GROUP_ID, TITLE, CONTENT, WarningType.ALL.getCode());
+        Assertions.assertFalse(alertSendResponse.isSuccess());
+        Assertions.assertFalse(alertSendResponse.getResResults().get(0).isSuccess());
+        Assertions.assertTrue(alertSendResponse.getResResults().get(1).isSuccess());
+    }
+
+    @Test
+    public void testSendTimeoutAlertIsWritten() {
+        when(alertConfig.getWaitTimeout()).thenReturn(500);
+        AlertPluginInstance alertPluginInstance =
+                new AlertPluginInstance(PLUGIN_DEFINE_ID, PLUGIN_INSTANCE_PARAMS, PLUGIN_INSTANCE_NAME);
+        alertPluginInstance.setId(1);
+        when(alertDao.listInstanceByAlertGroupId(ALERT_GROUP_ID))
+                .thenReturn(Collections.singletonList(alertPluginInstance));
+        AlertChannel slowAlertChannel = mock(AlertChannel.class);
+        when(slowAlertChannel.closeAlert(Mockito.any())).thenAnswer(invocation -> {
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            return new AlertResult("true", "success");
+        });
+        when(alertPluginManager.getAlertChannel(PLUGIN_DEFINE_ID)).thenReturn(Optional.of(slowAlertChannel));
+
+        alertBootstrapService.send(createAlerts(1));
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> verify(alertDao).updateAlertAndInsertSendStatus(
+                Mockito.argThat(alert -> alert.getAlertStatus() == AlertStatus.EXECUTION_FAILURE),
+                Mockito.anyList()));
+    }
+
     @Test
     public void testSendAlert() {
         AlertResult sendResult = new AlertResult();
@@ -211,4 +439,19 @@ public class AlertBootstrapServiceTest {
                 .thenReturn(paramsMap);
         alertBootstrapService.syncTestSend(PLUGIN_DEFINE_ID, PLUGIN_INSTANCE_PARAMS);
     }
+
+    private List<Alert> createAlerts(int count) {
+        List<Alert> alertList = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Alert alert = new Alert();
+            alert.setId(i);
+            alert.setAlertGroupId(ALERT_GROUP_ID);
+            alert.setTitle(TITLE);
+            alert.setContent(CONTENT);
+            alert.setWarningType(WarningType.FAILURE);
+            alert.setAlertType(AlertType.CLOSE_ALERT);
+            alertList.add(alert);
+        }
+        return alertList;
+    }
 }
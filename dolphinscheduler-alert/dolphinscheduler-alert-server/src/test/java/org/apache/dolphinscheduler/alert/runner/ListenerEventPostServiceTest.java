@@ -18,9 +18,12 @@
 package org.apache.dolphinscheduler.alert.runner;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.apache.dolphinscheduler.alert.api.AlertChannel;
+import org.apache.dolphinscheduler.alert.api.AlertInfo;
 import org.apache.dolphinscheduler.alert.api.AlertResult;
 import org.apache.dolphinscheduler.alert.config.AlertConfig;
 import org.apache.dolphinscheduler.alert.plugin.AlertPluginManager;
@@ -32,6 +35,7 @@ import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.AlertPluginInstance;
 import org.apache.dolphinscheduler.dao.entity.ListenerEvent;
 import org.apache.dolphinscheduler.dao.entity.event.ServerDownListenerEvent;
+import org.apache.dolphinscheduler.dao.entity.event.TaskStartListenerEvent;
 import org.apache.dolphinscheduler.dao.mapper.AlertPluginInstanceMapper;
 import org.apache.dolphinscheduler.dao.mapper.ListenerEventMapper;
 
@@ -41,10 +45,13 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -52,6 +59,8 @@ import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.Lists;
+
 public class ListenerEventPostServiceTest {
 
     private static final Logger logger = LoggerFactory.getLogger(ListenerEventPostServiceTest.class);
@@ -71,6 +80,12 @@ public class ListenerEventPostServiceTest {
     @BeforeEach
     public void before() {
         MockitoAnnotations.initMocks(this);
+        when(alertConfig.getListenerEventPostThreads()).thenReturn(4);
+    }
+
+    @AfterEach
+    public void after() {
+        listenerEventPostService.close();
     }
 
     @Test
@@ -151,4 +166,80 @@ public class ListenerEventPostServiceTest {
         Assertions.assertFalse(Boolean.parseBoolean(sendResult.getStatus()));
         listenerEventPostService.send(events);
     }
+
+    @Test
+    public void testCoalesceEventsOfSameWorkflowInstance() {
+        when(alertConfig.isListenerEventCoalesceEnabled()).thenReturn(true);
+        List<ListenerEvent> events = Lists.newArrayList(
+                generateTaskStartListenerEvent(1, 100),
+                generateTaskStartListenerEvent(2, 200),
+                generateTaskStartListenerEvent(3, 100));
+
+        AlertPluginInstance alertPluginInstance = new AlertPluginInstance(1, "{}", "alert-instance-webhook");
+        alertPluginInstance.setInstanceType(AlertPluginInstanceType.GLOBAL);
+        alertPluginInstance.setId(1);
+        when(alertPluginInstanceMapper.queryAllGlobalAlertPluginInstanceList())
+                .thenReturn(Lists.newArrayList(alertPluginInstance));
+
+        List<AlertInfo> postedAlertInfos = new CopyOnWriteArrayList<>();
+        AlertChannel alertChannelMock = mock(AlertChannel.class);
+        when(alertChannelMock.process(Mockito.any())).thenAnswer(invocation -> {
+            AlertInfo alertInfo = invocation.getArgument(0);
+            postedAlertInfos.add(alertInfo);
+            return new AlertResult("true", "success");
+        });
+        when(alertPluginManager.getAlertChannel(1)).thenReturn(Optional.of(alertChannelMock));
+
+        listenerEventPostService.send(events);
+
+        // The events of workflow instance 100 are posted as one message
+        Assertions.assertEquals(2, postedAlertInfos.size());
+        AlertInfo coalescedAlertInfo = postedAlertInfos.stream()
+                .filter(alertInfo -> alertInfo.getAlertData().getId() == 1)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        Assertions.assertEquals(2,
+                JSONUtils.toList(coalescedAlertInfo.getAlertData().getContent(), TaskStartListenerEvent.class).size());
+        // The posted events are deleted in one batch
+        ArgumentCaptor<List<Integer>> deletedIdsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(listenerEventMapper, times(1)).deleteBatchIds(deletedIdsCaptor.capture());
+        Assertions.assertEquals(Lists.newArrayList(1, 3, 2), deletedIdsCaptor.getValue());
+    }
+
+    @Test
+    public void testUpdateFailedEventsInBatch() {
+        List<ListenerEvent> events = Lists.newArrayList(
+                generateTaskStartListenerEvent(1, 100),
+                generateTaskStartListenerEvent(2, 200));
+        AlertPluginInstance alertPluginInstance = new AlertPluginInstance(1, "{}", "alert-instance-webhook");
+        alertPluginInstance.setInstanceType(AlertPluginInstanceType.GLOBAL);
+        alertPluginInstance.setId(1);
+        when(alertPluginInstanceMapper.queryAllGlobalAlertPluginInstanceList())
+                .thenReturn(Lists.newArrayList(alertPluginInstance));
+        when(alertPluginManager.getAlertChannel(1)).thenReturn(Optional.empty());
+
+        listenerEventPostService.send(events);
+
+        ArgumentCaptor<List<ListenerEvent>> failedEventsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(listenerEventMapper, times(1)).batchUpdateListenerEvent(failedEventsCaptor.capture(), Mockito.any());
+        Assertions.assertEquals(2, failedEventsCaptor.getValue().size());
+        failedEventsCaptor.getValue().forEach(
+                event -> Assertions.assertEquals(AlertStatus.EXECUTION_FAILURE, event.getPostStatus()));
+        verify(listenerEventMapper, Mockito.never()).deleteBatchIds(Mockito.any());
+    }
+
+    private ListenerEvent generateTaskStartListenerEvent(int eventId, long workflowInstanceId) {
+        TaskStartListenerEvent taskStartListenerEvent = new TaskStartListenerEvent();
+        taskStartListenerEvent.setProcessId(workflowInstanceId);
+        taskStartListenerEvent.setTaskName("task-" + eventId);
+        ListenerEvent listenerEvent = new ListenerEvent();
+        listenerEvent.setId(eventId);
+        listenerEvent.setPostStatus(AlertStatus.WAIT_EXECUTION);
+        listenerEvent.setContent(JSONUtils.toJsonString(taskStartListenerEvent));
+        listenerEvent.setSign(DigestUtils.sha256Hex(listenerEvent.getContent()));
+        listenerEvent.setEventType(ListenerEventType.TASK_START);
+        listenerEvent.setCreateTime(new Date());
+        listenerEvent.setUpdateTime(new Date());
+        return listenerEvent;
+    }
 }
@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.api.service.LoggerService;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.dao.entity.ResponseTaskLog;
+import org.apache.dolphinscheduler.dao.entity.ResponseTaskLogTail;
 import org.apache.dolphinscheduler.dao.entity.User;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -82,6 +83,31 @@ public class LoggerController extends BaseController {
         return loggerService.queryLog(loginUser, taskInstanceId, skipNum, limit);
     }
 
+    /**
+     * query task log appended after the byte offset
+     *
+     * @param loginUser login user
+     * @param taskInstanceId task instance id
+     * @param offset byte offset
+     * @param maxBytes max bytes
+     * @return task log content and the next offset
+     */
+    @Operation(summary = "tailLog", description = "TAIL_TASK_INSTANCE_LOG_NOTES")
+    @Parameters({
+            @Parameter(name = "taskInstanceId", description = "TASK_ID", required = true, schema = @Schema(implementation = int.class, example = "100")),
+            @Parameter(name = "offset", description = "LOG_OFFSET", required = true, schema = @Schema(implementation = long.class, example = "0")),
+            @Parameter(name = "maxBytes", description = "MAX_BYTES", schema = @Schema(implementation = int.class, example = "65535"))
+    })
+    @GetMapping(value = "/tail")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiException(QUERY_TASK_INSTANCE_LOG_ERROR)
+    public Result<ResponseTaskLogTail> tailLog(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                               @RequestParam(value = "taskInstanceId") int taskInstanceId,
+                                               @RequestParam(value = "offset") long offset,
+                                               @RequestParam(value = "maxBytes", required = false, defaultValue = "65535") int maxBytes) {
+        return loggerService.tailLog(loginUser, taskInstanceId, offset, maxBytes);
+    }
+
     /**
      * download log file
      *
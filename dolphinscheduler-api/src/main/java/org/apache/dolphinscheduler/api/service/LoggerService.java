@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.api.service;
 
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.dao.entity.ResponseTaskLog;
+import org.apache.dolphinscheduler.dao.entity.ResponseTaskLogTail;
 import org.apache.dolphinscheduler.dao.entity.User;
 
 /**
@@ -37,6 +38,17 @@ public interface LoggerService {
      */
     Result<ResponseTaskLog> queryLog(User loginUser, int taskInstId, int skipLineNum, int limit);
 
+    /**
+     * view log appended after the byte offset
+     *
+     * @param loginUser  login user
+     * @param taskInstId task instance id
+     * @param offset     byte offset, should be the next offset of the previous query
+     * @param maxBytes   max bytes
+     * @return log string data and the next offset
+     */
+    Result<ResponseTaskLogTail> tailLog(User loginUser, int taskInstId, long offset, int maxBytes);
+
     /**
      * get log size
      *
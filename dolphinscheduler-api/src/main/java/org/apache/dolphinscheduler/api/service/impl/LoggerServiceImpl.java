@@ -28,6 +28,7 @@ import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.dao.entity.Project;
 import org.apache.dolphinscheduler.dao.entity.ResponseTaskLog;
+import org.apache.dolphinscheduler.dao.entity.ResponseTaskLogTail;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.User;
@@ -40,6 +41,8 @@ import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFil
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailResponse;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -104,6 +107,33 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         return result;
     }
 
+    /**
+     * view log appended after the byte offset
+     *
+     * @param loginUser  login user
+     * @param taskInstId task instance id
+     * @param offset     byte offset
+     * @param maxBytes   max bytes
+     * @return log string data and the next offset
+     */
+    @Override
+    public Result<ResponseTaskLogTail> tailLog(User loginUser, int taskInstId, long offset, int maxBytes) {
+        TaskInstance taskInstance = taskInstanceDao.queryById(taskInstId);
+
+        if (taskInstance == null) {
+            log.error("Task instance does not exist, taskInstanceId:{}.", taskInstId);
+            return Result.error(Status.TASK_INSTANCE_NOT_FOUND);
+        }
+        if (StringUtils.isBlank(taskInstance.getHost())) {
+            log.error("Host of task instance is null, taskInstanceId:{}.", taskInstId);
+            return Result.error(Status.TASK_INSTANCE_HOST_IS_NULL);
+        }
+        projectService.checkProjectAndAuthThrowException(loginUser, taskInstance.getProjectCode(), VIEW_LOG);
+        Result<ResponseTaskLogTail> result = new Result<>(Status.SUCCESS.getCode(), Status.SUCCESS.getMsg());
+        result.setData(tailLog(taskInstance, offset, maxBytes));
+        return result;
+    }
+
     /**
      * get log size
      *
@@ -222,6 +252,38 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         }
     }
 
+    /**
+     * tail log
+     *
+     * @param taskInstance task instance
+     * @param offset       byte offset
+     * @param maxBytes     max bytes
+     * @return log string data and the next offset
+     */
+    private ResponseTaskLogTail tailLog(TaskInstance taskInstance, long offset, int maxBytes) {
+        final String logPath = taskInstance.getLogPath();
+        if (StringUtils.isBlank(logPath)) {
+            throw new ServiceException(Status.QUERY_TASK_INSTANCE_LOG_ERROR,
+                    "TaskInstanceLogPath is empty, maybe the taskInstance doesn't be dispatched");
+        }
+
+        ILogService iLogService =
+                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient(taskInstance.getHost(), ILogService.class);
+        try {
+            TaskInstanceLogTailRequest request = TaskInstanceLogTailRequest.builder()
+                    .taskInstanceId(taskInstance.getId())
+                    .taskInstanceLogAbsolutePath(logPath)
+                    .offset(offset)
+                    .maxBytes(maxBytes)
+                    .build();
+            TaskInstanceLogTailResponse response = iLogService.tailTaskInstanceLog(request);
+            return new ResponseTaskLogTail(StringUtils.defaultString(response.getLogContent()),
+                    response.getNextOffset());
+        } catch (Throwable ex) {
+            throw new ServiceException(Status.QUERY_TASK_INSTANCE_LOG_ERROR, ex.getMessage(), ex);
+        }
+    }
+
     /**
      * get log bytes
      *
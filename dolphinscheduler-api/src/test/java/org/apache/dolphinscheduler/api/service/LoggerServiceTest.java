@@ -34,6 +34,7 @@ import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.UserType;
 import org.apache.dolphinscheduler.dao.entity.Project;
+import org.apache.dolphinscheduler.dao.entity.ResponseTaskLogTail;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.User;
@@ -50,6 +51,8 @@ import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFil
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailResponse;
 
 import java.io.IOException;
 import java.net.ServerSocket;
@@ -133,6 +136,15 @@ public class LoggerServiceTest {
                 return new TaskInstanceLogPageQueryResponse();
             }
 
+            @Override
+            public TaskInstanceLogTailResponse tailTaskInstanceLog(TaskInstanceLogTailRequest taskInstanceLogTailRequest) {
+                if (taskInstanceLogTailRequest.getTaskInstanceId() == 100) {
+                    throw new ServiceException("tail log error");
+                }
+                return new TaskInstanceLogTailResponse("log content\n",
+                        taskInstanceLogTailRequest.getOffset() + "log content\n".length());
+            }
+
             @Override
             public GetAppIdResponse getAppId(GetAppIdRequest getAppIdRequest) {
                 return new GetAppIdResponse();
@@ -202,6 +214,40 @@ public class LoggerServiceTest {
                 () -> loggerService.queryLog(loginUser, 1, 1, 1));
     }
 
+    @Test
+    public void testTailLog() {
+        User loginUser = new User();
+        loginUser.setId(1);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        when(taskInstanceDao.queryById(1)).thenReturn(taskInstance);
+
+        Result<ResponseTaskLogTail> result = loggerService.tailLog(loginUser, 2, 0, 1024);
+        Assertions.assertEquals(Status.TASK_INSTANCE_NOT_FOUND.getCode(), result.getCode().intValue());
+
+        result = loggerService.tailLog(loginUser, 1, 0, 1024);
+        Assertions.assertEquals(Status.TASK_INSTANCE_HOST_IS_NULL.getCode(), result.getCode().intValue());
+
+        // SUCCESS
+        taskInstance.setHost("127.0.0.1:" + nettyServerPort);
+        taskInstance.setLogPath("/temp/log");
+        doNothing().when(projectService).checkProjectAndAuthThrowException(loginUser, taskInstance.getProjectCode(),
+                VIEW_LOG);
+        result = loggerService.tailLog(loginUser, 1, 10, 1024);
+        Assertions.assertEquals(Status.SUCCESS.getCode(), result.getCode().intValue());
+        Assertions.assertEquals("log content\n", result.getData().getMessage());
+        Assertions.assertEquals(22, result.getData().getNextOffset());
+
+        taskInstance.setId(100);
+        when(taskInstanceDao.queryById(100)).thenReturn(taskInstance);
+        assertThrowsServiceException(Status.QUERY_TASK_INSTANCE_LOG_ERROR,
+                () -> loggerService.tailLog(loginUser, 100, 0, 1024));
+
+        taskInstance.setLogPath("");
+        assertThrowsServiceException(Status.QUERY_TASK_INSTANCE_LOG_ERROR,
+                () -> loggerService.tailLog(loginUser, 100, 0, 1024));
+    }
+
     @Test
     public void testGetLogBytes() {
 
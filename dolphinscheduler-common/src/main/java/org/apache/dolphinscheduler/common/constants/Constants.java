@@ -694,6 +694,8 @@ public final class Constants {
 
     public static final String REMOTE_LOGGING_THREAD_POOL_SIZE = "remote.logging.thread.pool.size";
 
+    public static final String REMOTE_LOGGING_READ_CACHE_SIZE = "remote.logging.read.cache.size";
+
     /**
      * remote logging for OSS
      */
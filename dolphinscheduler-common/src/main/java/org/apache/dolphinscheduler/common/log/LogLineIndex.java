@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * A sparse line offset index of a log file, records the byte offset of every {@code linesPerCheckpoint} lines, so a
+ * page of the log can be read by seeking to the nearest checkpoint rather than scanning the file from the beginning.
+ * <p> The index is built lazily when the file is read, and only the bytes appended since the last read are scanned, so
+ * tailing a growing log costs O(page) rather than O(file). The index is rebuilt if the file is replaced or truncated.
+ * <p> The lines are terminated the same as {@link java.io.BufferedReader#readLine()}, by '\n', '\r' or "\r\n".
+ */
+public class LogLineIndex {
+
+    private static final int DEFAULT_LINES_PER_CHECKPOINT = 1000;
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private static final Cache<String, LogLineIndex> LOG_LINE_INDEX_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .build();
+
+    private final int linesPerCheckpoint;
+
+    private Object fileKey;
+
+    /**
+     * checkpoints[i] is the byte offset of the line {@code i * linesPerCheckpoint}.
+     */
+    private long[] checkpoints;
+
+    private int checkpointSize;
+
+    /**
+     * The byte offset after the last indexed line terminator.
+     */
+    private long indexedBytes;
+
+    private long indexedLines;
+
+    /**
+     * Whether the last indexed line terminator is '\r', if the next byte is '\n' it belongs to the same terminator.
+     */
+    private boolean afterCarriageReturn;
+
+    LogLineIndex(int linesPerCheckpoint) {
+        this.linesPerCheckpoint = linesPerCheckpoint;
+        reset(null);
+    }
+
+    public static LogLineIndex of(String filePath) {
+        return LOG_LINE_INDEX_CACHE.asMap().computeIfAbsent(filePath,
+                key -> new LogLineIndex(DEFAULT_LINES_PER_CHECKPOINT));
+    }
+
+    public static void remove(String filePath) {
+        LOG_LINE_INDEX_CACHE.invalidate(filePath);
+    }
+
+    /**
+     * Index the bytes appended to the file until the checkpoint of the given line is found, and return the nearest
+     * checkpoint at or before the line.
+     *
+     * @param path    the log file path
+     * @param channel the opened channel of the log file, the position of the channel will not be changed
+     * @param lineNum the line number to seek, start from 0
+     * @return the nearest checkpoint at or before the line
+     */
+    public synchronized Checkpoint seek(Path path, FileChannel channel, long lineNum) throws IOException {
+        Object currentFileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        long size = channel.size();
+        if (!Objects.equals(fileKey, currentFileKey) || size < indexedBytes) {
+            // The file is replaced or truncated, the previous index is stale
+            reset(currentFileKey);
+        }
+        long targetCheckpoint = lineNum / linesPerCheckpoint;
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        long position = indexedBytes;
+        // Keep reading if the last terminator is '\r', the checkpoint after it moves if it's followed by '\n'
+        while ((checkpointSize <= targetCheckpoint || afterCarriageReturn) && position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (b != '\n' && b != '\r') {
+                    afterCarriageReturn = false;
+                    continue;
+                }
+                if (b == '\n' && afterCarriageReturn) {
+                    // The '\n' of "\r\n", the line has been counted at '\r'
+                    afterCarriageReturn = false;
+                    if (checkpoints[checkpointSize - 1] == indexedBytes) {
+                        checkpoints[checkpointSize - 1]++;
+                    }
+                    indexedBytes++;
+                    continue;
+                }
+                afterCarriageReturn = b == '\r';
+                indexedLines++;
+                indexedBytes = position + i + 1;
+                if (indexedLines % linesPerCheckpoint == 0) {
+                    addCheckpoint(indexedBytes);
+                }
+            }
+            position += read;
+        }
+        int index = (int) Math.min(targetCheckpoint, checkpointSize - 1);
+        return new Checkpoint(checkpoints[index], (long) index * linesPerCheckpoint);
+    }
+
+    synchronized long getIndexedLines() {
+        return indexedLines;
+    }
+
+    public int getLinesPerCheckpoint() {
+        return linesPerCheckpoint;
+    }
+
+    public synchronized long[] getCheckpoints() {
+        return Arrays.copyOf(checkpoints, checkpointSize);
+    }
+
+    private void addCheckpoint(long offset) {
+        if (checkpointSize == checkpoints.length) {
+            checkpoints = Arrays.copyOf(checkpoints, checkpointSize * 2);
+        }
+        checkpoints[checkpointSize++] = offset;
+    }
+
+    private void reset(Object fileKey) {
+        this.fileKey = fileKey;
+        this.checkpoints = new long[16];
+        this.checkpointSize = 1;
+        this.indexedBytes = 0;
+        this.indexedLines = 0;
+        this.afterCarriageReturn = false;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Checkpoint {
+
+        /**
+         * The byte offset of the line.
+         */
+        private final long offset;
+
+        private final long lineNum;
+    }
+}
@@ -14,28 +14,26 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package org.apache.dolphinscheduler.extract.base.future;
 
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.atomic.AtomicBoolean;
+package org.apache.dolphinscheduler.common.log;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
 
 /**
- * release semaphore
+ * The content appended to a log file after a byte offset.
  */
-public class ReleaseSemaphore {
-
-    private final Semaphore semaphore;
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogTail {
 
-    private final AtomicBoolean released;
+    private String content;
 
-    public ReleaseSemaphore(Semaphore semaphore) {
-        this.semaphore = semaphore;
-        this.released = new AtomicBoolean(false);
-    }
+    /**
+     * The byte offset to read the next tail from.
+     */
+    private long nextOffset;
 
-    public void release() {
-        if (this.released.compareAndSet(false, true)) {
-            this.semaphore.release();
-        }
-    }
 }
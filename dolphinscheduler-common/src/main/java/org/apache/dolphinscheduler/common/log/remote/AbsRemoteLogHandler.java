@@ -20,8 +20,10 @@ package org.apache.dolphinscheduler.common.log.remote;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -31,6 +33,7 @@ import lombok.extern.slf4j.Slf4j;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.models.BlobRange;
 import com.azure.storage.blob.specialized.BlobInputStream;
 import com.azure.storage.common.StorageSharedKeyCredential;
 
@@ -123,6 +126,42 @@ public class AbsRemoteLogHandler implements RemoteLogHandler, Closeable {
         }
     }
 
+    @Override
+    public void sendRemoteLogIndex(String logPath, byte[] remoteLogIndex) {
+        String objectName = RemoteLogUtils.getIndexObjectNameFromLogPath(logPath);
+
+        try {
+            log.info("send remote log index of {} to Azure Blob {}", logPath, objectName);
+            blobContainerClient.getBlobClient(objectName)
+                    .upload(new ByteArrayInputStream(remoteLogIndex), remoteLogIndex.length, true);
+        } catch (Exception e) {
+            log.error("error while sending remote log index of {} to Azure Blob {}", logPath, objectName, e);
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogIndex(String logPath) {
+        String objectName = RemoteLogUtils.getIndexObjectNameFromLogPath(logPath);
+
+        try {
+            return blobContainerClient.getBlobClient(objectName).downloadContent().toBytes();
+        } catch (Exception e) {
+            log.warn("cannot get remote log index on Azure Blob {}: {}", objectName, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogRange(String logPath, long offset, int length) throws IOException {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        try (
+                BlobInputStream bis = blobContainerClient.getBlobClient(objectName)
+                        .openInputStream(new BlobRange(offset, (long) length), null)) {
+            return IOUtils.toByteArray(bis);
+        }
+    }
+
     protected String readAccountName() {
         return PropertyUtils.getString(Constants.REMOTE_LOGGING_ABS_ACCOUNT_NAME);
     }
@@ -24,12 +24,15 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
 
 import lombok.extern.slf4j.Slf4j;
 
 import com.google.auth.oauth2.ServiceAccountCredentials;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
@@ -109,6 +112,47 @@ public class GcsRemoteLogHandler implements RemoteLogHandler, Closeable {
         }
     }
 
+    @Override
+    public void sendRemoteLogIndex(String logPath, byte[] remoteLogIndex) {
+        String objectName = RemoteLogUtils.getIndexObjectNameFromLogPath(logPath);
+
+        try {
+            log.info("send remote log index of {} to GCS {}", logPath, objectName);
+            BlobInfo blobInfo = BlobInfo.newBuilder(
+                    BlobId.of(bucketName, objectName)).build();
+            gcsStorage.create(blobInfo, remoteLogIndex);
+        } catch (Exception e) {
+            log.error("error while sending remote log index of {} to GCS {}", logPath, objectName, e);
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogIndex(String logPath) {
+        String objectName = RemoteLogUtils.getIndexObjectNameFromLogPath(logPath);
+
+        try {
+            return gcsStorage.readAllBytes(BlobId.of(bucketName, objectName));
+        } catch (Exception e) {
+            log.warn("cannot get remote log index on GCS {}: {}", objectName, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogRange(String logPath, long offset, int length) throws IOException {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        try (ReadChannel reader = gcsStorage.reader(BlobId.of(bucketName, objectName))) {
+            reader.seek(offset);
+            reader.setChunkSize(length);
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining() && reader.read(buffer) > 0) {
+                // read until the range is filled or reach the end of the blob
+            }
+            return Arrays.copyOf(buffer.array(), buffer.position());
+        }
+    }
+
     protected Storage buildGcsStorage(String credential) throws IOException {
         return StorageOptions.newBuilder()
                 .setCredentials(ServiceAccountCredentials.fromStream(
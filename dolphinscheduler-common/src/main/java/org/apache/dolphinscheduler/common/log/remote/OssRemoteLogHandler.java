@@ -22,8 +22,10 @@ import org.apache.dolphinscheduler.common.factory.OssClientFactory;
 import org.apache.dolphinscheduler.common.model.OssConnection;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
@@ -32,6 +34,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import com.aliyun.oss.OSS;
 import com.aliyun.oss.model.GetObjectRequest;
+import com.aliyun.oss.model.OSSObject;
 import com.aliyun.oss.model.PutObjectRequest;
 
 @Slf4j
@@ -86,6 +89,41 @@ public class OssRemoteLogHandler implements RemoteLogHandler, Closeable {
         }
     }
 
+    @Override
+    public void sendRemoteLogIndex(String logPath, byte[] remoteLogIndex) {
+        String objectName = RemoteLogUtils.getIndexObjectNameFromLogPath(logPath);
+
+        try {
+            log.info("send remote log index of {} to OSS {}", logPath, objectName);
+            ossClient.putObject(bucketName, objectName, new ByteArrayInputStream(remoteLogIndex));
+        } catch (Exception e) {
+            log.error("error while sending remote log index of {} to OSS {}", logPath, objectName, e);
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogIndex(String logPath) {
+        String objectName = RemoteLogUtils.getIndexObjectNameFromLogPath(logPath);
+
+        try (OSSObject ossObject = ossClient.getObject(bucketName, objectName)) {
+            return IOUtils.toByteArray(ossObject.getObjectContent());
+        } catch (Exception e) {
+            log.warn("cannot get remote log index on OSS {}: {}", objectName, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogRange(String logPath, long offset, int length) throws IOException {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, objectName);
+        getObjectRequest.setRange(offset, offset + length - 1);
+        try (OSSObject ossObject = ossClient.getObject(getObjectRequest)) {
+            return IOUtils.toByteArray(ossObject.getObjectContent());
+        }
+    }
+
     @Override
     public void close() throws IOException {
         if (ossClient != null) {
@@ -17,9 +17,28 @@
 
 package org.apache.dolphinscheduler.common.log.remote;
 
+import java.io.IOException;
+
 public interface RemoteLogHandler {
 
     void sendRemoteLog(String logPath);
 
     void getRemoteLog(String logPath);
+
+    /**
+     * Send the line index of the log, see {@link RemoteLogIndex}.
+     */
+    void sendRemoteLogIndex(String logPath, byte[] remoteLogIndex);
+
+    /**
+     * Get the line index of the log.
+     *
+     * @return the line index, null if the index doesn't exist or cannot be read
+     */
+    byte[] getRemoteLogIndex(String logPath);
+
+    /**
+     * Read the bytes of the log in the range [offset, offset + length) by a range request.
+     */
+    byte[] getRemoteLogRange(String logPath, long offset, int length) throws IOException;
 }
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log.remote;
+
+import org.apache.dolphinscheduler.common.log.LogLineIndex;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import lombok.Getter;
+
+/**
+ * The line index of a log sent to the remote storage, which is sent next to the log, so a page of the remote log can
+ * be read by a range request rather than downloading the whole log.
+ */
+public class RemoteLogIndex {
+
+    /**
+     * The version 1 index only counted '\n' as the line terminator, it's ignored since the page read by it may be wrong.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * The size of the log when the index is built.
+     */
+    @Getter
+    private final long fileSize;
+
+    private final int linesPerCheckpoint;
+
+    /**
+     * checkpoints[i] is the byte offset of the line {@code i * linesPerCheckpoint}.
+     */
+    private final long[] checkpoints;
+
+    RemoteLogIndex(long fileSize, int linesPerCheckpoint, long[] checkpoints) {
+        this.fileSize = fileSize;
+        this.linesPerCheckpoint = linesPerCheckpoint;
+        this.checkpoints = checkpoints;
+    }
+
+    public static RemoteLogIndex build(String logPath) throws IOException {
+        Path path = Paths.get(logPath);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            LogLineIndex logLineIndex = LogLineIndex.of(logPath);
+            logLineIndex.seek(path, channel, Long.MAX_VALUE);
+            long[] checkpoints = logLineIndex.getCheckpoints();
+            // The lines appended after the size is read are not sent
+            int size = checkpoints.length;
+            while (size > 1 && checkpoints[size - 1] > fileSize) {
+                size--;
+            }
+            long[] indexedCheckpoints = new long[size];
+            System.arraycopy(checkpoints, 0, indexedCheckpoints, 0, size);
+            return new RemoteLogIndex(fileSize, logLineIndex.getLinesPerCheckpoint(), indexedCheckpoints);
+        }
+    }
+
+    /**
+     * Get the nearest checkpoint at or before the given line.
+     */
+    public LogLineIndex.Checkpoint floor(long lineNum) {
+        int index = (int) Math.min(lineNum / linesPerCheckpoint, checkpoints.length - 1);
+        return new LogLineIndex.Checkpoint(checkpoints[index], (long) index * linesPerCheckpoint);
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(28 + checkpoints.length * 8);
+        try (DataOutputStream out = new DataOutputStream(bos)) {
+            out.writeInt(VERSION);
+            out.writeLong(fileSize);
+            out.writeInt(linesPerCheckpoint);
+            out.writeInt(checkpoints.length);
+            for (long checkpoint : checkpoints) {
+                out.writeLong(checkpoint);
+            }
+        } catch (IOException e) {
+            // should not happen when writing to a byte array
+            throw new IllegalStateException("Serialize remote log index error", e);
+        }
+        return bos.toByteArray();
+    }
+
+    public static RemoteLogIndex fromBytes(byte[] bytes) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported remote log index version: " + version);
+            }
+            long fileSize = in.readLong();
+            int linesPerCheckpoint = in.readInt();
+            long[] checkpoints = new long[in.readInt()];
+            for (int i = 0; i < checkpoints.length; i++) {
+                checkpoints[i] = in.readLong();
+            }
+            return new RemoteLogIndex(fileSize, linesPerCheckpoint, checkpoints);
+        }
+    }
+}
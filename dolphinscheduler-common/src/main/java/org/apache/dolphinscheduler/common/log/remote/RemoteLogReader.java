@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log.remote;
+
+import org.apache.dolphinscheduler.common.log.LogLineIndex;
+import org.apache.dolphinscheduler.common.log.LogTail;
+import org.apache.dolphinscheduler.common.utils.LogUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Read a page of the remote log by range requests, the line index sent next to the log is used to find the byte
+ * offset of the page, and the recently read chunks of the logs are cached in memory.
+ */
+@Slf4j
+public class RemoteLogReader {
+
+    static final int CHUNK_SIZE = 512 * 1024;
+
+    private final RemoteLogHandler remoteLogHandler;
+
+    private final Cache<String, RemoteLogIndex> remoteLogIndexCache;
+
+    /**
+     * The logs without a usable line index, e.g. sent before the index is introduced, so each page of them doesn't
+     * issue a failing index request before downloading the whole log.
+     */
+    private final Cache<String, Boolean> missingRemoteLogIndexCache;
+
+    private final Cache<ChunkKey, byte[]> chunkCache;
+
+    public RemoteLogReader(RemoteLogHandler remoteLogHandler, long maxCacheBytes) {
+        this.remoteLogHandler = remoteLogHandler;
+        this.remoteLogIndexCache = CacheBuilder.newBuilder()
+                .maximumSize(1024)
+                .expireAfterAccess(10, TimeUnit.MINUTES)
+                .build();
+        this.missingRemoteLogIndexCache = CacheBuilder.newBuilder()
+                .maximumSize(1024)
+                .expireAfterWrite(10, TimeUnit.MINUTES)
+                .build();
+        this.chunkCache = CacheBuilder.newBuilder()
+                .maximumWeight(maxCacheBytes)
+                .weigher((ChunkKey key, byte[] chunk) -> chunk.length)
+                .expireAfterAccess(10, TimeUnit.MINUTES)
+                .build();
+    }
+
+    /**
+     * Read the lines of the remote log.
+     *
+     * @return the lines, null if the remote log doesn't have a line index
+     */
+    public List<String> readLines(String logPath, int skipLine, int limit) {
+        RemoteLogIndex remoteLogIndex = getRemoteLogIndex(logPath);
+        if (remoteLogIndex == null) {
+            return null;
+        }
+        LogLineIndex.Checkpoint checkpoint = remoteLogIndex.floor(skipLine);
+        try (
+                BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        new RemoteLogInputStream(logPath, remoteLogIndex, checkpoint.getOffset()),
+                        StandardCharsets.UTF_8))) {
+            return LogUtils.readLines(reader, checkpoint.getLineNum(), skipLine, limit);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Read remote log: %s error", logPath), e);
+        }
+    }
+
+    /**
+     * Read the remote log after the given offset, see {@link LogUtils#tailFileContentFromLocal(String, long, int)}.
+     *
+     * @return the tail of the log, null if the remote log doesn't have a line index
+     */
+    public LogTail tail(String logPath, long offset, int maxBytes) {
+        RemoteLogIndex remoteLogIndex = getRemoteLogIndex(logPath);
+        if (remoteLogIndex == null) {
+            return null;
+        }
+        long fileSize = remoteLogIndex.getFileSize();
+        if (offset < 0 || offset > fileSize) {
+            offset = 0;
+        }
+        int limitBytes = LogUtils.getTailLimitBytes(maxBytes);
+        byte[] bytes = new byte[(int) Math.min(fileSize - offset, limitBytes)];
+        try (InputStream in = new RemoteLogInputStream(logPath, remoteLogIndex, offset)) {
+            int length = 0;
+            int read;
+            while (length < bytes.length && (read = in.read(bytes, length, bytes.length - length)) > 0) {
+                length += read;
+            }
+            return LogUtils.toLogTail(bytes, length, offset, fileSize - offset > limitBytes);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Read remote log: %s error", logPath), e);
+        }
+    }
+
+    private RemoteLogIndex getRemoteLogIndex(String logPath) {
+        RemoteLogIndex remoteLogIndex = remoteLogIndexCache.getIfPresent(logPath);
+        if (remoteLogIndex != null) {
+            return remoteLogIndex;
+        }
+        if (missingRemoteLogIndexCache.getIfPresent(logPath) != null) {
+            return null;
+        }
+        byte[] bytes = remoteLogHandler.getRemoteLogIndex(logPath);
+        if (bytes == null) {
+            missingRemoteLogIndexCache.put(logPath, Boolean.TRUE);
+            return null;
+        }
+        try {
+            remoteLogIndex = RemoteLogIndex.fromBytes(bytes);
+        } catch (IOException e) {
+            log.warn("The remote log index of {} is broken, will download the whole log", logPath, e);
+            missingRemoteLogIndexCache.put(logPath, Boolean.TRUE);
+            return null;
+        }
+        remoteLogIndexCache.put(logPath, remoteLogIndex);
+        return remoteLogIndex;
+    }
+
+    private byte[] getChunk(String logPath, RemoteLogIndex remoteLogIndex, long chunkIndex) throws IOException {
+        // The file size is a part of the key, so the chunks of a resent log will not be mixed up
+        ChunkKey chunkKey = new ChunkKey(logPath, remoteLogIndex.getFileSize(), chunkIndex);
+        try {
+            return chunkCache.get(chunkKey, () -> {
+                long offset = chunkIndex * CHUNK_SIZE;
+                int length = (int) Math.min(CHUNK_SIZE, remoteLogIndex.getFileSize() - offset);
+                return remoteLogHandler.getRemoteLogRange(logPath, offset, length);
+            });
+        } catch (ExecutionException e) {
+            throw new IOException(String.format("Read the chunk %d of remote log: %s error", chunkIndex, logPath),
+                    e.getCause());
+        }
+    }
+
+    @Data
+    private static class ChunkKey {
+
+        private final String logPath;
+
+        private final long fileSize;
+
+        private final long chunkIndex;
+    }
+
+    /**
+     * The input stream of the remote log from the given offset to the size recorded in the index.
+     */
+    private class RemoteLogInputStream extends InputStream {
+
+        private final String logPath;
+
+        private final RemoteLogIndex remoteLogIndex;
+
+        private long position;
+
+        RemoteLogInputStream(String logPath, RemoteLogIndex remoteLogIndex, long position) {
+            this.logPath = logPath;
+            this.remoteLogIndex = remoteLogIndex;
+            this.position = position;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= remoteLogIndex.getFileSize()) {
+                return -1;
+            }
+            byte[] chunk = getChunk(logPath, remoteLogIndex, position / CHUNK_SIZE);
+            int chunkOffset = (int) (position % CHUNK_SIZE);
+            if (chunkOffset >= chunk.length) {
+                // The remote log is shorter than the index
+                return -1;
+            }
+            int read = Math.min(len, chunk.length - chunkOffset);
+            System.arraycopy(chunk, chunkOffset, b, off, read);
+            position += read;
+            return read;
+        }
+    }
+}
@@ -39,9 +39,23 @@ public class RemoteLogService {
             if (remoteLogHandler == null) {
                 return;
             }
+            // Build the index before sending the log, so the index will not cover the bytes which are not sent
+            RemoteLogIndex remoteLogIndex = buildRemoteLogIndex(logPath);
             remoteLogHandler.sendRemoteLog(logPath);
+            if (remoteLogIndex != null) {
+                remoteLogHandler.sendRemoteLogIndex(logPath, remoteLogIndex.toBytes());
+            }
             log.info("End send log {} to remote target {}", logPath,
                     PropertyUtils.getString(Constants.REMOTE_LOGGING_TARGET));
         }
     }
+
+    private RemoteLogIndex buildRemoteLogIndex(String logPath) {
+        try {
+            return RemoteLogIndex.build(logPath);
+        } catch (Exception e) {
+            log.error("error while building the line index of log {}", logPath, e);
+            return null;
+        }
+    }
 }
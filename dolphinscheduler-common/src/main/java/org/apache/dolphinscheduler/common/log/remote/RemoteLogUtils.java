@@ -36,8 +36,14 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class RemoteLogUtils {
 
+    private static final String REMOTE_LOG_INDEX_SUFFIX = ".index";
+
+    private static final long DEFAULT_REMOTE_LOGGING_READ_CACHE_SIZE = 64 * 1024 * 1024L;
+
     private static RemoteLogService remoteLogService;
 
+    private static volatile RemoteLogReader remoteLogReader;
+
     @Autowired
     private RemoteLogService autowiredRemoteLogService;
     @PostConstruct
@@ -68,6 +74,30 @@ public class RemoteLogUtils {
         }
     }
 
+    /**
+     * Get the reader to read a page of the remote log by range requests.
+     *
+     * @return the reader, null if the remote logging is disabled
+     */
+    public static RemoteLogReader getRemoteLogReader() {
+        if (!isRemoteLoggingEnable()) {
+            return null;
+        }
+        if (remoteLogReader == null) {
+            synchronized (RemoteLogUtils.class) {
+                if (remoteLogReader == null) {
+                    RemoteLogHandler remoteLogHandler = RemoteLogHandlerFactory.getRemoteLogHandler();
+                    if (remoteLogHandler == null) {
+                        return null;
+                    }
+                    remoteLogReader = new RemoteLogReader(remoteLogHandler, PropertyUtils.getLong(
+                            Constants.REMOTE_LOGGING_READ_CACHE_SIZE, DEFAULT_REMOTE_LOGGING_READ_CACHE_SIZE));
+                }
+            }
+        }
+        return remoteLogReader;
+    }
+
     private static void mkdirOfLog(String logPath) {
         Path directory = Paths.get(logPath).getParent();
         directory.toFile().mkdirs();
@@ -87,4 +117,8 @@ public class RemoteLogUtils {
         return Paths.get(remoteLogBaseDir, path.subpath(localLogBaseDirPath.getNameCount(), nameCount).toString())
                 .toString();
     }
+
+    public static String getIndexObjectNameFromLogPath(String logPath) {
+        return getObjectNameFromLogPath(logPath) + REMOTE_LOG_INDEX_SUFFIX;
+    }
 }
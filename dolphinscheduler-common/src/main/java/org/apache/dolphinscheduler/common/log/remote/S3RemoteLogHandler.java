@@ -20,8 +20,10 @@ package org.apache.dolphinscheduler.common.log.remote;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -35,6 +37,8 @@ import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectInputStream;
 
@@ -131,6 +135,47 @@ public class S3RemoteLogHandler implements RemoteLogHandler, Closeable {
         }
     }
 
+    @Override
+    public void sendRemoteLogIndex(String logPath, byte[] remoteLogIndex) {
+        String objectName = RemoteLogUtils.getIndexObjectNameFromLogPath(logPath);
+
+        try {
+            log.info("send remote log index of {} to S3 {}", logPath, objectName);
+            ObjectMetadata objectMetadata = new ObjectMetadata();
+            objectMetadata.setContentLength(remoteLogIndex.length);
+            s3Client.putObject(bucketName, objectName, new ByteArrayInputStream(remoteLogIndex), objectMetadata);
+        } catch (Exception e) {
+            log.error("error while sending remote log index of {} to S3 {}", logPath, objectName, e);
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogIndex(String logPath) {
+        String objectName = RemoteLogUtils.getIndexObjectNameFromLogPath(logPath);
+
+        try (
+                S3Object o = s3Client.getObject(bucketName, objectName);
+                S3ObjectInputStream s3is = o.getObjectContent()) {
+            return IOUtils.toByteArray(s3is);
+        } catch (Exception e) {
+            log.warn("cannot get remote log index on S3 {}: {}", objectName, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public byte[] getRemoteLogRange(String logPath, long offset, int length) throws IOException {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        GetObjectRequest getObjectRequest =
+                new GetObjectRequest(bucketName, objectName).withRange(offset, offset + length - 1);
+        try (
+                S3Object o = s3Client.getObject(getObjectRequest);
+                S3ObjectInputStream s3is = o.getObjectContent()) {
+            return IOUtils.toByteArray(s3is);
+        }
+    }
+
     protected String readAccessKeyID() {
         return PropertyUtils.getString(Constants.REMOTE_LOGGING_S3_ACCESS_KEY_ID);
     }
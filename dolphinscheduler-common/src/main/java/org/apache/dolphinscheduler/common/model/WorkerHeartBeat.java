@@ -30,5 +30,6 @@ public class WorkerHeartBeat extends BaseHeartBeat implements HeartBeat {
 
     private int workerHostWeight; // worker host weight
     private int threadPoolUsage; // worker waiting task count
+    private int workerExecThreads; // worker exec thread number
 
 }
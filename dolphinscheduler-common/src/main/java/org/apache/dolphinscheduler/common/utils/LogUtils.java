@@ -17,6 +17,9 @@
 
 package org.apache.dolphinscheduler.common.utils;
 
+import org.apache.dolphinscheduler.common.log.LogLineIndex;
+import org.apache.dolphinscheduler.common.log.LogTail;
+import org.apache.dolphinscheduler.common.log.remote.RemoteLogReader;
 import org.apache.dolphinscheduler.common.log.remote.RemoteLogUtils;
 
 import java.io.BufferedReader;
@@ -26,12 +29,14 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -42,6 +47,8 @@ import ch.qos.logback.classic.LoggerContext;
 @Slf4j
 public class LogUtils {
 
+    private static final int MAX_RESPONSE_LOG_SIZE = 65535;
+
     public static byte[] getFileContentBytesFromLocal(String filePath) {
         try (
                 InputStream in = new FileInputStream(filePath);
@@ -79,8 +86,15 @@ public class LogUtils {
                                                             int limit) {
         File file = new File(filePath);
         if (file.exists() && file.isFile()) {
-            try (Stream<String> stream = Files.lines(Paths.get(filePath))) {
-                return stream.skip(skipLine).limit(limit).collect(Collectors.toList());
+            Path path = file.toPath();
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                // Seek to the nearest indexed line rather than scanning the whole file for each page
+                LogLineIndex.Checkpoint checkpoint = LogLineIndex.of(filePath).seek(path, channel, skipLine);
+                channel.position(checkpoint.getOffset());
+                BufferedReader reader =
+                        new BufferedReader(new InputStreamReader(Channels.newInputStream(channel),
+                                StandardCharsets.UTF_8));
+                return readLines(reader, checkpoint.getLineNum(), skipLine, limit);
             } catch (IOException e) {
                 log.error("read file error", e);
                 throw new RuntimeException(String.format("Read file: %s error", filePath), e);
@@ -93,6 +107,14 @@ public class LogUtils {
     public static List<String> readPartFileContentFromRemote(String filePath,
                                                              int skipLine,
                                                              int limit) {
+        RemoteLogReader remoteLogReader = RemoteLogUtils.getRemoteLogReader();
+        if (remoteLogReader != null) {
+            List<String> lines = remoteLogReader.readLines(filePath, skipLine, limit);
+            if (lines != null) {
+                return lines;
+            }
+        }
+        // The remote log doesn't have a line index, download the whole log
         RemoteLogUtils.getRemoteLog(filePath);
         return readPartFileContentFromLocal(filePath, skipLine, limit);
     }
@@ -110,6 +132,135 @@ public class LogUtils {
         return readPartFileContentFromLocal(filePath, skipLine, limit);
     }
 
+    /**
+     * Read the bytes appended to the file after the given offset, only the complete lines are returned unless a single
+     * line is larger than {@code maxBytes}, so the caller can poll the log from the returned {@code nextOffset}.
+     *
+     * @param filePath the log file path
+     * @param offset   the byte offset to read from, will read from the beginning if the file is shorter than it
+     * @param maxBytes the max bytes to read, will be limited to {@link #MAX_RESPONSE_LOG_SIZE}
+     */
+    public static LogTail tailFileContentFromLocal(String filePath,
+                                                   long offset,
+                                                   int maxBytes) {
+        File file = new File(filePath);
+        if (!file.exists() || !file.isFile()) {
+            throw new RuntimeException("The file path: " + filePath + " not exists");
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (offset < 0 || offset > size) {
+                // The file is replaced or truncated, read from the beginning
+                offset = 0;
+            }
+            int limitBytes = getTailLimitBytes(maxBytes);
+            int length = (int) Math.min(size - offset, limitBytes);
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining() && channel.read(buffer, offset + buffer.position()) > 0) {
+                // read until the buffer is full or reach the end of the file
+            }
+            return toLogTail(buffer.array(), buffer.position(), offset, size - offset > limitBytes);
+        } catch (IOException e) {
+            log.error("read file error", e);
+            throw new RuntimeException(String.format("Read file: %s error", filePath), e);
+        }
+    }
+
+    public static LogTail tailFileContentFromRemote(String filePath,
+                                                    long offset,
+                                                    int maxBytes) {
+        RemoteLogReader remoteLogReader = RemoteLogUtils.getRemoteLogReader();
+        if (remoteLogReader != null) {
+            LogTail logTail = remoteLogReader.tail(filePath, offset, maxBytes);
+            if (logTail != null) {
+                return logTail;
+            }
+        }
+        RemoteLogUtils.getRemoteLog(filePath);
+        return tailFileContentFromLocal(filePath, offset, maxBytes);
+    }
+
+    public static LogTail tailFileContent(String filePath,
+                                          long offset,
+                                          int maxBytes) {
+        File file = new File(filePath);
+        if (file.exists()) {
+            return tailFileContentFromLocal(filePath, offset, maxBytes);
+        }
+        if (RemoteLogUtils.isRemoteLoggingEnable()) {
+            return tailFileContentFromRemote(filePath, offset, maxBytes);
+        }
+        return tailFileContentFromLocal(filePath, offset, maxBytes);
+    }
+
+    /**
+     * Read the lines from the reader.
+     *
+     * @param reader   the reader positioned at the beginning of line {@code lineNum}
+     * @param lineNum  the line number of the reader position
+     * @param skipLine the line number to read from, should not be less than {@code lineNum}
+     * @param limit    the max lines to read
+     */
+    public static List<String> readLines(BufferedReader reader,
+                                         long lineNum,
+                                         int skipLine,
+                                         int limit) throws IOException {
+        for (long i = lineNum; i < skipLine; i++) {
+            if (reader.readLine() == null) {
+                return new ArrayList<>();
+            }
+        }
+        List<String> lines = new ArrayList<>();
+        String line;
+        while (lines.size() < limit && (line = reader.readLine()) != null) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    /**
+     * Build the tail of the log from the bytes read from the offset, only the complete lines are kept.
+     *
+     * @param bytes     the bytes read from the offset
+     * @param end       the length of the read bytes
+     * @param offset    the byte offset of the bytes in the log
+     * @param truncated whether there are more bytes after the read bytes
+     */
+    public static LogTail toLogTail(byte[] bytes, int end, long offset, boolean truncated) {
+        int lineEnd = end;
+        while (lineEnd > 0 && bytes[lineEnd - 1] != '\n' && bytes[lineEnd - 1] != '\r') {
+            lineEnd--;
+        }
+        if (lineEnd == 0) {
+            // No complete line, wait for the line terminator unless the line is larger than the limit
+            lineEnd = truncated ? utf8Boundary(bytes, end) : 0;
+        }
+        return new LogTail(new String(bytes, 0, lineEnd, StandardCharsets.UTF_8), offset + lineEnd);
+    }
+
+    /**
+     * Get the max bytes to read for a tail request, which is limited to {@link #MAX_RESPONSE_LOG_SIZE}.
+     */
+    public static int getTailLimitBytes(int maxBytes) {
+        return maxBytes <= 0 ? MAX_RESPONSE_LOG_SIZE : Math.min(maxBytes, MAX_RESPONSE_LOG_SIZE);
+    }
+
+    /**
+     * Find the end of the last complete UTF-8 character in bytes[0, end).
+     */
+    private static int utf8Boundary(byte[] bytes, int end) {
+        int start = end - 1;
+        while (start > 0 && (bytes[start] & 0xC0) == 0x80) {
+            start--;
+        }
+        if (start < 0) {
+            return end;
+        }
+        int lead = bytes[start] & 0xFF;
+        int charLength = lead < 0x80 ? 1 : lead >= 0xF0 ? 4 : lead >= 0xE0 ? 3 : lead >= 0xC0 ? 2 : 1;
+        return start + charLength <= end ? end : start;
+    }
+
     public static String readWholeFileContentFromRemote(String filePath) {
         RemoteLogUtils.getRemoteLog(filePath);
         return LogUtils.readWholeFileContentFromLocal(filePath);
@@ -142,7 +293,7 @@ public class LogUtils {
 
     public static String rollViewLogLines(List<String> lines) {
         StringBuilder builder = new StringBuilder();
-        final int MaxResponseLogSize = 65535;
+        final int MaxResponseLogSize = MAX_RESPONSE_LOG_SIZE;
         int totalLogByteSize = 0;
         for (String line : lines) {
             // If a single line of log is exceed max response size, cut off the line
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LogLineIndexTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testSeek() throws IOException {
+        Path logPath = tempDir.resolve("task.log");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 25; i++) {
+            // Each line is 8 bytes
+            content.append(String.format("line-%02d\n", i));
+        }
+        Files.write(logPath, content.toString().getBytes(StandardCharsets.UTF_8));
+
+        LogLineIndex logLineIndex = new LogLineIndex(10);
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            LogLineIndex.Checkpoint checkpoint = logLineIndex.seek(logPath, channel, 5);
+            Assertions.assertEquals(0, checkpoint.getOffset());
+            Assertions.assertEquals(0, checkpoint.getLineNum());
+
+            checkpoint = logLineIndex.seek(logPath, channel, 15);
+            Assertions.assertEquals(80, checkpoint.getOffset());
+            Assertions.assertEquals(10, checkpoint.getLineNum());
+
+            checkpoint = logLineIndex.seek(logPath, channel, 100);
+            Assertions.assertEquals(160, checkpoint.getOffset());
+            Assertions.assertEquals(20, checkpoint.getLineNum());
+            Assertions.assertEquals(25, logLineIndex.getIndexedLines());
+        }
+
+        Files.write(logPath, "line-25\nline-26\nline-27\nline-28\nline-29\n".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            LogLineIndex.Checkpoint checkpoint = logLineIndex.seek(logPath, channel, 30);
+            Assertions.assertEquals(240, checkpoint.getOffset());
+            Assertions.assertEquals(30, checkpoint.getLineNum());
+        }
+    }
+
+    @Test
+    public void testSeekWithCarriageReturn() throws IOException {
+        Path logPath = tempDir.resolve("task-cr.log");
+        // "\r\n", '\r' and '\n' are all one line terminator
+        Files.write(logPath, "l0\r\nl1\rl2\nl3\r\nl4\r".getBytes(StandardCharsets.UTF_8));
+
+        LogLineIndex logLineIndex = new LogLineIndex(2);
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            LogLineIndex.Checkpoint checkpoint = logLineIndex.seek(logPath, channel, 2);
+            Assertions.assertEquals(7, checkpoint.getOffset());
+            Assertions.assertEquals(2, checkpoint.getLineNum());
+
+            checkpoint = logLineIndex.seek(logPath, channel, 4);
+            Assertions.assertEquals(14, checkpoint.getOffset());
+            Assertions.assertEquals(4, checkpoint.getLineNum());
+            Assertions.assertEquals(5, logLineIndex.getIndexedLines());
+        }
+
+        // The '\n' appended after the last '\r' belongs to the same line terminator
+        Files.write(logPath, "\nl5\r\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            LogLineIndex.Checkpoint checkpoint = logLineIndex.seek(logPath, channel, 6);
+            Assertions.assertEquals(22, checkpoint.getOffset());
+            Assertions.assertEquals(6, checkpoint.getLineNum());
+            Assertions.assertEquals(6, logLineIndex.getIndexedLines());
+        }
+    }
+
+    @Test
+    public void testSeekWithCarriageReturnAtCheckpoint() throws IOException {
+        Path logPath = tempDir.resolve("task-crlf.log");
+        Files.write(logPath, "l0\r".getBytes(StandardCharsets.UTF_8));
+
+        LogLineIndex logLineIndex = new LogLineIndex(1);
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            Assertions.assertEquals(3, logLineIndex.seek(logPath, channel, 1).getOffset());
+        }
+
+        // The checkpoint moves after the '\n' once the "\r\n" is completed
+        Files.write(logPath, "\nl1\r\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            Assertions.assertEquals(4, logLineIndex.seek(logPath, channel, 1).getOffset());
+            Assertions.assertEquals(8, logLineIndex.seek(logPath, channel, 2).getOffset());
+            Assertions.assertEquals(2, logLineIndex.getIndexedLines());
+        }
+    }
+}
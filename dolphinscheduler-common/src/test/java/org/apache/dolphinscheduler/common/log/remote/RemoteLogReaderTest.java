@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log.remote;
+
+import org.apache.dolphinscheduler.common.log.LogTail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RemoteLogReaderTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private InMemoryRemoteLogHandler remoteLogHandler;
+
+    private RemoteLogReader remoteLogReader;
+
+    @BeforeEach
+    public void setUp() {
+        remoteLogHandler = new InMemoryRemoteLogHandler();
+        remoteLogReader = new RemoteLogReader(remoteLogHandler, 64 * 1024 * 1024L);
+    }
+
+    @Test
+    public void testReadLines() throws IOException {
+        String logPath = sendLog("task.log", 100000);
+
+        Assertions.assertEquals(lines(0, 10), remoteLogReader.readLines(logPath, 0, 10));
+        Assertions.assertEquals(lines(99995, 100000), remoteLogReader.readLines(logPath, 99995, 10));
+        Assertions.assertTrue(remoteLogReader.readLines(logPath, 200000, 10).isEmpty());
+
+        // Only the chunks of the pages are read, and the chunks are cached
+        int rangeRequests = remoteLogHandler.rangeRequests.get();
+        Assertions.assertTrue(rangeRequests <= 3);
+        Assertions.assertEquals(lines(99990, 100000), remoteLogReader.readLines(logPath, 99990, 10));
+        Assertions.assertEquals(rangeRequests, remoteLogHandler.rangeRequests.get());
+
+        // The page across chunks
+        int line = 512 * 1024 / 12;
+        Assertions.assertEquals(lines(line - 5, line + 5), remoteLogReader.readLines(logPath, line - 5, 10));
+    }
+
+    @Test
+    public void testTail() throws IOException {
+        String logPath = sendLog("tail.log", 10);
+
+        LogTail logTail = remoteLogReader.tail(logPath, 0, 1024);
+        Assertions.assertEquals(String.join("\n", lines(0, 10)) + "\n", logTail.getContent());
+
+        logTail = remoteLogReader.tail(logPath, logTail.getNextOffset(), 1024);
+        Assertions.assertEquals("", logTail.getContent());
+    }
+
+    @Test
+    public void testRemoteLogWithoutIndex() {
+        String logPath = tempDir.resolve("missing.log").toString();
+        Assertions.assertNull(remoteLogReader.readLines(logPath, 0, 10));
+        Assertions.assertNull(remoteLogReader.readLines(logPath, 10, 10));
+        Assertions.assertNull(remoteLogReader.tail(logPath, 0, 1024));
+        // The missing index is only requested once
+        Assertions.assertEquals(1, remoteLogHandler.indexRequests.get());
+    }
+
+    @Test
+    public void testRemoteLogWithPreviousVersionIndex() throws IOException {
+        String logPath = sendLog("previous.log", 10);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bos)) {
+            out.writeInt(1);
+            out.writeLong(120);
+            out.writeInt(1000);
+            out.writeInt(1);
+            out.writeLong(0);
+        }
+        remoteLogHandler.sendRemoteLogIndex(logPath, bos.toByteArray());
+
+        Assertions.assertNull(remoteLogReader.readLines(logPath, 0, 10));
+        Assertions.assertNull(remoteLogReader.readLines(logPath, 0, 10));
+        Assertions.assertEquals(1, remoteLogHandler.indexRequests.get());
+    }
+
+    @Test
+    public void testReadLinesWithCarriageReturn() throws IOException {
+        Path path = tempDir.resolve("cr.log");
+        Files.write(path, "line-0\r\nline-1\rline-2\nline-3".getBytes(StandardCharsets.UTF_8));
+        String logPath = path.toString();
+        remoteLogHandler.logs.put(logPath, Files.readAllBytes(path));
+        remoteLogHandler.sendRemoteLogIndex(logPath, RemoteLogIndex.build(logPath).toBytes());
+        Files.delete(path);
+
+        Assertions.assertEquals(Arrays.asList("line-1", "line-2", "line-3"),
+                remoteLogReader.readLines(logPath, 1, 10));
+        Assertions.assertEquals("line-0\r\nline-1\rline-2\n", remoteLogReader.tail(logPath, 0, 1024).getContent());
+    }
+
+    @Test
+    public void testRemoteLogIndexSerialization() {
+        RemoteLogIndex remoteLogIndex = new RemoteLogIndex(100, 10, new long[]{0, 40, 80});
+        byte[] bytes = remoteLogIndex.toBytes();
+        Assertions.assertArrayEquals(bytes, Assertions.assertDoesNotThrow(
+                () -> RemoteLogIndex.fromBytes(bytes)).toBytes());
+        Assertions.assertEquals(80, remoteLogIndex.floor(100).getOffset());
+        Assertions.assertEquals(20, remoteLogIndex.floor(100).getLineNum());
+        Assertions.assertEquals(40, remoteLogIndex.floor(15).getOffset());
+    }
+
+    private String sendLog(String fileName, int lineCount) throws IOException {
+        Path path = tempDir.resolve(fileName);
+        Files.write(path, lines(0, lineCount), StandardCharsets.UTF_8);
+        String logPath = path.toString();
+        remoteLogHandler.logs.put(logPath, Files.readAllBytes(path));
+        remoteLogHandler.sendRemoteLogIndex(logPath, RemoteLogIndex.build(logPath).toBytes());
+        // The log is read from the remote storage
+        Files.delete(path);
+        return logPath;
+    }
+
+    private static List<String> lines(int from, int to) {
+        // Each line is 12 bytes
+        return IntStream.range(from, to)
+                .mapToObj(i -> String.format("line-%06d", i))
+                .collect(Collectors.toList());
+    }
+
+    private static class InMemoryRemoteLogHandler implements RemoteLogHandler {
+
+        private final Map<String, byte[]> logs = new HashMap<>();
+
+        private final Map<String, byte[]> indexes = new HashMap<>();
+
+        private final AtomicInteger rangeRequests = new AtomicInteger();
+
+        private final AtomicInteger indexRequests = new AtomicInteger();
+
+        @Override
+        public void sendRemoteLog(String logPath) {
+        }
+
+        @Override
+        public void getRemoteLog(String logPath) {
+        }
+
+        @Override
+        public void sendRemoteLogIndex(String logPath, byte[] remoteLogIndex) {
+            indexes.put(logPath, remoteLogIndex);
+        }
+
+        @Override
+        public byte[] getRemoteLogIndex(String logPath) {
+            indexRequests.incrementAndGet();
+            return indexes.get(logPath);
+        }
+
+        @Override
+        public byte[] getRemoteLogRange(String logPath, long offset, int length) {
+            rangeRequests.incrementAndGet();
+            byte[] log = logs.get(logPath);
+            return Arrays.copyOfRange(log, (int) offset, (int) Math.min(log.length, offset + length));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.utils;
+
+import org.apache.dolphinscheduler.common.log.LogTail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LogUtilsTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testReadPartFileContentFromLocal() throws IOException {
+        Path logPath = tempDir.resolve("task.log");
+        Files.write(logPath, lines(0, 2500), StandardCharsets.UTF_8);
+        String filePath = logPath.toString();
+
+        Assertions.assertEquals(lines(0, 10), LogUtils.readPartFileContentFromLocal(filePath, 0, 10));
+        Assertions.assertEquals(lines(1995, 2005), LogUtils.readPartFileContentFromLocal(filePath, 1995, 10));
+        Assertions.assertEquals(lines(2495, 2500), LogUtils.readPartFileContentFromLocal(filePath, 2495, 10));
+        Assertions.assertTrue(LogUtils.readPartFileContentFromLocal(filePath, 3000, 10).isEmpty());
+
+        // The appended lines can be read after the file grows
+        Files.write(logPath, lines(2500, 3500), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        Assertions.assertEquals(lines(3000, 3010), LogUtils.readPartFileContentFromLocal(filePath, 3000, 10));
+
+        // The stale index is dropped after the file is truncated
+        Files.write(logPath, lines(10000, 10010), StandardCharsets.UTF_8);
+        Assertions.assertEquals(lines(10005, 10010), LogUtils.readPartFileContentFromLocal(filePath, 5, 10));
+    }
+
+    @Test
+    public void testReadPartFileContentWithoutLineTerminatorAtEnd() throws IOException {
+        Path logPath = tempDir.resolve("unterminated.log");
+        Files.write(logPath, "line-0\nline-1\nline-2".getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertEquals(Arrays.asList("line-1", "line-2"),
+                LogUtils.readPartFileContentFromLocal(logPath.toString(), 1, 10));
+    }
+
+    @Test
+    public void testReadPartFileContentWithCarriageReturn() throws IOException {
+        Path logPath = tempDir.resolve("cr.log");
+        String[] lineTerminators = {"\r\n", "\r", "\n"};
+        StringBuilder content = new StringBuilder();
+        List<String> lines = lines(0, 2500);
+        for (int i = 0; i < lines.size(); i++) {
+            content.append(lines.get(i)).append(lineTerminators[i % lineTerminators.length]);
+        }
+        Files.write(logPath, content.toString().getBytes(StandardCharsets.UTF_8));
+        String filePath = logPath.toString();
+
+        Assertions.assertEquals(lines(0, 10), LogUtils.readPartFileContentFromLocal(filePath, 0, 10));
+        Assertions.assertEquals(lines(995, 1005), LogUtils.readPartFileContentFromLocal(filePath, 995, 10));
+        Assertions.assertEquals(lines(2495, 2500), LogUtils.readPartFileContentFromLocal(filePath, 2495, 10));
+    }
+
+    @Test
+    public void testTailFileContentFromLocal() throws IOException {
+        Path logPath = tempDir.resolve("tail.log");
+        Files.write(logPath, "line-0\nline-1\npartial".getBytes(StandardCharsets.UTF_8));
+        String filePath = logPath.toString();
+
+        LogTail logTail = LogUtils.tailFileContentFromLocal(filePath, 0, 1024);
+        Assertions.assertEquals("line-0\nline-1\n", logTail.getContent());
+        Assertions.assertEquals(14, logTail.getNextOffset());
+
+        // The incomplete line is returned once it is terminated
+        logTail = LogUtils.tailFileContentFromLocal(filePath, logTail.getNextOffset(), 1024);
+        Assertions.assertEquals("", logTail.getContent());
+        Assertions.assertEquals(14, logTail.getNextOffset());
+
+        Files.write(logPath, "-line\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        logTail = LogUtils.tailFileContentFromLocal(filePath, logTail.getNextOffset(), 1024);
+        Assertions.assertEquals("partial-line\n", logTail.getContent());
+        Assertions.assertEquals(Files.size(logPath), logTail.getNextOffset());
+
+        // Read from the beginning when the offset is beyond the file
+        Files.write(logPath, "new\n".getBytes(StandardCharsets.UTF_8));
+        logTail = LogUtils.tailFileContentFromLocal(filePath, 100, 1024);
+        Assertions.assertEquals("new\n", logTail.getContent());
+        Assertions.assertEquals(4, logTail.getNextOffset());
+    }
+
+    @Test
+    public void testTailFileContentWithCarriageReturn() throws IOException {
+        Path logPath = tempDir.resolve("tail-cr.log");
+        Files.write(logPath, "line-0\rline-1\r\npartial".getBytes(StandardCharsets.UTF_8));
+
+        LogTail logTail = LogUtils.tailFileContentFromLocal(logPath.toString(), 0, 1024);
+        Assertions.assertEquals("line-0\rline-1\r\n", logTail.getContent());
+        Assertions.assertEquals(15, logTail.getNextOffset());
+    }
+
+    @Test
+    public void testTailFileContentCutLongLineAtCharBoundary() throws IOException {
+        Path logPath = tempDir.resolve("long.log");
+        // Each character is 3 bytes in UTF-8
+        Files.write(logPath, "日志日志\n".getBytes(StandardCharsets.UTF_8));
+        String filePath = logPath.toString();
+
+        LogTail logTail = LogUtils.tailFileContentFromLocal(filePath, 0, 5);
+        Assertions.assertEquals("日", logTail.getContent());
+        Assertions.assertEquals(3, logTail.getNextOffset());
+
+        logTail = LogUtils.tailFileContentFromLocal(filePath, logTail.getNextOffset(), 100);
+        Assertions.assertEquals("志日志\n", logTail.getContent());
+    }
+
+    private static List<String> lines(int from, int to) {
+        return IntStream.range(from, to)
+                .mapToObj(i -> "line-" + i)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+}
@@ -54,6 +54,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.google.common.base.Strings;
@@ -117,6 +118,19 @@ public class AlertDao {
         return alertMapper.updateById(alert);
     }
 
+    /**
+     * update the sending(execution) status of the alert and insert its send status of each plugin instance in one
+     * transaction, the alert is updated first to avoid duplicate key in alertSendStatus
+     *
+     * @param alert alert with id, alertStatus and log
+     * @param alertSendStatuses send status of each plugin instance
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void updateAlertAndInsertSendStatus(Alert alert, List<AlertSendStatus> alertSendStatuses) {
+        updateAlert(alert.getAlertStatus(), alert.getLog(), alert.getId());
+        insertAlertSendStatus(alertSendStatuses);
+    }
+
     /**
      * generate sign for alert
      *
@@ -274,7 +288,15 @@ public class AlertDao {
      * List alerts that are pending for execution
      */
     public List<Alert> listPendingAlerts() {
-        return alertMapper.listingAlertByStatus(AlertStatus.WAIT_EXECUTION.getCode(), QUERY_ALERT_THRESHOLD);
+        return listPendingAlerts(0);
+    }
+
+    /**
+     * List alerts that are pending for execution and whose id is greater than minAlertId, order by id
+     */
+    public List<Alert> listPendingAlerts(int minAlertId) {
+        return alertMapper.listingAlertByStatus(AlertStatus.WAIT_EXECUTION.getCode(), minAlertId,
+                QUERY_ALERT_THRESHOLD);
     }
 
     public List<Alert> listAlerts(int processInstanceId) {
@@ -34,9 +34,11 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 public interface AlertMapper extends BaseMapper<Alert> {
 
     /**
-     * Query the alert by alertStatus and return limit with default sort.
+     * Query the alert by alertStatus whose id is greater than minAlertId, order by id.
      */
-    List<Alert> listingAlertByStatus(@Param("alertStatus") int alertStatus, @Param("limit") int limit);
+    List<Alert> listingAlertByStatus(@Param("alertStatus") int alertStatus,
+                                     @Param("minAlertId") int minAlertId,
+                                     @Param("limit") int limit);
 
     /**
      * Insert server crash alert
@@ -57,5 +57,11 @@ public interface CommandMapper extends BaseMapper<Command> {
                                        @Param("idStep") int idStep,
                                        @Param("fetchNumber") int fetchNum);
 
+    List<Command> queryCommandByIdSlotFromId(@Param("currentSlotIndex") int currentSlotIndex,
+                                             @Param("totalSlot") int totalSlot,
+                                             @Param("idStep") int idStep,
+                                             @Param("minId") long minId,
+                                             @Param("fetchNumber") int fetchNum);
+
     void deleteByWorkflowInstanceIds(@Param("workflowInstanceIds") List<Integer> workflowInstanceIds);
 }
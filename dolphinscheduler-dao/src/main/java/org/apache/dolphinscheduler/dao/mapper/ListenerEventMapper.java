@@ -39,4 +39,14 @@ public interface ListenerEventMapper extends BaseMapper<ListenerEvent> {
 
     void updateListenerEvent(@Param("eventId") int eventId, @Param("postStatus") AlertStatus postStatus,
                              @Param("log") String log, @Param("updateTime") Date updateTime);
+
+    /**
+     * Update the post status and log of the events by one statement
+     *
+     * @param events the events with id, postStatus and log
+     * @param updateTime update time
+     */
+    void batchUpdateListenerEvent(@Param("events") List<ListenerEvent> events, @Param("updateTime") Date updateTime);
+
+    long countListenerEventByStatus(@Param("postStatus") AlertStatus postStatus);
 }
@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.enums.TaskExecuteType;
 import org.apache.dolphinscheduler.dao.entity.ExecuteStatusCount;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStateUpdate;
 import org.apache.dolphinscheduler.dao.model.TaskInstanceStatusCountDto;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
@@ -147,4 +148,16 @@ public interface TaskInstanceMapper extends BaseMapper<TaskInstance> {
     TaskInstance findLastTaskInstance(@Param("processInstanceId") Integer processInstanceId,
                                       @Param("taskCode") long depTaskCode,
                                       @Param("testFlag") int testFlag);
+
+    /**
+     * Update the changed execution state columns of the task instances by one statement
+     *
+     * @param updates the updates of different task instances
+     * @param changedFields the fields changed by any of the updates
+     * @param finishedStates the finished states, which will not be changed to an unfinished state
+     * @return updated rows
+     */
+    int batchUpdateTaskInstanceState(@Param("updates") List<TaskInstanceStateUpdate> updates,
+                                     @Param("changedFields") Set<String> changedFields,
+                                     @Param("finishedStates") List<TaskExecutionStatus> finishedStates);
 }
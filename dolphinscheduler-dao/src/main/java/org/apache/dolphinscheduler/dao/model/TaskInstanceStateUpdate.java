@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.model;
+
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The changed execution state columns of a task instance, the column which is null is not changed.
+ * <p> Like {@code updateById}, a column can not be updated to null.
+ */
+@Data
+@NoArgsConstructor
+public class TaskInstanceStateUpdate {
+
+    private int id;
+
+    private TaskExecutionStatus state;
+
+    private Date startTime;
+
+    private Date endTime;
+
+    private String host;
+
+    private String executePath;
+
+    private String logPath;
+
+    private Integer pid;
+
+    private String appLink;
+
+    private String varPool;
+
+    private String taskParams;
+
+    public TaskInstanceStateUpdate(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Get the execution state columns which are changed from {@code before} to {@code after}.
+     */
+    public static TaskInstanceStateUpdate diff(TaskInstance before, TaskInstance after) {
+        TaskInstanceStateUpdate update = new TaskInstanceStateUpdate(after.getId());
+        update.state = changed(before.getState(), after.getState());
+        update.startTime = changed(before.getStartTime(), after.getStartTime());
+        update.endTime = changed(before.getEndTime(), after.getEndTime());
+        update.host = changed(before.getHost(), after.getHost());
+        update.executePath = changed(before.getExecutePath(), after.getExecutePath());
+        update.logPath = changed(before.getLogPath(), after.getLogPath());
+        update.pid = before.getPid() == after.getPid() ? null : after.getPid();
+        update.appLink = changed(before.getAppLink(), after.getAppLink());
+        update.varPool = changed(before.getVarPool(), after.getVarPool());
+        update.taskParams = changed(before.getTaskParams(), after.getTaskParams());
+        return update;
+    }
+
+    private static <T> T changed(T before, T after) {
+        return Objects.equals(before, after) ? null : after;
+    }
+
+    /**
+     * Merge the newer update of the same task instance into this one, the newer column wins.
+     *
+     * @return the merged update
+     */
+    public TaskInstanceStateUpdate merge(TaskInstanceStateUpdate newer) {
+        TaskInstanceStateUpdate merged = new TaskInstanceStateUpdate(id);
+        merged.state = newer.state != null ? newer.state : state;
+        merged.startTime = newer.startTime != null ? newer.startTime : startTime;
+        merged.endTime = newer.endTime != null ? newer.endTime : endTime;
+        merged.host = newer.host != null ? newer.host : host;
+        merged.executePath = newer.executePath != null ? newer.executePath : executePath;
+        merged.logPath = newer.logPath != null ? newer.logPath : logPath;
+        merged.pid = newer.pid != null ? newer.pid : pid;
+        merged.appLink = newer.appLink != null ? newer.appLink : appLink;
+        merged.varPool = newer.varPool != null ? newer.varPool : varPool;
+        merged.taskParams = newer.taskParams != null ? newer.taskParams : taskParams;
+        return merged;
+    }
+
+    public boolean isEmpty() {
+        return getChangedFields().isEmpty();
+    }
+
+    /**
+     * @return the name of the changed fields
+     */
+    public Set<String> getChangedFields() {
+        Set<String> changedFields = new HashSet<>();
+        addIfChanged(changedFields, "state", state);
+        addIfChanged(changedFields, "startTime", startTime);
+        addIfChanged(changedFields, "endTime", endTime);
+        addIfChanged(changedFields, "host", host);
+        addIfChanged(changedFields, "executePath", executePath);
+        addIfChanged(changedFields, "logPath", logPath);
+        addIfChanged(changedFields, "pid", pid);
+        addIfChanged(changedFields, "appLink", appLink);
+        addIfChanged(changedFields, "varPool", varPool);
+        addIfChanged(changedFields, "taskParams", taskParams);
+        return changedFields;
+    }
+
+    /**
+     * @return the name of the fields changed by any of the updates
+     */
+    public static Set<String> getChangedFields(Collection<TaskInstanceStateUpdate> updates) {
+        Set<String> changedFields = new HashSet<>();
+        for (TaskInstanceStateUpdate update : updates) {
+            changedFields.addAll(update.getChangedFields());
+        }
+        return changedFields;
+    }
+
+    private static void addIfChanged(Set<String> changedFields, String field, Object value) {
+        if (value != null) {
+            changedFields.add(field);
+        }
+    }
+}
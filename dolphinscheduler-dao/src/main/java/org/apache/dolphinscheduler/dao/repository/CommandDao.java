@@ -36,4 +36,24 @@ public interface CommandDao extends IDao<Command> {
                                        int totalSlot,
                                        int idStep,
                                        int fetchNum);
+
+    /**
+     * Query command by command id and server slot, starting from the given id, return the command which match
+     * commandId >= minId and (commandId / step) %s totalSlot = currentSlotIndex, ordered by id.
+     * <p>
+     * Different from {@link #queryCommandByIdSlot}, the result is not sorted by priority, so the database can seek by
+     * the primary key and stop once enough commands are found, instead of scanning and sorting the whole table.
+     *
+     * @param currentSlotIndex current slot index
+     * @param totalSlot        total slot number
+     * @param idStep           id step in db
+     * @param minId            the min command id(inclusive) to seek from
+     * @param fetchNum         fetch number
+     * @return command list
+     */
+    List<Command> queryCommandByIdSlotFromId(int currentSlotIndex,
+                                             int totalSlot,
+                                             int idStep,
+                                             long minId,
+                                             int fetchNum);
 }
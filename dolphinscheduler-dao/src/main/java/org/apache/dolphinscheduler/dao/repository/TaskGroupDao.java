@@ -59,4 +59,13 @@ public interface TaskGroupDao extends IDao<TaskGroup> {
      * @return true if release successfully, false otherwise.
      */
     boolean releaseTaskGroupSlot(Integer taskGroupId);
+
+    /**
+     * Set the useSize of the TaskGroup to actualUseSize only if it's still observedUseSize, so a slot acquired or
+     * released concurrently will not be overridden.
+     *
+     * @param taskGroupId taskGroupId which shouldn't be null
+     * @return true if amend successfully, false if the useSize is changed.
+     */
+    boolean amendTaskGroupUseSize(Integer taskGroupId, int observedUseSize, int actualUseSize);
 }
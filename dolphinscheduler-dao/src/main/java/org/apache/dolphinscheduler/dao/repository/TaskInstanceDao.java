@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.dao.repository;
 
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStateUpdate;
 
 import java.util.List;
 import java.util.Set;
@@ -85,6 +86,14 @@ public interface TaskInstanceDao extends IDao<TaskInstance> {
 
     void deleteByWorkflowInstanceId(int workflowInstanceId);
 
+    /**
+     * Update the changed execution state columns of the task instances by one statement, the task instances should be
+     * different. The finished state of a task instance will not be changed to an unfinished state.
+     *
+     * @param updates the updates of different task instances
+     */
+    void batchUpdateTaskInstanceState(List<TaskInstanceStateUpdate> updates);
+
     List<TaskInstance> queryByWorkflowInstanceId(Integer processInstanceId);
 
     /**
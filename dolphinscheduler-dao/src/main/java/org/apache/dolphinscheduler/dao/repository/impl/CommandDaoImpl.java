@@ -38,4 +38,13 @@ public class CommandDaoImpl extends BaseDao<Command, CommandMapper> implements C
         return mybatisMapper.queryCommandByIdSlot(currentSlotIndex, totalSlot, idStep, fetchNum);
     }
 
+    @Override
+    public List<Command> queryCommandByIdSlotFromId(int currentSlotIndex,
+                                                    int totalSlot,
+                                                    int idStep,
+                                                    long minId,
+                                                    int fetchNum) {
+        return mybatisMapper.queryCommandByIdSlotFromId(currentSlotIndex, totalSlot, idStep, minId, fetchNum);
+    }
+
 }
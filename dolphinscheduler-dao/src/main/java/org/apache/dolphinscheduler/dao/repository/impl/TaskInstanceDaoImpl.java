@@ -24,15 +24,19 @@ import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.mapper.ProcessInstanceMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStateUpdate;
 import org.apache.dolphinscheduler.dao.repository.BaseDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -47,6 +51,10 @@ import org.springframework.stereotype.Repository;
 @Slf4j
 public class TaskInstanceDaoImpl extends BaseDao<TaskInstance, TaskInstanceMapper> implements TaskInstanceDao {
 
+    private static final List<TaskExecutionStatus> FINISHED_STATES = Arrays.stream(TaskExecutionStatus.values())
+            .filter(TaskExecutionStatus::isFinished)
+            .collect(Collectors.toList());
+
     @Autowired
     private ProcessInstanceMapper processInstanceMapper;
 
@@ -167,6 +175,18 @@ public class TaskInstanceDaoImpl extends BaseDao<TaskInstance, TaskInstanceMappe
         mybatisMapper.deleteByWorkflowInstanceId(workflowInstanceId);
     }
 
+    @Override
+    public void batchUpdateTaskInstanceState(List<TaskInstanceStateUpdate> updates) {
+        if (CollectionUtils.isEmpty(updates)) {
+            return;
+        }
+        Set<String> changedFields = TaskInstanceStateUpdate.getChangedFields(updates);
+        if (changedFields.isEmpty()) {
+            return;
+        }
+        mybatisMapper.batchUpdateTaskInstanceState(updates, changedFields, FINISHED_STATES);
+    }
+
     @Override
     public List<TaskInstance> queryByWorkflowInstanceId(Integer workflowInstanceId) {
         return mybatisMapper.findByWorkflowInstanceId(workflowInstanceId);
@@ -56,4 +56,16 @@ $$ LANGUAGE plpgsql;
 d//
 
 select modify_data_t_ds_audit_log_input_entry();
-DROP FUNCTION IF EXISTS modify_data_t_ds_audit_log_input_entry();
\ No newline at end of file
+DROP FUNCTION IF EXISTS modify_data_t_ds_audit_log_input_entry();
+
+-- The data change events of the jdbc registry, the revision feed queried by the subscribers
+CREATE TABLE IF NOT EXISTS t_ds_jdbc_registry_data_change_event
+(
+    id               bigserial
+        constraint t_ds_jdbc_registry_data_change_event_pk primary key,
+    event_type       varchar                             not null,
+    data_key         varchar                             not null,
+    data_value       text,
+    event_time       bigint                              not null
+);
+CREATE INDEX IF NOT EXISTS t_ds_jdbc_registry_data_change_event_time_index on t_ds_jdbc_registry_data_change_event (event_time);
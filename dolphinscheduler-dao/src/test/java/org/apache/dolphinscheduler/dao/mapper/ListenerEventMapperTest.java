@@ -100,6 +100,33 @@ public class ListenerEventMapperTest extends BaseDaoTest {
         Assertions.assertEquals(updatedEvent.getLog(), "fail");
     }
 
+    /**
+     * test batch update listener event
+     */
+    @Test
+    public void testBatchUpdateListenerEvent() {
+        ListenerEvent event1 = generateServerDownListenerEvent("192.168.x.1");
+        ListenerEvent event2 = generateServerDownListenerEvent("192.168.x.2");
+        ListenerEvent event3 = generateServerDownListenerEvent("192.168.x.3");
+        listenerEventMapper.insert(event1);
+        listenerEventMapper.insert(event2);
+        listenerEventMapper.insert(event3);
+        event1.setPostStatus(AlertStatus.EXECUTION_FAILURE);
+        event1.setLog("fail");
+        event2.setPostStatus(AlertStatus.EXECUTION_PARTIAL_SUCCESS);
+        event2.setLog("partial success");
+        listenerEventMapper.batchUpdateListenerEvent(Lists.newArrayList(event1, event2), new Date());
+        ListenerEvent updatedEvent1 = listenerEventMapper.selectById(event1.getId());
+        Assertions.assertEquals(AlertStatus.EXECUTION_FAILURE, updatedEvent1.getPostStatus());
+        Assertions.assertEquals("fail", updatedEvent1.getLog());
+        ListenerEvent updatedEvent2 = listenerEventMapper.selectById(event2.getId());
+        Assertions.assertEquals(AlertStatus.EXECUTION_PARTIAL_SUCCESS, updatedEvent2.getPostStatus());
+        Assertions.assertEquals("partial success", updatedEvent2.getLog());
+        Assertions.assertEquals(AlertStatus.WAIT_EXECUTION,
+                listenerEventMapper.selectById(event3.getId()).getPostStatus());
+        Assertions.assertEquals(1L, listenerEventMapper.countListenerEventByStatus(AlertStatus.WAIT_EXECUTION));
+    }
+
     /**
      * test delete listener event
      */
@@ -24,12 +24,14 @@ import org.apache.dolphinscheduler.dao.BaseDaoTest;
 import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStateUpdate;
 import org.apache.dolphinscheduler.dao.model.TaskInstanceStatusCountDto;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -112,6 +114,54 @@ public class TaskInstanceMapperTest extends BaseDaoTest {
         taskInstanceMapper.deleteById(taskInstance.getId());
     }
 
+    /**
+     * test batch update task instance state
+     */
+    @Test
+    public void testBatchUpdateTaskInstanceState() {
+        ProcessInstance processInstance = insertProcessInstance();
+        TaskInstance taskInstance1 = insertTaskInstance(processInstance.getId());
+        TaskInstance taskInstance2 = insertTaskInstance(processInstance.getId());
+        TaskInstance taskInstance3 = insertTaskInstance(processInstance.getId());
+
+        TaskInstanceStateUpdate update1 = new TaskInstanceStateUpdate(taskInstance1.getId());
+        update1.setState(TaskExecutionStatus.SUCCESS);
+        update1.setVarPool("[]");
+        TaskInstanceStateUpdate update2 = new TaskInstanceStateUpdate(taskInstance2.getId());
+        update2.setHost("127.0.0.1:1234");
+        update2.setPid(100);
+        List<TaskInstanceStateUpdate> updates = Lists.newArrayList(update1, update2);
+        Set<String> changedFields = TaskInstanceStateUpdate.getChangedFields(updates);
+
+        List<TaskExecutionStatus> finishedStates =
+                Lists.newArrayList(TaskExecutionStatus.SUCCESS, TaskExecutionStatus.FAILURE);
+
+        Assertions.assertEquals(2,
+                taskInstanceMapper.batchUpdateTaskInstanceState(updates, changedFields, finishedStates));
+        TaskInstance updatedTaskInstance1 = taskInstanceMapper.selectById(taskInstance1.getId());
+        Assertions.assertEquals(TaskExecutionStatus.SUCCESS, updatedTaskInstance1.getState());
+        Assertions.assertEquals("[]", updatedTaskInstance1.getVarPool());
+        Assertions.assertNull(updatedTaskInstance1.getHost());
+        TaskInstance updatedTaskInstance2 = taskInstanceMapper.selectById(taskInstance2.getId());
+        Assertions.assertEquals(TaskExecutionStatus.RUNNING_EXECUTION, updatedTaskInstance2.getState());
+        Assertions.assertEquals("127.0.0.1:1234", updatedTaskInstance2.getHost());
+        Assertions.assertEquals(100, updatedTaskInstance2.getPid());
+        Assertions.assertNull(updatedTaskInstance2.getVarPool());
+        Assertions.assertEquals("us task", updatedTaskInstance2.getName());
+        Assertions.assertNull(taskInstanceMapper.selectById(taskInstance3.getId()).getHost());
+
+        // the finished state will not be changed to an unfinished state
+        TaskInstanceStateUpdate lateUpdate = new TaskInstanceStateUpdate(taskInstance1.getId());
+        lateUpdate.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        lateUpdate.setHost("127.0.0.1:1234");
+        List<TaskInstanceStateUpdate> lateUpdates = Lists.newArrayList(lateUpdate);
+        taskInstanceMapper.batchUpdateTaskInstanceState(lateUpdates,
+                TaskInstanceStateUpdate.getChangedFields(lateUpdates), finishedStates);
+        updatedTaskInstance1 = taskInstanceMapper.selectById(taskInstance1.getId());
+        Assertions.assertEquals(TaskExecutionStatus.SUCCESS, updatedTaskInstance1.getState());
+        Assertions.assertEquals("127.0.0.1:1234", updatedTaskInstance1.getHost());
+    }
+
     /**
      * test delete
      */
@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.dao.AlertDao;
 import org.apache.dolphinscheduler.dao.DaoConfiguration;
 import org.apache.dolphinscheduler.dao.entity.Alert;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
@@ -62,6 +63,24 @@ public class AlertDaoTest {
         Assertions.assertNotEquals(0, alerts.size());
     }
 
+    @Test
+    public void testListPendingAlertsAfterId() {
+        List<Integer> alertIds = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Alert alert = new Alert();
+            alert.setTitle("Pending alert " + i);
+            alert.setContent("[]");
+            alert.setAlertGroupId(1);
+            alert.setAlertStatus(AlertStatus.WAIT_EXECUTION);
+            alertDao.addAlert(alert);
+            alertIds.add(alert.getId());
+        }
+
+        List<Alert> alerts = alertDao.listPendingAlerts(alertIds.get(0));
+        Assertions.assertEquals(alertIds.get(1), alerts.get(0).getId());
+        Assertions.assertTrue(alerts.stream().allMatch(alert -> alert.getId() > alertIds.get(0)));
+    }
+
     @Test
     public void testAddAlertSendStatus() {
         int insertCount = alertDao.addAlertSendStatus(AlertStatus.EXECUTION_SUCCESS, "success", 1, 1);
@@ -33,6 +33,7 @@ import org.apache.dolphinscheduler.dao.repository.CommandDao;
 import org.apache.commons.lang3.RandomUtils;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -66,6 +67,34 @@ class CommandDaoImplTest extends BaseDaoTest {
 
     }
 
+    @Test
+    void fetchCommandByIdSlotFromId() {
+        int commandSize = RandomUtils.nextInt(1, 1000);
+        for (int i = 0; i < commandSize; i++) {
+            createCommand(CommandType.START_PROCESS, 0);
+        }
+        int totalSlot = RandomUtils.nextInt(1, 10);
+        int currentSlotIndex = RandomUtils.nextInt(0, totalSlot);
+        int fetchSize = RandomUtils.nextInt(10, 100);
+        List<Command> allCommands = commandDao.queryAll();
+        long minId = allCommands.get(allCommands.size() / 2).getId();
+        for (int i = 1; i < 5; i++) {
+            int idStep = i;
+            List<Command> commands =
+                    commandDao.queryCommandByIdSlotFromId(currentSlotIndex, totalSlot, idStep, minId, fetchSize);
+            assertThat(commands.stream().map(Command::getId).collect(Collectors.toList()))
+                    .containsExactlyElementsIn(allCommands
+                            .stream()
+                            .map(Command::getId)
+                            .filter(id -> id >= minId)
+                            .filter(id -> (id / idStep) % totalSlot == currentSlotIndex)
+                            .sorted()
+                            .limit(fetchSize)
+                            .collect(Collectors.toList()))
+                    .inOrder();
+        }
+    }
+
     private void createCommand(CommandType commandType, int processDefinitionCode) {
         Command command = new Command();
         command.setCommandType(commandType);
@@ -101,6 +101,19 @@ class TaskGroupDaoImplTest extends BaseDaoTest {
         assertEquals(0, taskGroup.getUseSize());
     }
 
+    @Test
+    void amendTaskGroupUseSize() {
+        TaskGroup taskGroup = createTaskGroup("testAmend", 2, 3);
+        taskGroupDao.insert(taskGroup);
+        // The useSize is changed after it's observed
+        assertTrue(taskGroupDao.releaseTaskGroupSlot(taskGroup.getId()));
+        assertFalse(taskGroupDao.amendTaskGroupUseSize(taskGroup.getId(), 2, 1));
+        assertEquals(1, taskGroupDao.queryById(taskGroup.getId()).getUseSize());
+
+        assertTrue(taskGroupDao.amendTaskGroupUseSize(taskGroup.getId(), 1, 0));
+        assertEquals(0, taskGroupDao.queryById(taskGroup.getId()).getUseSize());
+    }
+
     private TaskGroup createTaskGroup(String name, int useSize, int groupSize) {
         return TaskGroup.builder()
                 .name(name)
@@ -0,0 +1,294 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base;
+
+import org.apache.dolphinscheduler.extract.base.metrics.RpcClientMetrics;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.Gauge;
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+
+/**
+ * The channels connected to one host.
+ * <p> The request is sent by the active channel which has the least pending requests, a new channel is connected only
+ * when all the active channels are busy, so the pool grows to {@code maxChannels} under load. The new channel is
+ * connected in background while the busy channel is used, the caller only waits for the connection if there is no
+ * active channel.
+ * <p> The async requests to the host are limited by {@code maxInFlightRequests}, so a slow host will not block the
+ * requests to the other hosts.
+ */
+class HostChannelPool {
+
+    private static final AttributeKey<AtomicInteger> PENDING_REQUESTS =
+            AttributeKey.valueOf(HostChannelPool.class, "pendingRequests");
+
+    /**
+     * The interval to retry connecting a new channel after the previous connection failed, when there are still active
+     * channels.
+     */
+    private static final long CONNECT_RETRY_INTERVAL_MILLIS = 1000L;
+
+    private final Host host;
+
+    private final AtomicReferenceArray<Channel> channels;
+
+    private final Lock connectLock = new ReentrantLock();
+
+    private final AtomicBoolean growing = new AtomicBoolean(false);
+
+    private volatile boolean closed;
+
+    private volatile long nextConnectTime;
+
+    /**
+     * Connect a channel to the host, the future is completed with null if cannot connect.
+     */
+    private final Function<Host, CompletableFuture<Channel>> channelConnector;
+
+    private final Semaphore inFlightSemaphore;
+
+    private final int maxInFlightRequests;
+
+    private final AtomicInteger pendingRequests = new AtomicInteger(0);
+
+    private final Gauge pendingRequestsGauge;
+
+    private final Gauge activeChannelsGauge;
+
+    /**
+     * @param clientId the id of the client which owns the pool, the clients connected to the same host are
+     *                 distinguished by it in the metrics
+     */
+    HostChannelPool(String clientId,
+                    Host host,
+                    int maxChannels,
+                    int maxInFlightRequests,
+                    Function<Host, CompletableFuture<Channel>> channelConnector) {
+        this.host = host;
+        this.channels = new AtomicReferenceArray<>(maxChannels);
+        this.maxInFlightRequests = maxInFlightRequests;
+        this.inFlightSemaphore = new Semaphore(maxInFlightRequests);
+        this.channelConnector = channelConnector;
+        this.pendingRequestsGauge =
+                RpcClientMetrics.registerPendingRequestsGauge(clientId, host.getAddress(), this::getPendingRequests);
+        this.activeChannelsGauge =
+                RpcClientMetrics.registerActiveChannelsGauge(clientId, host.getAddress(), this::getActiveChannelSize);
+    }
+
+    /**
+     * Select the active channel with the least pending requests, will connect a new channel in background if all the
+     * active channels have pending requests and the pool is not full.
+     *
+     * @return the selected channel, null if cannot connect to the host
+     */
+    Channel selectChannel() {
+        Channel selected = selectLeastPendingChannel();
+        if (selected != null) {
+            if (pendingRequests(selected) > 0 && shouldGrow()) {
+                growAsync();
+            }
+            return selected;
+        }
+        connectLock.lock();
+        try {
+            // double check, another thread may have connected a new channel
+            selected = selectLeastPendingChannel();
+            if (selected != null) {
+                return selected;
+            }
+            Channel channel = channelConnector.apply(host).join();
+            if (channel == null) {
+                return null;
+            }
+            if (!addChannel(channel)) {
+                // the pool is filled by the background connections, use the pooled one
+                channel.close();
+                return selectLeastPendingChannel();
+            }
+            return channel;
+        } catch (Exception ex) {
+            return null;
+        } finally {
+            connectLock.unlock();
+        }
+    }
+
+    private boolean shouldGrow() {
+        return System.currentTimeMillis() >= nextConnectTime && hasFreeSlot();
+    }
+
+    /**
+     * Connect a new channel without blocking the caller, at most one connection is in progress.
+     */
+    private void growAsync() {
+        if (!growing.compareAndSet(false, true)) {
+            return;
+        }
+        channelConnector.apply(host).whenComplete((channel, ex) -> {
+            try {
+                if (channel == null) {
+                    nextConnectTime = System.currentTimeMillis() + CONNECT_RETRY_INTERVAL_MILLIS;
+                } else if (closed || !addChannel(channel)) {
+                    channel.close();
+                }
+            } finally {
+                growing.set(false);
+            }
+        });
+    }
+
+    private boolean hasFreeSlot() {
+        for (int i = 0; i < channels.length(); i++) {
+            Channel channel = channels.get(i);
+            if (channel == null || !channel.isActive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Put the connected channel into a free slot.
+     *
+     * @return false if the pool is full
+     */
+    private boolean addChannel(Channel channel) {
+        channel.attr(PENDING_REQUESTS).set(new AtomicInteger(0));
+        for (int i = 0; i < channels.length(); i++) {
+            Channel pooled = channels.get(i);
+            if ((pooled == null || !pooled.isActive()) && channels.compareAndSet(i, pooled, channel)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Channel selectLeastPendingChannel() {
+        Channel selected = null;
+        int selectedPendingRequests = Integer.MAX_VALUE;
+        for (int i = 0; i < channels.length(); i++) {
+            Channel channel = channels.get(i);
+            if (channel == null || !channel.isActive()) {
+                continue;
+            }
+            int channelPendingRequests = pendingRequests(channel);
+            if (channelPendingRequests < selectedPendingRequests) {
+                selected = channel;
+                selectedPendingRequests = channelPendingRequests;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Acquire an in flight slot for async request.
+     */
+    boolean tryAcquire(long timeoutMillis) throws InterruptedException {
+        return inFlightSemaphore.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Mark a request is sent by the given channel.
+     *
+     * @param acquired whether the request acquired an in flight slot by {@link #tryAcquire(long)}
+     * @return the action to release the request, should be called once the request is completed
+     */
+    Runnable onRequestSent(Channel channel, boolean acquired) {
+        AtomicInteger channelPendingRequests = channel.attr(PENDING_REQUESTS).get();
+        if (channelPendingRequests != null) {
+            channelPendingRequests.incrementAndGet();
+        }
+        pendingRequests.incrementAndGet();
+        return () -> {
+            if (channelPendingRequests != null) {
+                channelPendingRequests.decrementAndGet();
+            }
+            pendingRequests.decrementAndGet();
+            if (acquired) {
+                inFlightSemaphore.release();
+            }
+        };
+    }
+
+    /**
+     * Remove the channel from the pool, the channel will not be closed.
+     */
+    boolean removeChannel(Channel channel) {
+        for (int i = 0; i < channels.length(); i++) {
+            if (channels.compareAndSet(i, channel, null)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void close() {
+        closed = true;
+        RpcClientMetrics.removeMeter(pendingRequestsGauge);
+        RpcClientMetrics.removeMeter(activeChannelsGauge);
+        for (int i = 0; i < channels.length(); i++) {
+            Channel channel = channels.getAndSet(i, null);
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    int getPendingRequests() {
+        return pendingRequests.get();
+    }
+
+    int getAvailableInFlightPermits() {
+        return inFlightSemaphore.availablePermits();
+    }
+
+    int getInFlightWaitingThreads() {
+        return inFlightSemaphore.getQueueLength();
+    }
+
+    int getMaxInFlightRequests() {
+        return maxInFlightRequests;
+    }
+
+    int getActiveChannelSize() {
+        int size = 0;
+        for (int i = 0; i < channels.length(); i++) {
+            Channel channel = channels.get(i);
+            if (channel != null && channel.isActive()) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private static int pendingRequests(Channel channel) {
+        AtomicInteger channelPendingRequests = channel.attr(PENDING_REQUESTS).get();
+        return channelPendingRequests == null ? 0 : channelPendingRequests.get();
+    }
+}
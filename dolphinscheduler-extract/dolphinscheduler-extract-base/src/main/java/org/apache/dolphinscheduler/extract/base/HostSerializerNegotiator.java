@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base;
+
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides the serializer of the requests sent to each host.
+ * <p> {@link SerializerType#JSON} is understood by every server, while a server released before the other serializers
+ * rejects their version byte and closes the connection. So when another serializer is preferred, the requests to a
+ * host are sent by JSON until the host has answered a probe encoded by the preferred serializer. A host which rejected
+ * the probe keeps using JSON and is probed again later, since it may be upgraded by a rolling upgrade.
+ */
+@Slf4j
+class HostSerializerNegotiator {
+
+    static final long REJECTED_REPROBE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    static final long UNREACHABLE_REPROBE_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final SerializerType preferredSerializerType;
+
+    /**
+     * Send a probe encoded by the given serializer to the host, the returned future is completed with true if the host
+     * answered the probe, false if the host rejected it, or completed exceptionally if the host cannot be reached.
+     */
+    private final BiFunction<Host, SerializerType, CompletableFuture<Boolean>> prober;
+
+    private final ConcurrentHashMap<Host, HostNegotiation> hostNegotiations = new ConcurrentHashMap<>();
+
+    HostSerializerNegotiator(SerializerType preferredSerializerType,
+                             BiFunction<Host, SerializerType, CompletableFuture<Boolean>> prober) {
+        this.preferredSerializerType = preferredSerializerType;
+        this.prober = prober;
+    }
+
+    /**
+     * Get the serializer of the requests sent to the given host, a probe will be sent in the background if the host
+     * has not accepted the preferred serializer yet.
+     */
+    SerializerType getSerializerType(Host host) {
+        if (preferredSerializerType == SerializerType.JSON) {
+            return SerializerType.JSON;
+        }
+        HostNegotiation hostNegotiation = hostNegotiations.computeIfAbsent(host, key -> new HostNegotiation());
+        if (hostNegotiation.accepted) {
+            return preferredSerializerType;
+        }
+        if (System.currentTimeMillis() >= hostNegotiation.nextProbeTime
+                && hostNegotiation.probing.compareAndSet(false, true)) {
+            probe(host, hostNegotiation);
+        }
+        return SerializerType.JSON;
+    }
+
+    /**
+     * Forget the negotiated serializer of the given host, e.g. the host is offline and may come back with another
+     * version.
+     */
+    void reset(Host host) {
+        hostNegotiations.remove(host);
+    }
+
+    private void probe(Host host, HostNegotiation hostNegotiation) {
+        CompletableFuture<Boolean> probeFuture;
+        try {
+            probeFuture = prober.apply(host, preferredSerializerType);
+        } catch (Exception ex) {
+            probeFuture = new CompletableFuture<>();
+            probeFuture.completeExceptionally(ex);
+        }
+        probeFuture.whenComplete((accepted, ex) -> {
+            if (ex != null) {
+                log.debug("Probe the {} serializer of host: {} failed, will retry later", preferredSerializerType,
+                        host, ex);
+                hostNegotiation.nextProbeTime = System.currentTimeMillis() + UNREACHABLE_REPROBE_INTERVAL_MILLIS;
+            } else if (Boolean.TRUE.equals(accepted)) {
+                log.info("Host: {} accepted the {} serializer, switch to it", host, preferredSerializerType);
+                hostNegotiation.accepted = true;
+            } else {
+                log.warn("Host: {} rejected the {} serializer, keep using {} and probe again after {}/ms", host,
+                        preferredSerializerType, SerializerType.JSON, REJECTED_REPROBE_INTERVAL_MILLIS);
+                hostNegotiation.nextProbeTime = System.currentTimeMillis() + REJECTED_REPROBE_INTERVAL_MILLIS;
+            }
+            hostNegotiation.probing.set(false);
+        });
+    }
+
+    private static class HostNegotiation {
+
+        private volatile boolean accepted;
+
+        private volatile long nextProbeTime;
+
+        private final AtomicBoolean probing = new AtomicBoolean(false);
+    }
+
+}
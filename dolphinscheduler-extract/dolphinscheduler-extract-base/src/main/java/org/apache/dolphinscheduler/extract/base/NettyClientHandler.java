@@ -20,7 +20,6 @@ package org.apache.dolphinscheduler.extract.base;
 import org.apache.dolphinscheduler.extract.base.future.ResponseFuture;
 import org.apache.dolphinscheduler.extract.base.protocal.HeartBeatTransporter;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
 import org.apache.dolphinscheduler.extract.base.utils.ChannelUtils;
 
 import java.util.concurrent.ExecutorService;
@@ -47,8 +46,7 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void channelInactive(ChannelHandlerContext ctx) {
-        nettyRemotingClient.closeChannel(ChannelUtils.toAddress(ctx.channel()));
-        ctx.channel().close();
+        nettyRemotingClient.closeChannel(ChannelUtils.toAddress(ctx.channel()), ctx.channel());
     }
 
     @Override
@@ -60,9 +58,20 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
         ResponseFuture future = ResponseFuture.getFuture(transporter.getHeader().getOpaque());
         if (future == null) {
             log.warn("Cannot find the ResponseFuture if transporter: {}", transporter);
+            transporter.release();
             return;
         }
-        StandardRpcResponse deserialize = JsonSerializer.deserialize(transporter.getBody(), StandardRpcResponse.class);
+        StandardRpcResponse deserialize;
+        try {
+            deserialize = transporter.getSerializerType()
+                    .getSerializer()
+                    .deserialize(transporter.getBody(), StandardRpcResponse.class);
+        } catch (Exception ex) {
+            log.error("Deserialize the response of transporter: {} failed", transporter, ex);
+            deserialize = StandardRpcResponse.fail("Deserialize the response failed: " + ex.getMessage());
+        } finally {
+            transporter.release();
+        }
         future.setIRpcResponse(deserialize);
         future.release();
         if (future.getInvokeCallback() != null) {
@@ -76,8 +85,7 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
         log.error("NettyClientHandler catch an exception : {}", cause.getMessage(), cause);
-        nettyRemotingClient.closeChannel(ChannelUtils.toAddress(ctx.channel()));
-        ctx.channel().close();
+        nettyRemotingClient.closeChannel(ChannelUtils.toAddress(ctx.channel()), ctx.channel());
     }
 
     @Override
@@ -23,32 +23,36 @@ import org.apache.dolphinscheduler.extract.base.exception.RemotingException;
 import org.apache.dolphinscheduler.extract.base.exception.RemotingTimeoutException;
 import org.apache.dolphinscheduler.extract.base.exception.RemotingTooMuchRequestException;
 import org.apache.dolphinscheduler.extract.base.future.InvokeCallback;
-import org.apache.dolphinscheduler.extract.base.future.ReleaseSemaphore;
 import org.apache.dolphinscheduler.extract.base.future.ResponseFuture;
+import org.apache.dolphinscheduler.extract.base.metrics.RpcClientMetrics;
+import org.apache.dolphinscheduler.extract.base.protocal.HeartBeatTransporter;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterDecoder;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterEncoder;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 import org.apache.dolphinscheduler.extract.base.utils.CallerThreadExecutePolicy;
 import org.apache.dolphinscheduler.extract.base.utils.Constants;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 import org.apache.dolphinscheduler.extract.base.utils.NettyUtils;
 
 import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import lombok.extern.slf4j.Slf4j;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
@@ -61,9 +65,18 @@ import io.netty.handler.timeout.IdleStateHandler;
 @Slf4j
 public class NettyRemotingClient implements AutoCloseable {
 
+    private static final long SERIALIZER_PROBE_TIMEOUT_MILLIS = 3000;
+
+    private static final AtomicInteger CLIENT_ID_GENERATOR = new AtomicInteger(0);
+
+    /**
+     * Distinguish the metrics of the clients in the same process.
+     */
+    private final String clientId = String.valueOf(CLIENT_ID_GENERATOR.incrementAndGet());
+
     private final Bootstrap bootstrap = new Bootstrap();
 
-    private final ConcurrentHashMap<Host, Channel> channels = new ConcurrentHashMap<>(128);
+    private final ConcurrentHashMap<Host, HostChannelPool> channelPools = new ConcurrentHashMap<>(128);
 
     private final AtomicBoolean isStarted = new AtomicBoolean(false);
 
@@ -71,14 +84,14 @@ public class NettyRemotingClient implements AutoCloseable {
 
     private final NettyClientConfig clientConfig;
 
-    private final Semaphore asyncSemaphore = new Semaphore(1024, true);
-
     private final ExecutorService callbackExecutor;
 
     private final NettyClientHandler clientHandler;
 
     private final ScheduledExecutorService responseFutureExecutor;
 
+    private final HostSerializerNegotiator serializerNegotiator;
+
     public NettyRemotingClient(final NettyClientConfig clientConfig) {
         this.clientConfig = clientConfig;
         ThreadFactory nettyClientThreadFactory = ThreadUtils.newDaemonThreadFactory("NettyClientThread-");
@@ -99,6 +112,8 @@ public class NettyRemotingClient implements AutoCloseable {
 
         this.responseFutureExecutor = Executors.newSingleThreadScheduledExecutor(
                 ThreadUtils.newDaemonThreadFactory("NettyClientResponseFutureThread-"));
+        this.serializerNegotiator =
+                new HostSerializerNegotiator(clientConfig.getSerializerType(), this::probeSerializer);
 
         this.start();
     }
@@ -135,7 +150,8 @@ public class NettyRemotingClient implements AutoCloseable {
                           final Transporter transporter,
                           final long timeoutMillis,
                           final InvokeCallback invokeCallback) throws InterruptedException, RemotingException {
-        final Channel channel = getChannel(host);
+        final HostChannelPool channelPool = getChannelPool(host);
+        final Channel channel = channelPool.selectChannel();
         if (channel == null) {
             throw new RemotingException("network error");
         }
@@ -144,19 +160,17 @@ public class NettyRemotingClient implements AutoCloseable {
          */
         final long opaque = transporter.getHeader().getOpaque();
         /*
-         * control concurrency number
+         * control concurrency number of the host
          */
-        boolean acquired = this.asyncSemaphore.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        boolean acquired = channelPool.tryAcquire(timeoutMillis);
         if (acquired) {
-            final ReleaseSemaphore releaseSemaphore = new ReleaseSemaphore(this.asyncSemaphore);
-
             /*
              * response future
              */
             final ResponseFuture responseFuture = new ResponseFuture(opaque,
                     timeoutMillis,
                     invokeCallback,
-                    releaseSemaphore);
+                    channelPool.onRequestSent(channel, true));
             try {
                 channel.writeAndFlush(transporter).addListener(future -> {
                     if (future.isSuccess()) {
@@ -180,21 +194,25 @@ public class NettyRemotingClient implements AutoCloseable {
                 throw new RemotingException(String.format("Send transporter to host: %s failed", host), ex);
             }
         } else {
+            RpcClientMetrics.incRejectedRequestCount(host.getAddress());
             String message = String.format(
-                    "try to acquire async semaphore timeout: %d, waiting thread num: %d, total permits: %d",
-                    timeoutMillis, asyncSemaphore.getQueueLength(), asyncSemaphore.availablePermits());
+                    "try to acquire in flight permit of host: %s timeout: %d, waiting thread num: %d, total permits: %d",
+                    host, timeoutMillis, channelPool.getInFlightWaitingThreads(),
+                    channelPool.getMaxInFlightRequests());
             throw new RemotingTooMuchRequestException(message);
         }
     }
 
     public IRpcResponse sendSync(final Host host, final Transporter transporter,
                                  final long timeoutMillis) throws InterruptedException, RemotingException {
-        final Channel channel = getChannel(host);
+        final HostChannelPool channelPool = getChannelPool(host);
+        final Channel channel = channelPool.selectChannel();
         if (channel == null) {
             throw new RemotingException(String.format("connect to : %s fail", host));
         }
         final long opaque = transporter.getHeader().getOpaque();
-        final ResponseFuture responseFuture = new ResponseFuture(opaque, timeoutMillis, null, null);
+        final ResponseFuture responseFuture =
+                new ResponseFuture(opaque, timeoutMillis, null, channelPool.onRequestSent(channel, false));
         channel.writeAndFlush(transporter).addListener(future -> {
             if (future.isSuccess()) {
                 responseFuture.setSendOk(true);
@@ -204,6 +222,7 @@ public class NettyRemotingClient implements AutoCloseable {
             }
             responseFuture.setCause(future.cause());
             responseFuture.putResponse(null);
+            responseFuture.release();
             log.error("Send Sync request {} to host {} failed", transporter, host, responseFuture.getCause());
         });
         /*
@@ -221,15 +240,50 @@ public class NettyRemotingClient implements AutoCloseable {
     }
 
     public Channel getChannel(Host host) {
-        Channel channel = channels.get(host);
-        if (channel != null && channel.isActive()) {
-            return channel;
+        return getChannelPool(host).selectChannel();
+    }
+
+    private HostChannelPool getChannelPool(Host host) {
+        HostChannelPool channelPool = channelPools.get(host);
+        if (channelPool != null) {
+            return channelPool;
         }
-        return createChannel(host, true);
+        return channelPools.computeIfAbsent(host, key -> new HostChannelPool(
+                clientId,
+                key,
+                clientConfig.getChannelsPerHost(),
+                clientConfig.getMaxInFlightRequestsPerHost(),
+                this::connectChannel));
     }
 
     /**
-     * create channel
+     * Connect a channel to the host without blocking, the returned future is completed with null if cannot connect.
+     */
+    private CompletableFuture<Channel> connectChannel(Host host) {
+        CompletableFuture<Channel> channelFuture = new CompletableFuture<>();
+        ChannelFuture connectFuture;
+        try {
+            synchronized (bootstrap) {
+                connectFuture = bootstrap.connect(new InetSocketAddress(host.getIp(), host.getPort()));
+            }
+        } catch (Exception ex) {
+            log.warn(String.format("connect to %s error", host), ex);
+            channelFuture.complete(null);
+            return channelFuture;
+        }
+        connectFuture.addListener(future -> {
+            if (future.isSuccess()) {
+                channelFuture.complete(connectFuture.channel());
+            } else {
+                log.warn(String.format("connect to %s error", host), future.cause());
+                channelFuture.complete(null);
+            }
+        });
+        return channelFuture;
+    }
+
+    /**
+     * create channel, the created channel will not be cached, use {@link #getChannel(Host)} to get a pooled channel.
      *
      * @param host   host
      * @param isSync sync flag
@@ -245,9 +299,7 @@ public class NettyRemotingClient implements AutoCloseable {
                 future.sync();
             }
             if (future.isSuccess()) {
-                Channel channel = future.channel();
-                channels.put(host, channel);
-                return channel;
+                return future.channel();
             }
         } catch (Exception ex) {
             log.warn(String.format("connect to %s error", host), ex);
@@ -255,6 +307,49 @@ public class NettyRemotingClient implements AutoCloseable {
         return null;
     }
 
+    /**
+     * Get the serializer of the requests sent to the given host, it's the configured serializer only if the host has
+     * accepted it, otherwise it's {@link SerializerType#JSON}, see {@link HostSerializerNegotiator}.
+     */
+    public SerializerType getSerializerType(Host host) {
+        return serializerNegotiator.getSerializerType(host);
+    }
+
+    /**
+     * Send a heartbeat encoded by the given serializer to the host on a dedicated channel, so a host which rejects the
+     * serializer and closes the channel will not affect the pooled channels.
+     * <p> The returned future is completed with true if the host answered the heartbeat, false if the host closed the
+     * channel or didn't answer in time, and completed exceptionally if the host cannot be connected.
+     */
+    CompletableFuture<Boolean> probeSerializer(Host host, SerializerType serializerType) {
+        final CompletableFuture<Boolean> probeFuture = new CompletableFuture<>();
+        final ChannelFuture connectFuture;
+        synchronized (bootstrap) {
+            connectFuture = bootstrap.connect(new InetSocketAddress(host.getIp(), host.getPort()));
+        }
+        connectFuture.addListener((ChannelFutureListener) future -> {
+            if (!future.isSuccess()) {
+                probeFuture.completeExceptionally(future.cause());
+                return;
+            }
+            final Channel channel = future.channel();
+            final Transporter probe = HeartBeatTransporter.getProbeTransporter(serializerType);
+            final ResponseFuture responseFuture = new ResponseFuture(
+                    probe.getHeader().getOpaque(),
+                    SERIALIZER_PROBE_TIMEOUT_MILLIS,
+                    response -> probeFuture.complete(response.getIRpcResponse() != null
+                            && response.getIRpcResponse().isSuccess()),
+                    null);
+            probeFuture.whenComplete((accepted, ex) -> {
+                responseFuture.removeFuture();
+                channel.close();
+            });
+            channel.closeFuture().addListener(closeFuture -> probeFuture.complete(false));
+            channel.writeAndFlush(probe);
+        });
+        return probeFuture;
+    }
+
     @Override
     public void close() {
         if (isStarted.compareAndSet(true, false)) {
@@ -277,16 +372,37 @@ public class NettyRemotingClient implements AutoCloseable {
     }
 
     private void closeChannels() {
-        for (Channel channel : this.channels.values()) {
-            channel.close();
+        for (HostChannelPool channelPool : this.channelPools.values()) {
+            channelPool.close();
         }
-        this.channels.clear();
+        this.channelPools.clear();
     }
 
+    /**
+     * Close all the channels connected to the given host.
+     */
     public void closeChannel(Host host) {
-        Channel channel = this.channels.remove(host);
-        if (channel != null) {
-            channel.close();
+        // close the pool inside the map, so a new pool of the host is not created before the old one is closed
+        this.channelPools.computeIfPresent(host, (key, channelPool) -> {
+            channelPool.close();
+            return null;
+        });
+        serializerNegotiator.reset(host);
+    }
+
+    /**
+     * Remove the given channel from the pool of the host and close it, the other channels to the host are not affected.
+     */
+    public void closeChannel(Host host, Channel channel) {
+        HostChannelPool channelPool = this.channelPools.get(host);
+        if (channelPool == null || !channelPool.removeChannel(channel)) {
+            // the host resolved from the remote address may differ from the host used to connect, e.g. localhost
+            for (HostChannelPool pool : this.channelPools.values()) {
+                if (pool.removeChannel(channel)) {
+                    break;
+                }
+            }
         }
+        channel.close();
     }
 }
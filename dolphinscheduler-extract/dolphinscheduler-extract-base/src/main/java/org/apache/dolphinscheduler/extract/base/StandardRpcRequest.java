@@ -17,7 +17,7 @@
 
 package org.apache.dolphinscheduler.extract.base;
 
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -32,14 +32,14 @@ public class StandardRpcRequest implements IRpcRequest {
 
     private Class<?>[] argsTypes;
 
-    public static StandardRpcRequest of(Object[] args) {
+    public static StandardRpcRequest of(Object[] args, ISerializer serializer) {
         if (args == null || args.length == 0) {
             return new StandardRpcRequest(null, null);
         }
         final byte[][] argsBytes = new byte[args.length][];
         final Class<?>[] argsTypes = new Class[args.length];
         for (int i = 0; i < args.length; i++) {
-            argsBytes[i] = JsonSerializer.serialize(args[i]);
+            argsBytes[i] = serializer.serialize(args[i]);
             argsTypes[i] = args[i] == null ? null : args[i].getClass();
         }
         return new StandardRpcRequest(argsBytes, argsTypes);
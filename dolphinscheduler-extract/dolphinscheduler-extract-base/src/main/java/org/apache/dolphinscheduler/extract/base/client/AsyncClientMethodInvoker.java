@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.client;
+
+import org.apache.dolphinscheduler.extract.base.IRpcResponse;
+import org.apache.dolphinscheduler.extract.base.NettyRemotingClient;
+import org.apache.dolphinscheduler.extract.base.RpcMethod;
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
+import org.apache.dolphinscheduler.extract.base.exception.RemotingException;
+import org.apache.dolphinscheduler.extract.base.exception.RemotingTimeoutException;
+import org.apache.dolphinscheduler.extract.base.future.ResponseFuture;
+import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The invoker of the method which returns a {@link CompletableFuture}, the request is sent by
+ * {@link NettyRemotingClient#sendAsync}, so the caller will not be blocked until the response is received.
+ * <p> The returned future is completed in the callback thread pool of the {@link NettyRemotingClient}, so the
+ * dependent stages which don't specify an executor should not do any blocking operation.
+ */
+public class AsyncClientMethodInvoker extends BaseRemoteMethodInvoker {
+
+    private final Class<?> responseClass;
+
+    public AsyncClientMethodInvoker(Host serverHost, Method localMethod, NettyRemotingClient nettyRemotingClient) {
+        super(serverHost, localMethod, nettyRemotingClient);
+        this.responseClass = getFutureValueClass(localMethod);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        RpcMethod rpcMethod = method.getAnnotation(RpcMethod.class);
+        SerializerType serializerType = nettyRemotingClient.getSerializerType(serverHost);
+        ISerializer serializer = serializerType.getSerializer();
+        Transporter transporter = Transporter.of(
+                TransporterHeader.of(methodIdentifier),
+                StandardRpcRequest.of(args, serializer),
+                serializerType);
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        try {
+            nettyRemotingClient.sendAsync(serverHost, transporter, rpcMethod.timeout(),
+                    responseFuture -> completeFuture(future, responseFuture, serializer));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void completeFuture(CompletableFuture<Object> future,
+                                ResponseFuture responseFuture,
+                                ISerializer serializer) {
+        IRpcResponse iRpcResponse = responseFuture.getIRpcResponse();
+        if (iRpcResponse == null) {
+            if (responseFuture.isSendOK()) {
+                future.completeExceptionally(new RemotingTimeoutException(serverHost.toString(),
+                        responseFuture.getTimeoutMillis(), responseFuture.getCause()));
+            } else {
+                future.completeExceptionally(new RemotingException(serverHost.toString(), responseFuture.getCause()));
+            }
+            return;
+        }
+        if (!iRpcResponse.isSuccess()) {
+            future.completeExceptionally(MethodInvocationException.of(iRpcResponse.getMessage()));
+            return;
+        }
+        try {
+            future.complete(iRpcResponse.getBody() == null
+                    ? null
+                    : serializer.deserialize(iRpcResponse.getBody(), responseClass));
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static Class<?> getFutureValueClass(Method method) {
+        Type returnType = method.getGenericReturnType();
+        if (!(returnType instanceof ParameterizedType)) {
+            return Object.class;
+        }
+        Type valueType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+        if (valueType instanceof Class) {
+            return (Class<?>) valueType;
+        }
+        if (valueType instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) valueType).getRawType();
+        }
+        return Object.class;
+    }
+
+}
@@ -26,6 +26,7 @@ import org.apache.dolphinscheduler.extract.base.utils.Host;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.extern.slf4j.Slf4j;
@@ -51,8 +52,15 @@ public class ClientInvocationHandler implements InvocationHandler {
             return method.invoke(proxy, args);
         }
         ClientMethodInvoker methodInvoker = methodInvokerMap.computeIfAbsent(
-                method.toGenericString(), m -> new SyncClientMethodInvoker(serverHost, method, nettyRemotingClient));
+                method.toGenericString(), m -> newMethodInvoker(method));
         return methodInvoker.invoke(proxy, method, args);
     }
 
+    private ClientMethodInvoker newMethodInvoker(Method method) {
+        if (CompletableFuture.class.equals(method.getReturnType())) {
+            return new AsyncClientMethodInvoker(serverHost, method, nettyRemotingClient);
+        }
+        return new SyncClientMethodInvoker(serverHost, method, nettyRemotingClient);
+    }
+
 }
@@ -38,7 +38,8 @@ public class JdkDynamicRpcClientProxyFactory implements IRpcClientProxyFactory {
 
     private final NettyRemotingClient nettyRemotingClient;
 
-    private static final LoadingCache<String, Map<String, Object>> proxyClientCache = CacheBuilder.newBuilder()
+    // the proxy client is bound to the nettyRemotingClient, so the cache cannot be shared between factories
+    private final LoadingCache<String, Map<String, Object>> proxyClientCache = CacheBuilder.newBuilder()
             // expire here to remove dead host
             .expireAfterAccess(Duration.ofHours(1))
             .build(new CacheLoader<String, Map<String, Object>>() {
@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.client;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Coalesce the elements sent to the same host into batches, a batch is sent when the batch window elapsed or the
+ * pending elements reach the max batch size.
+ * <p> At most one batch is in flight for each host, the next batch will be sent after the previous one is completed,
+ * so the elements to the same host are received in the order they are added.
+ * <p> The failed batch will not be resent, the caller should rely on its own retry mechanism.
+ * <p> If the host doesn't have the batch method, e.g. it is not upgraded yet, the elements to it are sent one by one by
+ * the single send function in the caller thread for a while, and then the batch method is tried again.
+ * <p> The queue of the host is removed once it is idle for {@link #IDLE_HOST_TIMEOUT_MILLIS}, e.g. the host is
+ * offline.
+ *
+ * @param <E> the element type
+ */
+@Slf4j
+public class RpcBatchSender<E> implements AutoCloseable {
+
+    private static final long IDLE_HOST_TIMEOUT_MILLIS = Duration.ofMinutes(1).toMillis();
+
+    private static final long BATCH_UNSUPPORTED_RECHECK_INTERVAL_MILLIS = Duration.ofMinutes(10).toMillis();
+
+    private final String name;
+
+    private final int maxBatchSize;
+
+    private final BiFunction<String, List<E>, CompletableFuture<?>> batchSendFunction;
+
+    private final BiConsumer<String, E> singleSendFunction;
+
+    private final Map<String, HostBatchQueue<E>> hostBatchQueues = new ConcurrentHashMap<>();
+
+    /**
+     * host -> the time when the host is found not supporting the batch method
+     */
+    private final Map<String, Long> batchUnsupportedHosts = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService flushExecutor;
+
+    /**
+     * @param name              the name of the sender, used as the flush thread name
+     * @param batchWindow       the max time an element will wait before being sent
+     * @param maxBatchSize      the max element size of a batch
+     * @param batchSendFunction send the batch to the given host, should not block the caller
+     */
+    public RpcBatchSender(String name,
+                          Duration batchWindow,
+                          int maxBatchSize,
+                          BiFunction<String, List<E>, CompletableFuture<?>> batchSendFunction) {
+        this(name, batchWindow, maxBatchSize, batchSendFunction, null);
+    }
+
+    /**
+     * @param name               the name of the sender, used as the flush thread name
+     * @param batchWindow        the max time an element will wait before being sent
+     * @param maxBatchSize       the max element size of a batch
+     * @param batchSendFunction  send the batch to the given host, should not block the caller
+     * @param singleSendFunction send one element to the host which doesn't support the batch method, null if the
+     *                           fallback is not needed
+     */
+    public RpcBatchSender(String name,
+                          Duration batchWindow,
+                          int maxBatchSize,
+                          BiFunction<String, List<E>, CompletableFuture<?>> batchSendFunction,
+                          BiConsumer<String, E> singleSendFunction) {
+        checkNotNull(batchWindow, "batchWindow should not be null");
+        checkArgument(batchWindow.toMillis() > 0, "batchWindow should be positive");
+        checkArgument(maxBatchSize > 0, "maxBatchSize should be positive");
+        this.name = name;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSendFunction = checkNotNull(batchSendFunction);
+        this.singleSendFunction = singleSendFunction;
+        this.flushExecutor = ThreadUtils.newSingleDaemonScheduledExecutorService(name + "-FlushThread");
+        this.flushExecutor.scheduleWithFixedDelay(this::flushAll, batchWindow.toMillis(), batchWindow.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public void add(String host, E element) {
+        checkNotNull(host, "host should not be null");
+        checkNotNull(element, "element should not be null");
+        if (isBatchUnsupported(host)) {
+            singleSendFunction.accept(host, element);
+            return;
+        }
+        while (true) {
+            HostBatchQueue<E> hostBatchQueue = hostBatchQueues.computeIfAbsent(host, HostBatchQueue::new);
+            int pendingSize = hostBatchQueue.add(element);
+            if (pendingSize < 0) {
+                // the queue is removed since it's idle, add to the new queue
+                continue;
+            }
+            if (pendingSize >= maxBatchSize) {
+                flushExecutor.execute(() -> flush(hostBatchQueue));
+            }
+            return;
+        }
+    }
+
+    private boolean isBatchUnsupported(String host) {
+        if (singleSendFunction == null) {
+            return false;
+        }
+        Long unsupportedTime = batchUnsupportedHosts.get(host);
+        if (unsupportedTime == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - unsupportedTime < BATCH_UNSUPPORTED_RECHECK_INTERVAL_MILLIS) {
+            return true;
+        }
+        batchUnsupportedHosts.remove(host, unsupportedTime);
+        return false;
+    }
+
+    public int getPendingSize(String host) {
+        HostBatchQueue<E> hostBatchQueue = hostBatchQueues.get(host);
+        return hostBatchQueue == null ? 0 : hostBatchQueue.size();
+    }
+
+    private void flushAll() {
+        long now = System.currentTimeMillis();
+        removeIdleHosts(now - IDLE_HOST_TIMEOUT_MILLIS);
+        for (HostBatchQueue<E> hostBatchQueue : hostBatchQueues.values()) {
+            try {
+                flush(hostBatchQueue);
+            } catch (Throwable ex) {
+                log.error("{} flush batch to {} error", name, hostBatchQueue.host, ex);
+            }
+        }
+        batchUnsupportedHosts.values()
+                .removeIf(unsupportedTime -> now - unsupportedTime >= BATCH_UNSUPPORTED_RECHECK_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Remove the queues which have no element and no in flight batch since the given time.
+     */
+    @VisibleForTesting
+    void removeIdleHosts(long idleSince) {
+        hostBatchQueues.values().removeIf(hostBatchQueue -> hostBatchQueue.removeIfIdle(idleSince));
+    }
+
+    @VisibleForTesting
+    int getHostSize() {
+        return hostBatchQueues.size();
+    }
+
+    private void flush(HostBatchQueue<E> hostBatchQueue) {
+        List<E> batch = hostBatchQueue.pollBatch(maxBatchSize);
+        if (batch.isEmpty()) {
+            return;
+        }
+        CompletableFuture<?> future;
+        try {
+            future = batchSendFunction.apply(hostBatchQueue.host, batch);
+        } catch (Throwable ex) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+        }
+        future.whenComplete((result, ex) -> {
+            if (ex != null) {
+                if (singleSendFunction != null && MethodInvocationException.isMethodNotFound(ex)) {
+                    batchUnsupportedHosts.put(hostBatchQueue.host, System.currentTimeMillis());
+                    log.warn("{} the host {} doesn't support the batch method, will send the elements one by one",
+                            name, hostBatchQueue.host);
+                } else {
+                    log.warn("{} send batch with {} elements to {} failed", name, batch.size(), hostBatchQueue.host,
+                            ex);
+                }
+            }
+            if (hostBatchQueue.complete() >= maxBatchSize) {
+                flushExecutor.execute(() -> flush(hostBatchQueue));
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        flushExecutor.shutdown();
+        hostBatchQueues.values().forEach(hostBatchQueue -> {
+            if (hostBatchQueue.size() > 0) {
+                log.warn("{} is closed, {} elements to {} are not sent", name, hostBatchQueue.size(),
+                        hostBatchQueue.host);
+            }
+        });
+    }
+
+    private static class HostBatchQueue<E> {
+
+        private final String host;
+
+        private final Deque<E> elements = new ArrayDeque<>();
+
+        private boolean inFlight;
+
+        private boolean removed;
+
+        private long lastActiveTime = System.currentTimeMillis();
+
+        HostBatchQueue(String host) {
+            this.host = host;
+        }
+
+        /**
+         * Add the element, return -1 if the queue is removed.
+         */
+        synchronized int add(E element) {
+            if (removed) {
+                return -1;
+            }
+            elements.addLast(element);
+            lastActiveTime = System.currentTimeMillis();
+            return inFlight ? 0 : elements.size();
+        }
+
+        /**
+         * Mark the queue as removed if there is no element and no in flight batch since the given time.
+         */
+        synchronized boolean removeIfIdle(long idleSince) {
+            if (!inFlight && elements.isEmpty() && lastActiveTime <= idleSince) {
+                removed = true;
+            }
+            return removed;
+        }
+
+        /**
+         * Poll at most maxBatchSize elements, return empty list if there is already a batch in flight.
+         */
+        synchronized List<E> pollBatch(int maxBatchSize) {
+            if (inFlight || elements.isEmpty()) {
+                return new ArrayList<>();
+            }
+            List<E> batch = new ArrayList<>(Math.min(maxBatchSize, elements.size()));
+            while (batch.size() < maxBatchSize && !elements.isEmpty()) {
+                batch.add(elements.pollFirst());
+            }
+            inFlight = true;
+            return batch;
+        }
+
+        /**
+         * Mark the in flight batch as completed, return the pending element size.
+         */
+        synchronized int complete() {
+            inFlight = false;
+            lastActiveTime = System.currentTimeMillis();
+            return elements.size();
+        }
+
+        synchronized int size() {
+            return elements.size();
+        }
+    }
+}
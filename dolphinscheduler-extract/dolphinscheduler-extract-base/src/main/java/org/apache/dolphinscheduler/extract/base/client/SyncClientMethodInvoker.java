@@ -24,7 +24,8 @@ import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
 import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 
 import java.lang.reflect.Method;
@@ -38,9 +39,12 @@ public class SyncClientMethodInvoker extends BaseRemoteMethodInvoker {
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
         RpcMethod sync = method.getAnnotation(RpcMethod.class);
-        Transporter transporter = new Transporter();
-        transporter.setBody(JsonSerializer.serialize(StandardRpcRequest.of(args)));
-        transporter.setHeader(TransporterHeader.of(methodIdentifier));
+        SerializerType serializerType = nettyRemotingClient.getSerializerType(serverHost);
+        ISerializer serializer = serializerType.getSerializer();
+        Transporter transporter = Transporter.of(
+                TransporterHeader.of(methodIdentifier),
+                StandardRpcRequest.of(args, serializer),
+                serializerType);
 
         IRpcResponse iRpcResponse =
                 nettyRemotingClient.sendSync(serverHost, transporter, sync.timeout());
@@ -51,6 +55,6 @@ public class SyncClientMethodInvoker extends BaseRemoteMethodInvoker {
             return null;
         }
         Class<?> responseClass = method.getReturnType();
-        return JsonSerializer.deserialize(iRpcResponse.getBody(), responseClass);
+        return serializer.deserialize(iRpcResponse.getBody(), responseClass);
     }
 }
@@ -17,6 +17,10 @@
 
 package org.apache.dolphinscheduler.extract.base.config;
 
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
+import org.apache.dolphinscheduler.extract.base.utils.Constants;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -64,4 +68,25 @@ public class NettyClientConfig {
     @Builder.Default
     private int connectTimeoutMillis = 3000;
 
+    /**
+     * the max channels connected to one host, the channels are created lazily when all the active channels are busy
+     */
+    @Builder.Default
+    private int channelsPerHost = 4;
+
+    /**
+     * the max in flight async requests to one host
+     */
+    @Builder.Default
+    private int maxInFlightRequestsPerHost = 1024;
+
+    /**
+     * the preferred serializer of the request, configured by {@code rpc.serializer.type} in common.properties, the
+     * requests to a host will be sent with it only after the host has accepted it, otherwise will be sent with JSON.
+     * The server will always response with the serializer of the request
+     */
+    @Builder.Default
+    private SerializerType serializerType = SerializerType.valueOf(
+            PropertyUtils.getString(Constants.RPC_SERIALIZER_TYPE, SerializerType.JSON.name()).trim().toUpperCase());
+
 }
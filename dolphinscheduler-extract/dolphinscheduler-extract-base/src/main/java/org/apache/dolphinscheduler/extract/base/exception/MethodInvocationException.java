@@ -19,6 +19,12 @@ package org.apache.dolphinscheduler.extract.base.exception;
 
 public class MethodInvocationException extends RuntimeException {
 
+    /**
+     * The message prefix of the response when the server doesn't have the requested method, e.g. the server is not
+     * upgraded yet.
+     */
+    public static final String METHOD_NOT_FOUND_MESSAGE_PREFIX = "Cannot find the ServerMethodInvoker of ";
+
     public MethodInvocationException(String message) {
         super(message);
     }
@@ -27,4 +33,18 @@ public class MethodInvocationException extends RuntimeException {
         return new MethodInvocationException(message);
     }
 
+    /**
+     * Whether the invocation failed since the server doesn't have the requested method.
+     */
+    public static boolean isMethodNotFound(Throwable throwable) {
+        while (throwable != null) {
+            if (throwable instanceof MethodInvocationException) {
+                String message = throwable.getMessage();
+                return message != null && message.startsWith(METHOD_NOT_FOUND_MESSAGE_PREFIX);
+            }
+            throwable = throwable.getCause();
+        }
+        return false;
+    }
+
 }
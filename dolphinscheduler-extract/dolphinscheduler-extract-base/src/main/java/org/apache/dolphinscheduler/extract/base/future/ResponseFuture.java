@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -43,7 +44,12 @@ public class ResponseFuture {
 
     private final InvokeCallback invokeCallback;
 
-    private final ReleaseSemaphore releaseSemaphore;
+    /**
+     * Release the in flight request slot of the target host, will only be executed once.
+     */
+    private final Runnable releaseAction;
+
+    private final AtomicBoolean released = new AtomicBoolean(false);
 
     private final CountDownLatch latch = new CountDownLatch(1);
 
@@ -60,11 +66,11 @@ public class ResponseFuture {
     public ResponseFuture(long opaque,
                           long timeoutMillis,
                           InvokeCallback invokeCallback,
-                          ReleaseSemaphore releaseSemaphore) {
+                          Runnable releaseAction) {
         this.opaque = opaque;
         this.timeoutMillis = timeoutMillis;
         this.invokeCallback = invokeCallback;
-        this.releaseSemaphore = releaseSemaphore;
+        this.releaseAction = releaseAction;
         FUTURE_TABLE.put(opaque, this);
     }
 
@@ -149,8 +155,8 @@ public class ResponseFuture {
      * release
      */
     public void release() {
-        if (this.releaseSemaphore != null) {
-            this.releaseSemaphore.release();
+        if (this.releaseAction != null && released.compareAndSet(false, true)) {
+            this.releaseAction.run();
         }
     }
 
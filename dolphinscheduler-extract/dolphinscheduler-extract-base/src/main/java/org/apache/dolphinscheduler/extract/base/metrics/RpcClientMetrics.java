@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.metrics;
+
+import java.util.function.Supplier;
+
+import lombok.experimental.UtilityClass;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Metrics;
+
+@UtilityClass
+public class RpcClientMetrics {
+
+    public Gauge registerPendingRequestsGauge(String clientId, String host, Supplier<Number> supplier) {
+        return Gauge.builder("ds.rpc.client.pending.requests", supplier)
+                .description("The number of requests waiting for the response from the host")
+                .tag("client", clientId)
+                .tag("host", host)
+                .register(Metrics.globalRegistry);
+    }
+
+    public Gauge registerActiveChannelsGauge(String clientId, String host, Supplier<Number> supplier) {
+        return Gauge.builder("ds.rpc.client.active.channels", supplier)
+                .description("The number of active channels connected to the host")
+                .tag("client", clientId)
+                .tag("host", host)
+                .register(Metrics.globalRegistry);
+    }
+
+    public void incRejectedRequestCount(String host) {
+        Counter.builder("ds.rpc.client.rejected.requests.count")
+                .description("The number of requests rejected since the in flight requests to the host reach the limit")
+                .tag("host", host)
+                .register(Metrics.globalRegistry)
+                .increment();
+    }
+
+    public void removeMeter(Meter meter) {
+        if (meter != null) {
+            Metrics.globalRegistry.remove(meter);
+        }
+    }
+
+}
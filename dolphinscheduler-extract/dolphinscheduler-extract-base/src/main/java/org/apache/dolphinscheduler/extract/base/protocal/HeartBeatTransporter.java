@@ -18,16 +18,25 @@
 package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 
 public class HeartBeatTransporter extends Transporter {
 
     public static final String METHOD_IDENTIFY = "HEART_BEAT";
 
     private static final Transporter HEART_BEAT_TRANSPORTER =
-            of(TransporterHeader.of(METHOD_IDENTIFY), new StandardRpcResponse());
+            of(TransporterHeader.of(METHOD_IDENTIFY), new StandardRpcResponse(), SerializerType.JSON);
 
     public static Transporter getHeartBeatTransporter() {
         return HEART_BEAT_TRANSPORTER;
     }
 
+    /**
+     * Get a heartbeat encoded by the given serializer, the server will answer it with the same serializer if the
+     * serializer is supported, used to negotiate the serializer with the server.
+     */
+    public static Transporter getProbeTransporter(SerializerType serializerType) {
+        return of(TransporterHeader.of(METHOD_IDENTIFY), new StandardRpcResponse(), serializerType);
+    }
+
 }
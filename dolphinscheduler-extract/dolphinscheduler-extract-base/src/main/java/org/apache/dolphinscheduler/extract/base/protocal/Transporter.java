@@ -19,12 +19,15 @@ package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
 import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 
 import java.io.Serializable;
 
 import lombok.Data;
 import lombok.NonNull;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.ReferenceCountUtil;
 
 @Data
 public class Transporter implements Serializable {
@@ -32,24 +35,51 @@ public class Transporter implements Serializable {
     private static final long serialVersionUID = -1L;
 
     public static final byte MAGIC = (byte) 0xbabe;
-    public static final byte VERSION = 0;
 
+    /**
+     * The serializer of the header and the body, its version will be written as the version byte of the transporter.
+     */
+    private SerializerType serializerType = SerializerType.JSON;
     private TransporterHeader header;
-    private byte[] body;
+    /**
+     * The body of the transporter, the received body is a retained slice of the inbound frame, it should be released
+     * by {@link #release()} once it has been consumed.
+     */
+    private ByteBuf body;
 
-    public static Transporter of(@NonNull TransporterHeader header, StandardRpcResponse iRpcResponse) {
-        return of(header, JsonSerializer.serialize(iRpcResponse));
+    public static Transporter of(@NonNull TransporterHeader header,
+                                 StandardRpcResponse iRpcResponse,
+                                 @NonNull SerializerType serializerType) {
+        return of(header, serializerType.getSerializer().serialize(iRpcResponse), serializerType);
     }
 
-    public static Transporter of(@NonNull TransporterHeader header, StandardRpcRequest iRpcRequest) {
-        return of(header, JsonSerializer.serialize(iRpcRequest));
+    public static Transporter of(@NonNull TransporterHeader header,
+                                 StandardRpcRequest iRpcRequest,
+                                 @NonNull SerializerType serializerType) {
+        return of(header, serializerType.getSerializer().serialize(iRpcRequest), serializerType);
     }
 
-    public static Transporter of(@NonNull TransporterHeader header, byte[] body) {
+    public static Transporter of(@NonNull TransporterHeader header,
+                                 byte[] body,
+                                 @NonNull SerializerType serializerType) {
+        return of(header, body == null ? Unpooled.EMPTY_BUFFER : Unpooled.wrappedBuffer(body), serializerType);
+    }
+
+    public static Transporter of(@NonNull TransporterHeader header,
+                                 @NonNull ByteBuf body,
+                                 @NonNull SerializerType serializerType) {
         Transporter transporter = new Transporter();
+        transporter.setSerializerType(serializerType);
         transporter.setHeader(header);
         transporter.setBody(body);
         return transporter;
     }
 
+    /**
+     * Release the body of the transporter, this method should only be called at the inbound transporter.
+     */
+    public void release() {
+        ReferenceCountUtil.safeRelease(body);
+    }
+
 }
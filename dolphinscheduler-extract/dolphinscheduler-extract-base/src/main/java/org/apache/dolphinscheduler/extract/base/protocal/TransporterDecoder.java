@@ -17,57 +17,53 @@
 
 package org.apache.dolphinscheduler.extract.base.protocal;
 
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 
 import java.util.List;
 
-import lombok.extern.slf4j.Slf4j;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.ReplayingDecoder;
+import io.netty.handler.codec.ByteToMessageDecoder;
 
-@Slf4j
-public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.State> {
+/**
+ * Decode the frame: magic(1) | version(1) | header length(4) | header | body length(4) | body.
+ * <p> The decoder waits until the whole frame is readable by the length fields, rather than replaying the decode
+ * logic, the header is deserialized from the cumulation buffer directly and the body is kept as a retained slice of
+ * the cumulation buffer, so there is no copy of the frame. The receiver should call {@link Transporter#release()}
+ * after the body has been consumed.
+ */
+public class TransporterDecoder extends ByteToMessageDecoder {
 
-    public TransporterDecoder() {
-        super(State.MAGIC);
-    }
+    /**
+     * magic + version + header length
+     */
+    private static final int FRAME_PREFIX_LENGTH = 6;
 
-    private int headerLength;
-    private byte[] header;
-    private int bodyLength;
-    private byte[] body;
+    private static final int BODY_LENGTH_FIELD_LENGTH = 4;
 
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
-        switch (state()) {
-            case MAGIC:
-                checkMagic(in.readByte());
-                checkpoint(State.VERSION);
-            case VERSION:
-                checkVersion(in.readByte());
-                checkpoint(State.HEADER_LENGTH);
-            case HEADER_LENGTH:
-                headerLength = in.readInt();
-                checkpoint(State.HEADER);
-            case HEADER:
-                header = new byte[headerLength];
-                in.readBytes(header);
-                checkpoint(State.BODY_LENGTH);
-            case BODY_LENGTH:
-                bodyLength = in.readInt();
-                checkpoint(State.BODY);
-            case BODY:
-                body = new byte[bodyLength];
-                in.readBytes(body);
-                Transporter transporter =
-                        Transporter.of(JsonSerializer.deserialize(header, TransporterHeader.class), body);
-                out.add(transporter);
-                checkpoint(State.MAGIC);
-                break;
-            default:
-                log.warn("unknown decoder state {}", state());
+        if (in.readableBytes() < FRAME_PREFIX_LENGTH) {
+            return;
+        }
+        int frameIndex = in.readerIndex();
+        checkMagic(in.getByte(frameIndex));
+        SerializerType serializerType = SerializerType.of(in.getByte(frameIndex + 1));
+        long headerLength = checkLength(in.getInt(frameIndex + 2));
+        if (in.readableBytes() < FRAME_PREFIX_LENGTH + headerLength + BODY_LENGTH_FIELD_LENGTH) {
+            return;
+        }
+        long bodyLength = checkLength(in.getInt(frameIndex + FRAME_PREFIX_LENGTH + (int) headerLength));
+        if (in.readableBytes() < FRAME_PREFIX_LENGTH + headerLength + BODY_LENGTH_FIELD_LENGTH + bodyLength) {
+            return;
         }
+
+        in.skipBytes(FRAME_PREFIX_LENGTH);
+        TransporterHeader transporterHeader =
+                serializerType.getSerializer().deserialize(in.readSlice((int) headerLength), TransporterHeader.class);
+        in.skipBytes(BODY_LENGTH_FIELD_LENGTH);
+        ByteBuf body = in.readRetainedSlice((int) bodyLength);
+        out.add(Transporter.of(transporterHeader, body, serializerType));
     }
 
     private void checkMagic(byte magic) {
@@ -76,19 +72,11 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
         }
     }
 
-    private void checkVersion(byte version) {
-        if (version != Transporter.VERSION) {
-            throw new IllegalArgumentException("illegal protocol [version]" + version);
+    private int checkLength(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("illegal packet [length]" + length);
         }
-    }
-
-    enum State {
-        MAGIC,
-        VERSION,
-        HEADER_LENGTH,
-        HEADER,
-        BODY_LENGTH,
-        BODY;
+        return length;
     }
 
 }
@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.exception.RemotingException;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler.Sharable;
@@ -27,23 +28,39 @@ import io.netty.handler.codec.MessageToByteEncoder;
 @Sharable
 public class TransporterEncoder extends MessageToByteEncoder<Transporter> {
 
+    /**
+     * magic + version + header length + body length + the estimated header size
+     */
+    private static final int ESTIMATED_FRAME_OVERHEAD = 10 + 256;
+
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx,
+                                     Transporter transporter,
+                                     boolean preferDirect) {
+        // allocate the whole frame at once to avoid expanding the buffer when writing a large body
+        int initialCapacity = ESTIMATED_FRAME_OVERHEAD + transporter.getBody().readableBytes();
+        return preferDirect ? ctx.alloc().ioBuffer(initialCapacity) : ctx.alloc().heapBuffer(initialCapacity);
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, Transporter transporter, ByteBuf out) throws Exception {
         if (transporter == null) {
             throw new RemotingException("encode msg is null");
         }
+        SerializerType serializerType = transporter.getSerializerType();
         out.writeByte(Transporter.MAGIC);
-        out.writeByte(Transporter.VERSION);
+        out.writeByte(serializerType.getVersion());
 
-        // write header
-        byte[] header = transporter.getHeader().toBytes();
-        out.writeInt(header.length);
-        out.writeBytes(header);
+        // write header, the header is serialized into the out buffer directly, and the length is set after that
+        int headerLengthIndex = out.writerIndex();
+        out.writeInt(0);
+        serializerType.getSerializer().serialize(transporter.getHeader(), out);
+        out.setInt(headerLengthIndex, out.writerIndex() - headerLengthIndex - 4);
 
-        // write body
-        byte[] body = transporter.getBody();
-        out.writeInt(body.length);
-        out.writeBytes(body);
+        // write body, the body may be shared by multiple transporters, so don't move the reader index of the body
+        ByteBuf body = transporter.getBody();
+        out.writeInt(body.readableBytes());
+        out.writeBytes(body, body.readerIndex(), body.readableBytes());
     }
 
 }
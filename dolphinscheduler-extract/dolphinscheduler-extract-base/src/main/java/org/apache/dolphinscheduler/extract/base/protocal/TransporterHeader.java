@@ -17,8 +17,6 @@
 
 package org.apache.dolphinscheduler.extract.base.protocal;
 
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
-
 import java.io.Serializable;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -56,8 +54,4 @@ public class TransporterHeader implements Serializable {
         return new TransporterHeader(opaque, methodIdentifier);
     }
 
-    public byte[] toBytes() {
-        return JsonSerializer.serialize(this);
-    }
-
 }
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The serializer used to encode the {@link org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader}, the
+ * rpc request/response and the method arguments/results on the wire.
+ * <p> Each implementation is bound to a {@link SerializerType}, whose version byte is written into every transporter,
+ * so the receiver can always decode the message with the same serializer it was encoded with.
+ */
+public interface ISerializer {
+
+    /**
+     * Serialize the given object to bytes, return null if the object is null.
+     */
+    <T> byte[] serialize(T obj);
+
+    /**
+     * Deserialize the given bytes to the given type, return null if the bytes is null.
+     *
+     * @throws IllegalArgumentException if the bytes cannot be deserialized to the given type
+     */
+    <T> T deserialize(byte[] src, Class<T> clazz);
+
+    /**
+     * Serialize the given object and write it into the given buffer directly, without an intermediate byte array.
+     */
+    <T> void serialize(T obj, ByteBuf dst);
+
+    /**
+     * Deserialize the readable bytes of the given buffer to the given type, the bytes will be consumed, return null if
+     * the buffer is not readable.
+     *
+     * @throws IllegalArgumentException if the bytes cannot be deserialized to the given type
+     */
+    <T> T deserialize(ByteBuf src, Class<T> clazz);
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import static com.fasterxml.jackson.databind.DeserializationFeature.ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT;
+import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
+import static com.fasterxml.jackson.databind.DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL;
+import static com.fasterxml.jackson.databind.MapperFeature.REQUIRE_SETTERS_FOR_GETTERS;
+import static org.apache.dolphinscheduler.common.constants.DateConstants.YYYY_MM_DD_HH_MM_SS;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.util.TimeZone;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+
+/**
+ * Jackson based {@link ISerializer}, the data format is decided by the given {@link ObjectMapper}.
+ * <p> All the mappers are built by {@link #newObjectMapper(MapperBuilder)}, so the textual and the binary format share
+ * the same data binding rules, and switching the format will never change how a rpc object is bound.
+ */
+@Slf4j
+public class JacksonSerializer implements ISerializer {
+
+    private final ObjectMapper objectMapper;
+
+    public JacksonSerializer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public static <M extends ObjectMapper, B extends MapperBuilder<M, B>> M newObjectMapper(B builder) {
+        return builder
+                .configure(FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT, true)
+                .configure(READ_UNKNOWN_ENUM_VALUES_AS_NULL, true)
+                .configure(REQUIRE_SETTERS_FOR_GETTERS, true)
+                .addModule(new SimpleModule()
+                        .addSerializer(LocalDateTime.class, new JSONUtils.LocalDateTimeSerializer())
+                        .addDeserializer(LocalDateTime.class, new JSONUtils.LocalDateTimeDeserializer()))
+                .defaultTimeZone(TimeZone.getDefault())
+                .defaultDateFormat(new SimpleDateFormat(YYYY_MM_DD_HH_MM_SS))
+                .build();
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    @Override
+    public <T> byte[] serialize(T obj) {
+        if (obj == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(obj);
+        } catch (IOException e) {
+            log.error("serialize exception!", e);
+            return null;
+        }
+    }
+
+    @Override
+    public <T> T deserialize(byte[] src, Class<T> clazz) {
+        if (src == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(src, clazz);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("deserialize exception!", e);
+        }
+    }
+
+    @Override
+    public <T> void serialize(T obj, ByteBuf dst) {
+        try (OutputStream outputStream = new ByteBufOutputStream(dst)) {
+            objectMapper.writeValue(outputStream, obj);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("serialize exception!", e);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(ByteBuf src, Class<T> clazz) {
+        if (src == null || !src.isReadable()) {
+            return null;
+        }
+        try {
+            if (src.hasArray()) {
+                // heap buffer, read from the backing array directly
+                int length = src.readableBytes();
+                T value = objectMapper.readValue(src.array(), src.arrayOffset() + src.readerIndex(), length, clazz);
+                src.skipBytes(length);
+                return value;
+            }
+            try (InputStream inputStream = new ByteBufInputStream(src)) {
+                return objectMapper.readValue(inputStream, clazz);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("deserialize exception!", e);
+        }
+    }
+
+}
@@ -17,26 +17,10 @@
 
 package org.apache.dolphinscheduler.extract.base.serialize;
 
-import static com.fasterxml.jackson.databind.DeserializationFeature.ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT;
-import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
-import static com.fasterxml.jackson.databind.DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL;
-import static com.fasterxml.jackson.databind.MapperFeature.REQUIRE_SETTERS_FOR_GETTERS;
-import static org.apache.dolphinscheduler.common.constants.DateConstants.YYYY_MM_DD_HH_MM_SS;
-
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
-
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.text.SimpleDateFormat;
-import java.time.LocalDateTime;
-import java.util.TimeZone;
-
 import lombok.extern.slf4j.Slf4j;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.json.JsonMapper;
-import com.fasterxml.jackson.databind.module.SimpleModule;
 
 /**
  * json serialize or deserialize
@@ -44,17 +28,9 @@ import com.fasterxml.jackson.databind.module.SimpleModule;
 @Slf4j
 public class JsonSerializer {
 
-    private static final ObjectMapper objectMapper = JsonMapper.builder()
-            .configure(FAIL_ON_UNKNOWN_PROPERTIES, false)
-            .configure(ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT, true)
-            .configure(READ_UNKNOWN_ENUM_VALUES_AS_NULL, true)
-            .configure(REQUIRE_SETTERS_FOR_GETTERS, true)
-            .addModule(new SimpleModule()
-                    .addSerializer(LocalDateTime.class, new JSONUtils.LocalDateTimeSerializer())
-                    .addDeserializer(LocalDateTime.class, new JSONUtils.LocalDateTimeDeserializer()))
-            .defaultTimeZone(TimeZone.getDefault())
-            .defaultDateFormat(new SimpleDateFormat(YYYY_MM_DD_HH_MM_SS))
-            .build();
+    private static final JacksonSerializer jacksonSerializer = (JacksonSerializer) SerializerType.JSON.getSerializer();
+
+    private static final ObjectMapper objectMapper = jacksonSerializer.getObjectMapper();
 
     private JsonSerializer() {
 
@@ -68,15 +44,7 @@ public class JsonSerializer {
      * @return byte array
      */
     public static <T> byte[] serialize(T obj) {
-        if (obj == null) {
-            return null;
-        }
-        try {
-            return objectMapper.writeValueAsString(obj).getBytes(StandardCharsets.UTF_8);
-        } catch (JsonProcessingException e) {
-            log.error("serializeToString exception!", e);
-            return null;
-        }
+        return jacksonSerializer.serialize(obj);
     }
 
     /**
@@ -106,17 +74,7 @@ public class JsonSerializer {
      * @return deserialize type
      */
     public static <T> T deserialize(byte[] src, Class<T> clazz) {
-        if (src == null) {
-            return null;
-        }
-
-        String json = new String(src, StandardCharsets.UTF_8);
-        try {
-            return objectMapper.readValue(json, clazz);
-        } catch (IOException e) {
-            log.error("deserialize exception!", e);
-            return null;
-        }
+        return jacksonSerializer.deserialize(src, clazz);
     }
 
 }
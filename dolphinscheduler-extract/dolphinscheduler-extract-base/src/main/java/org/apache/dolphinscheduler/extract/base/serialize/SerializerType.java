@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import lombok.Getter;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * The serializer of a transporter, the {@link #version} is written as the version byte of the transporter.
+ */
+@Getter
+public enum SerializerType {
+
+    /**
+     * Textual json, this is the legacy protocol, the header, the request and each argument are all encoded as json, the
+     * nested byte arrays are written as base64 text.
+     */
+    JSON((byte) 0, new JacksonSerializer(JacksonSerializer.newObjectMapper(JsonMapper.builder()))),
+    /**
+     * Binary CBOR, use the same data binding rules as {@link #JSON}, but the nested byte arrays are written as raw bytes
+     * and the field values are written in binary, so it's much smaller and cheaper than json for large payloads.
+     */
+    CBOR((byte) 1, new JacksonSerializer(JacksonSerializer.newObjectMapper(CBORMapper.builder()))),
+    ;
+
+    private final byte version;
+
+    private final ISerializer serializer;
+
+    SerializerType(byte version, ISerializer serializer) {
+        this.version = version;
+        this.serializer = serializer;
+    }
+
+    public static SerializerType of(byte version) {
+        for (SerializerType serializerType : values()) {
+            if (serializerType.version == version) {
+                return serializerType;
+            }
+        }
+        throw new IllegalArgumentException("illegal protocol [version]" + version);
+    }
+
+}
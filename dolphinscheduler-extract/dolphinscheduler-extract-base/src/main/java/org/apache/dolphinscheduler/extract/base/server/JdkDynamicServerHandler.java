@@ -22,13 +22,17 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import org.apache.dolphinscheduler.extract.base.NettyRemotingServer;
 import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
 import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
+import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
 import org.apache.dolphinscheduler.extract.base.protocal.HeartBeatTransporter;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 import org.apache.dolphinscheduler.extract.base.utils.ChannelUtils;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.RejectedExecutionException;
 
@@ -72,65 +76,90 @@ public class JdkDynamicServerHandler extends ChannelInboundHandlerAdapter {
 
     private void processReceived(final Channel channel, final Transporter transporter) {
         final String methodIdentifier = transporter.getHeader().getMethodIdentifier();
+        // response with the serializer of the request, so the client can always decode the response
+        final ISerializer serializer = transporter.getSerializerType().getSerializer();
         if (HeartBeatTransporter.METHOD_IDENTIFY.equals(methodIdentifier)) {
             if (log.isDebugEnabled()) {
                 log.debug("server receive heart beat from: host: {}", ChannelUtils.getRemoteAddress(channel));
             }
+            transporter.release();
+            if (transporter.getSerializerType() != SerializerType.JSON) {
+                // the heartbeat encoded by other serializers is the serializer probe of the client
+                writeResponse(channel, transporter, StandardRpcResponse.success(null, null));
+            }
             return;
         }
         ServerMethodInvoker methodInvoker = methodInvokerMap.get(methodIdentifier);
         try {
             if (methodInvoker == null) {
                 log.error("Cannot find the ServerMethodInvoker of : {}", transporter);
-                StandardRpcResponse iRpcResponse =
-                        StandardRpcResponse.fail("Cannot find the ServerMethodInvoker of " + methodIdentifier);
-                TransporterHeader transporterHeader =
-                        TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-                Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-                channel.writeAndFlush(response);
+                transporter.release();
+                writeResponse(channel, transporter,
+                        StandardRpcResponse
+                                .fail(MethodInvocationException.METHOD_NOT_FOUND_MESSAGE_PREFIX + methodIdentifier));
                 return;
             }
             nettyRemotingServer.getDefaultExecutor().execute(() -> {
-                StandardRpcResponse iRpcResponse;
+                Object result;
                 try {
                     StandardRpcRequest standardRpcRequest =
-                            JsonSerializer.deserialize(transporter.getBody(), StandardRpcRequest.class);
+                            serializer.deserialize(transporter.getBody(), StandardRpcRequest.class);
                     Object[] args;
                     if (standardRpcRequest.getArgs() == null || standardRpcRequest.getArgs().length == 0) {
                         args = null;
                     } else {
                         args = new Object[standardRpcRequest.getArgs().length];
                         for (int i = 0; i < standardRpcRequest.getArgs().length; i++) {
-                            args[i] = JsonSerializer.deserialize(standardRpcRequest.getArgs()[i],
+                            args[i] = serializer.deserialize(standardRpcRequest.getArgs()[i],
                                     standardRpcRequest.getArgsTypes()[i]);
                         }
                     }
-                    Object result = methodInvoker.invoke(args);
-                    if (result == null) {
-                        iRpcResponse = StandardRpcResponse.success(null, null);
-                    } else {
-                        iRpcResponse = StandardRpcResponse.success(JsonSerializer.serialize(result), result.getClass());
-                    }
+                    result = methodInvoker.invoke(args);
                 } catch (Throwable e) {
                     log.error("Invoke method {} failed, {}.", methodIdentifier, e.getMessage(), e);
-                    iRpcResponse = StandardRpcResponse.fail(e.getMessage());
+                    writeResponse(channel, transporter, StandardRpcResponse.fail(e.getMessage()));
+                    return;
+                } finally {
+                    transporter.release();
+                }
+                if (result instanceof CompletableFuture) {
+                    // the method is asynchronous, response once the future is completed
+                    ((CompletableFuture<?>) result).whenComplete((value, ex) -> {
+                        if (ex == null) {
+                            writeResponse(channel, transporter, toSuccessResponse(value, serializer));
+                            return;
+                        }
+                        Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+                                ? ex.getCause()
+                                : ex;
+                        log.error("Invoke method {} failed, {}.", methodIdentifier, cause.getMessage(), cause);
+                        writeResponse(channel, transporter, StandardRpcResponse.fail(cause.getMessage()));
+                    });
+                    return;
                 }
-                TransporterHeader transporterHeader =
-                        TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-                Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-                channel.writeAndFlush(response);
+                writeResponse(channel, transporter, toSuccessResponse(result, serializer));
             });
         } catch (RejectedExecutionException e) {
             log.warn("NettyRemotingServer's thread pool is full, discard msg {} from {}", transporter,
                     ChannelUtils.getRemoteAddress(channel));
-            StandardRpcResponse iRpcResponse = StandardRpcResponse.fail("NettyRemotingServer's thread pool is full");
-            TransporterHeader transporterHeader =
-                    TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-            Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-            channel.writeAndFlush(response);
+            transporter.release();
+            writeResponse(channel, transporter, StandardRpcResponse.fail("NettyRemotingServer's thread pool is full"));
         }
     }
 
+    private StandardRpcResponse toSuccessResponse(Object result, ISerializer serializer) {
+        if (result == null) {
+            return StandardRpcResponse.success(null, null);
+        }
+        return StandardRpcResponse.success(serializer.serialize(result), result.getClass());
+    }
+
+    private void writeResponse(Channel channel, Transporter request, StandardRpcResponse iRpcResponse) {
+        TransporterHeader transporterHeader =
+                TransporterHeader.of(request.getHeader().getOpaque(), request.getHeader().getMethodIdentifier());
+        channel.writeAndFlush(Transporter.of(transporterHeader, iRpcResponse, request.getSerializerType()));
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
         log.error("exceptionCaught : {}", cause.getMessage(), cause);
@@ -39,6 +39,11 @@ public class Constants {
 
     public static final int NETTY_CLIENT_HEART_BEAT_TIME = 1000 * 6;
 
+    /**
+     * the preferred serializer of the rpc requests, JSON or CBOR
+     */
+    public static final String RPC_SERIALIZER_TYPE = "rpc.serializer.type";
+
     /**
      * charset
      */
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+class HostChannelPoolTest {
+
+    private final AtomicInteger connectTimes = new AtomicInteger();
+
+    private HostChannelPool hostChannelPool;
+
+    @BeforeEach
+    void setUp() {
+        hostChannelPool = new HostChannelPool("1", Host.of("localhost:1234"), 2, 2, host -> {
+            connectTimes.incrementAndGet();
+            return CompletableFuture.completedFuture(new EmbeddedChannel());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        hostChannelPool.close();
+    }
+
+    @Test
+    void testReuseIdleChannel() {
+        Channel channel = hostChannelPool.selectChannel();
+        assertThat(channel).isNotNull();
+        assertThat(hostChannelPool.selectChannel()).isSameInstanceAs(channel);
+        assertThat(connectTimes.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testConnectNewChannelWhenBusy() {
+        Channel first = hostChannelPool.selectChannel();
+        Runnable releaseFirst = hostChannelPool.onRequestSent(first, false);
+
+        // The busy channel is used while the new channel is connecting
+        assertThat(hostChannelPool.selectChannel()).isSameInstanceAs(first);
+        Channel second = hostChannelPool.selectChannel();
+        assertThat(second).isNotSameInstanceAs(first);
+        Runnable releaseSecond = hostChannelPool.onRequestSent(second, false);
+        hostChannelPool.onRequestSent(second, false);
+        assertThat(hostChannelPool.getPendingRequests()).isEqualTo(3);
+        assertThat(hostChannelPool.getActiveChannelSize()).isEqualTo(2);
+
+        // The pool is full, select the channel with the least pending requests
+        assertThat(hostChannelPool.selectChannel()).isSameInstanceAs(first);
+        assertThat(connectTimes.get()).isEqualTo(2);
+
+        releaseFirst.run();
+        releaseSecond.run();
+        assertThat(hostChannelPool.getPendingRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void testReconnectRemovedChannel() {
+        Channel first = hostChannelPool.selectChannel();
+        assertThat(hostChannelPool.removeChannel(first)).isTrue();
+        assertThat(hostChannelPool.removeChannel(first)).isFalse();
+
+        Channel second = hostChannelPool.selectChannel();
+        assertThat(second).isNotSameInstanceAs(first);
+        assertThat(connectTimes.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testInFlightLimit() throws InterruptedException {
+        Channel channel = hostChannelPool.selectChannel();
+        assertThat(hostChannelPool.tryAcquire(10)).isTrue();
+        Runnable release = hostChannelPool.onRequestSent(channel, true);
+        assertThat(hostChannelPool.tryAcquire(10)).isTrue();
+        hostChannelPool.onRequestSent(channel, true);
+        assertThat(hostChannelPool.tryAcquire(10)).isFalse();
+
+        release.run();
+        assertThat(hostChannelPool.getAvailableInFlightPermits()).isEqualTo(1);
+        assertThat(hostChannelPool.tryAcquire(10)).isTrue();
+    }
+
+    @Test
+    void testCloseKeepsGaugesOfOtherClients() {
+        HostChannelPool otherClientPool =
+                new HostChannelPool("2", Host.of("localhost:1234"), 2, 2,
+                        host -> CompletableFuture.completedFuture(new EmbeddedChannel()));
+        assertThat(otherClientPool.selectChannel()).isNotNull();
+        assertThat(hostChannelPool.selectChannel()).isNotNull();
+        hostChannelPool.close();
+
+        Gauge gauge = Metrics.globalRegistry.find("ds.rpc.client.active.channels")
+                .tag("client", "2")
+                .tag("host", "localhost:1234")
+                .gauge();
+        try {
+            assertThat(gauge).isNotNull();
+            assertThat(Metrics.globalRegistry.find("ds.rpc.client.active.channels")
+                    .tag("client", "1")
+                    .gauge()).isNull();
+        } finally {
+            otherClientPool.close();
+        }
+    }
+
+    @Test
+    void testNotWaitForGrowingConnection() {
+        CompletableFuture<Channel> growingConnection = new CompletableFuture<>();
+        AtomicInteger connects = new AtomicInteger();
+        HostChannelPool slowPool = new HostChannelPool("1", Host.of("localhost:1236"), 2, 2,
+                host -> connects.incrementAndGet() == 1
+                        ? CompletableFuture.completedFuture(new EmbeddedChannel())
+                        : growingConnection);
+        try {
+            Channel first = slowPool.selectChannel();
+            slowPool.onRequestSent(first, false);
+
+            // The slow connection doesn't block the callers which have a busy channel, and is only started once
+            assertThat(slowPool.selectChannel()).isSameInstanceAs(first);
+            assertThat(slowPool.selectChannel()).isSameInstanceAs(first);
+            assertThat(connects.get()).isEqualTo(2);
+
+            Channel second = new EmbeddedChannel();
+            growingConnection.complete(second);
+            assertThat(slowPool.selectChannel()).isSameInstanceAs(second);
+            assertThat(slowPool.getActiveChannelSize()).isEqualTo(2);
+        } finally {
+            slowPool.close();
+        }
+    }
+
+    @Test
+    void testConnectFailed() {
+        HostChannelPool unreachablePool = new HostChannelPool("1", Host.of("localhost:1235"), 2, 2,
+                host -> CompletableFuture.completedFuture(null));
+        try {
+            assertThat(unreachablePool.selectChannel()).isNull();
+        } finally {
+            unreachablePool.close();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
+import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class HostSerializerNegotiatorTest {
+
+    private final Host host = Host.of("localhost:1234");
+
+    @Test
+    void testJsonIsUsedWithoutProbeIfJsonIsPreferred() {
+        AtomicInteger probeTimes = new AtomicInteger();
+        HostSerializerNegotiator negotiator = new HostSerializerNegotiator(SerializerType.JSON, (h, s) -> {
+            probeTimes.incrementAndGet();
+            return CompletableFuture.completedFuture(true);
+        });
+
+        assertThat(negotiator.getSerializerType(host)).isEqualTo(SerializerType.JSON);
+        assertThat(probeTimes.get()).isEqualTo(0);
+    }
+
+    @Test
+    void testSwitchToPreferredSerializerAfterProbeAccepted() {
+        CompletableFuture<Boolean> probeFuture = new CompletableFuture<>();
+        AtomicInteger probeTimes = new AtomicInteger();
+        HostSerializerNegotiator negotiator = new HostSerializerNegotiator(SerializerType.CBOR, (h, s) -> {
+            probeTimes.incrementAndGet();
+            return probeFuture;
+        });
+
+        // keep using json until the host answered the probe, and only one probe is in flight
+        assertThat(negotiator.getSerializerType(host)).isEqualTo(SerializerType.JSON);
+        assertThat(negotiator.getSerializerType(host)).isEqualTo(SerializerType.JSON);
+        assertThat(probeTimes.get()).isEqualTo(1);
+
+        probeFuture.complete(true);
+        assertThat(negotiator.getSerializerType(host)).isEqualTo(SerializerType.CBOR);
+
+        negotiator.reset(host);
+        assertThat(negotiator.getSerializerType(host)).isEqualTo(SerializerType.JSON);
+        assertThat(probeTimes.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testKeepJsonAfterProbeRejected() {
+        AtomicInteger probeTimes = new AtomicInteger();
+        HostSerializerNegotiator negotiator = new HostSerializerNegotiator(SerializerType.CBOR, (h, s) -> {
+            probeTimes.incrementAndGet();
+            return CompletableFuture.completedFuture(false);
+        });
+
+        assertThat(negotiator.getSerializerType(host)).isEqualTo(SerializerType.JSON);
+        assertThat(negotiator.getSerializerType(host)).isEqualTo(SerializerType.JSON);
+        // the rejected host will not be probed again until the reprobe interval passed
+        assertThat(probeTimes.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testProbeAcceptedByServer() throws Exception {
+        int listenPort = getFreePort();
+        NettyRemotingServer nettyRemotingServer = new NettyRemotingServer(
+                NettyServerConfig.builder().serverName("ProbeServer").listenPort(listenPort).build());
+        nettyRemotingServer.start();
+        try (
+                NettyRemotingClient nettyRemotingClient = new NettyRemotingClient(
+                        NettyClientConfig.builder().serializerType(SerializerType.CBOR).build())) {
+            Host serverHost = Host.of("localhost:" + listenPort);
+
+            assertThat(nettyRemotingClient.probeSerializer(serverHost, SerializerType.CBOR).get(10, TimeUnit.SECONDS))
+                    .isTrue();
+            assertThat(nettyRemotingClient.getSerializerType(serverHost)).isEqualTo(SerializerType.JSON);
+            await().atMost(Duration.ofSeconds(10))
+                    .untilAsserted(() -> assertThat(nettyRemotingClient.getSerializerType(serverHost))
+                            .isEqualTo(SerializerType.CBOR));
+        } finally {
+            nettyRemotingServer.close();
+        }
+    }
+
+    @Test
+    void testProbeRejectedByServerClosingTheConnection() throws Exception {
+        // simulate a server which doesn't know the serializer, it closes the connection once receiving the probe
+        try (
+                ServerSocket serverSocket = new ServerSocket(0);
+                NettyRemotingClient nettyRemotingClient = new NettyRemotingClient(new NettyClientConfig())) {
+            CompletableFuture.runAsync(() -> {
+                try (Socket socket = serverSocket.accept()) {
+                    socket.getInputStream().read();
+                } catch (IOException ignored) {
+                    // the client may have closed the connection
+                }
+            });
+            Host serverHost = Host.of("localhost:" + serverSocket.getLocalPort());
+
+            assertThat(nettyRemotingClient.probeSerializer(serverHost, SerializerType.CBOR).get(10, TimeUnit.SECONDS))
+                    .isFalse();
+        }
+    }
+
+    private static int getFreePort() throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            return serverSocket.getLocalPort();
+        }
+    }
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.client;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class RpcBatchSenderTest {
+
+    @Test
+    void testBatchIsSentAfterWindow() {
+        List<List<Integer>> sentBatches = new CopyOnWriteArrayList<>();
+        try (
+                RpcBatchSender<Integer> rpcBatchSender =
+                        new RpcBatchSender<>("test", Duration.ofMillis(500), 100, (host, batch) -> {
+                            sentBatches.add(batch);
+                            return CompletableFuture.completedFuture(null);
+                        })) {
+            rpcBatchSender.add("host1", 1);
+            rpcBatchSender.add("host1", 2);
+            rpcBatchSender.add("host1", 3);
+
+            await().atMost(Duration.ofSeconds(5)).until(() -> !sentBatches.isEmpty());
+            assertThat(sentBatches).containsExactly(Arrays.asList(1, 2, 3));
+            assertThat(rpcBatchSender.getPendingSize("host1")).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void testBatchIsSentOnceFull() {
+        List<List<Integer>> sentBatches = new CopyOnWriteArrayList<>();
+        try (
+                RpcBatchSender<Integer> rpcBatchSender =
+                        new RpcBatchSender<>("test", Duration.ofMinutes(1), 2, (host, batch) -> {
+                            sentBatches.add(batch);
+                            return CompletableFuture.completedFuture(null);
+                        })) {
+            rpcBatchSender.add("host1", 1);
+            rpcBatchSender.add("host1", 2);
+
+            await().atMost(Duration.ofSeconds(5)).until(() -> !sentBatches.isEmpty());
+            assertThat(sentBatches).containsExactly(Arrays.asList(1, 2));
+        }
+    }
+
+    @Test
+    void testOneBatchInFlightPerHostKeepsOrder() {
+        Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> inFlight = new CopyOnWriteArrayList<>();
+        try (
+                RpcBatchSender<Integer> rpcBatchSender =
+                        new RpcBatchSender<>("test", Duration.ofMillis(10), 5, (host, batch) -> {
+                            received.computeIfAbsent(host, k -> Collections.synchronizedList(new ArrayList<>()))
+                                    .addAll(batch);
+                            CompletableFuture<Void> future = new CompletableFuture<>();
+                            inFlight.add(future);
+                            return future;
+                        })) {
+            for (int i = 0; i < 20; i++) {
+                rpcBatchSender.add("host1", i);
+                rpcBatchSender.add("host2", i);
+            }
+            await().atMost(Duration.ofSeconds(5)).until(() -> inFlight.size() == 2);
+            // The next batch is not sent until the in flight batch completed
+            assertThat(rpcBatchSender.getPendingSize("host1")).isEqualTo(15);
+            assertThat(rpcBatchSender.getPendingSize("host2")).isEqualTo(15);
+
+            // Complete or fail the batches one by one, the following batches should still be sent
+            int completed = 0;
+            while (completed < 8) {
+                int sent = completed;
+                await().atMost(Duration.ofSeconds(5)).until(() -> inFlight.size() > sent);
+                int size = inFlight.size();
+                for (int i = completed; i < size; i++) {
+                    if (i % 2 == 0) {
+                        inFlight.get(i).complete(null);
+                    } else {
+                        inFlight.get(i).completeExceptionally(new IllegalStateException("mock failure"));
+                    }
+                }
+                completed = size;
+            }
+
+            List<Integer> expectedOrder = IntStream.range(0, 20).boxed().collect(Collectors.toList());
+            assertThat(received.get("host1")).containsExactlyElementsIn(expectedOrder).inOrder();
+            assertThat(received.get("host2")).containsExactlyElementsIn(expectedOrder).inOrder();
+        }
+    }
+
+    @Test
+    void testSendFunctionThrowException() {
+        List<List<Integer>> sentBatches = new CopyOnWriteArrayList<>();
+        try (
+                RpcBatchSender<Integer> rpcBatchSender =
+                        new RpcBatchSender<>("test", Duration.ofMillis(10), 1, (host, batch) -> {
+                            sentBatches.add(batch);
+                            throw new IllegalStateException("mock failure");
+                        })) {
+            rpcBatchSender.add("host1", 1);
+            rpcBatchSender.add("host1", 2);
+
+            await().atMost(Duration.ofSeconds(5)).until(() -> sentBatches.size() == 2);
+            assertThat(rpcBatchSender.getPendingSize("host1")).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void testFallbackToSingleSendIfBatchMethodNotFound() {
+        List<List<Integer>> sentBatches = new CopyOnWriteArrayList<>();
+        List<Integer> sentSingles = new CopyOnWriteArrayList<>();
+        try (
+                RpcBatchSender<Integer> rpcBatchSender =
+                        new RpcBatchSender<>("test", Duration.ofMillis(10), 1, (host, batch) -> {
+                            sentBatches.add(batch);
+                            CompletableFuture<Void> future = new CompletableFuture<>();
+                            future.completeExceptionally(MethodInvocationException
+                                    .of(MethodInvocationException.METHOD_NOT_FOUND_MESSAGE_PREFIX + "batch"));
+                            return future;
+                        }, (host, element) -> sentSingles.add(element))) {
+            rpcBatchSender.add("host1", 1);
+            await().atMost(Duration.ofSeconds(5)).until(() -> sentBatches.size() == 1);
+
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+                rpcBatchSender.add("host1", 2);
+                assertThat(sentSingles).contains(2);
+            });
+            assertThat(rpcBatchSender.getPendingSize("host1")).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void testIdleHostIsRemoved() {
+        List<List<Integer>> sentBatches = new CopyOnWriteArrayList<>();
+        try (
+                RpcBatchSender<Integer> rpcBatchSender =
+                        new RpcBatchSender<>("test", Duration.ofMillis(10), 100, (host, batch) -> {
+                            sentBatches.add(batch);
+                            return CompletableFuture.completedFuture(null);
+                        })) {
+            rpcBatchSender.add("host1", 1);
+            await().atMost(Duration.ofSeconds(5)).until(() -> sentBatches.size() == 1);
+            assertThat(rpcBatchSender.getHostSize()).isEqualTo(1);
+
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+                rpcBatchSender.removeIdleHosts(Long.MAX_VALUE);
+                assertThat(rpcBatchSender.getHostSize()).isEqualTo(0);
+            });
+
+            // the host is added back once there is a new element
+            rpcBatchSender.add("host1", 2);
+            await().atMost(Duration.ofSeconds(5)).until(() -> sentBatches.size() == 2);
+            assertThat(sentBatches.get(1)).containsExactly(2);
+        }
+    }
+}
@@ -20,16 +20,24 @@ package org.apache.dolphinscheduler.extract.base.client;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import org.apache.dolphinscheduler.extract.base.NettyRemotingClient;
+import org.apache.dolphinscheduler.extract.base.NettyRemotingClientFactory;
 import org.apache.dolphinscheduler.extract.base.NettyRemotingServer;
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
+import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
 import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
 import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
 
 import org.apache.commons.lang3.RandomUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -73,6 +81,41 @@ public class SingletonJdkDynamicRpcClientProxyFactoryTest {
         assertEquals("ping: null is illegal", methodInvocationException.getMessage());
     }
 
+    @Test
+    public void testPingWithEachSerializer() {
+        for (SerializerType serializerType : SerializerType.values()) {
+            NettyClientConfig nettyClientConfig = NettyClientConfig.builder().serializerType(serializerType).build();
+            try (
+                    NettyRemotingClient nettyRemotingClient =
+                            NettyRemotingClientFactory.buildNettyRemotingClient(nettyClientConfig)) {
+                IService proxyClient = new JdkDynamicRpcClientProxyFactory(nettyRemotingClient)
+                        .getProxyClient(serverAddress, IService.class);
+                assertEquals("pong", proxyClient.ping("ping"));
+            }
+        }
+    }
+
+    @Test
+    public void testAsyncPing() throws Exception {
+        IService proxyClient =
+                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient(serverAddress, IService.class);
+        assertEquals("pong", proxyClient.asyncPing("ping").get(10, TimeUnit.SECONDS));
+
+        ExecutionException executionException = Assertions.assertThrows(ExecutionException.class,
+                () -> proxyClient.asyncPing(null).get(10, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(MethodInvocationException.class, executionException.getCause());
+        assertEquals("ping: null is illegal", executionException.getCause().getMessage());
+    }
+
+    @Test
+    public void testAsyncAndSyncPingInFlight() throws Exception {
+        IService proxyClient =
+                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient(serverAddress, IService.class);
+        CompletableFuture<String> future = proxyClient.asyncPing("ping");
+        assertEquals("pong", proxyClient.ping("ping"));
+        assertEquals("pong", future.get(10, TimeUnit.SECONDS));
+    }
+
     @Test
     public void testVoid() {
         IService proxyClient =
@@ -93,6 +136,9 @@ public class SingletonJdkDynamicRpcClientProxyFactoryTest {
 
         @RpcMethod
         void voidMethod();
+
+        @RpcMethod
+        CompletableFuture<String> asyncPing(String ping);
     }
 
     public static class IServiceImpl implements IService {
@@ -105,6 +151,11 @@ public class SingletonJdkDynamicRpcClientProxyFactoryTest {
             return "pong";
         }
 
+        @Override
+        public CompletableFuture<String> asyncPing(String ping) {
+            return CompletableFuture.supplyAsync(() -> ping(ping));
+        }
+
         @Override
         public void voidMethod() {
             System.out.println("void method");
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.protocal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+
+class TransporterCodecTest {
+
+    @Test
+    void testEncodeAndDecode() {
+        for (SerializerType serializerType : SerializerType.values()) {
+            Transporter transporter = newTransporter(serializerType, "ping");
+
+            Transporter decoded = decode(encode(transporter));
+            try {
+                assertThat(decoded.getSerializerType()).isEqualTo(serializerType);
+                assertThat(decoded.getHeader()).isEqualTo(transporter.getHeader());
+                assertThat(decoded.getBody().refCnt()).isEqualTo(1);
+                StandardRpcRequest request =
+                        serializerType.getSerializer().deserialize(decoded.getBody(), StandardRpcRequest.class);
+                assertThat(serializerType.getSerializer().deserialize(request.getArgs()[0], String.class))
+                        .isEqualTo("ping");
+            } finally {
+                decoded.release();
+            }
+            assertThat(decoded.getBody().refCnt()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void testDecodeFragmentedFrames() {
+        ByteBuf first = encode(newTransporter(SerializerType.JSON, "first"));
+        ByteBuf second = encode(newTransporter(SerializerType.CBOR, "second"));
+        ByteBuf frames = Unpooled.wrappedBuffer(first, second);
+
+        EmbeddedChannel channel = new EmbeddedChannel(new TransporterDecoder());
+        // write the frames byte by byte, the decoder should wait until a whole frame is received
+        while (frames.isReadable()) {
+            channel.writeInbound(frames.readRetainedSlice(1));
+        }
+        frames.release();
+
+        Transporter firstTransporter = channel.readInbound();
+        Transporter secondTransporter = channel.readInbound();
+        assertThat((Object) channel.readInbound()).isNull();
+        assertThat(firstTransporter.getSerializerType()).isEqualTo(SerializerType.JSON);
+        assertThat(secondTransporter.getSerializerType()).isEqualTo(SerializerType.CBOR);
+        firstTransporter.release();
+        secondTransporter.release();
+        assertThat(channel.finish()).isFalse();
+    }
+
+    @Test
+    void testDecodeIllegalVersion() {
+        ByteBuf frame = encode(newTransporter(SerializerType.JSON, "ping"));
+        frame.setByte(1, 127);
+
+        EmbeddedChannel channel = new EmbeddedChannel(new TransporterDecoder());
+        Assertions.assertThrows(DecoderException.class, () -> channel.writeInbound(frame));
+    }
+
+    private Transporter newTransporter(SerializerType serializerType, String arg) {
+        return Transporter.of(
+                TransporterHeader.of("ping"),
+                StandardRpcRequest.of(new Object[]{arg}, serializerType.getSerializer()),
+                serializerType);
+    }
+
+    private ByteBuf encode(Transporter transporter) {
+        EmbeddedChannel channel = new EmbeddedChannel(new TransporterEncoder());
+        channel.writeOutbound(transporter);
+        ByteBuf frame = channel.readOutbound();
+        channel.finish();
+        return frame;
+    }
+
+    private Transporter decode(ByteBuf frame) {
+        EmbeddedChannel channel = new EmbeddedChannel(new TransporterDecoder());
+        channel.writeInbound(frame);
+        Transporter transporter = channel.readInbound();
+        channel.finish();
+        return transporter;
+    }
+
+}
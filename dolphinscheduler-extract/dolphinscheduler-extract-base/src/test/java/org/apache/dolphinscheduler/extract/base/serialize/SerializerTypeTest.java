@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.Unpooled;
+
+class SerializerTypeTest {
+
+    @Test
+    void testRpcRequestRoundTrip() {
+        for (SerializerType serializerType : SerializerType.values()) {
+            assertRpcRequestRoundTrip(serializerType);
+        }
+    }
+
+    @Test
+    void testRpcResponseRoundTrip() {
+        for (SerializerType serializerType : SerializerType.values()) {
+            assertRpcResponseRoundTrip(serializerType);
+        }
+    }
+
+    @Test
+    void testOf() {
+        for (SerializerType serializerType : SerializerType.values()) {
+            assertThat(SerializerType.of(serializerType.getVersion())).isEqualTo(serializerType);
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SerializerType.of((byte) 127));
+    }
+
+    @Test
+    void testDeserializeIllegalBytes() {
+        for (SerializerType serializerType : SerializerType.values()) {
+            ISerializer serializer = serializerType.getSerializer();
+            byte[] illegalBytes = serializer.serialize("not a payload");
+            Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> serializer.deserialize(illegalBytes, Payload.class));
+            Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> serializer.deserialize(Unpooled.wrappedBuffer(illegalBytes), Payload.class));
+        }
+    }
+
+    @Test
+    void testCborIsSmallerThanJsonForNestedArgs() {
+        Payload payload = newPayload();
+        byte[] jsonBytes = SerializerType.JSON.getSerializer()
+                .serialize(StandardRpcRequest.of(new Object[]{payload}, SerializerType.JSON.getSerializer()));
+        byte[] cborBytes = SerializerType.CBOR.getSerializer()
+                .serialize(StandardRpcRequest.of(new Object[]{payload}, SerializerType.CBOR.getSerializer()));
+        assertThat(cborBytes.length).isLessThan(jsonBytes.length);
+    }
+
+    private void assertRpcRequestRoundTrip(SerializerType serializerType) {
+        ISerializer serializer = serializerType.getSerializer();
+        Payload payload = newPayload();
+
+        StandardRpcRequest request = StandardRpcRequest.of(new Object[]{payload, "ping", null}, serializer);
+        StandardRpcRequest decodedRequest =
+                serializer.deserialize(serializer.serialize(request), StandardRpcRequest.class);
+
+        assertThat(decodedRequest.getArgsTypes()).asList().containsExactly(Payload.class, String.class, null);
+        assertThat(serializer.deserialize(decodedRequest.getArgs()[0], Payload.class)).isEqualTo(payload);
+        assertThat(serializer.deserialize(decodedRequest.getArgs()[1], String.class)).isEqualTo("ping");
+        assertThat(decodedRequest.getArgs()[2]).isNull();
+    }
+
+    private void assertRpcResponseRoundTrip(SerializerType serializerType) {
+        ISerializer serializer = serializerType.getSerializer();
+        Payload payload = newPayload();
+
+        StandardRpcResponse response = StandardRpcResponse.success(serializer.serialize(payload), Payload.class);
+        StandardRpcResponse decodedResponse =
+                serializer.deserialize(serializer.serialize(response), StandardRpcResponse.class);
+
+        assertThat(decodedResponse.isSuccess()).isTrue();
+        assertThat(decodedResponse.getBodyType()).isEqualTo(Payload.class);
+        assertThat(serializer.deserialize(decodedResponse.getBody(), Payload.class)).isEqualTo(payload);
+    }
+
+    private Payload newPayload() {
+        Map<String, String> params = new HashMap<>();
+        for (int i = 0; i < 16; i++) {
+            params.put("key" + i, "value" + i);
+        }
+        return new Payload(1, "payload", new Date(1700000000000L), LocalDateTime.of(2024, 1, 1, 0, 0), params);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Payload {
+
+        private int id;
+
+        private String name;
+
+        private Date startTime;
+
+        private LocalDateTime endTime;
+
+        private Map<String, String> params;
+    }
+
+}
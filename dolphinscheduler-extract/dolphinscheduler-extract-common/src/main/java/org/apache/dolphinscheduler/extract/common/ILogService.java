@@ -25,6 +25,8 @@ import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFil
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailResponse;
 
 @RpcService
 public interface ILogService {
@@ -35,6 +37,12 @@ public interface ILogService {
     @RpcMethod
     TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest);
 
+    /**
+     * Read the log appended after the given byte offset, the complete lines are returned.
+     */
+    @RpcMethod
+    TaskInstanceLogTailResponse tailTaskInstanceLog(TaskInstanceLogTailRequest taskInstanceLogTailRequest);
+
     @RpcMethod
     GetAppIdResponse getAppId(GetAppIdRequest getAppIdRequest);
 
@@ -19,11 +19,14 @@ package org.apache.dolphinscheduler.extract.master;
 
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionEventBatch;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionFinishEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionInfoEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionRunningEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.WorkflowInstanceStateChangeEvent;
 
+import java.util.concurrent.CompletableFuture;
+
 @RpcService
 public interface ITaskInstanceExecutionEventListener {
 
@@ -36,6 +39,12 @@ public interface ITaskInstanceExecutionEventListener {
     @RpcMethod
     void onTaskInstanceExecutionInfoUpdate(TaskInstanceExecutionInfoEvent taskInstanceExecutionInfoEvent);
 
+    /**
+     * Handle the events in the batch order, the returned future is completed once all the events are accepted.
+     */
+    @RpcMethod
+    CompletableFuture<Void> onTaskInstanceExecutionEventBatch(TaskInstanceExecutionEventBatch taskInstanceExecutionEventBatch);
+
     // todo: Split this into a separate interface
     @RpcMethod
     void onWorkflowInstanceInstanceStateChange(WorkflowInstanceStateChangeEvent workflowInstanceStateChangeEvent);
@@ -35,4 +35,10 @@ public interface IWorkflowInstanceService {
     @RpcMethod
     TaskInstanceWakeupResponse wakeupTaskInstance(TaskInstanceWakeupRequest taskWakeupRequest);
 
+    /**
+     * Check the state of the async logic task instance, e.g. sub workflow task, without waiting for the check interval.
+     */
+    @RpcMethod
+    TaskInstanceWakeupResponse wakeupAsyncTaskInstance(TaskInstanceWakeupRequest taskWakeupRequest);
+
 }
@@ -19,6 +19,8 @@ package org.apache.dolphinscheduler.extract.master.transportor;
 
 public interface ITaskInstanceExecutionEvent {
 
+    int getTaskInstanceId();
+
     long getEventCreateTime();
 
     void setEventCreateTime(long eventCreateTime);
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.master.transportor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A batch of task instance execution events sent from one worker to one master, the events should be handled in the
+ * list order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskInstanceExecutionEventBatch {
+
+    private List<TaskInstanceExecutionEventEntry> events = new ArrayList<>();
+
+    public static TaskInstanceExecutionEventBatch of(List<? extends ITaskInstanceExecutionEvent> events) {
+        List<TaskInstanceExecutionEventEntry> entries = new ArrayList<>(events.size());
+        for (ITaskInstanceExecutionEvent event : events) {
+            entries.add(TaskInstanceExecutionEventEntry.of(event));
+        }
+        return new TaskInstanceExecutionEventBatch(entries);
+    }
+
+    /**
+     * Hold one of the event, since the event type is not serialized we use a field per event type.
+     */
+    @Data
+    @NoArgsConstructor
+    public static class TaskInstanceExecutionEventEntry {
+
+        private TaskInstanceExecutionRunningEvent runningEvent;
+
+        private TaskInstanceExecutionInfoEvent infoEvent;
+
+        private TaskInstanceExecutionFinishEvent finishEvent;
+
+        public static TaskInstanceExecutionEventEntry of(ITaskInstanceExecutionEvent event) {
+            TaskInstanceExecutionEventEntry entry = new TaskInstanceExecutionEventEntry();
+            switch (event.getEventType()) {
+                case RUNNING:
+                    entry.setRunningEvent((TaskInstanceExecutionRunningEvent) event);
+                    break;
+                case RUNNING_INFO:
+                    entry.setInfoEvent((TaskInstanceExecutionInfoEvent) event);
+                    break;
+                case FINISH:
+                    entry.setFinishEvent((TaskInstanceExecutionFinishEvent) event);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported event type: " + event.getEventType());
+            }
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.worker.transportor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The acks of task instance execution events sent from one master to one worker.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskInstanceExecutionEventAckBatch {
+
+    private List<TaskInstanceExecutionRunningEventAck> runningEventAcks = new ArrayList<>();
+
+    private List<TaskInstanceExecutionFinishEventAck> finishEventAcks = new ArrayList<>();
+
+    private List<TaskInstanceExecutionInfoEventAck> infoEventAcks = new ArrayList<>();
+
+    public static TaskInstanceExecutionEventAckBatch of(List<? extends ITaskInstanceExecutionEventAck> acks) {
+        TaskInstanceExecutionEventAckBatch ackBatch = new TaskInstanceExecutionEventAckBatch();
+        for (ITaskInstanceExecutionEventAck ack : acks) {
+            ack.addTo(ackBatch);
+        }
+        return ackBatch;
+    }
+
+}
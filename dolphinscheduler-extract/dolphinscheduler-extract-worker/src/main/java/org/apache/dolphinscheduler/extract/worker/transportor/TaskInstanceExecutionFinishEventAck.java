@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.extract.worker.transportor;
 
+import org.apache.dolphinscheduler.extract.worker.ITaskInstanceExecutionEventAckListener;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -24,7 +26,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class TaskInstanceExecutionFinishEventAck {
+public class TaskInstanceExecutionFinishEventAck implements ITaskInstanceExecutionEventAck {
 
     private int taskInstanceId;
     private boolean success;
@@ -37,4 +39,14 @@ public class TaskInstanceExecutionFinishEventAck {
         return new TaskInstanceExecutionFinishEventAck(taskInstanceId, false);
     }
 
+    @Override
+    public void sendTo(ITaskInstanceExecutionEventAckListener taskInstanceExecutionEventAckListener) {
+        taskInstanceExecutionEventAckListener.handleTaskInstanceExecutionFinishEventAck(this);
+    }
+
+    @Override
+    public void addTo(TaskInstanceExecutionEventAckBatch taskInstanceExecutionEventAckBatch) {
+        taskInstanceExecutionEventAckBatch.getFinishEventAcks().add(this);
+    }
+
 }
@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.extract.worker.transportor;
 
+import org.apache.dolphinscheduler.extract.worker.ITaskInstanceExecutionEventAckListener;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -24,7 +26,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class TaskInstanceExecutionInfoEventAck {
+public class TaskInstanceExecutionInfoEventAck implements ITaskInstanceExecutionEventAck {
 
     private boolean success;
     private int taskInstanceId;
@@ -37,4 +39,14 @@ public class TaskInstanceExecutionInfoEventAck {
         return new TaskInstanceExecutionInfoEventAck(false, taskInstanceId);
     }
 
+    @Override
+    public void sendTo(ITaskInstanceExecutionEventAckListener taskInstanceExecutionEventAckListener) {
+        taskInstanceExecutionEventAckListener.handleTaskInstanceExecutionInfoEventAck(this);
+    }
+
+    @Override
+    public void addTo(TaskInstanceExecutionEventAckBatch taskInstanceExecutionEventAckBatch) {
+        taskInstanceExecutionEventAckBatch.getInfoEventAcks().add(this);
+    }
+
 }
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.command;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Used to wake up the command fetch loop once new commands are available in the current master's slot.
+ * <p>
+ * Multiple signals before the loop waits are merged into one, since one fetch will pick up all of them.
+ */
+@Component
+public class CommandAvailableSignal {
+
+    private final Lock lock = new ReentrantLock();
+
+    private final Condition commandAvailableCondition = lock.newCondition();
+
+    private boolean commandAvailable = false;
+
+    public void signal() {
+        lock.lock();
+        try {
+            commandAvailable = true;
+            commandAvailableCondition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until new commands are available or the timeout elapsed.
+     *
+     * @param timeoutMills max wait time in milliseconds
+     * @return true if woken up by a signal, false if the timeout elapsed
+     */
+    public boolean await(long timeoutMills) throws InterruptedException {
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMills);
+        lock.lock();
+        try {
+            while (!commandAvailable) {
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                remainingNanos = commandAvailableCondition.awaitNanos(remainingNanos);
+            }
+            commandAvailable = false;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Clear the pending signal, called before fetching commands, since the fetch will pick up the signaled commands.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            commandAvailable = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
@@ -41,6 +41,10 @@ public class CommandFetcherConfiguration {
                 CommandFetchStrategy.IdSlotBasedFetchConfig idSlotBasedFetchConfig =
                         (CommandFetchStrategy.IdSlotBasedFetchConfig) commandFetchStrategy.getConfig();
                 return new IdSlotBasedCommandFetcher(idSlotBasedFetchConfig, masterSlotManager, commandDao);
+            case ID_RANGE_BASED:
+                CommandFetchStrategy.IdSlotBasedFetchConfig idRangeBasedFetchConfig =
+                        (CommandFetchStrategy.IdSlotBasedFetchConfig) commandFetchStrategy.getConfig();
+                return new IdRangeBasedCommandFetcher(idRangeBasedFetchConfig, masterSlotManager, commandDao);
             default:
                 throw new IllegalArgumentException(
                         "unsupported command fetch strategy type: " + commandFetchStrategy.getType());
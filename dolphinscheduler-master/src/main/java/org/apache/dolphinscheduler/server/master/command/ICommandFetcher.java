@@ -33,4 +33,12 @@ public interface ICommandFetcher {
      */
     List<Command> fetchCommands();
 
+    /**
+     * Whether the command with the given id will be fetched by the current master
+     *
+     * @param commandId command id
+     * @return true if the command belongs to the current master's slot
+     */
+    boolean isCommandInCurrentSlot(int commandId);
+
 }
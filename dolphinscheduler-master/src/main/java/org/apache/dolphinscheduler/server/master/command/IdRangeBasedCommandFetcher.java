@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.command;
+
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.server.master.config.CommandFetchStrategy;
+import org.apache.dolphinscheduler.server.master.metrics.ProcessInstanceMetrics;
+import org.apache.dolphinscheduler.server.master.registry.MasterSlotManager;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The command fetcher which use the same slot partition with {@link IdSlotBasedCommandFetcher}: the ids are split into
+ * contiguous ranges of {@code idStep} and the range {@code id / idStep} belongs to the slot
+ * {@code (id / idStep) % totalSlot}.
+ * <p>
+ * Instead of scanning and sorting the whole command table at each fetch, this fetcher keeps a cursor of the last fetched
+ * command id and seeks from the first id of the next range owned by the current slot, so the query can be served by the
+ * primary key and stops once {@code fetchSize} commands are found. The cursor is reset once the tail of the table is
+ * reached or the slot changed, so the commands which are committed out of id order will be picked up at next round.
+ * <p>
+ * The fetched commands are sorted by priority inside each batch, the priority is not guaranteed across batches.
+ */
+@Slf4j
+public class IdRangeBasedCommandFetcher implements ICommandFetcher {
+
+    private static final Comparator<Command> COMMAND_PRIORITY_COMPARATOR = Comparator
+            .comparing(Command::getProcessInstancePriority,
+                    Comparator.nullsLast(Comparator.comparing(Priority::getCode)))
+            .thenComparing(Command::getId);
+
+    private final CommandFetchStrategy.IdSlotBasedFetchConfig idSlotBasedFetchConfig;
+
+    private final CommandDao commandDao;
+
+    private final MasterSlotManager masterSlotManager;
+
+    private int lastSlotIndex = -1;
+
+    private int lastTotalSlot = -1;
+
+    private long lastCommandId = -1;
+
+    public IdRangeBasedCommandFetcher(CommandFetchStrategy.IdSlotBasedFetchConfig idSlotBasedFetchConfig,
+                                      MasterSlotManager masterSlotManager,
+                                      CommandDao commandDao) {
+        this.idSlotBasedFetchConfig = idSlotBasedFetchConfig;
+        this.masterSlotManager = masterSlotManager;
+        this.commandDao = commandDao;
+    }
+
+    @Override
+    public List<Command> fetchCommands() {
+        long scheduleStartTime = System.currentTimeMillis();
+        int currentSlotIndex = masterSlotManager.getSlot();
+        int totalSlot = masterSlotManager.getMasterSize();
+        if (totalSlot <= 0 || currentSlotIndex < 0) {
+            log.warn("Slot is validated, current master slots: {}, the current slot index is {}", totalSlot,
+                    currentSlotIndex);
+            return Collections.emptyList();
+        }
+        if (currentSlotIndex != lastSlotIndex || totalSlot != lastTotalSlot) {
+            // the slot changed, the ranges owned by current master changed, need to seek from the beginning
+            lastSlotIndex = currentSlotIndex;
+            lastTotalSlot = totalSlot;
+            lastCommandId = -1;
+        }
+        int idStep = idSlotBasedFetchConfig.getIdStep();
+        int fetchSize = idSlotBasedFetchConfig.getFetchSize();
+        long minId = getFirstOwnedId(lastCommandId + 1, currentSlotIndex, totalSlot, idStep);
+        List<Command> commands =
+                commandDao.queryCommandByIdSlotFromId(currentSlotIndex, totalSlot, idStep, minId, fetchSize);
+        if (commands.size() < fetchSize) {
+            // reach the tail of the command table, seek from the beginning at next round
+            lastCommandId = -1;
+        } else {
+            lastCommandId = commands.get(commands.size() - 1).getId();
+        }
+        commands.sort(COMMAND_PRIORITY_COMPARATOR);
+        long cost = System.currentTimeMillis() - scheduleStartTime;
+        log.info("Fetch commands: {} success, cost: {}ms, totalSlot: {}, currentSlotIndex: {}, minId: {}",
+                commands.size(), cost, totalSlot, currentSlotIndex, minId);
+        ProcessInstanceMetrics.recordCommandQueryTime(cost);
+        return commands;
+    }
+
+    @Override
+    public boolean isCommandInCurrentSlot(int commandId) {
+        int totalSlot = masterSlotManager.getMasterSize();
+        if (totalSlot <= 0) {
+            return false;
+        }
+        return (commandId / idSlotBasedFetchConfig.getIdStep()) % totalSlot == masterSlotManager.getSlot();
+    }
+
+    /**
+     * Get the first id which is greater than or equal to the given id and belongs to the current slot.
+     */
+    static long getFirstOwnedId(long fromId, int currentSlotIndex, int totalSlot, int idStep) {
+        long rangeIndex = fromId / idStep;
+        long skipRanges = Math.floorMod(currentSlotIndex - rangeIndex, totalSlot);
+        if (skipRanges == 0) {
+            return fromId;
+        }
+        return (rangeIndex + skipRanges) * idStep;
+    }
+
+}
@@ -70,4 +70,13 @@ public class IdSlotBasedCommandFetcher implements ICommandFetcher {
         return commands;
     }
 
+    @Override
+    public boolean isCommandInCurrentSlot(int commandId) {
+        int totalSlot = masterSlotManager.getMasterSize();
+        if (totalSlot <= 0) {
+            return false;
+        }
+        return (commandId / idSlotBasedFetchConfig.getIdStep()) % totalSlot == masterSlotManager.getSlot();
+    }
+
 }
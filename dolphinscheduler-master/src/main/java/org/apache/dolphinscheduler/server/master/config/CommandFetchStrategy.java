@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.server.master.config;
 
+import java.time.Duration;
+
 import lombok.Data;
 
 import org.springframework.validation.Errors;
@@ -28,12 +30,26 @@ public class CommandFetchStrategy {
 
     private CommandFetchConfig config = new IdSlotBasedFetchConfig();
 
+    /**
+     * The fetch interval is doubled after each empty fetch until it reaches this value, the master is woken up
+     * immediately once new commands are notified, so the polling is only a fallback.
+     */
+    private Duration maxIdleFetchInterval = Duration.ofSeconds(10);
+
     public void validate(Errors errors) {
         config.validate(errors);
+        if (maxIdleFetchInterval == null || maxIdleFetchInterval.toMillis() <= 0) {
+            errors.rejectValue("maxIdleFetchInterval", null, "maxIdleFetchInterval must be greater than 0");
+        }
     }
 
     public enum CommandFetchStrategyType {
         ID_SLOT_BASED,
+        /**
+         * Use the same slot partition as {@link #ID_SLOT_BASED}, but seek the commands by id with a cursor, the
+         * commands are ordered by priority only inside each fetched batch.
+         */
+        ID_RANGE_BASED,
         ;
     }
 
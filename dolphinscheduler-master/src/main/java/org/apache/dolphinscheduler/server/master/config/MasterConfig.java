@@ -58,6 +58,11 @@ public class MasterConfig implements Validator {
      * Will create two thread poll to execute {@link WorkflowExecuteRunnable} and {@link TaskExecuteRunnable}.
      */
     private int execThreads = 10;
+    /**
+     * The thread number used to handle the workflow events, the events are sharded by workflow instance id so the
+     * events of one workflow instance are handled in order.
+     */
+    private int workflowEventLooperThreads = 10;
 
     // todo: change to sync thread pool/ async thread pool ?
     private int masterSyncTaskExecutorThreadPoolSize = Runtime.getRuntime().availableProcessors();
@@ -84,9 +89,10 @@ public class MasterConfig implements Validator {
      */
     private Duration taskCommitInterval = Duration.ofSeconds(1);
     /**
-     * state wheel check interval, if this value is bigger, may increase the delay of task/processInstance.
+     * state wheel tick duration, the timeout/retry checks are fired at most one tick later than their deadline, a check
+     * which failed or whose instance is not ready will be retried after this interval.
      */
-    private Duration stateWheelInterval = Duration.ofMillis(5);
+    private Duration stateWheelInterval = Duration.ofSeconds(5);
     private MasterServerLoadProtection serverLoadProtection = new MasterServerLoadProtection();
     private Duration failoverInterval = Duration.ofMinutes(10);
     private boolean killApplicationWhenTaskFailover = true;
@@ -96,6 +102,27 @@ public class MasterConfig implements Validator {
 
     private CommandFetchStrategy commandFetchStrategy = new CommandFetchStrategy();
 
+    /**
+     * The task instance execution event acks sent to the same worker are coalesced within this window.
+     */
+    private Duration eventAckBatchWindow = Duration.ofMillis(100);
+    /**
+     * The max ack size of one batch, the batch will be sent immediately once it is full.
+     */
+    private int eventAckMaxBatchSize = 100;
+    /**
+     * The max total task nodes of the compiled workflow definition graphs cached in memory, 0 means no cache.
+     */
+    private int workflowGraphCacheMaxTaskNodes = 100000;
+    /**
+     * The task instance state updates are merged per task instance and written in one statement within this window.
+     */
+    private Duration taskInstanceUpdateBatchWindow = Duration.ofMillis(10);
+    /**
+     * The max task instance size of one update statement, the batch will be written immediately once it is full.
+     */
+    private int taskInstanceUpdateMaxBatchSize = 200;
+
     // ip:listenPort
     private String masterAddress;
 
@@ -119,6 +146,9 @@ public class MasterConfig implements Validator {
         if (masterConfig.getExecThreads() <= 0) {
             errors.rejectValue("exec-threads", null, "should be a positive value");
         }
+        if (masterConfig.getWorkflowEventLooperThreads() <= 0) {
+            errors.rejectValue("workflow-event-looper-threads", null, "should be a positive value");
+        }
         if (masterConfig.getDispatchTaskNumber() <= 0) {
             errors.rejectValue("dispatch-task-number", null, "should be a positive value");
         }
@@ -137,6 +167,21 @@ public class MasterConfig implements Validator {
         if (masterConfig.getFailoverInterval().toMillis() <= 0) {
             errors.rejectValue("failover-interval", null, "should be a valid duration");
         }
+        if (masterConfig.getEventAckBatchWindow().toMillis() <= 0) {
+            errors.rejectValue("event-ack-batch-window", null, "should be a valid duration");
+        }
+        if (masterConfig.getEventAckMaxBatchSize() <= 0) {
+            errors.rejectValue("event-ack-max-batch-size", null, "should be a positive value");
+        }
+        if (masterConfig.getWorkflowGraphCacheMaxTaskNodes() < 0) {
+            errors.rejectValue("workflow-graph-cache-max-task-nodes", null, "should not be negative");
+        }
+        if (masterConfig.getTaskInstanceUpdateBatchWindow().toMillis() <= 0) {
+            errors.rejectValue("task-instance-update-batch-window", null, "should be a valid duration");
+        }
+        if (masterConfig.getTaskInstanceUpdateMaxBatchSize() <= 0) {
+            errors.rejectValue("task-instance-update-max-batch-size", null, "should be a positive value");
+        }
 
         if (masterConfig.getWorkerGroupRefreshInterval().getSeconds() < 10) {
             errors.rejectValue("worker-group-refresh-interval", null, "should >= 10s");
@@ -157,6 +202,7 @@ public class MasterConfig implements Validator {
                         "\n  listen-port -> " + listenPort +
                         "\n  pre-exec-threads -> " + preExecThreads +
                         "\n  exec-threads -> " + execThreads +
+                        "\n  workflow-event-looper-threads -> " + workflowEventLooperThreads +
                         "\n  dispatch-task-number -> " + dispatchTaskNumber +
                         "\n  host-selector -> " + hostSelector +
                         "\n  max-heartbeat-interval -> " + maxHeartbeatInterval +
@@ -171,6 +217,11 @@ public class MasterConfig implements Validator {
                         "\n  master-registry-path: " + masterRegistryPath +
                         "\n  worker-group-refresh-interval: " + workerGroupRefreshInterval +
                         "\n  command-fetch-strategy: " + commandFetchStrategy +
+                        "\n  event-ack-batch-window: " + eventAckBatchWindow +
+                        "\n  event-ack-max-batch-size: " + eventAckMaxBatchSize +
+                        "\n  workflow-graph-cache-max-task-nodes: " + workflowGraphCacheMaxTaskNodes +
+                        "\n  task-instance-update-batch-window: " + taskInstanceUpdateBatchWindow +
+                        "\n  task-instance-update-max-batch-size: " + taskInstanceUpdateMaxBatchSize +
                         "\n****************************Master Configuration**************************************";
         log.info(config);
     }
@@ -29,6 +29,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -43,13 +45,27 @@ public abstract class CommonHostManager implements HostManager {
     @Autowired
     protected ServerNodeManager serverNodeManager;
 
+    @Autowired
+    protected WorkerCapacityLedger workerCapacityLedger;
+
     @Override
     public Optional<Host> select(String workerGroup) throws WorkerGroupNotFoundException {
         List<HostWorker> candidates = getWorkerCandidates(workerGroup);
         if (CollectionUtils.isEmpty(candidates)) {
             return Optional.empty();
         }
-        return Optional.ofNullable(select(candidates));
+        return Optional.ofNullable(select(preferFreeSlots(candidates, hostWorker -> hostWorker)));
+    }
+
+    /**
+     * Filter the hosts which have free exec slots in {@link WorkerCapacityLedger}, if all the hosts are full, return all
+     * the hosts and let the worker decide whether to accept the task.
+     */
+    protected <T> Collection<T> preferFreeSlots(Collection<T> hosts, Function<? super T, ? extends Host> hostFunction) {
+        List<T> freeHosts = hosts.stream()
+                .filter(host -> workerCapacityLedger.hasFreeSlots(hostFunction.apply(host).getAddress()))
+                .collect(Collectors.toList());
+        return freeHosts.isEmpty() ? hosts : freeHosts;
     }
 
     protected abstract HostWorker select(Collection<HostWorker> nodes);
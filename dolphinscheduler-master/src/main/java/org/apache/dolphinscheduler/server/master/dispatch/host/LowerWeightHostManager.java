@@ -23,19 +23,17 @@ import org.apache.dolphinscheduler.extract.base.utils.Host;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
 import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWeight;
 import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWorker;
-import org.apache.dolphinscheduler.server.master.dispatch.host.assign.LowerWeightRoundRobin;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.LowerWeightSelectorSnapshot;
 import org.apache.dolphinscheduler.server.master.registry.WorkerInfoChangeListener;
 
-import org.apache.commons.collections4.CollectionUtils;
-
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javax.annotation.PostConstruct;
 
@@ -48,34 +46,22 @@ import lombok.extern.slf4j.Slf4j;
 public class LowerWeightHostManager extends CommonHostManager {
 
     /**
-     * selector
-     */
-    private LowerWeightRoundRobin selector;
-
-    /**
-     * worker host weights
+     * worker group -> selector snapshot, the whole map is replaced once the worker info changed, so the selection
+     * doesn't need lock.
      */
-    private ConcurrentHashMap<String, Set<HostWeight>> workerHostWeightsMap;
-
-    private final ReentrantReadWriteLock workerGroupLock = new ReentrantReadWriteLock();
-
-    private final ReentrantReadWriteLock.ReadLock workerGroupReadLock = workerGroupLock.readLock();
-    private final ReentrantReadWriteLock.WriteLock workerGroupWriteLock = workerGroupLock.writeLock();
+    private volatile Map<String, LowerWeightSelectorSnapshot> workerGroupSelectors = Collections.emptyMap();
 
     @PostConstruct
     public void init() {
-        this.selector = new LowerWeightRoundRobin();
-        this.workerHostWeightsMap = new ConcurrentHashMap<>();
         serverNodeManager.addWorkerInfoChangeListener(new WorkerWeightListener());
     }
 
     @Override
     public Optional<Host> select(String workerGroup) throws WorkerGroupNotFoundException {
-        Set<HostWeight> workerHostWeights = getWorkerHostWeights(workerGroup);
-        if (CollectionUtils.isNotEmpty(workerHostWeights)) {
-            return Optional.ofNullable(selector.select(workerHostWeights).getHost());
-        }
-        return Optional.empty();
+        LowerWeightSelectorSnapshot selector = getWorkerGroupSelector(workerGroup);
+        HostWeight hostWeight =
+                selector.select(host -> workerCapacityLedger.hasFreeSlots(host.getAddress()));
+        return Optional.ofNullable(hostWeight.getHost());
     }
 
     @Override
@@ -99,35 +85,25 @@ public class LowerWeightHostManager extends CommonHostManager {
         private void syncWorkerResources(final Map<String, Set<String>> workerGroupNodes,
                                          final Map<String, WorkerHeartBeat> workerNodeInfoMap) {
             try {
-                Map<String, Set<HostWeight>> workerHostWeights = new HashMap<>();
+                Map<String, LowerWeightSelectorSnapshot> selectors = new HashMap<>();
                 for (Map.Entry<String, Set<String>> entry : workerGroupNodes.entrySet()) {
                     String workerGroup = entry.getKey();
                     Set<String> nodes = entry.getValue();
-                    Set<HostWeight> hostWeights = new HashSet<>(nodes.size());
+                    List<HostWeight> hostWeights = new ArrayList<>(nodes.size());
                     for (String node : nodes) {
                         WorkerHeartBeat heartbeat = workerNodeInfoMap.getOrDefault(node, null);
                         Optional<HostWeight> hostWeightOpt = getHostWeight(node, workerGroup, heartbeat);
                         hostWeightOpt.ifPresent(hostWeights::add);
                     }
                     if (!hostWeights.isEmpty()) {
-                        workerHostWeights.put(workerGroup, hostWeights);
+                        selectors.put(workerGroup, new LowerWeightSelectorSnapshot(hostWeights));
                     }
                 }
-                syncWorkerHostWeight(workerHostWeights);
+                workerGroupSelectors = Collections.unmodifiableMap(selectors);
             } catch (Throwable ex) {
                 log.error("Sync worker resource error", ex);
             }
         }
-
-        private void syncWorkerHostWeight(Map<String, Set<HostWeight>> workerHostWeights) {
-            workerGroupWriteLock.lock();
-            try {
-                workerHostWeightsMap.clear();
-                workerHostWeightsMap.putAll(workerHostWeights);
-            } finally {
-                workerGroupWriteLock.unlock();
-            }
-        }
     }
 
     public Optional<HostWeight> getHostWeight(String workerAddress, String workerGroup, WorkerHeartBeat heartBeat) {
@@ -149,17 +125,12 @@ public class LowerWeightHostManager extends CommonHostManager {
                         heartBeat.getStartupTime()));
     }
 
-    private Set<HostWeight> getWorkerHostWeights(String workerGroup) throws WorkerGroupNotFoundException {
-        workerGroupReadLock.lock();
-        try {
-            Set<HostWeight> hostWeights = workerHostWeightsMap.get(workerGroup);
-            if (hostWeights == null) {
-                throw new WorkerGroupNotFoundException("Can not find worker group " + workerGroup);
-            }
-            return hostWeights;
-        } finally {
-            workerGroupReadLock.unlock();
+    private LowerWeightSelectorSnapshot getWorkerGroupSelector(String workerGroup) throws WorkerGroupNotFoundException {
+        LowerWeightSelectorSnapshot selector = workerGroupSelectors.get(workerGroup);
+        if (selector == null) {
+            throw new WorkerGroupNotFoundException("Can not find worker group " + workerGroup);
         }
+        return selector;
     }
 
 }
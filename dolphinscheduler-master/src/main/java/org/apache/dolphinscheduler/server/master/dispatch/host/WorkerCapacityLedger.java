@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.dispatch.host;
+
+import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Track the exec slots of each worker on the master side.
+ * <p> The heartbeat of the worker is seconds stale, so the tasks dispatched after the heartbeat are reserved in the
+ * ledger at dispatch time and released once the task is finished. The reservations already counted by a new heartbeat
+ * are dropped from the ledger, this also cleans the reservations whose finish event is lost, or the task is dispatched
+ * by another master.
+ * <p> The report time of the heartbeat is taken by the worker clock, so it's only used to order the heartbeats of the
+ * same worker. The reservations are reconciled by the time the master received the heartbeats: the heartbeat is
+ * reported one heartbeat interval after the previous one, so the reservations made before the previous heartbeat is
+ * received are counted by it, as long as the heartbeat is delivered within the heartbeat interval.
+ */
+@Slf4j
+@Component
+public class WorkerCapacityLedger {
+
+    private final Map<String, WorkerCapacity> workerCapacities = new ConcurrentHashMap<>();
+
+    /**
+     * Reconcile the ledger by the heartbeat of the worker, the heartbeat is ignored if it's not newer than the last one.
+     */
+    public void reconcile(String workerAddress, WorkerHeartBeat workerHeartBeat) {
+        reconcile(workerAddress, workerHeartBeat, System.currentTimeMillis());
+    }
+
+    @VisibleForTesting
+    void reconcile(String workerAddress, WorkerHeartBeat workerHeartBeat, long receiveTime) {
+        if (workerHeartBeat == null) {
+            return;
+        }
+        workerCapacities.computeIfAbsent(workerAddress, address -> new WorkerCapacity())
+                .reconcile(workerHeartBeat, receiveTime);
+    }
+
+    /**
+     * Reserve an exec slot of the worker for the dispatching task.
+     */
+    public void reserve(String workerAddress, int taskInstanceId) {
+        workerCapacities.computeIfAbsent(workerAddress, address -> new WorkerCapacity())
+                .reserve(taskInstanceId);
+    }
+
+    /**
+     * Release the exec slot reserved by the task, do nothing if the reservation is already reconciled.
+     */
+    public void release(String workerAddress, int taskInstanceId) {
+        WorkerCapacity workerCapacity = workerCapacities.get(workerAddress);
+        if (workerCapacity != null) {
+            workerCapacity.release(taskInstanceId);
+        }
+    }
+
+    public void removeWorker(String workerAddress) {
+        workerCapacities.remove(workerAddress);
+    }
+
+    /**
+     * Get the free exec slots of the worker, will return {@link Integer#MAX_VALUE} if the exec threads of the worker is
+     * unknown, e.g. the heartbeat is not received or reported by an old version worker.
+     */
+    public int getFreeSlots(String workerAddress) {
+        WorkerCapacity workerCapacity = workerCapacities.get(workerAddress);
+        if (workerCapacity == null) {
+            return Integer.MAX_VALUE;
+        }
+        return workerCapacity.getFreeSlots();
+    }
+
+    public boolean hasFreeSlots(String workerAddress) {
+        return getFreeSlots(workerAddress) > 0;
+    }
+
+    private static class WorkerCapacity {
+
+        private int execThreads;
+
+        private int reportedUsage;
+
+        private long lastReportTime;
+
+        private long lastReceiveTime;
+
+        /**
+         * The task instance id and the time the slot is reserved, by the master clock.
+         */
+        private final Map<Integer, Long> reservations = new HashMap<>();
+
+        synchronized void reconcile(WorkerHeartBeat workerHeartBeat, long receiveTime) {
+            if (workerHeartBeat.getReportTime() <= lastReportTime) {
+                return;
+            }
+            lastReportTime = workerHeartBeat.getReportTime();
+            execThreads = workerHeartBeat.getWorkerExecThreads();
+            reportedUsage = workerHeartBeat.getThreadPoolUsage();
+            long countedReserveTime = lastReceiveTime;
+            lastReceiveTime = receiveTime;
+            reservations.values().removeIf(reserveTime -> reserveTime < countedReserveTime);
+        }
+
+        synchronized void reserve(int taskInstanceId) {
+            reservations.put(taskInstanceId, System.currentTimeMillis());
+        }
+
+        synchronized void release(int taskInstanceId) {
+            reservations.remove(taskInstanceId);
+        }
+
+        synchronized int getFreeSlots() {
+            if (execThreads <= 0) {
+                return Integer.MAX_VALUE;
+            }
+            return execThreads - reportedUsage - reservations.size();
+        }
+    }
+}
@@ -51,6 +51,12 @@ public class HostWeight {
         this.currentWeight = this.weight;
     }
 
+    public HostWeight(HostWeight hostWeight) {
+        this.host = hostWeight.getHost();
+        this.weight = hostWeight.getWeight();
+        this.currentWeight = this.weight;
+    }
+
     private double calculateWeight(double cpuUsage,
                                    double memoryUsage,
                                    double diskUsage,
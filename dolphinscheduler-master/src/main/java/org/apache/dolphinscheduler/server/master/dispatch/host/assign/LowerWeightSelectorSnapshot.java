@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.dispatch.host.assign;
+
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * An immutable snapshot of the {@link HostWeight}s in one worker group.
+ * <p> The selection order of {@link LowerWeightRoundRobin} is precomputed once when the snapshot is built, so the
+ * selection only needs to increase an atomic cursor, it's O(1) and can be called by the dispatchers concurrently
+ * without lock. The snapshot should be rebuilt once the worker info changed.
+ */
+public class LowerWeightSelectorSnapshot {
+
+    /**
+     * The rounds of each host in the precomputed schedule, the schedule is repeated after all rounds are selected.
+     */
+    private static final int SCHEDULE_ROUNDS_PER_HOST = 64;
+
+    private final List<HostWeight> hostWeights;
+
+    private final int[] schedule;
+
+    private final AtomicInteger cursor = new AtomicInteger(0);
+
+    public LowerWeightSelectorSnapshot(Collection<HostWeight> sources) {
+        if (CollectionUtils.isEmpty(sources)) {
+            throw new IllegalArgumentException("Empty source.");
+        }
+        this.hostWeights = Collections.unmodifiableList(new ArrayList<>(sources));
+        this.schedule = buildSchedule(hostWeights);
+    }
+
+    private static int[] buildSchedule(List<HostWeight> hostWeights) {
+        Map<HostWeight, Integer> indexes = new IdentityHashMap<>();
+        List<HostWeight> copies = new ArrayList<>(hostWeights.size());
+        for (int i = 0; i < hostWeights.size(); i++) {
+            // copy the host weights, the round robin will change the current weight
+            HostWeight copy = new HostWeight(hostWeights.get(i));
+            indexes.put(copy, i);
+            copies.add(copy);
+        }
+        if (copies.size() == 1) {
+            return new int[]{0};
+        }
+        LowerWeightRoundRobin roundRobin = new LowerWeightRoundRobin();
+        int[] schedule = new int[copies.size() * SCHEDULE_ROUNDS_PER_HOST];
+        for (int i = 0; i < schedule.length; i++) {
+            schedule[i] = indexes.get(roundRobin.doSelect(copies));
+        }
+        return schedule;
+    }
+
+    public HostWeight select() {
+        return hostWeights.get(schedule[nextPosition()]);
+    }
+
+    /**
+     * Select the next scheduled host which matches the given predicate, if the scheduled host doesn't match, the
+     * following hosts are checked in order, if there is no host matches, return the scheduled host.
+     */
+    public HostWeight select(Predicate<Host> preferred) {
+        int scheduled = schedule[nextPosition()];
+        int size = hostWeights.size();
+        for (int i = 0; i < size; i++) {
+            HostWeight hostWeight = hostWeights.get((scheduled + i) % size);
+            if (preferred.test(hostWeight.getHost())) {
+                return hostWeight;
+            }
+        }
+        return hostWeights.get(scheduled);
+    }
+
+    public List<HostWeight> getHostWeights() {
+        return hostWeights;
+    }
+
+    private int nextPosition() {
+        return Math.floorMod(cursor.getAndIncrement(), schedule.length);
+    }
+
+}
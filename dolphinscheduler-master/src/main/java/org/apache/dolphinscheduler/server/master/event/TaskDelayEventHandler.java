@@ -22,14 +22,12 @@ import org.apache.dolphinscheduler.common.enums.TaskEventType;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.dao.utils.TaskInstanceUtils;
-import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
-import org.apache.dolphinscheduler.extract.worker.ITaskInstanceExecutionEventAckListener;
-import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionRunningEventAck;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThreadPool;
+import org.apache.dolphinscheduler.server.master.runner.message.TaskInstanceExecutionEventAckBatchSender;
 
 import java.util.Optional;
 
@@ -48,6 +46,9 @@ public class TaskDelayEventHandler implements TaskEventHandler {
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
+    @Autowired
+    private TaskInstanceExecutionEventAckBatchSender taskInstanceExecutionEventAckBatchSender;
+
     @Autowired
     private WorkflowExecuteThreadPool workflowExecuteThreadPool;
 
@@ -113,11 +114,8 @@ public class TaskDelayEventHandler implements TaskEventHandler {
 
     private void sendAckToWorker(TaskEvent taskEvent) {
         // If event handle success, send ack to worker to otherwise the worker will retry this event
-        ITaskInstanceExecutionEventAckListener instanceExecutionEventAckListener =
-                SingletonJdkDynamicRpcClientProxyFactory
-                        .getProxyClient(taskEvent.getWorkerAddress(), ITaskInstanceExecutionEventAckListener.class);
-        instanceExecutionEventAckListener.handleTaskInstanceExecutionRunningEventAck(
-                TaskInstanceExecutionRunningEventAck.success(taskEvent.getTaskInstanceId()));
+        taskInstanceExecutionEventAckBatchSender.sendRunningEventAck(taskEvent.getWorkerAddress(),
+                taskEvent.getTaskInstanceId());
     }
 
     @Override
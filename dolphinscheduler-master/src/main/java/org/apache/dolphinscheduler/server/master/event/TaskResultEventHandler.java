@@ -20,16 +20,16 @@ package org.apache.dolphinscheduler.server.master.event;
 import org.apache.dolphinscheduler.common.enums.StateEventType;
 import org.apache.dolphinscheduler.common.enums.TaskEventType;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStateUpdate;
 import org.apache.dolphinscheduler.dao.utils.TaskInstanceUtils;
-import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
-import org.apache.dolphinscheduler.extract.worker.ITaskInstanceExecutionEventAckListener;
-import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionFinishEventAck;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.dispatch.host.WorkerCapacityLedger;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThreadPool;
+import org.apache.dolphinscheduler.server.master.runner.message.TaskInstanceExecutionEventAckBatchSender;
+import org.apache.dolphinscheduler.server.master.runner.persist.TaskInstanceStatePersister;
 import org.apache.dolphinscheduler.server.master.utils.DataQualityResultOperator;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
@@ -57,15 +57,25 @@ public class TaskResultEventHandler implements TaskEventHandler {
     private ProcessService processService;
 
     @Autowired
-    private TaskInstanceDao taskInstanceDao;
+    private TaskInstanceStatePersister taskInstanceStatePersister;
+
+    @Autowired
+    private TaskInstanceExecutionEventAckBatchSender taskInstanceExecutionEventAckBatchSender;
 
     @Autowired
     private MasterConfig masterConfig;
 
+    @Autowired
+    private WorkerCapacityLedger workerCapacityLedger;
+
     @Override
     public void handleTaskEvent(TaskEvent taskEvent) throws TaskEventHandleError, TaskEventHandleException {
         int taskInstanceId = taskEvent.getTaskInstanceId();
         int processInstanceId = taskEvent.getProcessInstanceId();
+        if (taskEvent.getWorkerAddress() != null) {
+            // the exec slot is free once the task finished in the worker, even if the event is discarded
+            workerCapacityLedger.release(taskEvent.getWorkerAddress(), taskInstanceId);
+        }
 
         WorkflowExecuteRunnable workflowExecuteRunnable = this.processInstanceExecCacheManager.getByProcessInstanceId(
                 processInstanceId);
@@ -82,7 +92,9 @@ public class TaskResultEventHandler implements TaskEventHandler {
         }
         TaskInstance taskInstance = taskInstanceOptional.get();
         if (taskInstance.getState().isFinished()) {
-            sendAckToWorker(taskEvent);
+            // the resent event is acked once the finished state is persisted
+            taskInstanceStatePersister.persist(new TaskInstanceStateUpdate(taskInstanceId))
+                    .thenRun(() -> sendAckToWorker(taskEvent));
             throw new TaskEventHandleError(
                     "Handle task result event error, the task instance is already finished, will discord this event");
         }
@@ -101,31 +113,37 @@ public class TaskResultEventHandler implements TaskEventHandler {
             taskInstance.setEndTime(taskEvent.getEndTime());
             taskInstance.setVarPool(taskEvent.getVarPool());
             processService.changeOutParam(taskInstance);
-            taskInstanceDao.updateById(taskInstance);
         } catch (Exception ex) {
             TaskInstanceUtils.copyTaskInstance(oldTaskInstance, taskInstance);
-            throw new TaskEventHandleError("Handle task result event error, save taskInstance to db error", ex);
+            throw new TaskEventHandleError("Handle task result event error, change the taskInstance out param error",
+                    ex);
         }
 
-        sendAckToWorker(taskEvent);
-
         TaskStateEvent stateEvent = TaskStateEvent.builder()
                 .processInstanceId(taskEvent.getProcessInstanceId())
                 .taskInstanceId(taskEvent.getTaskInstanceId())
                 .status(taskEvent.getState())
                 .type(StateEventType.TASK_STATE_CHANGE)
                 .build();
-        workflowExecuteThreadPool.submitStateEvent(stateEvent);
-
+        // The durability barrier, the finish event can only be acked after the task instance is persisted,
+        // otherwise the result will be lost if the master crashed. The failed write is retried by the persister, so
+        // the in-memory task instance is not restored once the update is added.
+        taskInstanceStatePersister.persist(TaskInstanceStateUpdate.diff(oldTaskInstance, taskInstance))
+                .thenRun(() -> {
+                    sendAckToWorker(taskEvent);
+                    workflowExecuteThreadPool.submitStateEvent(stateEvent);
+                })
+                .exceptionally(ex -> {
+                    log.error("Handle task result event error after the taskInstance is persisted, taskInstanceId: {}",
+                            taskInstanceId, ex);
+                    return null;
+                });
     }
 
     public void sendAckToWorker(TaskEvent taskEvent) {
         try {
-            ITaskInstanceExecutionEventAckListener instanceExecutionEventAckListener =
-                    SingletonJdkDynamicRpcClientProxyFactory
-                            .getProxyClient(taskEvent.getWorkerAddress(), ITaskInstanceExecutionEventAckListener.class);
-            instanceExecutionEventAckListener.handleTaskInstanceExecutionFinishEventAck(
-                    TaskInstanceExecutionFinishEventAck.success(taskEvent.getTaskInstanceId()));
+            taskInstanceExecutionEventAckBatchSender.sendFinishEventAck(taskEvent.getWorkerAddress(),
+                    taskEvent.getTaskInstanceId());
         } catch (Exception e) {
             // master ignore the exception, worker will retry to send this TaskEventType.RESULT event again.
             log.warn("send ack to worker error, taskInstanceId: {}", taskEvent.getTaskInstanceId(), e);
@@ -20,23 +20,25 @@ package org.apache.dolphinscheduler.server.master.event;
 import org.apache.dolphinscheduler.common.enums.StateEventType;
 import org.apache.dolphinscheduler.common.enums.TaskEventType;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStateUpdate;
 import org.apache.dolphinscheduler.dao.utils.TaskInstanceUtils;
-import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
-import org.apache.dolphinscheduler.extract.worker.ITaskInstanceExecutionEventAckListener;
-import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionRunningEventAck;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThreadPool;
+import org.apache.dolphinscheduler.server.master.runner.message.TaskInstanceExecutionEventAckBatchSender;
+import org.apache.dolphinscheduler.server.master.runner.persist.TaskInstanceStatePersister;
 
 import java.util.Optional;
 
+import lombok.extern.slf4j.Slf4j;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
+@Slf4j
 public class TaskRunningEventHandler implements TaskEventHandler {
 
     @Autowired
@@ -46,7 +48,10 @@ public class TaskRunningEventHandler implements TaskEventHandler {
     private WorkflowExecuteThreadPool workflowExecuteThreadPool;
 
     @Autowired
-    private TaskInstanceDao taskInstanceDao;
+    private TaskInstanceStatePersister taskInstanceStatePersister;
+
+    @Autowired
+    private TaskInstanceExecutionEventAckBatchSender taskInstanceExecutionEventAckBatchSender;
 
     @Autowired
     private MasterConfig masterConfig;
@@ -78,25 +83,13 @@ public class TaskRunningEventHandler implements TaskEventHandler {
 
         TaskInstance oldTaskInstance = new TaskInstance();
         TaskInstanceUtils.copyTaskInstance(taskInstance, oldTaskInstance);
-        try {
-            taskInstance.setState(taskEvent.getState());
-            taskInstance.setStartTime(taskEvent.getStartTime());
-            taskInstance.setHost(taskEvent.getWorkerAddress());
-            taskInstance.setLogPath(taskEvent.getLogPath());
-            taskInstance.setExecutePath(taskEvent.getExecutePath());
-            taskInstance.setPid(taskEvent.getProcessId());
-            taskInstance.setAppLink(taskEvent.getAppIds());
-            if (!taskInstanceDao.updateById(taskInstance)) {
-                throw new TaskEventHandleError("Handle task running event error, update taskInstance to db failed");
-            }
-            sendAckToWorker(taskEvent);
-        } catch (Exception ex) {
-            TaskInstanceUtils.copyTaskInstance(oldTaskInstance, taskInstance);
-            if (ex instanceof TaskEventHandleError) {
-                throw ex;
-            }
-            throw new TaskEventHandleError("Handle task running event error, update taskInstance to db failed", ex);
-        }
+        taskInstance.setState(taskEvent.getState());
+        taskInstance.setStartTime(taskEvent.getStartTime());
+        taskInstance.setHost(taskEvent.getWorkerAddress());
+        taskInstance.setLogPath(taskEvent.getLogPath());
+        taskInstance.setExecutePath(taskEvent.getExecutePath());
+        taskInstance.setPid(taskEvent.getProcessId());
+        taskInstance.setAppLink(taskEvent.getAppIds());
 
         TaskStateEvent stateEvent = TaskStateEvent.builder()
                 .processInstanceId(taskEvent.getProcessInstanceId())
@@ -104,16 +97,24 @@ public class TaskRunningEventHandler implements TaskEventHandler {
                 .status(taskEvent.getState())
                 .type(StateEventType.TASK_STATE_CHANGE)
                 .build();
-        workflowExecuteThreadPool.submitStateEvent(stateEvent);
+        // The running state is written behind, the event is acked once it's persisted, if the worker resend the event
+        // before that, the resent one will wait for the same write.
+        taskInstanceStatePersister.persist(TaskInstanceStateUpdate.diff(oldTaskInstance, taskInstance))
+                .thenRun(() -> {
+                    sendAckToWorker(taskEvent);
+                    workflowExecuteThreadPool.submitStateEvent(stateEvent);
+                })
+                .exceptionally(ex -> {
+                    log.error("Handle task running event error after the taskInstance is persisted, taskInstanceId: {}",
+                            taskInstanceId, ex);
+                    return null;
+                });
     }
 
     private void sendAckToWorker(TaskEvent taskEvent) {
         // If event handle success, send ack to worker to otherwise the worker will retry this event
-        ITaskInstanceExecutionEventAckListener instanceExecutionEventAckListener =
-                SingletonJdkDynamicRpcClientProxyFactory
-                        .getProxyClient(taskEvent.getWorkerAddress(), ITaskInstanceExecutionEventAckListener.class);
-        instanceExecutionEventAckListener.handleTaskInstanceExecutionRunningEventAck(
-                TaskInstanceExecutionRunningEventAck.success(taskEvent.getTaskInstanceId()));
+        taskInstanceExecutionEventAckBatchSender.sendRunningEventAck(taskEvent.getWorkerAddress(),
+                taskEvent.getTaskInstanceId());
     }
 
     @Override
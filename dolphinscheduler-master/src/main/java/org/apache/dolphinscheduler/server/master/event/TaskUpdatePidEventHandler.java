@@ -21,13 +21,11 @@ import org.apache.dolphinscheduler.common.enums.TaskEventType;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.dao.utils.TaskInstanceUtils;
-import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
-import org.apache.dolphinscheduler.extract.worker.ITaskInstanceExecutionEventAckListener;
-import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionInfoEventAck;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThreadPool;
+import org.apache.dolphinscheduler.server.master.runner.message.TaskInstanceExecutionEventAckBatchSender;
 
 import java.util.Optional;
 
@@ -46,6 +44,9 @@ public class TaskUpdatePidEventHandler implements TaskEventHandler {
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
+    @Autowired
+    private TaskInstanceExecutionEventAckBatchSender taskInstanceExecutionEventAckBatchSender;
+
     @Override
     public void handleTaskEvent(TaskEvent taskEvent) throws TaskEventHandleError {
         int taskInstanceId = taskEvent.getTaskInstanceId();
@@ -93,11 +94,8 @@ public class TaskUpdatePidEventHandler implements TaskEventHandler {
 
     private void sendAckToWorker(TaskEvent taskEvent) {
         // If event handle success, send ack to worker to otherwise the worker will retry this event
-        ITaskInstanceExecutionEventAckListener instanceExecutionEventAckListener =
-                SingletonJdkDynamicRpcClientProxyFactory
-                        .getProxyClient(taskEvent.getWorkerAddress(), ITaskInstanceExecutionEventAckListener.class);
-        instanceExecutionEventAckListener.handleTaskInstanceExecutionInfoEventAck(
-                TaskInstanceExecutionInfoEventAck.success(taskEvent.getTaskInstanceId()));
+        taskInstanceExecutionEventAckBatchSender.sendInfoEventAck(taskEvent.getWorkerAddress(),
+                taskEvent.getTaskInstanceId());
     }
 
     @Override
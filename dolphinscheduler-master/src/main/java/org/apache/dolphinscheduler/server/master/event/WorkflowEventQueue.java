@@ -17,34 +17,72 @@
 
 package org.apache.dolphinscheduler.server.master.event;
 
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.metrics.ProcessInstanceMetrics;
+
 import java.util.concurrent.LinkedBlockingQueue;
 
+import javax.annotation.PostConstruct;
+
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * The workflow events are sharded by the workflow instance id, so the events of the same workflow instance are handled
+ * in order by one shard, while the events of different workflow instances can be handled in parallel.
+ */
 @Component
 @Slf4j
 public class WorkflowEventQueue {
 
-    private static final LinkedBlockingQueue<WorkflowEvent> workflowEventQueue = new LinkedBlockingQueue<>();
+    @Autowired
+    private MasterConfig masterConfig;
+
+    private LinkedBlockingQueue<WorkflowEvent>[] workflowEventQueues;
+
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    public void init() {
+        workflowEventQueues = new LinkedBlockingQueue[masterConfig.getWorkflowEventLooperThreads()];
+        for (int i = 0; i < workflowEventQueues.length; i++) {
+            final LinkedBlockingQueue<WorkflowEvent> workflowEventQueue = new LinkedBlockingQueue<>();
+            workflowEventQueues[i] = workflowEventQueue;
+            ProcessInstanceMetrics.registerWorkflowEventQueueSizeGauge(i, workflowEventQueue::size);
+        }
+    }
 
     /**
      * Add a workflow event.
      */
     public void addEvent(WorkflowEvent workflowEvent) {
-        workflowEventQueue.add(workflowEvent);
+        workflowEventQueues[getShard(workflowEvent)].add(workflowEvent);
         log.info("Added workflow event to workflowEvent queue, event: {}", workflowEvent);
     }
 
     /**
-     * Pool the head of the workflow event queue and wait an workflow event.
+     * Pool the head of the given shard and wait an workflow event.
      */
-    public WorkflowEvent poolEvent() throws InterruptedException {
-        return workflowEventQueue.take();
+    public WorkflowEvent poolEvent(int shard) throws InterruptedException {
+        return workflowEventQueues[shard].take();
+    }
+
+    public int getShard(WorkflowEvent workflowEvent) {
+        return Math.floorMod(workflowEvent.getWorkflowInstanceId(), workflowEventQueues.length);
+    }
+
+    public int getShardCount() {
+        return workflowEventQueues.length;
+    }
+
+    public int getShardSize(int shard) {
+        return workflowEventQueues[shard].size();
     }
 
     public void clearWorkflowEventQueue() {
-        workflowEventQueue.clear();
+        for (LinkedBlockingQueue<WorkflowEvent> workflowEventQueue : workflowEventQueues) {
+            workflowEventQueue.clear();
+        }
     }
 }
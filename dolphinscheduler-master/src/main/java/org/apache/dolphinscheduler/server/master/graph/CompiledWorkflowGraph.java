@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.graph;
+
+import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The read-only, array-backed form of a workflow {@link DAG}, which is used in the hot path of the workflow execution.
+ * <p> The task codes of the dag are mapped to the dense task ids {@code [0, taskCount)} in ascending order of the codes,
+ * the edges are kept in CSR (compressed sparse row) arrays, so the graph can be walked without locks, boxing and
+ * allocation, and the per instance state of the tasks can be kept in a {@link BitSet} indexed by the task id.
+ * <p> The graph is compiled once per dag, it's shared by the workflow instances of a workflow definition version when
+ * the dag is shared.
+ */
+public final class CompiledWorkflowGraph {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final long[] taskCodes;
+
+    private final int[] predecessorOffsets;
+    private final int[] predecessors;
+
+    private final int[] successorOffsets;
+    private final int[] successors;
+
+    /**
+     * The upstream tasks which should be completed before the task run, the forbidden upstream tasks are traced through
+     * to their upstream tasks and the upstream tasks not in the dag are excluded.
+     */
+    private final int[] dependencyOffsets;
+    private final int[] dependencies;
+
+    private CompiledWorkflowGraph(long[] taskCodes,
+                                  int[][] predecessors,
+                                  int[][] successors,
+                                  int[][] dependencies) {
+        this.taskCodes = taskCodes;
+        this.predecessorOffsets = new int[taskCodes.length + 1];
+        this.predecessors = flatten(predecessors, predecessorOffsets);
+        this.successorOffsets = new int[taskCodes.length + 1];
+        this.successors = flatten(successors, successorOffsets);
+        this.dependencyOffsets = new int[taskCodes.length + 1];
+        this.dependencies = flatten(dependencies, dependencyOffsets);
+    }
+
+    /**
+     * Compile the dag.
+     *
+     * @param dag                the dag of the workflow
+     * @param forbiddenTaskCodes the code of the forbidden tasks in the workflow definition
+     */
+    public static CompiledWorkflowGraph compile(DAG<Long, TaskNode, TaskNodeRelation> dag,
+                                                Set<Long> forbiddenTaskCodes) {
+        long[] taskCodes = dag.getAllNodesList().stream().mapToLong(Long::longValue).sorted().toArray();
+        int taskCount = taskCodes.length;
+        int[][] predecessors = new int[taskCount][];
+        int[][] successors = new int[taskCount][];
+        int[][] dependencies = new int[taskCount][];
+        for (int taskId = 0; taskId < taskCount; taskId++) {
+            Long taskCode = taskCodes[taskId];
+            predecessors[taskId] = toTaskIds(taskCodes, dag.getPreviousNodes(taskCode));
+            successors[taskId] = toTaskIds(taskCodes, dag.getSubsequentNodes(taskCode));
+            dependencies[taskId] = toTaskIds(taskCodes, getDependencyCodes(taskCode, dag, forbiddenTaskCodes));
+        }
+        return new CompiledWorkflowGraph(taskCodes, predecessors, successors, dependencies);
+    }
+
+    /**
+     * Get the dependencies in the same order as they are declared, the forbidden ones are replaced by their own
+     * dependencies.
+     */
+    private static Collection<Long> getDependencyCodes(Long taskCode,
+                                                       DAG<Long, TaskNode, TaskNodeRelation> dag,
+                                                       Set<Long> forbiddenTaskCodes) {
+        Set<Long> dependencyCodes = new LinkedHashSet<>();
+        collectDependencyCodes(taskCode, dag, forbiddenTaskCodes, dependencyCodes, new HashSet<>());
+        return dependencyCodes;
+    }
+
+    private static void collectDependencyCodes(Long taskCode,
+                                               DAG<Long, TaskNode, TaskNodeRelation> dag,
+                                               Set<Long> forbiddenTaskCodes,
+                                               Set<Long> dependencyCodes,
+                                               Set<Long> visitedForbiddenCodes) {
+        TaskNode taskNode = dag.getNode(taskCode);
+        // If workflow start with startNode or recoveryNode, the forbidden task node may not in the dag
+        if (taskNode == null || taskNode.getDepList() == null) {
+            return;
+        }
+        for (Long depCode : taskNode.getDepList()) {
+            if (forbiddenTaskCodes.contains(depCode)) {
+                if (visitedForbiddenCodes.add(depCode)) {
+                    collectDependencyCodes(depCode, dag, forbiddenTaskCodes, dependencyCodes, visitedForbiddenCodes);
+                }
+            } else if (dag.containsNode(depCode)) {
+                dependencyCodes.add(depCode);
+            }
+        }
+    }
+
+    private static int[] toTaskIds(long[] taskCodes, Collection<Long> codes) {
+        if (codes == null || codes.isEmpty()) {
+            return EMPTY;
+        }
+        int[] taskIds = new int[codes.size()];
+        int size = 0;
+        for (Long code : codes) {
+            int taskId = Arrays.binarySearch(taskCodes, code);
+            if (taskId >= 0) {
+                taskIds[size++] = taskId;
+            }
+        }
+        return size == taskIds.length ? taskIds : Arrays.copyOf(taskIds, size);
+    }
+
+    private static int[] flatten(int[][] rows, int[] offsets) {
+        int size = 0;
+        for (int i = 0; i < rows.length; i++) {
+            offsets[i] = size;
+            size += rows[i].length;
+        }
+        offsets[rows.length] = size;
+        int[] values = new int[size];
+        for (int i = 0; i < rows.length; i++) {
+            System.arraycopy(rows[i], 0, values, offsets[i], rows[i].length);
+        }
+        return values;
+    }
+
+    public int getTaskCount() {
+        return taskCodes.length;
+    }
+
+    /**
+     * @return the task id of the task code, -1 if the task is not in the dag
+     */
+    public int getTaskId(long taskCode) {
+        int taskId = Arrays.binarySearch(taskCodes, taskCode);
+        return taskId < 0 ? -1 : taskId;
+    }
+
+    public long getTaskCode(int taskId) {
+        return taskCodes[taskId];
+    }
+
+    public boolean containsTask(long taskCode) {
+        return getTaskId(taskCode) >= 0;
+    }
+
+    /**
+     * Whether the task is a begin node of the dag, i.e. it doesn't have upstream task in the dag.
+     */
+    public boolean isBeginTask(int taskId) {
+        return taskId >= 0 && predecessorOffsets[taskId] == predecessorOffsets[taskId + 1];
+    }
+
+    /**
+     * Whether the task is an end node of the dag, i.e. it doesn't have downstream task in the dag.
+     */
+    public boolean isEndTask(int taskId) {
+        return taskId >= 0 && successorOffsets[taskId] == successorOffsets[taskId + 1];
+    }
+
+    public int getPredecessorCount(int taskId) {
+        return taskId < 0 ? 0 : predecessorOffsets[taskId + 1] - predecessorOffsets[taskId];
+    }
+
+    public int getPredecessor(int taskId, int index) {
+        return predecessors[predecessorOffsets[taskId] + index];
+    }
+
+    public int getSuccessorCount(int taskId) {
+        return taskId < 0 ? 0 : successorOffsets[taskId + 1] - successorOffsets[taskId];
+    }
+
+    public int getSuccessor(int taskId, int index) {
+        return successors[successorOffsets[taskId] + index];
+    }
+
+    public int getDependencyCount(int taskId) {
+        return taskId < 0 ? 0 : dependencyOffsets[taskId + 1] - dependencyOffsets[taskId];
+    }
+
+    public int getDependency(int taskId, int index) {
+        return dependencies[dependencyOffsets[taskId] + index];
+    }
+
+    /**
+     * Whether all the dependencies of the task are in the given task id set.
+     */
+    public boolean isAllDependenciesIn(int taskId, BitSet taskIds) {
+        for (int i = 0, count = getDependencyCount(taskId); i < count; i++) {
+            if (!taskIds.get(getDependency(taskId, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Create an empty task id set sized to the graph, which is used to keep the per instance state of the tasks.
+     */
+    public BitSet newTaskIdSet() {
+        return new BitSet(taskCodes.length);
+    }
+
+}
@@ -30,4 +30,9 @@ public interface IWorkflowGraph {
 
     boolean isForbiddenTask(Long taskCode);
 
+    /**
+     * Get the read-only, array-backed form of {@link #getDag()}, which should be used in the hot path.
+     */
+    CompiledWorkflowGraph getCompiledGraph();
+
 }
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.graph;
+
+import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+
+import java.util.Collections;
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * The compiled graph of a workflow definition version, which is immutable since a workflow definition version will not
+ * be changed, so it is shared by all the workflow instances of the version.
+ * <p> The task nodes, the dag and the compiled dag are shared, they should not be modified.
+ */
+@Getter
+public class WorkflowDefinitionGraph {
+
+    private final long workflowDefinitionCode;
+
+    private final int workflowDefinitionVersion;
+
+    private final List<TaskNode> taskNodes;
+
+    /**
+     * The dag contains all the task nodes, which is used when the workflow instance is not started from specified
+     * nodes, null if the workflow definition doesn't have task.
+     */
+    private final DAG<Long, TaskNode, TaskNodeRelation> fullDag;
+
+    /**
+     * The compiled graph of {@link #fullDag}, null if the full dag is null.
+     */
+    private final CompiledWorkflowGraph compiledFullDag;
+
+    public WorkflowDefinitionGraph(long workflowDefinitionCode,
+                                   int workflowDefinitionVersion,
+                                   List<TaskNode> taskNodes,
+                                   DAG<Long, TaskNode, TaskNodeRelation> fullDag) {
+        this.workflowDefinitionCode = workflowDefinitionCode;
+        this.workflowDefinitionVersion = workflowDefinitionVersion;
+        this.taskNodes = Collections.unmodifiableList(taskNodes);
+        this.fullDag = fullDag;
+        this.compiledFullDag = fullDag == null ? null
+                : CompiledWorkflowGraph.compile(fullDag, WorkflowGraph.getForbiddenTaskCodes(taskNodes));
+    }
+
+    /**
+     * The weight of the graph in the cache.
+     */
+    public int getWeight() {
+        return Math.max(taskNodes.size(), 1);
+    }
+}
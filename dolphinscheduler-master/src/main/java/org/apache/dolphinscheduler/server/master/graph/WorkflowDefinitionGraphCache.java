@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.graph;
+
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.metrics.ProcessInstanceMetrics;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Cache the compiled {@link WorkflowDefinitionGraph} by workflow definition code and version, so the workflow instances
+ * of the same definition version don't need to query and compile the definition again.
+ * <p> The cache is bounded by the total task nodes of the cached graphs.
+ */
+@Slf4j
+@Component
+public class WorkflowDefinitionGraphCache {
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    private Cache<WorkflowDefinitionKey, WorkflowDefinitionGraph> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = CacheBuilder.newBuilder()
+                .maximumWeight(masterConfig.getWorkflowGraphCacheMaxTaskNodes())
+                .weigher((WorkflowDefinitionKey key, WorkflowDefinitionGraph graph) -> graph.getWeight())
+                .expireAfterAccess(1, TimeUnit.HOURS)
+                .recordStats()
+                .build();
+        ProcessInstanceMetrics.registerWorkflowGraphCacheMetrics(cache);
+    }
+
+    public WorkflowDefinitionGraph get(long workflowDefinitionCode,
+                                       int workflowDefinitionVersion,
+                                       WorkflowDefinitionGraphCompiler compiler) throws Exception {
+        try {
+            return cache.get(new WorkflowDefinitionKey(workflowDefinitionCode, workflowDefinitionVersion),
+                    () -> compiler.compile(workflowDefinitionCode, workflowDefinitionVersion));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    @FunctionalInterface
+    public interface WorkflowDefinitionGraphCompiler {
+
+        WorkflowDefinitionGraph compile(long workflowDefinitionCode, int workflowDefinitionVersion) throws Exception;
+    }
+
+    @Data
+    private static class WorkflowDefinitionKey {
+
+        private final long workflowDefinitionCode;
+
+        private final int workflowDefinitionVersion;
+    }
+}
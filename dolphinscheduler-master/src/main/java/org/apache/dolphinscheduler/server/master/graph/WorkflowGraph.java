@@ -36,15 +36,31 @@ public class WorkflowGraph implements IWorkflowGraph {
 
     private final Set<Long> forbiddenTaskCodes;
 
+    private final CompiledWorkflowGraph compiledGraph;
+
     public WorkflowGraph(List<TaskNode> taskNodes,
                          DAG<Long, TaskNode, TaskNodeRelation> dag) {
+        this(taskNodes, dag, null);
+    }
+
+    /**
+     * @param compiledGraph the compiled graph of the dag, will be compiled from the dag if null
+     */
+    public WorkflowGraph(List<TaskNode> taskNodes,
+                         DAG<Long, TaskNode, TaskNodeRelation> dag,
+                         CompiledWorkflowGraph compiledGraph) {
         checkNotNull(taskNodes, "taskNodes can not be null");
         checkNotNull(dag, "dag can not be null");
 
         this.taskNodeMap = taskNodes.stream().collect(Collectors.toMap(TaskNode::getCode, Function.identity()));
         this.dag = dag;
-        forbiddenTaskCodes =
-                taskNodes.stream().filter(TaskNode::isForbidden).map(TaskNode::getCode).collect(Collectors.toSet());
+        forbiddenTaskCodes = getForbiddenTaskCodes(taskNodes);
+        this.compiledGraph =
+                compiledGraph != null ? compiledGraph : CompiledWorkflowGraph.compile(dag, forbiddenTaskCodes);
+    }
+
+    static Set<Long> getForbiddenTaskCodes(List<TaskNode> taskNodes) {
+        return taskNodes.stream().filter(TaskNode::isForbidden).map(TaskNode::getCode).collect(Collectors.toSet());
     }
 
     @Override
@@ -66,4 +82,9 @@ public class WorkflowGraph implements IWorkflowGraph {
         return forbiddenTaskCodes.contains(taskCode);
     }
 
+    @Override
+    public CompiledWorkflowGraph getCompiledGraph() {
+        return compiledGraph;
+    }
+
 }
@@ -22,6 +22,7 @@ import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.C
 import static org.apache.dolphinscheduler.common.constants.Constants.COMMA;
 
 import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
 import org.apache.dolphinscheduler.common.graph.DAG;
 import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
@@ -64,18 +65,26 @@ public class WorkflowGraphFactory {
     @Autowired
     private TaskDefinitionLogDao taskDefinitionLogDao;
 
-    public IWorkflowGraph createWorkflowGraph(ProcessInstance workflowInstance) throws Exception {
+    @Autowired
+    private WorkflowDefinitionGraphCache workflowDefinitionGraphCache;
 
-        List<ProcessTaskRelation> processTaskRelations =
-                processService.findRelationByCode(workflowInstance.getProcessDefinitionCode(),
-                        workflowInstance.getProcessDefinitionVersion());
-        List<TaskDefinitionLog> taskDefinitionLogs =
-                taskDefinitionLogDao.queryTaskDefineLogList(processTaskRelations);
-        List<TaskNode> taskNodeList = processService.transformTask(processTaskRelations, taskDefinitionLogs);
+    public IWorkflowGraph createWorkflowGraph(ProcessInstance workflowInstance) throws Exception {
+        WorkflowDefinitionGraph workflowDefinitionGraph = workflowDefinitionGraphCache.get(
+                workflowInstance.getProcessDefinitionCode(),
+                workflowInstance.getProcessDefinitionVersion(),
+                this::compileWorkflowDefinitionGraph);
+        List<TaskNode> taskNodeList = workflowDefinitionGraph.getTaskNodes();
 
         // generate process to get DAG info
         List<Long> recoveryTaskNodeCodeList = getRecoveryTaskNodeCodeList(workflowInstance.getCommandParam());
         List<Long> startNodeNameList = parseStartNodeName(workflowInstance.getCommandParam());
+        if (recoveryTaskNodeCodeList.isEmpty() && startNodeNameList.isEmpty()
+                && workflowInstance.getTaskDependType() == TaskDependType.TASK_POST
+                && workflowDefinitionGraph.getFullDag() != null) {
+            // The workflow instance runs all the task nodes, use the compiled dag
+            return new WorkflowGraph(taskNodeList, workflowDefinitionGraph.getFullDag(),
+                    workflowDefinitionGraph.getCompiledFullDag());
+        }
         ProcessDag processDag = DagHelper.generateFlowDag(taskNodeList, startNodeNameList, recoveryTaskNodeCodeList,
                 workflowInstance.getTaskDependType());
         if (processDag == null) {
@@ -89,6 +98,23 @@ public class WorkflowGraphFactory {
         return new WorkflowGraph(taskNodeList, dagGraph);
     }
 
+    private WorkflowDefinitionGraph compileWorkflowDefinitionGraph(long workflowDefinitionCode,
+                                                                   int workflowDefinitionVersion) throws Exception {
+        List<ProcessTaskRelation> processTaskRelations =
+                processService.findRelationByCode(workflowDefinitionCode, workflowDefinitionVersion);
+        List<TaskDefinitionLog> taskDefinitionLogs =
+                taskDefinitionLogDao.queryTaskDefineLogList(processTaskRelations);
+        List<TaskNode> taskNodeList = processService.transformTask(processTaskRelations, taskDefinitionLogs);
+
+        ProcessDag processDag = DagHelper.generateFlowDag(taskNodeList, Collections.emptyList(),
+                Collections.emptyList(), TaskDependType.TASK_POST);
+        DAG<Long, TaskNode, TaskNodeRelation> fullDag =
+                processDag == null ? null : DagHelper.buildDagGraph(processDag);
+        log.info("Compiled the graph of workflow definition: {}, version: {}, task size: {}",
+                workflowDefinitionCode, workflowDefinitionVersion, taskNodeList.size());
+        return new WorkflowDefinitionGraph(workflowDefinitionCode, workflowDefinitionVersion, taskNodeList, fullDag);
+    }
+
     /**
      * generate start node code list from parsing command param;
      * if "StartNodeIdList" exists in command param, return StartNodeIdList
@@ -17,12 +17,14 @@
 
 package org.apache.dolphinscheduler.server.master.metrics;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import lombok.experimental.UtilityClass;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @UtilityClass
 public class MasterServerMetrics {
@@ -43,6 +45,14 @@ public class MasterServerMetrics {
                     .description("Master server consume command count")
                     .register(Metrics.globalRegistry);
 
+    /**
+     * Used to measure the number of command available notifications which wake up the command fetch loop.
+     */
+    private final Counter masterCommandAvailableNotifyCounter =
+            Counter.builder("ds.master.command.available.notify.count")
+                    .description("Master server received command available notification count")
+                    .register(Metrics.globalRegistry);
+
     public void registerMasterMemoryAvailableGauge(Supplier<Number> supplier) {
         Gauge.builder("ds.master.memory.available", supplier)
                 .description("Master memory available")
@@ -67,6 +77,24 @@ public class MasterServerMetrics {
                 .register(Metrics.globalRegistry);
     }
 
+    public void registerStateWheelSizeGauge(String checkType, Supplier<Number> supplier) {
+        Gauge.builder("ds.master.state.wheel.size", supplier)
+                .tag("type", checkType)
+                .description("The number of pending checks in the master state wheel")
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Record the lag between the deadline of a state wheel check and the time it actually fired.
+     */
+    public void recordStateWheelFireLag(String checkType, long lagMills) {
+        Timer.builder("ds.master.state.wheel.fire.lag")
+                .tag("type", checkType)
+                .description("The lag between the check deadline and the fire time of the master state wheel")
+                .register(Metrics.globalRegistry)
+                .record(Math.max(lagMills, 0), TimeUnit.MILLISECONDS);
+    }
+
     public void incMasterOverload() {
         masterOverloadCounter.increment();
     }
@@ -75,4 +103,8 @@ public class MasterServerMetrics {
         masterConsumeCommandCounter.increment(commandCount);
     }
 
+    public void incMasterCommandAvailableNotify() {
+        masterCommandAvailableNotifyCounter.increment();
+    }
+
 }
@@ -24,9 +24,11 @@ import java.util.function.Supplier;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
+import com.google.common.cache.Cache;
 import com.google.common.collect.ImmutableSet;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Timer;
@@ -78,6 +80,39 @@ public class ProcessInstanceMetrics {
                 .register(Metrics.globalRegistry);
     }
 
+    public void registerWorkflowEventQueueSizeGauge(int shard, Supplier<Number> function) {
+        Gauge.builder("ds.workflow.event.queue.size", function)
+                .description("The number of workflow events waiting to be handled in the shard")
+                .tag("shard", String.valueOf(shard))
+                .register(Metrics.globalRegistry);
+    }
+
+    public void recordWorkflowEventHandleTime(int shard, long milliseconds) {
+        Timer.builder("ds.workflow.event.handle.duration")
+                .description("Workflow event handle duration")
+                .tag("shard", String.valueOf(shard))
+                .register(Metrics.globalRegistry)
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public void registerWorkflowGraphCacheMetrics(Cache<?, ?> cache) {
+        FunctionCounter.builder("ds.workflow.graph.cache.hit.count", cache, c -> c.stats().hitCount())
+                .description("The number of workflow graphs got from the cache")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("ds.workflow.graph.cache.miss.count", cache, c -> c.stats().missCount())
+                .description("The number of workflow graphs compiled since they are not in the cache")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("ds.workflow.graph.cache.eviction.count", cache, c -> c.stats().evictionCount())
+                .description("The number of workflow graphs evicted from the cache")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("ds.workflow.graph.cache.hit.rate", cache, c -> c.stats().hitRate())
+                .description("The hit rate of the workflow graph cache")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("ds.workflow.graph.cache.size", cache, Cache::size)
+                .description("The number of workflow graphs in the cache")
+                .register(Metrics.globalRegistry);
+    }
+
     public void incProcessInstanceByStateAndProcessDefinitionCode(final String state,
                                                                   final String processDefinitionCode) {
         // When tags need to be determined from local context,
@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.server.master.metrics;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import lombok.experimental.UtilityClass;
@@ -29,6 +30,7 @@ import com.facebook.presto.jdbc.internal.guava.collect.ImmutableSet;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @UtilityClass
 public class TaskMetrics {
@@ -65,6 +67,36 @@ public class TaskMetrics {
                     .description("Number of errors during task dispatch")
                     .register(Metrics.globalRegistry);
 
+    public void registerTaskDispatchWaitingGauge(String dispatchLane, Supplier<Number> supplier) {
+        Gauge.builder("ds.task.dispatch.waiting", supplier)
+                .description("The number of tasks waiting to be dispatched in the lane")
+                .tag("lane", dispatchLane)
+                .register(Metrics.globalRegistry);
+    }
+
+    public void unregisterTaskDispatchWaitingGauge(String dispatchLane) {
+        Metrics.globalRegistry.find("ds.task.dispatch.waiting")
+                .tag("lane", dispatchLane)
+                .gauges()
+                .forEach(Metrics.globalRegistry::remove);
+    }
+
+    public void recordTaskDispatchWaitingTime(String dispatchLane, long milliseconds) {
+        Timer.builder("ds.task.dispatch.waiting.duration")
+                .description("The time the task waited in the lane since it can be dispatched")
+                .tag("lane", dispatchLane)
+                .register(Metrics.globalRegistry)
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordTaskDispatchTime(String dispatchLane, long milliseconds) {
+        Timer.builder("ds.task.dispatch.duration")
+                .description("Task dispatch duration, including selecting the worker and the dispatch rpc")
+                .tag("lane", dispatchLane)
+                .register(Metrics.globalRegistry)
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
     public synchronized void registerTaskPrepared(Supplier<Number> consumer) {
         Gauge.builder("ds.task.prepared", consumer)
                 .description("Task prepared count")
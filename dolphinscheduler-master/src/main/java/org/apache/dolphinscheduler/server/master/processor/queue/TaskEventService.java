@@ -125,7 +125,8 @@ public class TaskEventService {
     }
 
     /**
-     * event handler thread
+     * The task event runnables are scheduled once an event is added, this thread retries the events failed to be
+     * handled and cleans up the runnables of the finished workflow instances.
      */
     class TaskEventHandlerThread extends BaseDaemonThread {
 
@@ -25,11 +25,16 @@ import org.apache.dolphinscheduler.server.master.event.TaskEventHandler;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * task execute thread
+ * The mailbox of the task events of a workflow instance, the events are handled one by one in the order they are added.
+ * <p> The runnable is submitted to the executor once its mailbox becomes non-empty, and at most one run is scheduled at
+ * any time, so there is no need to scan the idle mailboxes.
  */
 @Slf4j
 public class TaskExecuteRunnable implements Runnable {
@@ -40,13 +45,60 @@ public class TaskExecuteRunnable implements Runnable {
 
     private final Map<TaskEventType, TaskEventHandler> taskEventHandlerMap;
 
-    public TaskExecuteRunnable(int processInstanceId, Map<TaskEventType, TaskEventHandler> taskEventHandlerMap) {
+    private final Executor executor;
+
+    /**
+     * Whether the runnable is submitted to the executor or running.
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    public TaskExecuteRunnable(int processInstanceId,
+                               Map<TaskEventType, TaskEventHandler> taskEventHandlerMap,
+                               Executor executor) {
         this.processInstanceId = processInstanceId;
         this.taskEventHandlerMap = taskEventHandlerMap;
+        this.executor = executor;
     }
 
     @Override
     public void run() {
+        boolean retryLater;
+        try {
+            retryLater = handleEvents();
+        } finally {
+            scheduled.set(false);
+        }
+        // the events added after the mailbox is drained and before the flag is cleared are not scheduled by the
+        // producer
+        if (!retryLater) {
+            trySchedule();
+        }
+    }
+
+    /**
+     * Submit the runnable to the executor if there are events and it's not scheduled yet.
+     *
+     * @return true if the runnable is submitted by this call
+     */
+    public boolean trySchedule() {
+        if (events.isEmpty() || !scheduled.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            executor.execute(this);
+            return true;
+        } catch (RejectedExecutionException ex) {
+            scheduled.set(false);
+            log.error("[WorkflowInstance-{}] Submit task event runnable failed, will retry later", processInstanceId,
+                    ex);
+            return false;
+        }
+    }
+
+    /**
+     * @return true if the head event should be retried later
+     */
+    private boolean handleEvents() {
         while (!this.events.isEmpty()) {
             // we handle the task event belongs to one task serial, so if the event comes in wrong order,
             TaskEvent event = this.events.peek();
@@ -60,6 +112,7 @@ public class TaskExecuteRunnable implements Runnable {
                 // we don't need to resubmit this event, since the worker will resubmit this event
                 log.error("Handle task event failed, this event will be retry later, event: {}", event,
                         taskEventHandleException);
+                return true;
             } catch (TaskEventHandleError taskEventHandleError) {
                 log.error("Handle task event error, this event will be removed, event: {}", event,
                         taskEventHandleError);
@@ -72,6 +125,7 @@ public class TaskExecuteRunnable implements Runnable {
                 LogUtils.removeWorkflowAndTaskInstanceIdMDC();
             }
         }
+        return false;
     }
 
     public String getKey() {
@@ -97,7 +151,9 @@ public class TaskExecuteRunnable implements Runnable {
                     event.getTaskInstanceId(), event.getProcessInstanceId(), this.processInstanceId);
             return false;
         }
-        return this.events.add(event);
+        boolean added = this.events.add(event);
+        trySchedule();
+        return added;
     }
 
 }
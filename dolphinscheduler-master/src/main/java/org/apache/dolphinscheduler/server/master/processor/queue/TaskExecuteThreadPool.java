@@ -35,15 +35,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
-import org.springframework.util.concurrent.ListenableFuture;
-import org.springframework.util.concurrent.ListenableFutureCallback;
 
 @Component
 @Slf4j
 public class TaskExecuteThreadPool extends ThreadPoolTaskExecutor {
 
-    private final ConcurrentHashMap<String, TaskExecuteRunnable> multiThreadFilterMap = new ConcurrentHashMap<>();
-
     @Autowired
     private MasterConfig masterConfig;
 
@@ -86,52 +82,25 @@ public class TaskExecuteThreadPool extends ThreadPoolTaskExecutor {
             return;
         }
         TaskExecuteRunnable taskExecuteRunnable = taskExecuteThreadMap.computeIfAbsent(taskEvent.getProcessInstanceId(),
-                (processInstanceId) -> new TaskExecuteRunnable(processInstanceId, taskEventHandlerMap));
+                (processInstanceId) -> new TaskExecuteRunnable(processInstanceId, taskEventHandlerMap, this));
         taskExecuteRunnable.addEvent(taskEvent);
     }
 
+    /**
+     * Schedule the task event runnables which still have events, e.g. the events failed to be handled and should be
+     * retried, and remove the runnables of the finished workflow instances.
+     * <p> The runnable is scheduled once an event is added, so this is only a fallback.
+     */
     public void eventHandler() {
-        for (TaskExecuteRunnable taskExecuteThread : taskExecuteThreadMap.values()) {
-            executeEvent(taskExecuteThread);
-        }
-    }
-
-    public void executeEvent(TaskExecuteRunnable taskExecuteThread) {
-        if (taskExecuteThread.isEmpty()) {
-            return;
-        }
-        if (multiThreadFilterMap.containsKey(taskExecuteThread.getKey())) {
-            return;
-        }
-        multiThreadFilterMap.put(taskExecuteThread.getKey(), taskExecuteThread);
-        ListenableFuture future = this.submitListenable(taskExecuteThread::run);
-        future.addCallback(new ListenableFutureCallback() {
-
-            @Override
-            public void onFailure(Throwable ex) {
-                Integer processInstanceId = taskExecuteThread.getProcessInstanceId();
-                log.error("[WorkflowInstance-{}] persist event failed", processInstanceId, ex);
-                if (!processInstanceExecCacheManager.contains(processInstanceId)) {
-                    taskExecuteThreadMap.remove(processInstanceId);
-                    log.info(
-                            "[WorkflowInstance-{}] Cannot find processInstance from cacheManager, remove process instance from threadMap",
-                            processInstanceId);
-                }
-                multiThreadFilterMap.remove(taskExecuteThread.getKey());
+        for (TaskExecuteRunnable taskExecuteRunnable : taskExecuteThreadMap.values()) {
+            taskExecuteRunnable.trySchedule();
+            Integer processInstanceId = taskExecuteRunnable.getProcessInstanceId();
+            if (taskExecuteRunnable.isEmpty() && !processInstanceExecCacheManager.contains(processInstanceId)) {
+                taskExecuteThreadMap.remove(processInstanceId, taskExecuteRunnable);
+                log.info(
+                        "[WorkflowInstance-{}] Cannot find processInstance from cacheManager, remove process instance from threadMap",
+                        processInstanceId);
             }
-
-            @Override
-            public void onSuccess(Object result) {
-                Integer processInstanceId = taskExecuteThread.getProcessInstanceId();
-                log.info("[WorkflowInstance-{}] persist events succeeded", processInstanceId);
-                if (!processInstanceExecCacheManager.contains(processInstanceId)) {
-                    taskExecuteThreadMap.remove(processInstanceId);
-                    log.info(
-                            "[WorkflowInstance-{}] Cannot find processInstance from cacheManager, remove process instance from threadMap",
-                            processInstanceId);
-                }
-                multiThreadFilterMap.remove(taskExecuteThread.getKey());
-            }
-        });
+        }
     }
 }
@@ -28,6 +28,7 @@ import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheM
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEventQueue;
 import org.apache.dolphinscheduler.server.master.runner.StateWheelExecuteThread;
+import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnableReadyQueue;
 
 import java.time.Duration;
 
@@ -55,6 +56,8 @@ public class MasterWaitingStrategy implements MasterConnectStrategy {
     private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
     @Autowired
     private StateWheelExecuteThread stateWheelExecuteThread;
+    @Autowired
+    private WorkflowExecuteRunnableReadyQueue workflowExecuteRunnableReadyQueue;
 
     @Override
     public void disconnect() {
@@ -117,6 +120,8 @@ public class MasterWaitingStrategy implements MasterConnectStrategy {
         log.warn("Master clear workflow event queue due to lost registry connection");
         processInstanceExecCacheManager.clearCache();
         log.warn("Master clear process instance cache due to lost registry connection");
+        workflowExecuteRunnableReadyQueue.clear();
+        log.warn("Master clear workflow ready queue due to lost registry connection");
         stateWheelExecuteThread.clearAllTasks();
         log.warn("Master clear all state wheel task due to lost registry connection");
 
@@ -32,6 +32,7 @@ import org.apache.dolphinscheduler.registry.api.SubscribeListener;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
+import org.apache.dolphinscheduler.server.master.dispatch.host.WorkerCapacityLedger;
 import org.apache.dolphinscheduler.service.alert.ListenerEventAlertManager;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -105,6 +106,9 @@ public class ServerNodeManager implements InitializingBean {
     @Autowired
     private ListenerEventAlertManager listenerEventAlertManager;
 
+    @Autowired
+    private WorkerCapacityLedger workerCapacityLedger;
+
     private final List<WorkerInfoChangeListener> workerInfoChangeListeners = new ArrayList<>();
 
     private final List<MasterInfoChangeListener> masterInfoChangeListeners = new ArrayList<>();
@@ -190,6 +194,7 @@ public class ServerNodeManager implements InitializingBean {
             workerNodeInfoWriteLock.lock();
             try {
                 workerNodeInfo.put(workerAddress, info);
+                workerCapacityLedger.reconcile(workerAddress, info);
             } finally {
                 workerNodeInfoWriteLock.unlock();
             }
@@ -199,6 +204,7 @@ public class ServerNodeManager implements InitializingBean {
             workerNodeInfoWriteLock.lock();
             try {
                 workerNodeInfo.remove(workerAddress);
+                workerCapacityLedger.removeWorker(workerAddress);
                 log.info("remove worker node {} from workerNodeInfo when worker server down", workerAddress);
             } finally {
                 workerNodeInfoWriteLock.unlock();
@@ -252,6 +258,7 @@ public class ServerNodeManager implements InitializingBean {
                 String nodeAddress = entry.getKey();
                 WorkerHeartBeat workerHeartBeat = JSONUtils.parseObject(entry.getValue(), WorkerHeartBeat.class);
                 workerNodeInfo.put(nodeAddress, workerHeartBeat);
+                workerCapacityLedger.reconcile(nodeAddress, workerHeartBeat);
             }
         } finally {
             workerNodeInfoWriteLock.unlock();
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.rpc;
+
+import org.apache.dolphinscheduler.extract.master.ICommandAvailableListener;
+import org.apache.dolphinscheduler.extract.master.transportor.CommandAvailableEvent;
+import org.apache.dolphinscheduler.server.master.command.CommandAvailableSignal;
+import org.apache.dolphinscheduler.server.master.command.ICommandFetcher;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class CommandAvailableListenerImpl implements ICommandAvailableListener {
+
+    @Autowired
+    private ICommandFetcher commandFetcher;
+
+    @Autowired
+    private CommandAvailableSignal commandAvailableSignal;
+
+    @Override
+    public void onCommandAvailable(CommandAvailableEvent commandAvailableEvent) {
+        if (CollectionUtils.isEmpty(commandAvailableEvent.getCommandIds())) {
+            return;
+        }
+        boolean containsCurrentSlotCommand = commandAvailableEvent.getCommandIds()
+                .stream()
+                .anyMatch(commandFetcher::isCommandInCurrentSlot);
+        if (containsCurrentSlotCommand) {
+            log.debug("Receive commands: {} available, wake up the command fetch loop",
+                    commandAvailableEvent.getCommandIds());
+            MasterServerMetrics.incMasterCommandAvailableNotify();
+            commandAvailableSignal.signal();
+        }
+    }
+}
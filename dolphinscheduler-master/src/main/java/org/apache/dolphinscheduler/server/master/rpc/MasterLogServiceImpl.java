@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.server.master.rpc;
 
+import org.apache.dolphinscheduler.common.log.LogLineIndex;
+import org.apache.dolphinscheduler.common.log.LogTail;
 import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.extract.common.ILogService;
@@ -26,6 +28,8 @@ import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFil
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailResponse;
 
 import java.util.Collections;
 import java.util.List;
@@ -58,6 +62,15 @@ public class MasterLogServiceImpl implements ILogService {
         return new TaskInstanceLogPageQueryResponse(logContent);
     }
 
+    @Override
+    public TaskInstanceLogTailResponse tailTaskInstanceLog(TaskInstanceLogTailRequest taskInstanceLogTailRequest) {
+        LogTail logTail = LogUtils.tailFileContent(
+                taskInstanceLogTailRequest.getTaskInstanceLogAbsolutePath(),
+                taskInstanceLogTailRequest.getOffset(),
+                taskInstanceLogTailRequest.getMaxBytes());
+        return new TaskInstanceLogTailResponse(logTail.getContent(), logTail.getNextOffset());
+    }
+
     @Override
     public GetAppIdResponse getAppId(GetAppIdRequest getAppIdRequest) {
         return new GetAppIdResponse(Collections.emptyList());
@@ -66,5 +79,6 @@ public class MasterLogServiceImpl implements ILogService {
     @Override
     public void removeTaskInstanceLog(String taskInstanceLogAbsolutePath) {
         FileUtils.deleteFile(taskInstanceLogAbsolutePath);
+        LogLineIndex.remove(taskInstanceLogAbsolutePath);
     }
 }
@@ -18,12 +18,15 @@
 package org.apache.dolphinscheduler.server.master.rpc;
 
 import org.apache.dolphinscheduler.extract.master.ITaskInstanceExecutionEventListener;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionEventBatch;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionFinishEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionInfoEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionRunningEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.WorkflowInstanceStateChangeEvent;
 import org.apache.dolphinscheduler.server.master.runner.listener.TaskInstanceExecutionEventListenerFunctionManager;
 
+import java.util.concurrent.CompletableFuture;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -56,6 +59,24 @@ public class TaskInstanceListenerImpl implements ITaskInstanceExecutionEventList
                 .handleTaskInstanceExecutionEvent(taskInstanceExecutionInfoEvent);
     }
 
+    @Override
+    public CompletableFuture<Void> onTaskInstanceExecutionEventBatch(TaskInstanceExecutionEventBatch taskInstanceExecutionEventBatch) {
+        // The events are handled in the batch order, so the events of one task instance keep their order
+        for (TaskInstanceExecutionEventBatch.TaskInstanceExecutionEventEntry entry : taskInstanceExecutionEventBatch
+                .getEvents()) {
+            if (entry.getRunningEvent() != null) {
+                onTaskInstanceExecutionRunning(entry.getRunningEvent());
+            } else if (entry.getInfoEvent() != null) {
+                onTaskInstanceExecutionInfoUpdate(entry.getInfoEvent());
+            } else if (entry.getFinishEvent() != null) {
+                onTaskInstanceExecutionFinish(entry.getFinishEvent());
+            } else {
+                log.warn("Receive an empty event entry in the batch, will skip it");
+            }
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
     @Override
     public void onWorkflowInstanceInstanceStateChange(WorkflowInstanceStateChangeEvent taskInstanceStateChangeEvent) {
         taskInstanceExecutionEventListenerManager.getTaskInstanceStateEventListenFunction()
@@ -41,6 +41,9 @@ public class WorkflowInstanceServiceImpl implements IWorkflowInstanceService {
     @Autowired
     private TaskInstanceWakeupOperationFunction taskInstanceWakeupOperationFunction;
 
+    @Autowired
+    private AsyncTaskInstanceWakeupOperationFunction asyncTaskInstanceWakeupOperationFunction;
+
     @Override
     public void clearWorkflowMetrics(Long workflowDefinitionCode) {
         log.info("Receive clearWorkflowMetrics request: {}", workflowDefinitionCode);
@@ -59,4 +62,9 @@ public class WorkflowInstanceServiceImpl implements IWorkflowInstanceService {
     public TaskInstanceWakeupResponse wakeupTaskInstance(TaskInstanceWakeupRequest taskWakeupRequest) {
         return taskInstanceWakeupOperationFunction.operate(taskWakeupRequest);
     }
+
+    @Override
+    public TaskInstanceWakeupResponse wakeupAsyncTaskInstance(TaskInstanceWakeupRequest taskWakeupRequest) {
+        return asyncTaskInstanceWakeupOperationFunction.operate(taskWakeupRequest);
+    }
 }
@@ -21,7 +21,6 @@ import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
-import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.cache.StreamTaskInstanceExecCacheManager;
 
 import java.util.concurrent.TimeUnit;
@@ -36,7 +35,7 @@ import org.springframework.stereotype.Service;
 public class EventExecuteService extends BaseDaemonThread {
 
     @Autowired
-    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+    private WorkflowExecuteRunnableReadyQueue workflowExecuteRunnableReadyQueue;
 
     @Autowired
     private StreamTaskInstanceExecCacheManager streamTaskInstanceExecCacheManager;
@@ -64,7 +63,6 @@ public class EventExecuteService extends BaseDaemonThread {
             try {
                 workflowEventHandler();
                 streamTaskEventHandler();
-                TimeUnit.MILLISECONDS.sleep(Constants.SLEEP_TIME_MILLIS_SHORT);
             } catch (InterruptedException interruptedException) {
                 log.warn("Master event service interrupted, will exit this loop", interruptedException);
                 Thread.currentThread().interrupt();
@@ -75,8 +73,15 @@ public class EventExecuteService extends BaseDaemonThread {
         }
     }
 
-    private void workflowEventHandler() {
-        for (WorkflowExecuteRunnable workflowExecuteThread : this.processInstanceExecCacheManager.getAll()) {
+    /**
+     * Only handle the workflows which have pending state events, wait at most {@link Constants#SLEEP_TIME_MILLIS_SHORT}
+     * if there is no ready workflow, so the stream tasks are still checked periodically.
+     */
+    private void workflowEventHandler() throws InterruptedException {
+        WorkflowExecuteRunnable workflowExecuteThread =
+                workflowExecuteRunnableReadyQueue.poll(Constants.SLEEP_TIME_MILLIS_SHORT, TimeUnit.MILLISECONDS);
+        int remaining = workflowExecuteRunnableReadyQueue.size();
+        while (workflowExecuteThread != null) {
             try {
                 LogUtils.setWorkflowInstanceIdMDC(
                         workflowExecuteThread.getWorkflowExecuteContext().getWorkflowInstance().getId());
@@ -85,6 +90,10 @@ public class EventExecuteService extends BaseDaemonThread {
             } finally {
                 LogUtils.removeWorkflowInstanceIdMDC();
             }
+            if (remaining-- <= 0) {
+                break;
+            }
+            workflowExecuteThread = workflowExecuteRunnableReadyQueue.poll(0, TimeUnit.MILLISECONDS);
         }
     }
 
@@ -17,9 +17,19 @@
 
 package org.apache.dolphinscheduler.server.master.runner;
 
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
+import org.apache.dolphinscheduler.server.master.utils.TaskUtils;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Component;
@@ -27,24 +37,135 @@ import org.springframework.stereotype.Component;
 /**
  * The class is used to store {@link TaskExecuteRunnable} which needs to be dispatched. The {@link TaskExecuteRunnable} will be stored in a {@link DelayQueue},
  * if the {@link TaskExecuteRunnable}'s delay time is 0, then it will be consumed by {@link GlobalTaskDispatchWaitingQueueLooper}.
+ * <p> The tasks are split into dispatch lanes, the worker tasks are in the lane of their worker group, and the logic
+ * tasks are in the {@link #MASTER_TASK_DISPATCH_LANE}, each lane is consumed by its own looper, so one worker group
+ * without capacity will not block the dispatch of the other worker groups. An idle lane can be removed, it will be
+ * created again once a task is submitted to it.
  */
 @Slf4j
 @Component
 public class GlobalTaskDispatchWaitingQueue {
 
-    private final DelayQueue<DefaultTaskExecuteRunnable> queue = new DelayQueue<>();
+    public static final String MASTER_TASK_DISPATCH_LANE = "master";
+
+    private final Map<String, DelayQueue<DispatchLaneEntry>> laneQueues = new ConcurrentHashMap<>();
+
+    private final LinkedBlockingQueue<String> createdLanes = new LinkedBlockingQueue<>();
 
     public void submitTaskExecuteRunnable(DefaultTaskExecuteRunnable priorityTaskExecuteRunnable) {
-        queue.put(priorityTaskExecuteRunnable);
+        String dispatchLane = getDispatchLane(priorityTaskExecuteRunnable);
+        // Put under the lock, so the task will not be put into a lane which is being removed
+        synchronized (laneQueues) {
+            getLaneQueue(dispatchLane).put(new DispatchLaneEntry(priorityTaskExecuteRunnable));
+        }
+    }
+
+    /**
+     * Take the task which is ready to be dispatched in the given lane, will record the time the task waited since it is
+     * ready.
+     *
+     * @return the task, null if there is no ready task in the timeout or the lane is removed
+     */
+    public DefaultTaskExecuteRunnable pollTaskExecuteRunnable(String dispatchLane,
+                                                              long timeout,
+                                                              TimeUnit unit) throws InterruptedException {
+        DelayQueue<DispatchLaneEntry> laneQueue = laneQueues.get(dispatchLane);
+        if (laneQueue == null) {
+            return null;
+        }
+        DispatchLaneEntry dispatchLaneEntry = laneQueue.poll(timeout, unit);
+        if (dispatchLaneEntry == null) {
+            return null;
+        }
+        TaskMetrics.recordTaskDispatchWaitingTime(dispatchLane,
+                Math.max(0, System.currentTimeMillis() - dispatchLaneEntry.readyTime));
+        return dispatchLaneEntry.taskExecuteRunnable;
     }
 
-    @SneakyThrows
-    public DefaultTaskExecuteRunnable takeTaskExecuteRunnable() {
-        return queue.take();
+    /**
+     * Wait a new dispatch lane created, each lane will be returned once each time it is created.
+     */
+    public String takeCreatedDispatchLane() throws InterruptedException {
+        return createdLanes.take();
+    }
+
+    /**
+     * Remove the lane if there is no task in it, including the delayed ones.
+     *
+     * @return true if the lane is removed
+     */
+    public boolean removeDispatchLaneIfEmpty(String dispatchLane) {
+        synchronized (laneQueues) {
+            DelayQueue<DispatchLaneEntry> laneQueue = laneQueues.get(dispatchLane);
+            if (laneQueue == null) {
+                return true;
+            }
+            if (!laneQueue.isEmpty()) {
+                return false;
+            }
+            laneQueues.remove(dispatchLane);
+            TaskMetrics.unregisterTaskDispatchWaitingGauge(dispatchLane);
+            log.info("Removed idle task dispatch lane: {}", dispatchLane);
+            return true;
+        }
     }
 
     public int getWaitingDispatchTaskNumber() {
-        return queue.size();
+        return laneQueues.values().stream().mapToInt(DelayQueue::size).sum();
+    }
+
+    public int getWaitingDispatchTaskNumber(String dispatchLane) {
+        DelayQueue<DispatchLaneEntry> laneQueue = laneQueues.get(dispatchLane);
+        return laneQueue == null ? 0 : laneQueue.size();
+    }
+
+    public String getDispatchLane(DefaultTaskExecuteRunnable taskExecuteRunnable) {
+        if (TaskUtils.isMasterTask(taskExecuteRunnable.getTaskInstance().getTaskType())) {
+            return MASTER_TASK_DISPATCH_LANE;
+        }
+        return StringUtils.defaultIfEmpty(taskExecuteRunnable.getTaskInstance().getWorkerGroup(),
+                Constants.DEFAULT_WORKER_GROUP);
+    }
+
+    /**
+     * Get or create the queue of the lane, should be called with the lock of {@link #laneQueues}.
+     */
+    private DelayQueue<DispatchLaneEntry> getLaneQueue(String dispatchLane) {
+        DelayQueue<DispatchLaneEntry> laneQueue = laneQueues.get(dispatchLane);
+        if (laneQueue == null) {
+            laneQueue = new DelayQueue<>();
+            laneQueues.put(dispatchLane, laneQueue);
+            TaskMetrics.registerTaskDispatchWaitingGauge(dispatchLane, laneQueue::size);
+            createdLanes.add(dispatchLane);
+            log.info("Created task dispatch lane: {}", dispatchLane);
+        }
+        return laneQueue;
+    }
+
+    private static class DispatchLaneEntry implements Delayed {
+
+        private final DefaultTaskExecuteRunnable taskExecuteRunnable;
+
+        /**
+         * The time the task can be dispatched.
+         */
+        private final long readyTime;
+
+        private DispatchLaneEntry(DefaultTaskExecuteRunnable taskExecuteRunnable) {
+            this.taskExecuteRunnable = taskExecuteRunnable;
+            this.readyTime = System.currentTimeMillis()
+                    + Math.max(0, taskExecuteRunnable.getDelay(TimeUnit.MILLISECONDS));
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return taskExecuteRunnable.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return taskExecuteRunnable.compareTo(((DispatchLaneEntry) o).taskExecuteRunnable);
+        }
     }
 
 }
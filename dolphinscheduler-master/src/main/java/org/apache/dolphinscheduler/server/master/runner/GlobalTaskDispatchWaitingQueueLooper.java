@@ -20,17 +20,27 @@ package org.apache.dolphinscheduler.server.master.runner;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatchFactory;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatcher;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Start one {@link TaskDispatchLaneLooper} for each dispatch lane of {@link GlobalTaskDispatchWaitingQueue}, the dispatch
+ * failures only back off the lane they happened in. The lane looper exits and removes the lane once the lane is idle for
+ * {@link #laneIdleTimeoutMillis}.
+ */
 @Slf4j
 @Component
 public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread implements AutoCloseable {
@@ -43,10 +53,14 @@ public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread imple
 
     private final AtomicBoolean RUNNING_FLAG = new AtomicBoolean(false);
 
-    private final AtomicInteger DISPATCHED_CONSECUTIVE_FAILURE_TIMES = new AtomicInteger();
+    private final Map<String, TaskDispatchLaneLooper> taskDispatchLaneLoopers = new ConcurrentHashMap<>();
 
     private static final Integer MAX_DISPATCHED_FAILED_TIMES = 100;
 
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000L;
+
+    private long laneIdleTimeoutMillis = TimeUnit.MINUTES.toMillis(10);
+
     public GlobalTaskDispatchWaitingQueueLooper() {
         super("GlobalTaskDispatchWaitingQueueLooper");
     }
@@ -64,29 +78,21 @@ public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread imple
 
     @Override
     public void run() {
-        DefaultTaskExecuteRunnable defaultTaskExecuteRunnable;
         while (RUNNING_FLAG.get()) {
-            defaultTaskExecuteRunnable = globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable();
+            String dispatchLane;
             try {
-                TaskExecutionStatus status = defaultTaskExecuteRunnable.getTaskInstance().getState();
-                if (status != TaskExecutionStatus.SUBMITTED_SUCCESS && status != TaskExecutionStatus.DELAY_EXECUTION) {
-                    log.warn("The TaskInstance {} state is : {}, will not dispatch",
-                            defaultTaskExecuteRunnable.getTaskInstance().getName(), status);
-                    continue;
-                }
-
-                TaskDispatcher taskDispatcher =
-                        taskDispatchFactory.getTaskDispatcher(defaultTaskExecuteRunnable.getTaskInstance());
-                taskDispatcher.dispatchTask(defaultTaskExecuteRunnable);
-                DISPATCHED_CONSECUTIVE_FAILURE_TIMES.set(0);
-            } catch (Exception e) {
-                defaultTaskExecuteRunnable.getTaskExecutionContext().increaseDispatchFailTimes();
-                globalTaskDispatchWaitingQueue.submitTaskExecuteRunnable(defaultTaskExecuteRunnable);
-                if (DISPATCHED_CONSECUTIVE_FAILURE_TIMES.incrementAndGet() > MAX_DISPATCHED_FAILED_TIMES) {
-                    ThreadUtils.sleep(10 * 1000L);
-                }
-                log.error("Dispatch Task: {} failed", defaultTaskExecuteRunnable.getTaskInstance().getName(), e);
+                dispatchLane = globalTaskDispatchWaitingQueue.takeCreatedDispatchLane();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
             }
+            // The looper of a removed lane removes itself before the lane is removed, see TaskDispatchLaneLooper
+            taskDispatchLaneLoopers.computeIfAbsent(dispatchLane, lane -> {
+                TaskDispatchLaneLooper taskDispatchLaneLooper = new TaskDispatchLaneLooper(lane);
+                taskDispatchLaneLooper.start();
+                log.info("TaskDispatchLaneLooper-{} started...", lane);
+                return taskDispatchLaneLooper;
+            });
         }
     }
 
@@ -94,9 +100,95 @@ public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread imple
     public void close() throws Exception {
         if (RUNNING_FLAG.compareAndSet(true, false)) {
             log.info("GlobalTaskDispatchWaitingQueueLooper stopping...");
+            // Wake up the loopers blocked in taking the lanes and tasks
+            this.interrupt();
+            List<TaskDispatchLaneLooper> laneLoopers = new ArrayList<>(taskDispatchLaneLoopers.values());
+            laneLoopers.forEach(Thread::interrupt);
+            this.join(CLOSE_TIMEOUT_MILLIS);
+            for (TaskDispatchLaneLooper laneLooper : laneLoopers) {
+                laneLooper.join(CLOSE_TIMEOUT_MILLIS);
+            }
+            taskDispatchLaneLoopers.clear();
             log.info("GlobalTaskDispatchWaitingQueueLooper stopped...");
         } else {
             log.error("GlobalTaskDispatchWaitingQueueLooper is not started");
         }
     }
+
+    private class TaskDispatchLaneLooper extends BaseDaemonThread {
+
+        private final String dispatchLane;
+
+        private int dispatchedConsecutiveFailureTimes = 0;
+
+        private TaskDispatchLaneLooper(String dispatchLane) {
+            super("TaskDispatchLaneLooper-" + dispatchLane);
+            this.dispatchLane = dispatchLane;
+        }
+
+        @Override
+        public void run() {
+            DefaultTaskExecuteRunnable defaultTaskExecuteRunnable;
+            while (RUNNING_FLAG.get()) {
+                try {
+                    defaultTaskExecuteRunnable = globalTaskDispatchWaitingQueue.pollTaskExecuteRunnable(dispatchLane,
+                            laneIdleTimeoutMillis, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (defaultTaskExecuteRunnable == null) {
+                    if (removeIdleLane()) {
+                        log.info("TaskDispatchLaneLooper-{} exited since the lane is idle", dispatchLane);
+                        return;
+                    }
+                    continue;
+                }
+                long startTime = 0;
+                try {
+                    TaskExecutionStatus status = defaultTaskExecuteRunnable.getTaskInstance().getState();
+                    if (status != TaskExecutionStatus.SUBMITTED_SUCCESS
+                            && status != TaskExecutionStatus.DELAY_EXECUTION) {
+                        log.warn("The TaskInstance {} state is : {}, will not dispatch",
+                                defaultTaskExecuteRunnable.getTaskInstance().getName(), status);
+                        continue;
+                    }
+
+                    startTime = System.currentTimeMillis();
+                    TaskDispatcher taskDispatcher =
+                            taskDispatchFactory.getTaskDispatcher(defaultTaskExecuteRunnable.getTaskInstance());
+                    taskDispatcher.dispatchTask(defaultTaskExecuteRunnable);
+                    TaskMetrics.recordTaskDispatchTime(dispatchLane, System.currentTimeMillis() - startTime);
+                    dispatchedConsecutiveFailureTimes = 0;
+                } catch (Exception e) {
+                    if (startTime > 0) {
+                        TaskMetrics.recordTaskDispatchTime(dispatchLane, System.currentTimeMillis() - startTime);
+                    }
+                    defaultTaskExecuteRunnable.getTaskExecutionContext().increaseDispatchFailTimes();
+                    globalTaskDispatchWaitingQueue.submitTaskExecuteRunnable(defaultTaskExecuteRunnable);
+                    if (++dispatchedConsecutiveFailureTimes > MAX_DISPATCHED_FAILED_TIMES) {
+                        // only back off this lane, the other lanes are still dispatching
+                        ThreadUtils.sleep(10 * 1000L);
+                    }
+                    log.error("Dispatch Task: {} failed", defaultTaskExecuteRunnable.getTaskInstance().getName(), e);
+                }
+            }
+        }
+
+        /**
+         * Remove the lane if it's empty, the looper is removed together in the lock of the looper map, so a lane
+         * created again after the removal will always start a new looper.
+         */
+        private boolean removeIdleLane() {
+            AtomicBoolean removed = new AtomicBoolean(false);
+            taskDispatchLaneLoopers.computeIfPresent(dispatchLane, (lane, laneLooper) -> {
+                if (laneLooper != this || !globalTaskDispatchWaitingQueue.removeDispatchLaneIfEmpty(lane)) {
+                    return laneLooper;
+                }
+                removed.set(true);
+                return null;
+            });
+            return removed.get();
+        }
+    }
 }
@@ -26,6 +26,7 @@ import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.meter.metrics.MetricsProvider;
 import org.apache.dolphinscheduler.meter.metrics.SystemMetrics;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.command.CommandAvailableSignal;
 import org.apache.dolphinscheduler.server.master.command.ICommandFetcher;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.config.MasterServerLoadProtection;
@@ -56,6 +57,9 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
     @Autowired
     private ICommandFetcher commandFetcher;
 
+    @Autowired
+    private CommandAvailableSignal commandAvailableSignal;
+
     @Autowired
     private CommandService commandService;
 
@@ -107,6 +111,8 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
     @Override
     public void run() {
         MasterServerLoadProtection serverLoadProtection = masterConfig.getServerLoadProtection();
+        long maxIdleFetchInterval = masterConfig.getCommandFetchStrategy().getMaxIdleFetchInterval().toMillis();
+        long idleFetchInterval = Constants.SLEEP_TIME_MILLIS;
         while (!ServerLifeCycleManager.isStopped()) {
             try {
                 if (!ServerLifeCycleManager.isRunning()) {
@@ -122,12 +128,19 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                     continue;
                 }
+                // the commands notified before fetching will be picked up by this fetch
+                commandAvailableSignal.clear();
                 List<Command> commands = commandFetcher.fetchCommands();
                 if (CollectionUtils.isEmpty(commands)) {
-                    // indicate that no command ,sleep for 1s
-                    Thread.sleep(Constants.SLEEP_TIME_MILLIS);
+                    // indicate that no command, wait until new command is notified or back off the polling
+                    if (commandAvailableSignal.await(idleFetchInterval)) {
+                        idleFetchInterval = Constants.SLEEP_TIME_MILLIS;
+                    } else {
+                        idleFetchInterval = Math.min(idleFetchInterval * 2, maxIdleFetchInterval);
+                    }
                     continue;
                 }
+                idleFetchInterval = Constants.SLEEP_TIME_MILLIS;
 
                 commands.parallelStream()
                         .forEach(command -> {
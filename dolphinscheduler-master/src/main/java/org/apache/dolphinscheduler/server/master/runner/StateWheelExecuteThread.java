@@ -20,9 +20,7 @@ package org.apache.dolphinscheduler.server.master.runner;
 import org.apache.dolphinscheduler.common.enums.StateEventType;
 import org.apache.dolphinscheduler.common.enums.TimeoutFlag;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
-import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
-import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
-import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
@@ -32,13 +30,17 @@ import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheM
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.event.TaskStateEvent;
 import org.apache.dolphinscheduler.server.master.event.WorkflowStateEvent;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
 import org.apache.dolphinscheduler.server.master.runner.task.TaskInstanceKey;
 
+import java.util.Date;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -47,31 +49,42 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+
 /**
  * Check thread
  * 1. timeout task check
  * 2. dependent task state check
  * 3. retry task check
  * 4. timeout process check
+ * <p>
+ * Each check is scheduled into a hashed timing wheel by its deadline, so adding and removing a check is O(1) and each
+ * tick only handles the checks whose deadline is reached. When a check fires, the deadline is recalculated from the
+ * latest instance, if the deadline is not reached (e.g. the task is not started yet), the check will be rescheduled.
+ * A check which failed or whose instance cannot be found yet will be retried after the state wheel interval, a check is
+ * only removed once it's fired, or its instance is finished.
  */
 @Component
 @Slf4j
-public class StateWheelExecuteThread extends BaseDaemonThread {
+public class StateWheelExecuteThread {
+
+    private static final int TICKS_PER_WHEEL = 512;
 
     /**
-     * ProcessInstance timeout check list, element is the processInstanceId.
+     * ProcessInstance timeout checks, key is the processInstanceId.
      */
-    private final ConcurrentLinkedQueue<Integer> processInstanceTimeoutCheckList = new ConcurrentLinkedQueue<>();
+    private final Map<Integer, Timeout> processInstanceTimeoutChecks = new ConcurrentHashMap<>();
 
     /**
-     * task time out check list
+     * task time out checks
      */
-    private final ConcurrentLinkedQueue<TaskInstanceKey> taskInstanceTimeoutCheckList = new ConcurrentLinkedQueue<>();
+    private final Map<TaskInstanceKey, Timeout> taskInstanceTimeoutChecks = new ConcurrentHashMap<>();
 
     /**
-     * task retry check list
+     * task retry checks
      */
-    private final ConcurrentLinkedQueue<TaskInstanceKey> taskInstanceRetryCheckList = new ConcurrentLinkedQueue<>();
+    private final Map<TaskInstanceKey, Timeout> taskInstanceRetryChecks = new ConcurrentHashMap<>();
 
     @Autowired
     private MasterConfig masterConfig;
@@ -83,89 +96,89 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
     @Autowired
     private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
 
-    protected StateWheelExecuteThread() {
-        super("StateWheelExecuteThread");
-    }
+    private HashedWheelTimer stateWheel;
 
     @PostConstruct
     public void startWheelThread() {
-        super.start();
+        stateWheel = new HashedWheelTimer(
+                ThreadUtils.newDaemonThreadFactory("StateWheelExecuteThread"),
+                masterConfig.getStateWheelInterval().toMillis(),
+                TimeUnit.MILLISECONDS,
+                TICKS_PER_WHEEL);
+        stateWheel.start();
+        MasterServerMetrics.registerStateWheelSizeGauge("workflow_timeout", processInstanceTimeoutChecks::size);
+        MasterServerMetrics.registerStateWheelSizeGauge("task_timeout", taskInstanceTimeoutChecks::size);
+        MasterServerMetrics.registerStateWheelSizeGauge("task_retry", taskInstanceRetryChecks::size);
     }
 
-    @Override
-    public void run() {
-        final long checkInterval = masterConfig.getStateWheelInterval().toMillis();
-        while (!ServerLifeCycleManager.isStopped()) {
-            try {
-                checkTask4Timeout();
-                checkTask4Retry();
-                checkProcess4Timeout();
-            } catch (Exception e) {
-                log.error("state wheel thread check error:", e);
-            }
-            try {
-                Thread.sleep(checkInterval);
-            } catch (InterruptedException e) {
-                log.error("state wheel thread sleep error, will close the loop", e);
-                Thread.currentThread().interrupt();
-                break;
-            }
+    @PreDestroy
+    public void stopWheelThread() {
+        if (stateWheel != null) {
+            stateWheel.stop();
         }
     }
 
     public void addProcess4TimeoutCheck(ProcessInstance processInstance) {
-        processInstanceTimeoutCheckList.add(processInstance.getId());
-        log.info("Success add workflow instance {} into timeout check list", processInstance.getId());
+        int processInstanceId = processInstance.getId();
+        long deadline = getDeadline(processInstance.getStartTime(), processInstance.getTimeout());
+        processInstanceTimeoutChecks.computeIfAbsent(processInstanceId, key -> schedule(deadline, "workflow_timeout",
+                timeout -> checkProcess4Timeout(processInstanceId, timeout)));
+        log.info("Success add workflow instance {} into timeout check list", processInstanceId);
     }
 
     public void removeProcess4TimeoutCheck(int processInstanceId) {
-        boolean removeFlag = processInstanceTimeoutCheckList.remove(processInstanceId);
-        if (removeFlag) {
+        Timeout timeout = processInstanceTimeoutChecks.remove(processInstanceId);
+        if (timeout != null) {
+            timeout.cancel();
             log.info("Success remove workflow instance {} from timeout check list", processInstanceId);
         }
     }
 
-    private void checkProcess4Timeout() {
-        if (processInstanceTimeoutCheckList.isEmpty()) {
-            return;
-        }
-        for (Integer processInstanceId : processInstanceTimeoutCheckList) {
-            try {
-                LogUtils.setWorkflowInstanceIdMDC(processInstanceId);
-                WorkflowExecuteRunnable workflowExecuteThread = processInstanceExecCacheManager.getByProcessInstanceId(
-                        processInstanceId);
-                if (workflowExecuteThread == null) {
-                    log.warn(
-                            "Check workflow timeout failed, can not find workflowExecuteThread from cache manager, will remove this workflowInstance from check list");
-                    processInstanceTimeoutCheckList.remove(processInstanceId);
-                    continue;
-                }
-                ProcessInstance processInstance =
-                        workflowExecuteThread.getWorkflowExecuteContext().getWorkflowInstance();
-                if (processInstance == null) {
-                    log.warn("Check workflow timeout failed, the workflowInstance is null");
-                    continue;
-                }
-                long timeRemain = DateUtils.getRemainTime(processInstance.getStartTime(),
-                        TimeUnit.MINUTES.toSeconds(processInstance.getTimeout()));
-                if (timeRemain < 0) {
-                    log.info("Workflow instance {} timeout, adding timeout event", processInstance.getId());
-                    addProcessTimeoutEvent(processInstance);
-                    processInstanceTimeoutCheckList.remove(processInstance.getId());
-                    log.info("Workflow instance timeout, added timeout event");
-                }
-            } catch (Exception ex) {
-                log.error("Check workflow instance timeout error");
-            } finally {
-                LogUtils.removeWorkflowInstanceIdMDC();
+    private void checkProcess4Timeout(Integer processInstanceId, Timeout timeout) {
+        try {
+            LogUtils.setWorkflowInstanceIdMDC(processInstanceId);
+            WorkflowExecuteRunnable workflowExecuteThread = processInstanceExecCacheManager.getByProcessInstanceId(
+                    processInstanceId);
+            if (workflowExecuteThread == null) {
+                // the finished workflow is removed from the check list before it's removed from the cache, so the
+                // workflow is not cached yet
+                log.warn(
+                        "Check workflow timeout failed, can not find workflowExecuteThread from cache manager, will retry later");
+                retryLater(processInstanceTimeoutChecks, processInstanceId, timeout,
+                        newTimeout -> checkProcess4Timeout(processInstanceId, newTimeout));
+                return;
             }
+            ProcessInstance processInstance =
+                    workflowExecuteThread.getWorkflowExecuteContext().getWorkflowInstance();
+            if (processInstance == null) {
+                log.warn("Check workflow timeout failed, the workflowInstance is null, will retry later");
+                retryLater(processInstanceTimeoutChecks, processInstanceId, timeout,
+                        newTimeout -> checkProcess4Timeout(processInstanceId, newTimeout));
+                return;
+            }
+            long deadline = getDeadline(processInstance.getStartTime(), processInstance.getTimeout());
+            if (deadline <= System.currentTimeMillis()) {
+                log.info("Workflow instance {} timeout, adding timeout event", processInstance.getId());
+                addProcessTimeoutEvent(processInstance);
+                processInstanceTimeoutChecks.remove(processInstanceId, timeout);
+                log.info("Workflow instance timeout, added timeout event");
+                return;
+            }
+            reschedule(processInstanceTimeoutChecks, processInstanceId, timeout, schedule(deadline,
+                    "workflow_timeout", newTimeout -> checkProcess4Timeout(processInstanceId, newTimeout)));
+        } catch (Exception ex) {
+            log.error("Check workflow instance timeout error, will retry later", ex);
+            retryLater(processInstanceTimeoutChecks, processInstanceId, timeout,
+                    newTimeout -> checkProcess4Timeout(processInstanceId, newTimeout));
+        } finally {
+            LogUtils.removeWorkflowInstanceIdMDC();
         }
     }
 
     public void addTask4TimeoutCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
         log.info("Adding task instance into timeout check list");
-        if (taskInstanceTimeoutCheckList.contains(taskInstanceKey)) {
+        if (taskInstanceTimeoutChecks.containsKey(taskInstanceKey)) {
             log.warn("Task instance is already in timeout check list");
             return;
         }
@@ -175,21 +188,26 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
             return;
         }
         if (TimeoutFlag.OPEN == taskDefinition.getTimeoutFlag()) {
-            taskInstanceTimeoutCheckList.add(taskInstanceKey);
+            long deadline = getDeadline(taskInstance.getStartTime(), taskDefinition.getTimeout());
+            taskInstanceTimeoutChecks.computeIfAbsent(taskInstanceKey,
+                    key -> schedule(deadline, "task_timeout", timeout -> checkTask4Timeout(taskInstanceKey, timeout)));
             log.info("Timeout flag is open, added task instance into timeout check list");
         }
     }
 
     public void removeTask4TimeoutCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        taskInstanceTimeoutCheckList.remove(taskInstanceKey);
+        Timeout timeout = taskInstanceTimeoutChecks.remove(taskInstanceKey);
+        if (timeout != null) {
+            timeout.cancel();
+        }
         log.info("remove task instance from timeout check list");
     }
 
     public void addTask4RetryCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         log.info("Adding task instance into retry check list");
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        if (taskInstanceRetryCheckList.contains(taskInstanceKey)) {
+        if (taskInstanceRetryChecks.containsKey(taskInstanceKey)) {
             log.warn("Task instance is already in retry check list");
             return;
         }
@@ -198,136 +216,207 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
             log.error("Add task instance into retry check list error, taskDefinition is null");
             return;
         }
-        taskInstanceRetryCheckList.add(taskInstanceKey);
+        long deadline = getRetryDeadline(taskInstance);
+        taskInstanceRetryChecks.computeIfAbsent(taskInstanceKey,
+                key -> schedule(deadline, "task_retry", timeout -> checkTask4Retry(taskInstanceKey, timeout)));
         log.info("[WorkflowInstance-{}][TaskInstanceKey-{}:{}] Added task instance into retry check list",
                 processInstance.getId(), taskInstance.getTaskCode(), taskInstance.getTaskDefinitionVersion());
     }
 
     public void removeTask4RetryCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        taskInstanceRetryCheckList.remove(taskInstanceKey);
+        Timeout timeout = taskInstanceRetryChecks.remove(taskInstanceKey);
+        if (timeout != null) {
+            timeout.cancel();
+        }
         log.info("remove task instance from retry check list");
     }
 
     public void clearAllTasks() {
-        processInstanceTimeoutCheckList.clear();
-        taskInstanceTimeoutCheckList.clear();
-        taskInstanceRetryCheckList.clear();
+        clearChecks(processInstanceTimeoutChecks);
+        clearChecks(taskInstanceTimeoutChecks);
+        clearChecks(taskInstanceRetryChecks);
     }
 
-    private void checkTask4Timeout() {
-        if (taskInstanceTimeoutCheckList.isEmpty()) {
-            return;
+    private void checkTask4Timeout(TaskInstanceKey taskInstanceKey, Timeout timeout) {
+        try {
+            LogUtils.setWorkflowInstanceIdMDC(taskInstanceKey.getProcessInstanceId());
+            int processInstanceId = taskInstanceKey.getProcessInstanceId();
+            long taskCode = taskInstanceKey.getTaskCode();
+
+            WorkflowExecuteRunnable workflowExecuteThread =
+                    processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
+            if (workflowExecuteThread == null) {
+                // the task checks are added by a cached workflow, so the workflow is finished and removed
+                log.warn(
+                        "Check task instance timeout failed, can not find workflowExecuteThread from cache manager, will remove this check task");
+                taskInstanceTimeoutChecks.remove(taskInstanceKey, timeout);
+                return;
+            }
+            if (workflowExecuteThread.workFlowFinish()) {
+                log.info("The workflow instance is finished, will remove the task timeout check");
+                taskInstanceTimeoutChecks.remove(taskInstanceKey, timeout);
+                return;
+            }
+            Optional<TaskInstance> taskInstanceOptional =
+                    workflowExecuteThread.getActiveTaskInstanceByTaskCode(taskCode);
+            if (!taskInstanceOptional.isPresent()) {
+                // the finished task removes its check, so the task is not submitted yet, e.g. waiting to retry
+                log.warn(
+                        "Check task instance timeout failed, can not get taskInstance from workflowExecuteThread, taskCode: {}, "
+                                + "will retry later",
+                        taskCode);
+                retryLater(taskInstanceTimeoutChecks, taskInstanceKey, timeout,
+                        newTimeout -> checkTask4Timeout(taskInstanceKey, newTimeout));
+                return;
+            }
+            TaskInstance taskInstance = taskInstanceOptional.get();
+            if (TimeoutFlag.OPEN != taskInstance.getTaskDefine().getTimeoutFlag()) {
+                taskInstanceTimeoutChecks.remove(taskInstanceKey, timeout);
+                return;
+            }
+            long deadline = getDeadline(taskInstance.getStartTime(), taskInstance.getTaskDefine().getTimeout());
+            if (taskInstance.getStartTime() != null && deadline <= System.currentTimeMillis()) {
+                log.info("Task instance is timeout, adding task timeout event and remove the check");
+                addTaskTimeoutEvent(taskInstance);
+                taskInstanceTimeoutChecks.remove(taskInstanceKey, timeout);
+                return;
+            }
+            // the task instance is not started yet or the start time is changed
+            reschedule(taskInstanceTimeoutChecks, taskInstanceKey, timeout, schedule(deadline, "task_timeout",
+                    newTimeout -> checkTask4Timeout(taskInstanceKey, newTimeout)));
+        } catch (Exception ex) {
+            log.error("Check task timeout error, taskInstanceKey: {}, will retry later", taskInstanceKey, ex);
+            retryLater(taskInstanceTimeoutChecks, taskInstanceKey, timeout,
+                    newTimeout -> checkTask4Timeout(taskInstanceKey, newTimeout));
+        } finally {
+            LogUtils.removeWorkflowInstanceIdMDC();
         }
-        for (TaskInstanceKey taskInstanceKey : taskInstanceTimeoutCheckList) {
-            try {
-                LogUtils.setWorkflowInstanceIdMDC(taskInstanceKey.getProcessInstanceId());
-                int processInstanceId = taskInstanceKey.getProcessInstanceId();
-                long taskCode = taskInstanceKey.getTaskCode();
-
-                WorkflowExecuteRunnable workflowExecuteThread =
-                        processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
-                if (workflowExecuteThread == null) {
-                    log.warn(
-                            "Check task instance timeout failed, can not find workflowExecuteThread from cache manager, will remove this check task");
-                    taskInstanceTimeoutCheckList.remove(taskInstanceKey);
-                    continue;
-                }
-                Optional<TaskInstance> taskInstanceOptional =
-                        workflowExecuteThread.getActiveTaskInstanceByTaskCode(taskCode);
-                if (!taskInstanceOptional.isPresent()) {
-                    log.warn(
-                            "Check task instance timeout failed, can not get taskInstance from workflowExecuteThread, taskCode: {}"
-                                    + "will remove this check task",
-                            taskCode);
-                    taskInstanceTimeoutCheckList.remove(taskInstanceKey);
-                    continue;
-                }
-                TaskInstance taskInstance = taskInstanceOptional.get();
-                if (TimeoutFlag.OPEN == taskInstance.getTaskDefine().getTimeoutFlag()) {
-                    long timeRemain = DateUtils.getRemainTime(taskInstance.getStartTime(),
-                            TimeUnit.MINUTES.toSeconds(taskInstance.getTaskDefine().getTimeout()));
-                    if (timeRemain < 0) {
-                        log.info("Task instance is timeout, adding task timeout event and remove the check");
-                        addTaskTimeoutEvent(taskInstance);
-                        taskInstanceTimeoutCheckList.remove(taskInstanceKey);
-                    }
-                }
-            } catch (Exception ex) {
-                log.error("Check task timeout error, taskInstanceKey: {}", taskInstanceKey, ex);
-            } finally {
-                LogUtils.removeWorkflowInstanceIdMDC();
+    }
+
+    private void checkTask4Retry(TaskInstanceKey taskInstanceKey, Timeout timeout) {
+        int processInstanceId = taskInstanceKey.getProcessInstanceId();
+        long taskCode = taskInstanceKey.getTaskCode();
+        try {
+            LogUtils.setWorkflowInstanceIdMDC(processInstanceId);
+
+            WorkflowExecuteRunnable workflowExecuteThread =
+                    processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
+
+            if (workflowExecuteThread == null) {
+                // the task checks are added by a cached workflow, so the workflow is finished and removed
+                log.warn(
+                        "Task instance retry check failed, can not find workflowExecuteThread from cache manager, "
+                                + "will remove this check task");
+                taskInstanceRetryChecks.remove(taskInstanceKey, timeout);
+                return;
+            }
+            if (workflowExecuteThread.workFlowFinish()) {
+                log.info("The workflow instance is finished, will remove the task retry check");
+                taskInstanceRetryChecks.remove(taskInstanceKey, timeout);
+                return;
             }
+
+            Optional<TaskInstance> taskInstanceOptional =
+                    workflowExecuteThread.getRetryTaskInstanceByTaskCode(taskCode);
+            ProcessInstance processInstance =
+                    workflowExecuteThread.getWorkflowExecuteContext().getWorkflowInstance();
+
+            if (processInstance.getState().isReadyStop()) {
+                log.warn(
+                        "The process instance is ready to stop, will send process stop event and remove the check task");
+                addProcessStopEvent(processInstance);
+                taskInstanceRetryChecks.remove(taskInstanceKey, timeout);
+                return;
+            }
+
+            if (!taskInstanceOptional.isPresent()) {
+                log.warn(
+                        "Task instance retry check failed, can not find taskInstance from workflowExecuteThread, will retry later");
+                retryLater(taskInstanceRetryChecks, taskInstanceKey, timeout,
+                        newTimeout -> checkTask4Retry(taskInstanceKey, newTimeout));
+                return;
+            }
+
+            TaskInstance taskInstance = taskInstanceOptional.get();
+            // We check the status to avoid when we do worker failover we submit a failover task, this task may be
+            // resubmit by this
+            // thread
+            if (taskInstance.getState() != TaskExecutionStatus.NEED_FAULT_TOLERANCE
+                    && taskInstance.retryTaskIntervalOverTime()) {
+                // reset taskInstance endTime and state
+                // todo relative function: TaskInstance.retryTaskIntervalOverTime,
+                // WorkflowExecuteThread.cloneRetryTaskInstance
+                log.info("[TaskInstanceKey-{}:{}]The task instance can retry, will retry this task instance",
+                        taskInstance.getTaskCode(), taskInstance.getTaskDefinitionVersion());
+                taskInstance.setEndTime(null);
+                taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
+
+                addTaskRetryEvent(taskInstance);
+                taskInstanceRetryChecks.remove(taskInstanceKey, timeout);
+                return;
+            }
+            reschedule(taskInstanceRetryChecks, taskInstanceKey, timeout, schedule(getRetryDeadline(taskInstance),
+                    "task_retry", newTimeout -> checkTask4Retry(taskInstanceKey, newTimeout)));
+        } catch (Exception ex) {
+            log.error("Check task retry error, taskInstanceKey: {}, will retry later", taskInstanceKey, ex);
+            retryLater(taskInstanceRetryChecks, taskInstanceKey, timeout,
+                    newTimeout -> checkTask4Retry(taskInstanceKey, newTimeout));
+        } finally {
+            LogUtils.removeWorkflowInstanceIdMDC();
         }
     }
 
-    private void checkTask4Retry() {
-        if (taskInstanceRetryCheckList.isEmpty()) {
-            return;
+    private Timeout schedule(long deadline, String checkType, StateCheck stateCheck) {
+        long delay = Math.max(0, deadline - System.currentTimeMillis());
+        return stateWheel.newTimeout(timeout -> {
+            MasterServerMetrics.recordStateWheelFireLag(checkType, System.currentTimeMillis() - deadline);
+            stateCheck.check(timeout);
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Replace the fired check with the rescheduled one, if the check has been removed, cancel the rescheduled one.
+     */
+    private <K> void reschedule(Map<K, Timeout> checks, K key, Timeout firedTimeout, Timeout newTimeout) {
+        if (!checks.replace(key, firedTimeout, newTimeout)) {
+            newTimeout.cancel();
         }
+    }
 
-        for (TaskInstanceKey taskInstanceKey : taskInstanceRetryCheckList) {
-            int processInstanceId = taskInstanceKey.getProcessInstanceId();
-            long taskCode = taskInstanceKey.getTaskCode();
-            try {
-                LogUtils.setWorkflowInstanceIdMDC(processInstanceId);
-
-                WorkflowExecuteRunnable workflowExecuteThread =
-                        processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
-
-                if (workflowExecuteThread == null) {
-                    log.warn(
-                            "Task instance retry check failed, can not find workflowExecuteThread from cache manager, "
-                                    + "will remove this check task");
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
-                    continue;
-                }
-
-                Optional<TaskInstance> taskInstanceOptional =
-                        workflowExecuteThread.getRetryTaskInstanceByTaskCode(taskCode);
-                ProcessInstance processInstance =
-                        workflowExecuteThread.getWorkflowExecuteContext().getWorkflowInstance();
-
-                if (processInstance.getState().isReadyStop()) {
-                    log.warn(
-                            "The process instance is ready to stop, will send process stop event and remove the check task");
-                    addProcessStopEvent(processInstance);
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
-                    break;
-                }
-
-                if (!taskInstanceOptional.isPresent()) {
-                    log.warn(
-                            "Task instance retry check failed, can not find taskInstance from workflowExecuteThread, will remove this check");
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
-                    continue;
-                }
-
-                TaskInstance taskInstance = taskInstanceOptional.get();
-                // We check the status to avoid when we do worker failover we submit a failover task, this task may be
-                // resubmit by this
-                // thread
-                if (taskInstance.getState() != TaskExecutionStatus.NEED_FAULT_TOLERANCE
-                        && taskInstance.retryTaskIntervalOverTime()) {
-                    // reset taskInstance endTime and state
-                    // todo relative function: TaskInstance.retryTaskIntervalOverTime,
-                    // WorkflowExecuteThread.cloneRetryTaskInstance
-                    log.info("[TaskInstanceKey-{}:{}]The task instance can retry, will retry this task instance",
-                            taskInstance.getTaskCode(), taskInstance.getTaskDefinitionVersion());
-                    taskInstance.setEndTime(null);
-                    taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
-
-                    addTaskRetryEvent(taskInstance);
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
-                }
-            } catch (Exception ex) {
-                log.error("Check task retry error, taskInstanceKey: {}", taskInstanceKey, ex);
-            } finally {
-                LogUtils.removeWorkflowInstanceIdMDC();
-            }
+    /**
+     * Retry the fired check after the state wheel interval, used when the check failed or its instance is not ready.
+     */
+    private <K> void retryLater(Map<K, Timeout> checks, K key, Timeout firedTimeout, StateCheck stateCheck) {
+        try {
+            reschedule(checks, key, firedTimeout, stateWheel.newTimeout(stateCheck::check,
+                    masterConfig.getStateWheelInterval().toMillis(), TimeUnit.MILLISECONDS));
+        } catch (Exception ex) {
+            // the state wheel is stopped
+            log.warn("Retry the state check: {} failed, will remove it", key, ex);
+            checks.remove(key, firedTimeout);
         }
     }
 
+    private <K> void clearChecks(Map<K, Timeout> checks) {
+        checks.values().forEach(Timeout::cancel);
+        checks.clear();
+    }
+
+    /**
+     * Get the deadline of the timeout check, if the instance is not started, use current time as the start time, the
+     * check will be rescheduled once it is started.
+     */
+    private long getDeadline(Date startTime, int timeoutMinutes) {
+        long baseTime = startTime == null ? System.currentTimeMillis() : startTime.getTime();
+        return baseTime + TimeUnit.MINUTES.toMillis(timeoutMinutes);
+    }
+
+    private long getRetryDeadline(TaskInstance taskInstance) {
+        // retryTaskIntervalOverTime is calculated in seconds, add one second to make sure the interval is over
+        return getDeadline(taskInstance.getEndTime(), taskInstance.getRetryInterval()) + TimeUnit.SECONDS.toMillis(1);
+    }
+
     private void addProcessStopEvent(ProcessInstance processInstance) {
         WorkflowStateEvent stateEvent = WorkflowStateEvent.builder()
                 .processInstanceId(processInstance.getId())
@@ -365,4 +454,10 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
         workflowExecuteThreadPool.submitStateEvent(stateEvent);
     }
 
+    @FunctionalInterface
+    private interface StateCheck {
+
+        void check(Timeout timeout);
+    }
+
 }
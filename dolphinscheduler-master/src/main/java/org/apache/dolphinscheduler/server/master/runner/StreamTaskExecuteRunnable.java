@@ -31,12 +31,7 @@ import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.mapper.ProcessTaskRelationMapper;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
-import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
 import org.apache.dolphinscheduler.extract.master.transportor.StreamingTaskTriggerRequest;
-import org.apache.dolphinscheduler.extract.worker.ITaskInstanceExecutionEventAckListener;
-import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionFinishEventAck;
-import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionInfoEventAck;
-import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionRunningEventAck;
 import org.apache.dolphinscheduler.plugin.task.api.TaskChannel;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.TaskPluginManager;
@@ -56,6 +51,7 @@ import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.WorkerTaskDispatcher;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnableFactory;
+import org.apache.dolphinscheduler.server.master.runner.message.TaskInstanceExecutionEventAckBatchSender;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
@@ -93,6 +89,8 @@ public class StreamTaskExecuteRunnable implements Runnable {
 
     private StreamTaskInstanceExecCacheManager streamTaskInstanceExecCacheManager;
 
+    private TaskInstanceExecutionEventAckBatchSender taskInstanceExecutionEventAckBatchSender;
+
     protected TaskDefinition taskDefinition;
 
     protected TaskInstance taskInstance;
@@ -120,6 +118,8 @@ public class StreamTaskExecuteRunnable implements Runnable {
         this.taskInstanceDao = SpringApplicationContext.getBean(TaskInstanceDao.class);
         this.streamTaskInstanceExecCacheManager =
                 SpringApplicationContext.getBean(StreamTaskInstanceExecCacheManager.class);
+        this.taskInstanceExecutionEventAckBatchSender =
+                SpringApplicationContext.getBean(TaskInstanceExecutionEventAckBatchSender.class);
         this.taskDefinition = taskDefinition;
         this.taskExecuteStartMessage = taskExecuteStartMessage;
         this.taskExecutionContextFactory = SpringApplicationContext.getBean(TaskExecutionContextFactory.class);
@@ -425,24 +425,20 @@ public class StreamTaskExecuteRunnable implements Runnable {
 
     private void sendAckToWorker(TaskEvent taskEvent) {
         // If event handle success, send ack to worker to otherwise the worker will retry this event
-        ITaskInstanceExecutionEventAckListener instanceExecutionEventAckListener =
-                SingletonJdkDynamicRpcClientProxyFactory
-                        .getProxyClient(taskEvent.getWorkerAddress(), ITaskInstanceExecutionEventAckListener.class);
         if (taskEvent.getEvent() == TaskEventType.RUNNING) {
-            log.error("taskEvent.getChannel() is null, taskEvent:{}", taskEvent);
-            instanceExecutionEventAckListener.handleTaskInstanceExecutionRunningEventAck(
-                    TaskInstanceExecutionRunningEventAck.success(taskEvent.getTaskInstanceId()));
+            taskInstanceExecutionEventAckBatchSender.sendRunningEventAck(taskEvent.getWorkerAddress(),
+                    taskEvent.getTaskInstanceId());
             return;
         }
         if (taskEvent.getEvent() == TaskEventType.RESULT) {
-            instanceExecutionEventAckListener.handleTaskInstanceExecutionFinishEventAck(
-                    TaskInstanceExecutionFinishEventAck.success(taskEvent.getTaskInstanceId()));
+            taskInstanceExecutionEventAckBatchSender.sendFinishEventAck(taskEvent.getWorkerAddress(),
+                    taskEvent.getTaskInstanceId());
             return;
         }
 
         if (taskEvent.getEvent() == TaskEventType.UPDATE_PID) {
-            instanceExecutionEventAckListener.handleTaskInstanceExecutionInfoEventAck(
-                    TaskInstanceExecutionInfoEventAck.success(taskEvent.getTaskInstanceId()));
+            taskInstanceExecutionEventAckBatchSender.sendInfoEventAck(taskEvent.getWorkerAddress(),
+                    taskEvent.getTaskInstanceId());
             return;
         }
         log.warn("SendAckToWorker error, get an unknown event: {}", taskEvent);
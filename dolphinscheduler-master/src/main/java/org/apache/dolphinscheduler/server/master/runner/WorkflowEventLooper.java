@@ -27,7 +27,9 @@ import org.apache.dolphinscheduler.server.master.event.WorkflowEventHandleExcept
 import org.apache.dolphinscheduler.server.master.event.WorkflowEventHandler;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEventQueue;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEventType;
+import org.apache.dolphinscheduler.server.master.metrics.ProcessInstanceMetrics;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,9 +42,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Start one looper thread for each shard of the {@link WorkflowEventQueue}, the events of the same workflow instance
+ * are handled in order by one thread, while the different workflow instances are started in parallel.
+ */
 @Component
 @Slf4j
-public class WorkflowEventLooper extends BaseDaemonThread implements AutoCloseable {
+public class WorkflowEventLooper implements AutoCloseable {
+
+    /**
+     * The max interval to retry the failed workflow event in one shard.
+     */
+    private static final long MAX_RETRY_INTERVAL_MILLIS = 10_000L;
 
     @Autowired
     private WorkflowEventQueue workflowEventQueue;
@@ -52,11 +63,9 @@ public class WorkflowEventLooper extends BaseDaemonThread implements AutoCloseab
 
     private final Map<WorkflowEventType, WorkflowEventHandler> workflowEventHandlerMap = new HashMap<>();
 
-    private final AtomicBoolean RUNNING_FLAG = new AtomicBoolean(false);
+    private final List<WorkflowEventShardLooper> workflowEventShardLoopers = new ArrayList<>();
 
-    protected WorkflowEventLooper() {
-        super("WorkflowEventLooper");
-    }
+    private final AtomicBoolean RUNNING_FLAG = new AtomicBoolean(false);
 
     @PostConstruct
     public void init() {
@@ -65,51 +74,53 @@ public class WorkflowEventLooper extends BaseDaemonThread implements AutoCloseab
                         workflowEventHandler));
     }
 
-    @Override
     public synchronized void start() {
         if (!RUNNING_FLAG.compareAndSet(false, true)) {
             log.error("WorkflowEventLooper thread has already started, will not start again");
             return;
         }
         log.info("WorkflowEventLooper starting...");
-        super.start();
-        log.info("WorkflowEventLooper started...");
+        for (int shard = 0; shard < workflowEventQueue.getShardCount(); shard++) {
+            WorkflowEventShardLooper workflowEventShardLooper = new WorkflowEventShardLooper(shard);
+            workflowEventShardLoopers.add(workflowEventShardLooper);
+            workflowEventShardLooper.start();
+        }
+        log.info("WorkflowEventLooper started, shard size: {}", workflowEventShardLoopers.size());
     }
 
-    public void run() {
-        WorkflowEvent workflowEvent;
-        while (RUNNING_FLAG.get()) {
-            try {
-                workflowEvent = workflowEventQueue.poolEvent();
-            } catch (InterruptedException e) {
-                log.warn("WorkflowEventLooper thread is interrupted, will close this loop");
-                Thread.currentThread().interrupt();
-                break;
-            }
-            try {
-                LogUtils.setWorkflowInstanceIdMDC(workflowEvent.getWorkflowInstanceId());
-                log.info("Begin to handle WorkflowEvent: {}", workflowEvent);
-                WorkflowEventHandler workflowEventHandler =
-                        workflowEventHandlerMap.get(workflowEvent.getWorkflowEventType());
-                workflowEventHandler.handleWorkflowEvent(workflowEvent);
-                log.info("Success handle WorkflowEvent: {}", workflowEvent);
-            } catch (WorkflowEventHandleException workflowEventHandleException) {
-                log.error("Handle workflow event failed, will retry again: {}", workflowEvent,
-                        workflowEventHandleException);
-                workflowEventQueue.addEvent(workflowEvent);
-                ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
-            } catch (WorkflowEventHandleError workflowEventHandleError) {
-                log.error("Handle workflow event error, will drop this event: {}",
-                        workflowEvent,
-                        workflowEventHandleError);
-            } catch (Exception unknownException) {
-                log.error("Handle workflow event failed, get a unknown exception, will retry again: {}", workflowEvent,
-                        unknownException);
-                workflowEventQueue.addEvent(workflowEvent);
-                ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
-            } finally {
-                LogUtils.removeWorkflowInstanceIdMDC();
-            }
+    /**
+     * Handle the workflow event, the event will be added back to the queue if it should be retried.
+     *
+     * @return true if the event is handled or dropped, false if the event need to retry
+     */
+    boolean handleWorkflowEvent(int shard, WorkflowEvent workflowEvent) {
+        long startTime = System.currentTimeMillis();
+        try {
+            LogUtils.setWorkflowInstanceIdMDC(workflowEvent.getWorkflowInstanceId());
+            log.info("Begin to handle WorkflowEvent: {}", workflowEvent);
+            WorkflowEventHandler workflowEventHandler =
+                    workflowEventHandlerMap.get(workflowEvent.getWorkflowEventType());
+            workflowEventHandler.handleWorkflowEvent(workflowEvent);
+            log.info("Success handle WorkflowEvent: {}", workflowEvent);
+            return true;
+        } catch (WorkflowEventHandleException workflowEventHandleException) {
+            log.error("Handle workflow event failed, will retry again: {}", workflowEvent,
+                    workflowEventHandleException);
+            workflowEventQueue.addEvent(workflowEvent);
+            return false;
+        } catch (WorkflowEventHandleError workflowEventHandleError) {
+            log.error("Handle workflow event error, will drop this event: {}",
+                    workflowEvent,
+                    workflowEventHandleError);
+            return true;
+        } catch (Exception unknownException) {
+            log.error("Handle workflow event failed, get a unknown exception, will retry again: {}", workflowEvent,
+                    unknownException);
+            workflowEventQueue.addEvent(workflowEvent);
+            return false;
+        } finally {
+            ProcessInstanceMetrics.recordWorkflowEventHandleTime(shard, System.currentTimeMillis() - startTime);
+            LogUtils.removeWorkflowInstanceIdMDC();
         }
     }
 
@@ -120,7 +131,39 @@ public class WorkflowEventLooper extends BaseDaemonThread implements AutoCloseab
             return;
         }
         log.info("WorkflowEventLooper is closing...");
-        this.interrupt();
+        workflowEventShardLoopers.forEach(Thread::interrupt);
         log.info("WorkflowEventLooper closed...");
     }
+
+    private class WorkflowEventShardLooper extends BaseDaemonThread {
+
+        private final int shard;
+
+        private WorkflowEventShardLooper(int shard) {
+            super("WorkflowEventLooper-" + shard);
+            this.shard = shard;
+        }
+
+        @Override
+        public void run() {
+            // the retry interval only grows in this shard, the other shards are not stalled by the failed event
+            long retryIntervalMillis = Constants.SLEEP_TIME_MILLIS;
+            WorkflowEvent workflowEvent;
+            while (RUNNING_FLAG.get()) {
+                try {
+                    workflowEvent = workflowEventQueue.poolEvent(shard);
+                } catch (InterruptedException e) {
+                    log.warn("WorkflowEventLooper-{} thread is interrupted, will close this loop", shard);
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (handleWorkflowEvent(shard, workflowEvent)) {
+                    retryIntervalMillis = Constants.SLEEP_TIME_MILLIS;
+                } else {
+                    ThreadUtils.sleep(retryIntervalMillis);
+                    retryIntervalMillis = Math.min(retryIntervalMillis * 2, MAX_RETRY_INTERVAL_MILLIS);
+                }
+            }
+        }
+    }
 }
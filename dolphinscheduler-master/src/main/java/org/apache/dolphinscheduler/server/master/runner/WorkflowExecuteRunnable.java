@@ -71,9 +71,11 @@ import org.apache.dolphinscheduler.server.master.event.StateEventHandler;
 import org.apache.dolphinscheduler.server.master.event.StateEventHandlerManager;
 import org.apache.dolphinscheduler.server.master.event.TaskStateEvent;
 import org.apache.dolphinscheduler.server.master.event.WorkflowStateEvent;
+import org.apache.dolphinscheduler.server.master.graph.CompiledWorkflowGraph;
 import org.apache.dolphinscheduler.server.master.graph.IWorkflowGraph;
 import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnableFactory;
+import org.apache.dolphinscheduler.server.master.runner.task.subworkflow.SubWorkflowFinishNotifier;
 import org.apache.dolphinscheduler.server.master.runner.taskgroup.TaskGroupCoordinator;
 import org.apache.dolphinscheduler.server.master.utils.TaskUtils;
 import org.apache.dolphinscheduler.server.master.utils.WorkflowInstanceUtils;
@@ -95,6 +97,7 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -177,6 +180,12 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
      */
     private final Set<Long> completeTaskSet = Sets.newConcurrentHashSet();
 
+    /**
+     * the task ids of the complete tasks in the compiled graph, it's kept in step with {@link #completeTaskSet} and
+     * only accessed in the workflow event thread
+     */
+    private final BitSet completeTaskIds;
+
     /**
      * depend failed task set
      */
@@ -222,6 +231,10 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
 
     private final TaskGroupCoordinator taskGroupCoordinator;
 
+    private final WorkflowExecuteRunnableReadyQueue workflowExecuteRunnableReadyQueue;
+
+    private final SubWorkflowFinishNotifier subWorkflowFinishNotifier;
+
     public WorkflowExecuteRunnable(
                                    @NonNull IWorkflowExecuteContext workflowExecuteContext,
                                    @NonNull CommandService commandService,
@@ -234,7 +247,9 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                                    @NonNull TaskInstanceDao taskInstanceDao,
                                    @NonNull DefaultTaskExecuteRunnableFactory defaultTaskExecuteRunnableFactory,
                                    @NonNull ListenerEventAlertManager listenerEventAlertManager,
-                                   @NonNull TaskGroupCoordinator taskGroupCoordinator) {
+                                   @NonNull TaskGroupCoordinator taskGroupCoordinator,
+                                   @NonNull WorkflowExecuteRunnableReadyQueue workflowExecuteRunnableReadyQueue,
+                                   @NonNull SubWorkflowFinishNotifier subWorkflowFinishNotifier) {
         this.processService = processService;
         this.commandService = commandService;
         this.processInstanceDao = processInstanceDao;
@@ -247,6 +262,10 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         this.defaultTaskExecuteRunnableFactory = defaultTaskExecuteRunnableFactory;
         this.listenerEventAlertManager = listenerEventAlertManager;
         this.taskGroupCoordinator = taskGroupCoordinator;
+        this.workflowExecuteRunnableReadyQueue = workflowExecuteRunnableReadyQueue;
+        this.subWorkflowFinishNotifier = subWorkflowFinishNotifier;
+        CompiledWorkflowGraph compiledGraph = workflowExecuteContext.getWorkflowGraph().getCompiledGraph();
+        this.completeTaskIds = compiledGraph == null ? new BitSet() : compiledGraph.newTaskIdSet();
         TaskMetrics.registerTaskPrepared(standByTaskInstancePriorityQueue::size);
     }
 
@@ -329,6 +348,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
             return false;
         }
         this.stateEvents.add(stateEvent);
+        workflowExecuteRunnableReadyQueue.markReady(this);
         return true;
     }
 
@@ -375,7 +395,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
             }
 
             if (taskInstance.getState().isSuccess()) {
-                completeTaskSet.add(taskInstance.getTaskCode());
+                addCompleteTask(taskInstance.getTaskCode());
                 mergeTaskInstanceVarPool(taskInstance);
                 processInstanceDao.upsertProcessInstance(workflowInstance);
                 ProjectUser projectUser =
@@ -393,7 +413,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                 log.info("Retry taskInstance taskInstance state: {}", taskInstance.getState());
                 retryTaskInstance(taskInstance);
             } else if (taskInstance.getState().isFailure()) {
-                completeTaskSet.add(taskInstance.getTaskCode());
+                addCompleteTask(taskInstance.getTaskCode());
                 ProjectUser projectUser =
                         processService.queryProjectWithUserByProcessInstanceId(workflowInstance.getId());
                 listenerEventAlertManager.publishTaskFailListenerEvent(workflowInstance, taskInstance, projectUser);
@@ -410,7 +430,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                 }
             } else if (taskInstance.getState().isFinished()) {
                 // todo: when the task instance type is pause, then it should not in completeTaskSet
-                completeTaskSet.add(taskInstance.getTaskCode());
+                addCompleteTask(taskInstance.getTaskCode());
             }
             log.info("TaskInstance finished will try to update the workflow instance state, task code:{} state:{}",
                     taskInstance.getTaskCode(),
@@ -422,7 +442,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         } catch (Exception ex) {
             log.error("Task finish failed, get a exception, will remove this taskInstance from completeTaskSet", ex);
             // remove the task from complete map, so that we can finish in the next time.
-            completeTaskSet.remove(taskInstance.getTaskCode());
+            removeCompleteTask(taskInstance.getTaskCode());
             throw ex;
         }
     }
@@ -691,6 +711,10 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                 submitPostNode(null);
                 workflowRunnableStatus = WorkflowRunnableStatus.STARTED;
                 log.info("workflowStatue changed to :{}", workflowRunnableStatus);
+                if (eventSize() > 0) {
+                    // the state events added before started are not handled
+                    workflowExecuteRunnableReadyQueue.markReady(this);
+                }
             }
             return WorkflowStartStatus.SUCCESS;
         } catch (Exception e) {
@@ -727,6 +751,9 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         });
         // Log the workflowInstance in detail
         log.info(WorkflowInstanceUtils.logWorkflowInstanceInDetails(workflowInstance));
+        if (workflowInstance.getState().isFinished()) {
+            subWorkflowFinishNotifier.notifyParentTaskInstance(workflowInstance);
+        }
     }
 
     public void checkSerialProcess(ProcessDefinition processDefinition) {
@@ -780,6 +807,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         taskExecuteRunnableMap.clear();
         dependFailedTaskSet.clear();
         completeTaskSet.clear();
+        completeTaskIds.clear();
         errorTaskMap.clear();
 
         ProcessInstance workflowInstance = workflowExecuteContext.getWorkflowInstance();
@@ -819,7 +847,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
 
                     if (task.isTaskComplete()) {
                         log.info("TaskInstance is already complete.");
-                        completeTaskSet.add(task.getTaskCode());
+                        addCompleteTask(task.getTaskCode());
                         continue;
                     }
                     if (task.isConditionsTask() || DagHelper.haveConditionsAfterNode(task.getTaskCode(),
@@ -1310,7 +1338,8 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
             }
         }
         // the end node of the branch of the dag
-        if (parentNodeCode != null && dag.getEndNode().contains(parentNodeCode)) {
+        CompiledWorkflowGraph compiledGraph = workflowExecuteContext.getWorkflowGraph().getCompiledGraph();
+        if (parentNodeCode != null && compiledGraph.isEndTask(compiledGraph.getTaskId(parentNodeCode))) {
             Optional<TaskInstance> existTaskInstanceOptional = getTaskInstance(parentNodeCode);
             if (existTaskInstanceOptional.isPresent()) {
                 TaskInstance endTaskInstance = taskInstanceMap.get(existTaskInstanceOptional.get().getId());
@@ -1416,75 +1445,72 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
      * @return DependResult
      */
     private DependResult isTaskDepsComplete(Long taskCode) {
-        DAG<Long, TaskNode, TaskNodeRelation> dag = workflowExecuteContext.getWorkflowGraph().getDag();
+        IWorkflowGraph workflowGraph = workflowExecuteContext.getWorkflowGraph();
+        CompiledWorkflowGraph compiledGraph = workflowGraph.getCompiledGraph();
 
-        Collection<Long> startNodes = dag.getBeginNode();
+        int taskId = compiledGraph.getTaskId(taskCode);
         // if vertex,returns true directly
-        if (startNodes.contains(taskCode)) {
+        if (compiledGraph.isBeginTask(taskId)) {
             return DependResult.SUCCESS;
         }
-        TaskNode taskNode = dag.getNode(taskCode);
-        List<Long> indirectDepCodeList = new ArrayList<>();
-        setIndirectDepList(taskCode, indirectDepCodeList);
-        for (Long depsNode : indirectDepCodeList) {
-            if (dag.containsNode(depsNode) && !skipTaskNodeMap.containsKey(depsNode)) {
-                // dependencies must be fully completed
-                if (!completeTaskSet.contains(depsNode)) {
-                    return DependResult.WAITING;
-                }
+        TaskNode taskNode = workflowGraph.getDag().getNode(taskCode);
+        // the dependencies are traced through the forbidden upstream tasks, and only the ones in the dag are kept
+        for (int i = 0, count = compiledGraph.getDependencyCount(taskId); i < count; i++) {
+            int depsTaskId = compiledGraph.getDependency(taskId, i);
+            Long depsNode = compiledGraph.getTaskCode(depsTaskId);
+            if (skipTaskNodeMap.containsKey(depsNode)) {
+                continue;
+            }
+            // dependencies must be fully completed
+            if (!completeTaskIds.get(depsTaskId)) {
+                return DependResult.WAITING;
+            }
 
-                Optional<TaskInstance> existTaskInstanceOptional = getTaskInstance(depsNode);
-                if (!existTaskInstanceOptional.isPresent()) {
-                    return DependResult.NON_EXEC;
-                }
+            Optional<TaskInstance> existTaskInstanceOptional = getTaskInstance(depsNode);
+            if (!existTaskInstanceOptional.isPresent()) {
+                return DependResult.NON_EXEC;
+            }
 
-                TaskExecutionStatus depTaskState =
-                        taskInstanceMap.get(existTaskInstanceOptional.get().getId()).getState();
-                if (depTaskState.isKill()) {
-                    return DependResult.NON_EXEC;
-                }
-                // ignore task state if current task is block
-                if (taskNode.isBlockingTask()) {
-                    continue;
-                }
+            TaskExecutionStatus depTaskState =
+                    taskInstanceMap.get(existTaskInstanceOptional.get().getId()).getState();
+            if (depTaskState.isKill()) {
+                return DependResult.NON_EXEC;
+            }
+            // ignore task state if current task is block
+            if (taskNode.isBlockingTask()) {
+                continue;
+            }
 
-                // always return success if current task is condition
-                if (taskNode.isConditionsTask()) {
-                    continue;
-                }
+            // always return success if current task is condition
+            if (taskNode.isConditionsTask()) {
+                continue;
+            }
 
-                if (!dependTaskSuccess(depsNode, taskCode)) {
-                    return DependResult.FAILED;
-                }
+            if (!dependTaskSuccess(depsNode, taskCode)) {
+                return DependResult.FAILED;
             }
         }
-        log.info("The dependTasks of task all success, currentTaskCode: {}, dependTaskCodes: {}",
-                taskCode, Arrays.toString(completeTaskSet.toArray()));
+        log.info("The dependTasks of task all success, currentTaskCode: {}, dependTaskCount: {}",
+                taskCode, compiledGraph.getDependencyCount(taskId));
         return DependResult.SUCCESS;
     }
 
-    /**
-     * This function is specially used to handle the dependency situation where the parent node is a prohibited node.
-     * When the parent node is a forbidden node, the dependency relationship should continue to be traced
-     *
-     * @param taskCode            taskCode
-     * @param indirectDepCodeList All indirectly dependent nodes
-     */
-    private void setIndirectDepList(Long taskCode, List<Long> indirectDepCodeList) {
-        IWorkflowGraph workflowGraph = workflowExecuteContext.getWorkflowGraph();
-        DAG<Long, TaskNode, TaskNodeRelation> dag = workflowGraph.getDag();
-        TaskNode taskNode = dag.getNode(taskCode);
-        // If workflow start with startNode or recoveryNode, taskNode may be null
-        if (taskNode == null) {
-            return;
-        }
+    private void addCompleteTask(Long taskCode) {
+        completeTaskSet.add(taskCode);
+        setCompleteTaskId(taskCode, true);
+    }
 
-        for (Long depsNode : taskNode.getDepList()) {
-            if (workflowGraph.isForbiddenTask(depsNode)) {
-                setIndirectDepList(depsNode, indirectDepCodeList);
-            } else {
-                indirectDepCodeList.add(depsNode);
-            }
+    private void removeCompleteTask(Long taskCode) {
+        completeTaskSet.remove(taskCode);
+        setCompleteTaskId(taskCode, false);
+    }
+
+    private void setCompleteTaskId(Long taskCode, boolean complete) {
+        CompiledWorkflowGraph compiledGraph = workflowExecuteContext.getWorkflowGraph().getCompiledGraph();
+        // the task may not in the dag, e.g. the workflow is recovered from a task instance out of the dag
+        int taskId = compiledGraph == null ? -1 : compiledGraph.getTaskId(taskCode);
+        if (taskId >= 0) {
+            completeTaskIds.set(taskId, complete);
         }
     }
 
@@ -1900,7 +1926,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                             "Task {} has been forced success, put it into complete task list and stop retrying, taskInstanceId: {}",
                             task.getName(), task.getId());
                     removeTaskFromStandbyList(task);
-                    completeTaskSet.add(task.getTaskCode());
+                    addCompleteTask(task.getTaskCode());
                     taskInstanceMap.put(task.getId(), task);
                     taskCodeInstanceMap.put(task.getTaskCode(), task);
                     submitPostNode(task.getTaskCode());
@@ -1911,9 +1937,9 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
             if (task.isFirstRun()) {
                 // get pre task ,get all the task varPool to this task
                 // Do not use dag.getPreviousNodes because of the dag may be miss the upstream node
-                String preTasks = workflowExecuteContext.getWorkflowGraph()
-                        .getTaskNodeByCode(task.getTaskCode()).getPreTasks();
-                Set<Long> preTaskList = new HashSet<>(JSONUtils.toList(preTasks, Long.class));
+                List<Long> preTasks = workflowExecuteContext.getWorkflowGraph()
+                        .getTaskNodeByCode(task.getTaskCode()).getDepList();
+                Set<Long> preTaskList = preTasks == null ? new HashSet<>() : new HashSet<>(preTasks);
                 getPreVarPool(task, preTaskList);
             }
             DependResult dependResult = getDependResultForTask(task);
@@ -1928,7 +1954,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                                 workflowInstance.getId(),
                                 task.getTaskCode());
                     }
-                    completeTaskSet.add(task.getTaskCode());
+                    addCompleteTask(task.getTaskCode());
                     taskInstanceMap.put(task.getId(), task);
                     taskCodeInstanceMap.put(task.getTaskCode(), task);
                     errorTaskMap.put(task.getTaskCode(), task.getId());
@@ -2124,8 +2150,12 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         // completeTaskSet remove dependency taskInstanceMap, so the sort can't change
         completeTaskSet.removeIf(taskCode -> {
             Optional<TaskInstance> existTaskInstanceOptional = getTaskInstance(taskCode);
-            return existTaskInstanceOptional
+            boolean remove = existTaskInstanceOptional
                     .filter(taskInstance -> dag.containsNode(taskInstance.getTaskCode())).isPresent();
+            if (remove) {
+                setCompleteTaskId(taskCode, false);
+            }
+            return remove;
         });
         taskInstanceMap.entrySet().removeIf(entry -> dag.containsNode(entry.getValue().getTaskCode()));
         validTaskMap.entrySet().removeIf(entry -> dag.containsNode(entry.getKey()));
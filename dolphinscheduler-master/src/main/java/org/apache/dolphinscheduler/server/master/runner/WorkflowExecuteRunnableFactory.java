@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.exception.WorkflowCreateException;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnableFactory;
+import org.apache.dolphinscheduler.server.master.runner.task.subworkflow.SubWorkflowFinishNotifier;
 import org.apache.dolphinscheduler.server.master.runner.taskgroup.TaskGroupCoordinator;
 import org.apache.dolphinscheduler.service.alert.ListenerEventAlertManager;
 import org.apache.dolphinscheduler.service.alert.ProcessAlertManager;
@@ -77,6 +78,12 @@ public class WorkflowExecuteRunnableFactory {
     @Autowired
     private TaskGroupCoordinator taskGroupCoordinator;
 
+    @Autowired
+    private WorkflowExecuteRunnableReadyQueue workflowExecuteRunnableReadyQueue;
+
+    @Autowired
+    private SubWorkflowFinishNotifier subWorkflowFinishNotifier;
+
     public Optional<WorkflowExecuteRunnable> createWorkflowExecuteRunnable(Command command) throws WorkflowCreateException {
         try {
             Optional<IWorkflowExecuteContext> workflowExecuteRunnableContextOptional =
@@ -93,7 +100,9 @@ public class WorkflowExecuteRunnableFactory {
                     taskInstanceDao,
                     defaultTaskExecuteRunnableFactory,
                     listenerEventAlertManager,
-                    taskGroupCoordinator));
+                    taskGroupCoordinator,
+                    workflowExecuteRunnableReadyQueue,
+                    subWorkflowFinishNotifier));
         } catch (Exception ex) {
             throw new WorkflowCreateException("Create WorkflowExecuteRunnable failed", ex);
         }
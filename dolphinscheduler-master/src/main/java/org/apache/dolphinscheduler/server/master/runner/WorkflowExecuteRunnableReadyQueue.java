@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@link WorkflowExecuteRunnable}s which have pending state events, the {@link EventExecuteService} only drain the
+ * ready workflows rather than scanning all the running workflows.
+ * <p> A workflow is in the queue at most once until it is polled, so it should be marked ready again if there are still
+ * state events after handling.
+ */
+@Slf4j
+@Component
+public class WorkflowExecuteRunnableReadyQueue {
+
+    private final LinkedBlockingQueue<WorkflowExecuteRunnable> readyQueue = new LinkedBlockingQueue<>();
+
+    private final Set<Integer> readyWorkflowInstanceIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Mark the workflow has state events to handle, will do nothing if the workflow is already in the queue.
+     */
+    public void markReady(WorkflowExecuteRunnable workflowExecuteRunnable) {
+        Integer workflowInstanceId = workflowExecuteRunnable.getWorkflowExecuteContext().getWorkflowInstance().getId();
+        if (readyWorkflowInstanceIds.add(workflowInstanceId)) {
+            readyQueue.add(workflowExecuteRunnable);
+        }
+    }
+
+    /**
+     * Retrieve and remove the head ready workflow, waiting up to the given time if the queue is empty.
+     *
+     * @return the ready workflow, null if the timeout elapses
+     */
+    public WorkflowExecuteRunnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        WorkflowExecuteRunnable workflowExecuteRunnable = readyQueue.poll(timeout, unit);
+        if (workflowExecuteRunnable != null) {
+            // remove the id after polled, so the events added from now on will mark the workflow ready again
+            readyWorkflowInstanceIds
+                    .remove(workflowExecuteRunnable.getWorkflowExecuteContext().getWorkflowInstance().getId());
+        }
+        return workflowExecuteRunnable;
+    }
+
+    public int size() {
+        return readyQueue.size();
+    }
+
+    public void clear() {
+        readyQueue.clear();
+        readyWorkflowInstanceIds.clear();
+    }
+}
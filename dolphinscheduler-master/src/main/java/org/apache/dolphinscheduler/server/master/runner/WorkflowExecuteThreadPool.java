@@ -50,6 +50,9 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
     @Autowired
     private StateWheelExecuteThread stateWheelExecuteThread;
 
+    @Autowired
+    private WorkflowExecuteRunnableReadyQueue workflowExecuteRunnableReadyQueue;
+
     /**
      * multi-thread filter, avoid handling workflow at the same time
      */
@@ -103,6 +106,7 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
                 try {
                     log.error("Workflow instance events handle failed", ex);
                     multiThreadFilterMap.remove(workflowInstanceId);
+                    markReadyIfHasEvents(workflowExecuteThread);
                 } finally {
                     LogUtils.removeWorkflowInstanceIdMDC();
                 }
@@ -125,10 +129,21 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
                 } finally {
                     // make sure the process has been removed from multiThreadFilterMap
                     multiThreadFilterMap.remove(workflowInstanceId);
+                    markReadyIfHasEvents(workflowExecuteThread);
                     LogUtils.removeWorkflowInstanceIdMDC();
                 }
             }
         });
     }
 
+    /**
+     * The events may be added during handling or left for retry, they should be handled again once the workflow is
+     * removed from multiThreadFilterMap.
+     */
+    private void markReadyIfHasEvents(WorkflowExecuteRunnable workflowExecuteThread) {
+        if (workflowExecuteThread.eventSize() > 0) {
+            workflowExecuteRunnableReadyQueue.markReady(workflowExecuteThread);
+        }
+    }
+
 }
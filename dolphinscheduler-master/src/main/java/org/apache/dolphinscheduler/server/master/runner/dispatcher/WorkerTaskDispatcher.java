@@ -28,6 +28,7 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
 import org.apache.dolphinscheduler.server.master.dispatch.host.HostManager;
+import org.apache.dolphinscheduler.server.master.dispatch.host.WorkerCapacityLedger;
 import org.apache.dolphinscheduler.server.master.exception.TaskDispatchException;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventService;
 import org.apache.dolphinscheduler.server.master.runner.BaseTaskDispatcher;
@@ -45,16 +46,22 @@ public class WorkerTaskDispatcher extends BaseTaskDispatcher {
 
     private final HostManager hostManager;
 
+    private final WorkerCapacityLedger workerCapacityLedger;
+
     public WorkerTaskDispatcher(TaskEventService taskEventService,
                                 MasterConfig masterConfig,
-                                HostManager hostManager) {
+                                HostManager hostManager,
+                                WorkerCapacityLedger workerCapacityLedger) {
         super(taskEventService, masterConfig);
         this.hostManager = checkNotNull(hostManager);
+        this.workerCapacityLedger = checkNotNull(workerCapacityLedger);
     }
 
     @Override
     protected void doDispatch(TaskExecuteRunnable taskExecuteRunnable) throws TaskDispatchException {
         TaskExecutionContext taskExecutionContext = taskExecuteRunnable.getTaskExecutionContext();
+        // reserve the slot before sending, so the concurrent dispatching can see it
+        workerCapacityLedger.reserve(taskExecutionContext.getHost(), taskExecutionContext.getTaskInstanceId());
         try {
             ITaskInstanceOperator taskInstanceOperator = SingletonJdkDynamicRpcClientProxyFactory
                     .getProxyClient(taskExecutionContext.getHost(), ITaskInstanceOperator.class);
@@ -65,8 +72,10 @@ public class WorkerTaskDispatcher extends BaseTaskDispatcher {
                         taskExecutionContext.getHost(), taskInstanceDispatchResponse));
             }
         } catch (TaskDispatchException e) {
+            workerCapacityLedger.release(taskExecutionContext.getHost(), taskExecutionContext.getTaskInstanceId());
             throw e;
         } catch (Exception e) {
+            workerCapacityLedger.release(taskExecutionContext.getHost(), taskExecutionContext.getTaskInstanceId());
             throw new TaskDispatchException(String.format("Dispatch task to %s failed",
                     taskExecutionContext.getHost()), e);
         }
@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.server.master.runner.execute;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.DelayQueue;
 
 import javax.annotation.Nullable;
@@ -30,7 +32,14 @@ public class AsyncMasterTaskDelayQueue {
 
     private final DelayQueue<AsyncTaskExecutionContext> asyncTaskCheckDelayQueue = new DelayQueue<>();
 
+    /**
+     * taskInstanceId -> the async task which is waiting in the queue or being checked
+     */
+    private final Map<Integer, AsyncTaskExecutionContext> asyncTaskExecutionContextMap = new ConcurrentHashMap<>();
+
     public void addAsyncTask(@NonNull AsyncTaskExecutionContext asyncTaskExecutionContext) {
+        asyncTaskExecutionContextMap.put(asyncTaskExecutionContext.getTaskExecutionContext().getTaskInstanceId(),
+                asyncTaskExecutionContext);
         asyncTaskExecutionContext.refreshStartTime();
         asyncTaskCheckDelayQueue.add(asyncTaskExecutionContext);
     }
@@ -39,6 +48,34 @@ public class AsyncMasterTaskDelayQueue {
         return asyncTaskCheckDelayQueue.take();
     }
 
+    /**
+     * Remove the async task once its state is finished, the task will not be checked anymore.
+     */
+    public void removeAsyncTask(@NonNull AsyncTaskExecutionContext asyncTaskExecutionContext) {
+        asyncTaskExecutionContextMap.remove(asyncTaskExecutionContext.getTaskExecutionContext().getTaskInstanceId(),
+                asyncTaskExecutionContext);
+        asyncTaskCheckDelayQueue.remove(asyncTaskExecutionContext);
+    }
+
+    /**
+     * Check the state of the async task without waiting for the check interval.
+     * <p> If the task is being checked now, it will be checked again once it's added back to the queue, so the wakeup
+     * will not be lost.
+     *
+     * @return false if the async task is not found in this master
+     */
+    public boolean wakeupAsyncTask(int taskInstanceId) {
+        AsyncTaskExecutionContext asyncTaskExecutionContext = asyncTaskExecutionContextMap.get(taskInstanceId);
+        if (asyncTaskExecutionContext == null) {
+            return false;
+        }
+        asyncTaskExecutionContext.setWakeupPending(true);
+        if (asyncTaskCheckDelayQueue.remove(asyncTaskExecutionContext)) {
+            addAsyncTask(asyncTaskExecutionContext);
+        }
+        return true;
+    }
+
     public int getAsyncTaskRunningNum() {
         return asyncTaskCheckDelayQueue.size();
     }
@@ -40,6 +40,12 @@ public class AsyncTaskExecutionContext implements Delayed {
     private final long executeInterval;
     private long timeout;
 
+    /**
+     * Whether the task is woken up, e.g. the sub workflow instance which the task waits for is finished, the state of
+     * the task will be checked without delay when it is added back to the queue.
+     */
+    private volatile boolean wakeupPending;
+
     public AsyncTaskExecutionContext(@NonNull TaskExecutionContext taskExecutionContext,
                                      @NonNull AsyncTaskExecuteFunction asyncTaskExecuteFunction,
                                      @NonNull AsyncTaskCallbackFunction asyncTaskCallbackFunction) {
@@ -60,7 +66,10 @@ public class AsyncTaskExecutionContext implements Delayed {
     }
 
     public void refreshStartTime() {
-        if (executeTimes == 0) {
+        if (wakeupPending) {
+            wakeupPending = false;
+            currentStartTime = 0;
+        } else if (executeTimes == 0) {
             // The first time doesn't have delay
             executeTimes++;
         } else {
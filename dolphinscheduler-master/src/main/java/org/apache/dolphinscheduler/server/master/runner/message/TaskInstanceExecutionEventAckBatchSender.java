@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.message;
+
+import org.apache.dolphinscheduler.extract.base.client.RpcBatchSender;
+import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.worker.ITaskInstanceExecutionEventAckListener;
+import org.apache.dolphinscheduler.extract.worker.transportor.ITaskInstanceExecutionEventAck;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionEventAckBatch;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionFinishEventAck;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionInfoEventAck;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionRunningEventAck;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesce the task instance execution event acks sent to the same worker, and send them by one
+ * {@link ITaskInstanceExecutionEventAckListener#handleTaskInstanceExecutionEventAckBatch} call.
+ * <p> The ack should only be sent after the event is persisted, if the ack is lost the worker will resend the event.
+ * <p> If the worker doesn't support the batch method, e.g. it is not upgraded yet, the acks are sent one by one.
+ */
+@Slf4j
+@Component
+public class TaskInstanceExecutionEventAckBatchSender implements AutoCloseable {
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    private RpcBatchSender<ITaskInstanceExecutionEventAck> rpcBatchSender;
+
+    @PostConstruct
+    public void init() {
+        rpcBatchSender = new RpcBatchSender<>(
+                "TaskInstanceExecutionEventAckBatchSender",
+                masterConfig.getEventAckBatchWindow(),
+                masterConfig.getEventAckMaxBatchSize(),
+                this::sendBatch,
+                this::sendSingleAck);
+    }
+
+    public void sendRunningEventAck(String workerHost, int taskInstanceId) {
+        rpcBatchSender.add(workerHost, TaskInstanceExecutionRunningEventAck.success(taskInstanceId));
+    }
+
+    public void sendFinishEventAck(String workerHost, int taskInstanceId) {
+        rpcBatchSender.add(workerHost, TaskInstanceExecutionFinishEventAck.success(taskInstanceId));
+    }
+
+    public void sendInfoEventAck(String workerHost, int taskInstanceId) {
+        rpcBatchSender.add(workerHost, TaskInstanceExecutionInfoEventAck.success(taskInstanceId));
+    }
+
+    private CompletableFuture<Void> sendBatch(String workerHost, List<ITaskInstanceExecutionEventAck> acks) {
+        ITaskInstanceExecutionEventAckListener instanceExecutionEventAckListener =
+                SingletonJdkDynamicRpcClientProxyFactory
+                        .getProxyClient(workerHost, ITaskInstanceExecutionEventAckListener.class);
+        return instanceExecutionEventAckListener
+                .handleTaskInstanceExecutionEventAckBatch(TaskInstanceExecutionEventAckBatch.of(acks));
+    }
+
+    private void sendSingleAck(String workerHost, ITaskInstanceExecutionEventAck ack) {
+        try {
+            ITaskInstanceExecutionEventAckListener instanceExecutionEventAckListener =
+                    SingletonJdkDynamicRpcClientProxyFactory
+                            .getProxyClient(workerHost, ITaskInstanceExecutionEventAckListener.class);
+            ack.sendTo(instanceExecutionEventAckListener);
+        } catch (Exception ex) {
+            // the worker will resend the event if the ack is lost
+            log.warn("Send ack to worker: {} failed, ack: {}", workerHost, ack, ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (rpcBatchSender != null) {
+            rpcBatchSender.close();
+        }
+    }
+}
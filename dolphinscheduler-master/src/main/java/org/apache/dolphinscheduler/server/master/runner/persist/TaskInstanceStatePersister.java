@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.persist;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStateUpdate;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind the execution state updates of the task instances.
+ * <p> The updates of the same task instance are merged, the pending updates are written in one statement when the
+ * batch window elapsed or the pending task instances reach the max batch size, only the changed columns are written.
+ * <p> Batches are written one by one, a failed batch is merged back and retried in the next window, so the updates of a
+ * task instance are persisted in the order they are added. The future returned by {@link #persist} is the durability
+ * barrier, the event should only be acked to the worker after it is completed.
+ * <p> The futures are completed in a separate callback thread, so the callbacks such as sending the ack never block the
+ * flush thread.
+ */
+@Slf4j
+@Component
+public class TaskInstanceStatePersister implements AutoCloseable {
+
+    @Autowired
+    private TaskInstanceDao taskInstanceDao;
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    // guarded by this
+    private final Map<Integer, PendingUpdate> pendingUpdates = new LinkedHashMap<>();
+
+    // guarded by this
+    private Map<Integer, CompletableFuture<Void>> inFlightUpdates = Collections.emptyMap();
+
+    private int maxBatchSize;
+
+    private ScheduledExecutorService flushExecutor;
+
+    private ExecutorService callbackExecutor;
+
+    @PostConstruct
+    public void init() {
+        maxBatchSize = masterConfig.getTaskInstanceUpdateMaxBatchSize();
+        long batchWindow = masterConfig.getTaskInstanceUpdateBatchWindow().toMillis();
+        flushExecutor = ThreadUtils.newSingleDaemonScheduledExecutorService("TaskInstanceStatePersister-FlushThread");
+        callbackExecutor = ThreadUtils.newDaemonFixedThreadExecutor("TaskInstanceStatePersister-CallbackThread", 1);
+        flushExecutor.scheduleWithFixedDelay(this::flush, batchWindow, batchWindow, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Add the update to be persisted.
+     *
+     * @param update the changed columns of the task instance, can be empty
+     * @return the future which is completed once the update and all the previous updates of the task instance are
+     * persisted, it's never completed exceptionally since the failed update will be retried
+     */
+    public CompletableFuture<Void> persist(TaskInstanceStateUpdate update) {
+        CompletableFuture<Void> future;
+        boolean batchFull;
+        synchronized (this) {
+            PendingUpdate pendingUpdate = pendingUpdates.get(update.getId());
+            if (update.isEmpty()) {
+                if (pendingUpdate != null) {
+                    return pendingUpdate.future;
+                }
+                return inFlightUpdates.getOrDefault(update.getId(), CompletableFuture.completedFuture(null));
+            }
+            if (pendingUpdate == null) {
+                pendingUpdate = new PendingUpdate(update);
+                pendingUpdates.put(update.getId(), pendingUpdate);
+            } else {
+                pendingUpdate.update = pendingUpdate.update.merge(update);
+            }
+            future = pendingUpdate.future;
+            batchFull = pendingUpdates.size() >= maxBatchSize;
+        }
+        if (batchFull) {
+            flushExecutor.execute(this::flush);
+        }
+        return future;
+    }
+
+    public synchronized int getPendingSize() {
+        return pendingUpdates.size();
+    }
+
+    /**
+     * Write all the pending updates batch by batch, should only be called in the flush thread.
+     */
+    void flush() {
+        List<PendingUpdate> batch;
+        while (!(batch = pollBatch()).isEmpty()) {
+            List<TaskInstanceStateUpdate> updates = new ArrayList<>(batch.size());
+            for (PendingUpdate pendingUpdate : batch) {
+                updates.add(pendingUpdate.update);
+            }
+            try {
+                taskInstanceDao.batchUpdateTaskInstanceState(updates);
+            } catch (Throwable ex) {
+                log.error("Persist {} task instance state updates failed, will retry in the next batch window",
+                        batch.size(), ex);
+                requeue(batch);
+                return;
+            }
+            synchronized (this) {
+                inFlightUpdates = Collections.emptyMap();
+            }
+            completeBatch(batch);
+        }
+    }
+
+    private void completeBatch(List<PendingUpdate> batch) {
+        try {
+            callbackExecutor.execute(() -> batch.forEach(pendingUpdate -> pendingUpdate.future.complete(null)));
+        } catch (RejectedExecutionException ex) {
+            // the persister is closing, the callbacks are run in the flush thread
+            batch.forEach(pendingUpdate -> pendingUpdate.future.complete(null));
+        }
+    }
+
+    private synchronized List<PendingUpdate> pollBatch() {
+        if (pendingUpdates.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<PendingUpdate> batch = new ArrayList<>(Math.min(maxBatchSize, pendingUpdates.size()));
+        Map<Integer, CompletableFuture<Void>> inFlight = new HashMap<>();
+        Iterator<PendingUpdate> iterator = pendingUpdates.values().iterator();
+        while (batch.size() < maxBatchSize && iterator.hasNext()) {
+            PendingUpdate pendingUpdate = iterator.next();
+            iterator.remove();
+            batch.add(pendingUpdate);
+            inFlight.put(pendingUpdate.update.getId(), pendingUpdate.future);
+        }
+        inFlightUpdates = inFlight;
+        return batch;
+    }
+
+    /**
+     * Put the failed updates back, the newer update added during the write wins.
+     */
+    private synchronized void requeue(List<PendingUpdate> failedBatch) {
+        inFlightUpdates = Collections.emptyMap();
+        for (PendingUpdate failedUpdate : failedBatch) {
+            PendingUpdate newerUpdate = pendingUpdates.get(failedUpdate.update.getId());
+            if (newerUpdate == null) {
+                pendingUpdates.put(failedUpdate.update.getId(), failedUpdate);
+                continue;
+            }
+            newerUpdate.update = failedUpdate.update.merge(newerUpdate.update);
+            newerUpdate.future.thenRun(() -> failedUpdate.future.complete(null));
+        }
+    }
+
+    @Override
+    public void close() {
+        if (flushExecutor == null) {
+            return;
+        }
+        flushExecutor.shutdown();
+        try {
+            if (!flushExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("TaskInstanceStatePersister flush thread is not terminated in 5 seconds");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        callbackExecutor.shutdown();
+        try {
+            if (!callbackExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("TaskInstanceStatePersister callback thread is not terminated in 5 seconds");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        int pendingSize = getPendingSize();
+        if (pendingSize > 0) {
+            log.warn("TaskInstanceStatePersister is closed, {} task instance state updates are not persisted",
+                    pendingSize);
+        }
+    }
+
+    private static class PendingUpdate {
+
+        private TaskInstanceStateUpdate update;
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        PendingUpdate(TaskInstanceStateUpdate update) {
+            this.update = update;
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
 import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
 import org.apache.dolphinscheduler.server.master.runner.execute.AsyncTaskExecuteFunction;
+import org.apache.dolphinscheduler.service.command.CommandAvailableNotifier;
 import org.apache.dolphinscheduler.service.subworkflow.SubWorkflowService;
 
 import java.time.Duration;
@@ -43,7 +44,11 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class DynamicAsyncTaskExecuteFunction implements AsyncTaskExecuteFunction {
 
-    private static final Duration TASK_EXECUTE_STATE_CHECK_INTERVAL = Duration.ofSeconds(10);
+    /**
+     * The task is woken up once one of its sub workflow instances is finished, the periodic check is only a fallback in
+     * case the notification is lost.
+     */
+    private static final Duration TASK_EXECUTE_STATE_CHECK_INTERVAL = Duration.ofMinutes(1);
 
     private static final String OUTPUT_KEY = "dynamic.out";
 
@@ -55,6 +60,8 @@ public class DynamicAsyncTaskExecuteFunction implements AsyncTaskExecuteFunction
 
     private final CommandMapper commandMapper;
 
+    private final CommandAvailableNotifier commandAvailableNotifier;
+
     private final int degreeOfParallelism;
 
     private final DynamicLogicTask logicTask;
@@ -64,6 +71,7 @@ public class DynamicAsyncTaskExecuteFunction implements AsyncTaskExecuteFunction
                                            TaskInstance taskInstance,
                                            DynamicLogicTask dynamicLogicTask,
                                            CommandMapper commandMapper,
+                                           CommandAvailableNotifier commandAvailableNotifier,
                                            SubWorkflowService subWorkflowService,
                                            int degreeOfParallelism) {
         this.processInstance = processInstance;
@@ -72,6 +80,7 @@ public class DynamicAsyncTaskExecuteFunction implements AsyncTaskExecuteFunction
         this.degreeOfParallelism = degreeOfParallelism;
 
         this.commandMapper = commandMapper;
+        this.commandAvailableNotifier = commandAvailableNotifier;
         this.subWorkflowService = subWorkflowService;
     }
 
@@ -161,6 +170,7 @@ public class DynamicAsyncTaskExecuteFunction implements AsyncTaskExecuteFunction
                     parameters);
             command.setProcessInstanceId(subProcessInstance.getId());
             commandMapper.insert(command);
+            commandAvailableNotifier.notifyCommandAvailable(command.getId());
             log.info("start sub process instance, sub process instance id: {}, command: {}", subProcessInstance.getId(),
                     command);
         }
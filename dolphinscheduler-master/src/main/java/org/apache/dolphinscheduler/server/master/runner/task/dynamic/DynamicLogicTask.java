@@ -41,6 +41,7 @@ import org.apache.dolphinscheduler.plugin.task.api.utils.ParameterUtils;
 import org.apache.dolphinscheduler.server.master.exception.MasterTaskExecuteException;
 import org.apache.dolphinscheduler.server.master.runner.execute.AsyncTaskExecuteFunction;
 import org.apache.dolphinscheduler.server.master.runner.task.BaseAsyncLogicTask;
+import org.apache.dolphinscheduler.service.command.CommandAvailableNotifier;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.service.subworkflow.SubWorkflowService;
 
@@ -71,6 +72,8 @@ public class DynamicLogicTask extends BaseAsyncLogicTask<DynamicParameters> {
 
     private final CommandMapper commandMapper;
 
+    private final CommandAvailableNotifier commandAvailableNotifier;
+
     private final ProcessService processService;
 
     private ProcessInstance processInstance;
@@ -85,7 +88,8 @@ public class DynamicLogicTask extends BaseAsyncLogicTask<DynamicParameters> {
                             SubWorkflowService subWorkflowService,
                             ProcessService processService,
                             ProcessDefinitionMapper processDefineMapper,
-                            CommandMapper commandMapper) {
+                            CommandMapper commandMapper,
+                            CommandAvailableNotifier commandAvailableNotifier) {
         super(taskExecutionContext,
                 JSONUtils.parseObject(taskExecutionContext.getTaskParams(), new TypeReference<DynamicParameters>() {
                 }));
@@ -94,6 +98,7 @@ public class DynamicLogicTask extends BaseAsyncLogicTask<DynamicParameters> {
         this.processService = processService;
         this.processDefineMapper = processDefineMapper;
         this.commandMapper = commandMapper;
+        this.commandAvailableNotifier = commandAvailableNotifier;
 
         this.processInstance = processInstanceDao.queryById(taskExecutionContext.getProcessInstanceId());
         this.taskInstance = taskInstanceDao.queryById(taskExecutionContext.getTaskInstanceId());
@@ -118,7 +123,7 @@ public class DynamicLogicTask extends BaseAsyncLogicTask<DynamicParameters> {
             resetProcessInstanceStatus(existsSubProcessInstanceList);
         }
         return new DynamicAsyncTaskExecuteFunction(taskExecutionContext, processInstance, taskInstance, this,
-                commandMapper,
+                commandMapper, commandAvailableNotifier,
                 subWorkflowService, taskParameters.getDegreeOfParallelism());
     }
 
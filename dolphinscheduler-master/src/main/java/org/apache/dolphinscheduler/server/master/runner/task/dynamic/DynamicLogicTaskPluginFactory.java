@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.master.runner.task.ILogicTaskPluginFactory;
+import org.apache.dolphinscheduler.service.command.CommandAvailableNotifier;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.service.subworkflow.SubWorkflowService;
 
@@ -47,6 +48,9 @@ public class DynamicLogicTaskPluginFactory implements ILogicTaskPluginFactory<Dy
     @Autowired
     private CommandMapper commandMapper;
 
+    @Autowired
+    private CommandAvailableNotifier commandAvailableNotifier;
+
     @Autowired
     private ProcessService processService;
 
@@ -57,7 +61,7 @@ public class DynamicLogicTaskPluginFactory implements ILogicTaskPluginFactory<Dy
     public DynamicLogicTask createLogicTask(TaskExecutionContext taskExecutionContext) {
         return new DynamicLogicTask(taskExecutionContext, processInstanceDao, taskInstanceDao, subWorkflowService,
                 processService,
-                processDefineMapper, commandMapper);
+                processDefineMapper, commandMapper, commandAvailableNotifier);
 
     }
 
@@ -30,7 +30,11 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class SubWorkflowAsyncTaskExecuteFunction implements AsyncTaskExecuteFunction {
 
-    private static final Duration SUB_WORKFLOW_TASK_EXECUTE_STATE_CHECK_INTERVAL = Duration.ofSeconds(10);
+    /**
+     * The task is woken up once the sub workflow instance is finished, see {@link SubWorkflowFinishNotifier}, the
+     * periodic check is only a fallback in case the notification is lost.
+     */
+    private static final Duration SUB_WORKFLOW_TASK_EXECUTE_STATE_CHECK_INTERVAL = Duration.ofMinutes(1);
 
     private final TaskExecutionContext taskExecutionContext;
     private final ProcessInstanceDao processInstanceDao;
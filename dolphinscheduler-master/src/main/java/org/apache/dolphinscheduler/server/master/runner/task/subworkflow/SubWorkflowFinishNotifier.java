@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.task.subworkflow;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstanceMap;
+import org.apache.dolphinscheduler.dao.entity.RelationSubWorkflow;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.mapper.ProcessInstanceMapMapper;
+import org.apache.dolphinscheduler.dao.mapper.RelationSubWorkflowMapper;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.master.IWorkflowInstanceService;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceWakeupRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceWakeupResponse;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.runner.execute.AsyncMasterTaskDelayQueue;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.concurrent.ExecutorService;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Notify the parent task instance, the sub workflow task or the dynamic task, once the sub workflow instance is
+ * finished, so that the parent task doesn't need to wait for the next state check.
+ * <p> The parent task is woken up in process if it runs on this master, otherwise by RPC to its master. The notification
+ * is sent asynchronously so that the workflow event thread is not blocked by the query and the RPC, and it's best effort,
+ * the parent task still checks the state of the sub workflow instances periodically.
+ */
+@Slf4j
+@Component
+public class SubWorkflowFinishNotifier {
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    @Autowired
+    private ProcessInstanceMapMapper processInstanceMapMapper;
+
+    @Autowired
+    private RelationSubWorkflowMapper relationSubWorkflowMapper;
+
+    @Autowired
+    private TaskInstanceDao taskInstanceDao;
+
+    @Autowired
+    private AsyncMasterTaskDelayQueue asyncMasterTaskDelayQueue;
+
+    private final ExecutorService notifyExecutor =
+            ThreadUtils.newDaemonFixedThreadExecutor("SubWorkflowFinishNotifyThread", 1);
+
+    public void notifyParentTaskInstance(ProcessInstance subWorkflowInstance) {
+        if (subWorkflowInstance.getIsSubProcess() != Flag.YES) {
+            return;
+        }
+        try {
+            notifyExecutor.execute(() -> doNotifyParentTaskInstance(subWorkflowInstance));
+        } catch (Exception ex) {
+            log.warn("Submit the notification of the sub workflow instance: {} failed, the parent task will check the "
+                    + "state later", subWorkflowInstance.getId(), ex);
+        }
+    }
+
+    private void doNotifyParentTaskInstance(ProcessInstance subWorkflowInstance) {
+        try {
+            TaskInstance parentTaskInstance = queryParentTaskInstance(subWorkflowInstance.getId());
+            if (parentTaskInstance == null) {
+                log.warn("Cannot find the parent task instance of the sub workflow instance: {}",
+                        subWorkflowInstance.getId());
+                return;
+            }
+            if (parentTaskInstance.getState() != null && parentTaskInstance.getState().isFinished()) {
+                return;
+            }
+            String parentTaskHost = parentTaskInstance.getHost();
+            if (StringUtils.isEmpty(parentTaskHost) || Constants.NULL.equals(parentTaskHost)) {
+                log.warn("The host of the parent task instance: {} is empty, no need to notify",
+                        parentTaskInstance.getId());
+                return;
+            }
+            if (parentTaskHost.equals(masterConfig.getMasterAddress())) {
+                boolean wakeup = asyncMasterTaskDelayQueue.wakeupAsyncTask(parentTaskInstance.getId());
+                log.info("Wakeup the parent task instance: {} in process, result: {}", parentTaskInstance.getId(),
+                        wakeup);
+                return;
+            }
+            TaskInstanceWakeupRequest taskInstanceWakeupRequest = TaskInstanceWakeupRequest.builder()
+                    .processInstanceId(parentTaskInstance.getProcessInstanceId())
+                    .taskInstanceId(parentTaskInstance.getId())
+                    .build();
+            TaskInstanceWakeupResponse taskInstanceWakeupResponse = SingletonJdkDynamicRpcClientProxyFactory
+                    .getProxyClient(parentTaskHost, IWorkflowInstanceService.class)
+                    .wakeupAsyncTaskInstance(taskInstanceWakeupRequest);
+            log.info("Wakeup the parent task instance: {} on master: {}, response: {}", parentTaskInstance.getId(),
+                    parentTaskHost, taskInstanceWakeupResponse);
+        } catch (Exception ex) {
+            log.warn("Notify the parent task instance of the sub workflow instance: {} failed, the parent task will "
+                    + "check the state later", subWorkflowInstance.getId(), ex);
+        }
+    }
+
+    private TaskInstance queryParentTaskInstance(int subWorkflowInstanceId) {
+        ProcessInstanceMap processInstanceMap = processInstanceMapMapper.queryBySubProcessId(subWorkflowInstanceId);
+        if (processInstanceMap != null) {
+            return taskInstanceDao.queryById(processInstanceMap.getParentTaskInstanceId());
+        }
+        // the sub workflow instance of the dynamic task
+        RelationSubWorkflow relationSubWorkflow =
+                relationSubWorkflowMapper.queryParentWorkflowInstance((long) subWorkflowInstanceId);
+        if (relationSubWorkflow == null) {
+            return null;
+        }
+        return taskInstanceDao.queryByWorkflowInstanceIdAndTaskCode(
+                relationSubWorkflow.getParentWorkflowInstanceId().intValue(), relationSubWorkflow.getParentTaskCode());
+    }
+}
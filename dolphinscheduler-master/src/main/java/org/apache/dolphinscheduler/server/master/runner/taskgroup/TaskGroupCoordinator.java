@@ -45,8 +45,13 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.time.StopWatch;
 
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -76,6 +81,11 @@ import org.springframework.stereotype.Component;
  *         taskGroupCoordinator.releaseTaskGroupSlot(taskInstance);
  *     }
  * </pre>
+ * <p>
+ * Acquiring or releasing a slot wakes up the coordinator to hand out the slots of the related TaskGroup at once, the
+ * coordinator still checks all the TaskGroups every {@link #DISPATCH_ROUND_INTERVAL_MILLIS} to handle the changes made
+ * by other masters or the api server, and amends the TaskGroup useSize and the TaskGroupQueue status every
+ * {@link #AMEND_ROUND_INTERVAL_MILLIS} as a safety net.
  */
 @Slf4j
 @Component
@@ -98,6 +108,15 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
 
     private static int DEFAULT_LIMIT = 1000;
 
+    private static final long DISPATCH_ROUND_INTERVAL_MILLIS = Constants.SLEEP_TIME_MILLIS * 5;
+
+    private static final long AMEND_ROUND_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * The TaskGroup ids whose slot is acquired or released by this master, the coordinator will check them at once.
+     */
+    private final BlockingQueue<Integer> wakeupTaskGroupIds = new LinkedBlockingQueue<>();
+
     public TaskGroupCoordinator() {
         super("TaskGroupCoordinator");
     }
@@ -111,35 +130,79 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
 
     @Override
     public void run() {
+        long nextDispatchRoundTime = 0;
+        long nextAmendRoundTime = 0;
         while (!ServerLifeCycleManager.isStopped()) {
             try {
                 if (!ServerLifeCycleManager.isRunning()) {
+                    ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
                     continue;
                 }
+                Set<Integer> taskGroupIds = waitWakeupTaskGroupIds(nextDispatchRoundTime);
+                long now = System.currentTimeMillis();
+                boolean dispatchRound = now >= nextDispatchRoundTime;
+                boolean amendRound = now >= nextAmendRoundTime;
                 try {
                     registryClient.getLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
                     StopWatch taskGroupCoordinatorRoundTimeCost = StopWatch.createStarted();
 
-                    amendTaskGroupUseSize();
-                    amendTaskGroupQueueStatus();
-                    dealWithForceStartTaskGroupQueue();
-                    dealWithWaitingTaskGroupQueue();
+                    if (amendRound) {
+                        amendTaskGroupUseSize();
+                        amendTaskGroupQueueStatus();
+                        nextAmendRoundTime = now + AMEND_ROUND_INTERVAL_MILLIS;
+                    }
+                    if (dispatchRound) {
+                        dealWithForceStartTaskGroupQueue();
+                        dealWithWaitingTaskGroupQueue(taskGroupDao.queryAvailableTaskGroups());
+                        nextDispatchRoundTime = now + DISPATCH_ROUND_INTERVAL_MILLIS;
+                    } else if (!taskGroupIds.isEmpty()) {
+                        dealWithWaitingTaskGroupQueue(taskGroupDao.queryByIds(taskGroupIds));
+                    }
 
                     taskGroupCoordinatorRoundTimeCost.stop();
-                    log.info("TaskGroupCoordinator round time cost: {}/ms",
-                            taskGroupCoordinatorRoundTimeCost.getTime());
+                    if (dispatchRound) {
+                        log.info("TaskGroupCoordinator round time cost: {}/ms",
+                                taskGroupCoordinatorRoundTimeCost.getTime());
+                    } else {
+                        log.debug("TaskGroupCoordinator wakeup round for TaskGroups: {} time cost: {}/ms",
+                                taskGroupIds, taskGroupCoordinatorRoundTimeCost.getTime());
+                    }
                 } finally {
                     registryClient.releaseLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
                 }
+            } catch (InterruptedException e) {
+                log.warn("TaskGroupCoordinator is interrupted");
+                Thread.currentThread().interrupt();
+                break;
             } catch (Throwable e) {
                 log.error("TaskGroupCoordinator error", e);
-            } finally {
-                // sleep 5s
-                ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS * 5);
+                ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
             }
         }
     }
 
+    /**
+     * Wait until some TaskGroups need to be checked or the next dispatch round time is reached.
+     *
+     * @return the TaskGroup ids which are woken up, empty if the next dispatch round time is reached
+     */
+    private Set<Integer> waitWakeupTaskGroupIds(long nextDispatchRoundTime) throws InterruptedException {
+        long waitTime = nextDispatchRoundTime - System.currentTimeMillis();
+        Set<Integer> taskGroupIds = new HashSet<>();
+        if (waitTime > 0) {
+            Integer taskGroupId = wakeupTaskGroupIds.poll(waitTime, TimeUnit.MILLISECONDS);
+            if (taskGroupId != null) {
+                taskGroupIds.add(taskGroupId);
+            }
+        }
+        wakeupTaskGroupIds.drainTo(taskGroupIds);
+        return taskGroupIds;
+    }
+
+    private void wakeupTaskGroup(Integer taskGroupId) {
+        wakeupTaskGroupIds.offer(taskGroupId);
+    }
+
     /**
      * Make sure the TaskGroup useSize is equal to the TaskGroupQueue which status is {@link TaskGroupQueueStatus#ACQUIRE_SUCCESS} and forceStart is {@link org.apache.dolphinscheduler.common.enums.Flag#NO}.
      */
@@ -159,8 +222,12 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
             log.warn("The TaskGroup: {} useSize is {}, but the actual use size is {}, will amend it",
                     taskGroup.getName(),
                     taskGroup.getUseSize(), actualUseSize);
-            taskGroup.setUseSize(actualUseSize);
-            taskGroupDao.updateById(taskGroup);
+            // The slot may be released between counting the TaskGroupQueue and amending, only amend the useSize if it's
+            // not changed since observed, otherwise the released slot is subtracted twice
+            if (!taskGroupDao.amendTaskGroupUseSize(taskGroup.getId(), taskGroup.getUseSize(), actualUseSize)) {
+                log.info("The TaskGroup: {} useSize is changed concurrently, will amend it in the next round",
+                        taskGroup.getName());
+            }
         }
         log.info("Success amend TaskGroup useSize cost: {}/ms", taskGroupCoordinatorRoundTimeCost.getTime());
     }
@@ -275,12 +342,11 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
         }
     }
 
-    private void dealWithWaitingTaskGroupQueue() {
+    private void dealWithWaitingTaskGroupQueue(List<TaskGroup> taskGroups) {
         // Find the TaskGroup which usage < maxSize.
         // Find the highest priority inQueue task group queue(Which is inQueue and status is Waiting and force start is
         // NO) belong to the
         // task group.
-        List<TaskGroup> taskGroups = taskGroupDao.queryAvailableTaskGroups();
         if (CollectionUtils.isEmpty(taskGroups)) {
             log.debug("There is no available task group");
             return;
@@ -395,6 +461,9 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
                 .build();
         log.info("Success insert TaskGroupQueue: {} for TaskInstance: {}", taskGroupQueue, taskInstance.getName());
         taskGroupQueueDao.insert(taskGroupQueue);
+        if (taskGroup.getUseSize() < taskGroup.getGroupSize()) {
+            wakeupTaskGroup(taskGroup.getId());
+        }
     }
 
     /**
@@ -485,11 +554,21 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
             log.info("The TaskGroupQueue: {} is already released", taskGroupQueue);
             return;
         }
+        // Only the TaskGroupQueue which acquired success and not force start is counted in the TaskGroup useSize
+        boolean usingSlot = TaskGroupQueueStatus.ACQUIRE_SUCCESS.equals(taskGroupQueue.getStatus())
+                && Flag.YES.getCode() == taskGroupQueue.getInQueue()
+                && Flag.NO.getCode() == taskGroupQueue.getForceStart();
         taskGroupQueue.setInQueue(Flag.NO.getCode());
         taskGroupQueue.setStatus(TaskGroupQueueStatus.RELEASE);
         taskGroupQueue.setUpdateTime(new Date());
         taskGroupQueueDao.updateById(taskGroupQueue);
         log.info("Success release TaskGroupQueue: {}", taskGroupQueue);
+        if (usingSlot) {
+            // Give back the slot at once rather than waiting for the amend round, the amend round only amends the
+            // useSize which is not changed since it's observed, so it will not subtract this slot again
+            taskGroupDao.releaseTaskGroupSlot(taskGroupQueue.getGroupId());
+            wakeupTaskGroup(taskGroupQueue.getGroupId());
+        }
     }
 
 }
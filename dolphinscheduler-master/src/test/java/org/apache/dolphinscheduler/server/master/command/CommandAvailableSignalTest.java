@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.command;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class CommandAvailableSignalTest {
+
+    private final CommandAvailableSignal commandAvailableSignal = new CommandAvailableSignal();
+
+    @Test
+    void awaitTimeout() throws InterruptedException {
+        assertThat(commandAvailableSignal.await(10)).isFalse();
+    }
+
+    @Test
+    void awaitSignalBeforeWaiting() throws InterruptedException {
+        commandAvailableSignal.signal();
+        commandAvailableSignal.signal();
+        assertThat(commandAvailableSignal.await(10)).isTrue();
+        // the signals are merged
+        assertThat(commandAvailableSignal.await(10)).isFalse();
+    }
+
+    @Test
+    void awaitClearedSignal() throws InterruptedException {
+        commandAvailableSignal.signal();
+        commandAvailableSignal.clear();
+        assertThat(commandAvailableSignal.await(10)).isFalse();
+    }
+
+    @Test
+    void awaitWakeUpBySignal() throws Exception {
+        CompletableFuture<Boolean> awaitFuture = CompletableFuture.supplyAsync(() -> {
+            try {
+                return commandAvailableSignal.await(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        commandAvailableSignal.signal();
+        assertThat(awaitFuture.get(10, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.command;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.server.master.config.CommandFetchStrategy;
+import org.apache.dolphinscheduler.server.master.registry.MasterSlotManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class IdRangeBasedCommandFetcherTest {
+
+    @Mock
+    private MasterSlotManager masterSlotManager;
+
+    @Mock
+    private CommandDao commandDao;
+
+    private IdRangeBasedCommandFetcher commandFetcher;
+
+    @BeforeEach
+    void setUp() {
+        CommandFetchStrategy.IdSlotBasedFetchConfig fetchConfig = new CommandFetchStrategy.IdSlotBasedFetchConfig();
+        fetchConfig.setIdStep(2);
+        fetchConfig.setFetchSize(2);
+        commandFetcher = new IdRangeBasedCommandFetcher(fetchConfig, masterSlotManager, commandDao);
+    }
+
+    @Test
+    void getFirstOwnedId() {
+        // idStep = 2, totalSlot = 3, slot 1 owns [2, 4), [8, 10), [14, 16)...
+        assertThat(IdRangeBasedCommandFetcher.getFirstOwnedId(0, 1, 3, 2)).isEqualTo(2);
+        assertThat(IdRangeBasedCommandFetcher.getFirstOwnedId(3, 1, 3, 2)).isEqualTo(3);
+        assertThat(IdRangeBasedCommandFetcher.getFirstOwnedId(4, 1, 3, 2)).isEqualTo(8);
+        assertThat(IdRangeBasedCommandFetcher.getFirstOwnedId(10, 1, 3, 2)).isEqualTo(14);
+        assertThat(IdRangeBasedCommandFetcher.getFirstOwnedId(10, 0, 1, 2)).isEqualTo(10);
+    }
+
+    @Test
+    void fetchCommandsWithCursor() {
+        Mockito.when(masterSlotManager.getSlot()).thenReturn(0);
+        Mockito.when(masterSlotManager.getMasterSize()).thenReturn(2);
+        Mockito.when(commandDao.queryCommandByIdSlotFromId(eq(0), eq(2), eq(2), anyLong(), anyInt()))
+                .thenReturn(commands(1, 4))
+                .thenReturn(commands(5))
+                .thenReturn(commands(1));
+
+        assertThat(ids(commandFetcher.fetchCommands())).containsExactly(1, 4).inOrder();
+        // seek from the next owned range after the last command id
+        Mockito.verify(commandDao).queryCommandByIdSlotFromId(0, 2, 2, 0, 2);
+
+        assertThat(ids(commandFetcher.fetchCommands())).containsExactly(5);
+        Mockito.verify(commandDao).queryCommandByIdSlotFromId(0, 2, 2, 5, 2);
+
+        // the tail is reached, seek from the beginning
+        assertThat(ids(commandFetcher.fetchCommands())).containsExactly(1);
+        Mockito.verify(commandDao, Mockito.times(2)).queryCommandByIdSlotFromId(0, 2, 2, 0, 2);
+    }
+
+    @Test
+    void fetchCommandsSortedByPriority() {
+        Mockito.when(masterSlotManager.getSlot()).thenReturn(0);
+        Mockito.when(masterSlotManager.getMasterSize()).thenReturn(1);
+        List<Command> commands = commands(1, 2);
+        commands.get(1).setProcessInstancePriority(Priority.HIGHEST);
+        Mockito.when(commandDao.queryCommandByIdSlotFromId(0, 1, 2, 0, 2)).thenReturn(commands);
+
+        assertThat(ids(commandFetcher.fetchCommands())).containsExactly(2, 1).inOrder();
+    }
+
+    @Test
+    void fetchCommandsWithInvalidSlot() {
+        Mockito.when(masterSlotManager.getSlot()).thenReturn(0);
+        Mockito.when(masterSlotManager.getMasterSize()).thenReturn(0);
+
+        assertThat(commandFetcher.fetchCommands()).isEmpty();
+        Mockito.verifyNoInteractions(commandDao);
+    }
+
+    private List<Command> commands(int... ids) {
+        List<Command> commands = new ArrayList<>();
+        for (int id : ids) {
+            Command command = new Command();
+            command.setId(id);
+            command.setProcessInstancePriority(Priority.MEDIUM);
+            commands.add(command);
+        }
+        return commands;
+    }
+
+    private List<Integer> ids(List<Command> commands) {
+        return commands.stream().map(Command::getId).collect(Collectors.toList());
+    }
+}
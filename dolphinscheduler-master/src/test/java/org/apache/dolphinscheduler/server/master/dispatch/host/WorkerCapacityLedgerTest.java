@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.dispatch.host;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
+
+import org.junit.jupiter.api.Test;
+
+class WorkerCapacityLedgerTest {
+
+    private static final String WORKER = "127.0.0.1:1234";
+
+    private final WorkerCapacityLedger workerCapacityLedger = new WorkerCapacityLedger();
+
+    @Test
+    void testUnknownCapacity() {
+        assertThat(workerCapacityLedger.getFreeSlots(WORKER)).isEqualTo(Integer.MAX_VALUE);
+
+        // the heartbeat reported by the old version worker doesn't contain the exec threads
+        workerCapacityLedger.reconcile(WORKER, heartBeat(0, 10, System.currentTimeMillis()));
+        workerCapacityLedger.reserve(WORKER, 1);
+        assertThat(workerCapacityLedger.hasFreeSlots(WORKER)).isTrue();
+    }
+
+    @Test
+    void testReserveAndRelease() {
+        workerCapacityLedger.reconcile(WORKER, heartBeat(2, 0, System.currentTimeMillis() - 1000));
+        workerCapacityLedger.reserve(WORKER, 1);
+        workerCapacityLedger.reserve(WORKER, 2);
+        assertThat(workerCapacityLedger.getFreeSlots(WORKER)).isEqualTo(0);
+        assertThat(workerCapacityLedger.hasFreeSlots(WORKER)).isFalse();
+
+        workerCapacityLedger.release(WORKER, 1);
+        assertThat(workerCapacityLedger.getFreeSlots(WORKER)).isEqualTo(1);
+        // release twice should not free more slots
+        workerCapacityLedger.release(WORKER, 1);
+        assertThat(workerCapacityLedger.getFreeSlots(WORKER)).isEqualTo(1);
+    }
+
+    @Test
+    void testReconcileDropsReservationsCountedByHeartBeat() {
+        long now = System.currentTimeMillis();
+        // the worker clock is an hour behind the master clock
+        long workerNow = now - 3600_000;
+        workerCapacityLedger.reconcile(WORKER, heartBeat(4, 0, workerNow - 10_000), now - 10_000);
+        workerCapacityLedger.reserve(WORKER, 1);
+        workerCapacityLedger.reserve(WORKER, 2);
+        assertThat(workerCapacityLedger.getFreeSlots(WORKER)).isEqualTo(2);
+
+        // the reservations are made after the previous heartbeat is received, they may not be counted by this one
+        workerCapacityLedger.reconcile(WORKER, heartBeat(4, 2, workerNow + 10_000), now + 10_000);
+        assertThat(workerCapacityLedger.getFreeSlots(WORKER)).isEqualTo(0);
+
+        // the next heartbeat counts the two dispatched tasks
+        workerCapacityLedger.reconcile(WORKER, heartBeat(4, 2, workerNow + 20_000), now + 20_000);
+        assertThat(workerCapacityLedger.getFreeSlots(WORKER)).isEqualTo(2);
+
+        // the stale heartbeat is ignored
+        workerCapacityLedger.reconcile(WORKER, heartBeat(4, 0, workerNow), now + 30_000);
+        assertThat(workerCapacityLedger.getFreeSlots(WORKER)).isEqualTo(2);
+    }
+
+    @Test
+    void testRemoveWorker() {
+        workerCapacityLedger.reconcile(WORKER, heartBeat(1, 1, System.currentTimeMillis()));
+        assertThat(workerCapacityLedger.hasFreeSlots(WORKER)).isFalse();
+
+        workerCapacityLedger.removeWorker(WORKER);
+        assertThat(workerCapacityLedger.getFreeSlots(WORKER)).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    private WorkerHeartBeat heartBeat(int execThreads, int threadPoolUsage, long reportTime) {
+        return WorkerHeartBeat.builder()
+                .workerExecThreads(execThreads)
+                .threadPoolUsage(threadPoolUsage)
+                .reportTime(reportTime)
+                .build();
+    }
+}
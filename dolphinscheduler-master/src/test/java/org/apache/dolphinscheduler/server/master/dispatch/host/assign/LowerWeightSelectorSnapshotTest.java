@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.dispatch.host.assign;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LowerWeightSelectorSnapshotTest {
+
+    @Test
+    void testSameOrderAsLowerWeightRoundRobin() {
+        List<HostWeight> sources = hostWeights();
+        LowerWeightSelectorSnapshot snapshot = new LowerWeightSelectorSnapshot(sources);
+        LowerWeightRoundRobin roundRobin = new LowerWeightRoundRobin();
+        for (int i = 0; i < 100; i++) {
+            assertThat(snapshot.select().getHost().getAddress())
+                    .isEqualTo(roundRobin.select(sources).getHost().getAddress());
+        }
+    }
+
+    @Test
+    void testSelectPreferred() {
+        LowerWeightSelectorSnapshot snapshot = new LowerWeightSelectorSnapshot(hostWeights());
+        for (int i = 0; i < 10; i++) {
+            assertThat(snapshot.select(host -> host.getIp().equals("192.158.2.3")).getHost().getIp())
+                    .isEqualTo("192.158.2.3");
+        }
+        // fallback to the scheduled host if no host is preferred
+        assertThat(snapshot.select(host -> false)).isNotNull();
+    }
+
+    @Test
+    void testConcurrentSelect() throws InterruptedException {
+        List<HostWeight> sources = hostWeights();
+        LowerWeightSelectorSnapshot snapshot = new LowerWeightSelectorSnapshot(sources);
+        int threads = 4;
+        int rounds = 3 * 64;
+        Map<String, AtomicInteger> selectedTimes = new ConcurrentHashMap<>();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch countDownLatch = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            executorService.execute(() -> {
+                for (int j = 0; j < rounds; j++) {
+                    selectedTimes.computeIfAbsent(snapshot.select().getHost().getAddress(),
+                            k -> new AtomicInteger()).incrementAndGet();
+                }
+                countDownLatch.countDown();
+            });
+        }
+        Assertions.assertTrue(countDownLatch.await(10, TimeUnit.SECONDS));
+        executorService.shutdownNow();
+
+        // the schedule is selected exactly 4 times, so the distribution is the same as a single thread
+        LowerWeightSelectorSnapshot expectedSnapshot = new LowerWeightSelectorSnapshot(sources);
+        Map<String, Integer> expectedTimes = new ConcurrentHashMap<>();
+        for (int i = 0; i < threads * rounds; i++) {
+            expectedTimes.merge(expectedSnapshot.select().getHost().getAddress(), 1, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> entry : expectedTimes.entrySet()) {
+            assertThat(selectedTimes.get(entry.getKey()).get()).isEqualTo(entry.getValue());
+        }
+    }
+
+    @Test
+    void testEmptySource() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new LowerWeightSelectorSnapshot(Collections.emptyList()));
+    }
+
+    private List<HostWeight> hostWeights() {
+        long now = System.currentTimeMillis();
+        List<HostWeight> sources = new ArrayList<>();
+        sources.add(new HostWeight(HostWorker.of("192.158.2.1:11", 100, "default"), 0.06, 0.44, 0.384, 0.1,
+                now - 60 * 8 * 1000));
+        sources.add(new HostWeight(HostWorker.of("192.158.2.2:22", 100, "default"), 0.06, 0.56, 0.324, 0.2,
+                now - 60 * 5 * 1000));
+        sources.add(new HostWeight(HostWorker.of("192.158.2.3:33", 100, "default"), 0.06, 0.80, 0.315, 0.1,
+                now - 60 * 2 * 1000));
+        return sources;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.graph;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CompiledWorkflowGraphTest {
+
+    @Test
+    void testCompile() {
+        // 30 -> 20 -> 10, 30 -> 40
+        DAG<Long, TaskNode, TaskNodeRelation> dag = new DAG<>();
+        addNode(dag, 30L);
+        addNode(dag, 20L, 30L);
+        addNode(dag, 10L, 20L);
+        addNode(dag, 40L, 30L);
+        dag.addEdge(30L, 20L);
+        dag.addEdge(20L, 10L);
+        dag.addEdge(30L, 40L);
+
+        CompiledWorkflowGraph compiledGraph = CompiledWorkflowGraph.compile(dag, Collections.emptySet());
+
+        assertThat(compiledGraph.getTaskCount()).isEqualTo(4);
+        // the task ids are assigned in ascending order of the codes
+        assertThat(compiledGraph.getTaskId(10L)).isEqualTo(0);
+        assertThat(compiledGraph.getTaskId(40L)).isEqualTo(3);
+        assertThat(compiledGraph.getTaskCode(1)).isEqualTo(20L);
+        assertThat(compiledGraph.getTaskId(50L)).isEqualTo(-1);
+        assertThat(compiledGraph.containsTask(50L)).isFalse();
+
+        int task30 = compiledGraph.getTaskId(30L);
+        assertThat(compiledGraph.isBeginTask(task30)).isTrue();
+        assertThat(compiledGraph.isEndTask(task30)).isFalse();
+        assertThat(successorCodes(compiledGraph, task30)).containsExactly(20L, 40L);
+        assertThat(compiledGraph.isEndTask(compiledGraph.getTaskId(10L))).isTrue();
+        assertThat(compiledGraph.isBeginTask(-1)).isFalse();
+        assertThat(compiledGraph.isEndTask(-1)).isFalse();
+        assertThat(compiledGraph.getDependencyCount(-1)).isEqualTo(0);
+
+        int task10 = compiledGraph.getTaskId(10L);
+        assertThat(compiledGraph.getPredecessorCount(task10)).isEqualTo(1);
+        assertThat(compiledGraph.getTaskCode(compiledGraph.getPredecessor(task10, 0))).isEqualTo(20L);
+
+        BitSet completeTaskIds = compiledGraph.newTaskIdSet();
+        assertThat(compiledGraph.isAllDependenciesIn(task10, completeTaskIds)).isFalse();
+        completeTaskIds.set(compiledGraph.getTaskId(20L));
+        assertThat(compiledGraph.isAllDependenciesIn(task10, completeTaskIds)).isTrue();
+    }
+
+    @Test
+    void testDependenciesTraceThroughForbiddenTasks() {
+        // 1 -> 2(forbidden) -> 4, 3 -> 4, 5 is not in the dag
+        DAG<Long, TaskNode, TaskNodeRelation> dag = new DAG<>();
+        addNode(dag, 1L);
+        addNode(dag, 2L, 1L);
+        addNode(dag, 3L);
+        addNode(dag, 4L, 3L, 2L, 5L);
+        dag.addEdge(1L, 2L);
+        dag.addEdge(2L, 4L);
+        dag.addEdge(3L, 4L);
+
+        CompiledWorkflowGraph compiledGraph =
+                CompiledWorkflowGraph.compile(dag, Collections.singleton(2L));
+
+        int task4 = compiledGraph.getTaskId(4L);
+        List<Long> dependencyCodes = new ArrayList<>();
+        for (int i = 0; i < compiledGraph.getDependencyCount(task4); i++) {
+            dependencyCodes.add(compiledGraph.getTaskCode(compiledGraph.getDependency(task4, i)));
+        }
+        // keep the declared order, the forbidden task is replaced by its upstream and the unknown task is excluded
+        assertThat(dependencyCodes).containsExactly(3L, 1L).inOrder();
+    }
+
+    private List<Long> successorCodes(CompiledWorkflowGraph compiledGraph, int taskId) {
+        List<Long> codes = new ArrayList<>();
+        for (int i = 0; i < compiledGraph.getSuccessorCount(taskId); i++) {
+            codes.add(compiledGraph.getTaskCode(compiledGraph.getSuccessor(taskId, i)));
+        }
+        return codes;
+    }
+
+    private void addNode(DAG<Long, TaskNode, TaskNodeRelation> dag, long code, Long... preTaskCodes) {
+        TaskNode taskNode = new TaskNode();
+        taskNode.setCode(code);
+        taskNode.setName("task-" + code);
+        taskNode.setPreTasks(JSONUtils.toJsonString(Arrays.asList(preTaskCodes)));
+        dag.addNode(code, taskNode);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.graph;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.common.constants.CommandKeyConstants;
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.ProcessTaskRelation;
+import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WorkflowGraphFactoryTest {
+
+    @InjectMocks
+    private WorkflowGraphFactory workflowGraphFactory;
+
+    @Mock
+    private ProcessService processService;
+
+    @Mock
+    private TaskInstanceDao taskInstanceDao;
+
+    @Mock
+    private TaskDefinitionLogDao taskDefinitionLogDao;
+
+    @Spy
+    private WorkflowDefinitionGraphCache workflowDefinitionGraphCache = new WorkflowDefinitionGraphCache();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Field masterConfig = WorkflowDefinitionGraphCache.class.getDeclaredField("masterConfig");
+        masterConfig.setAccessible(true);
+        masterConfig.set(workflowDefinitionGraphCache, new MasterConfig());
+        workflowDefinitionGraphCache.init();
+
+        // 1 -> 2 -> 3
+        List<ProcessTaskRelation> relations = Arrays.asList(relation(0L, 1L), relation(1L, 2L), relation(2L, 3L));
+        when(processService.findRelationByCode(1L, 1)).thenReturn(relations);
+        when(processService.transformTask(any(), any()))
+                .thenAnswer(invocation -> Arrays.asList(taskNode(1L), taskNode(2L, 1L), taskNode(3L, 2L)));
+    }
+
+    @Test
+    void testShareCompiledGraphOfSameDefinitionVersion() throws Exception {
+        IWorkflowGraph first = workflowGraphFactory.createWorkflowGraph(workflowInstance(null));
+        IWorkflowGraph second = workflowGraphFactory.createWorkflowGraph(workflowInstance(null));
+
+        assertThat(second.getDag()).isSameInstanceAs(first.getDag());
+        assertThat(second.getCompiledGraph()).isSameInstanceAs(first.getCompiledGraph());
+        assertThat(second.getTaskNodeByCode(2L)).isSameInstanceAs(first.getTaskNodeByCode(2L));
+        assertThat(first.getDag().getNodesCount()).isEqualTo(3);
+        verify(processService, times(1)).findRelationByCode(1L, 1);
+        assertThat(workflowDefinitionGraphCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testBuildDagFromStartNodes() throws Exception {
+        IWorkflowGraph full = workflowGraphFactory.createWorkflowGraph(workflowInstance(null));
+        IWorkflowGraph fromStartNode = workflowGraphFactory.createWorkflowGraph(workflowInstance("2"));
+
+        assertThat(fromStartNode.getDag()).isNotSameInstanceAs(full.getDag());
+        assertThat(fromStartNode.getDag().getNodesCount()).isEqualTo(2);
+        assertThat(fromStartNode.getDag().containsNode(1L)).isFalse();
+        verify(processService, times(1)).findRelationByCode(1L, 1);
+    }
+
+    private ProcessInstance workflowInstance(String startNodes) {
+        ProcessInstance workflowInstance = new ProcessInstance();
+        workflowInstance.setProcessDefinitionCode(1L);
+        workflowInstance.setProcessDefinitionVersion(1);
+        workflowInstance.setTaskDependType(TaskDependType.TASK_POST);
+        workflowInstance.setCommandParam(startNodes == null ? "{}"
+                : JSONUtils.toJsonString(Collections.singletonMap(CommandKeyConstants.CMD_PARAM_START_NODES,
+                        startNodes)));
+        return workflowInstance;
+    }
+
+    private ProcessTaskRelation relation(long preTaskCode, long postTaskCode) {
+        ProcessTaskRelation relation = new ProcessTaskRelation();
+        relation.setPreTaskCode(preTaskCode);
+        relation.setPostTaskCode(postTaskCode);
+        return relation;
+    }
+
+    private TaskNode taskNode(long code, Long... preTaskCodes) {
+        TaskNode taskNode = new TaskNode();
+        taskNode.setCode(code);
+        taskNode.setName("task-" + code);
+        taskNode.setPreTasks(JSONUtils.toJsonString(new ArrayList<>(Arrays.asList(preTaskCodes))));
+        return taskNode;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.processor.queue;
+
+import static org.awaitility.Awaitility.await;
+
+import org.apache.dolphinscheduler.common.enums.TaskEventType;
+import org.apache.dolphinscheduler.server.master.event.TaskEventHandleException;
+import org.apache.dolphinscheduler.server.master.event.TaskEventHandler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TaskExecuteRunnableTest {
+
+    private ExecutorService executorService;
+
+    private final List<Integer> handledTaskInstanceIds = Collections.synchronizedList(new ArrayList<>());
+
+    private volatile boolean failOnce;
+
+    @BeforeEach
+    void before() {
+        executorService = Executors.newFixedThreadPool(4);
+        handledTaskInstanceIds.clear();
+        failOnce = false;
+    }
+
+    @AfterEach
+    void after() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void testEventIsHandledOnceAdded() {
+        TaskExecuteRunnable taskExecuteRunnable = new TaskExecuteRunnable(1, handlerMap(), executorService);
+        for (int i = 1; i <= 100; i++) {
+            taskExecuteRunnable.addEvent(TaskEvent.newDispatchEvent(1, i, "127.0.0.1:1234"));
+        }
+        await().atMost(Duration.ofSeconds(5)).until(taskExecuteRunnable::isEmpty);
+        await().atMost(Duration.ofSeconds(5)).until(() -> handledTaskInstanceIds.size() == 100);
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(i + 1, handledTaskInstanceIds.get(i));
+        }
+    }
+
+    @Test
+    void testRunnableIsScheduledOnlyOnce() {
+        ConcurrentLinkedQueue<Runnable> submitted = new ConcurrentLinkedQueue<>();
+        Executor executor = submitted::add;
+        TaskExecuteRunnable taskExecuteRunnable = new TaskExecuteRunnable(1, handlerMap(), executor);
+
+        taskExecuteRunnable.addEvent(TaskEvent.newDispatchEvent(1, 1, "127.0.0.1:1234"));
+        taskExecuteRunnable.addEvent(TaskEvent.newDispatchEvent(1, 2, "127.0.0.1:1234"));
+        Assertions.assertFalse(taskExecuteRunnable.trySchedule());
+        Assertions.assertEquals(1, submitted.size());
+
+        submitted.poll().run();
+        Assertions.assertTrue(taskExecuteRunnable.isEmpty());
+        Assertions.assertEquals(2, handledTaskInstanceIds.size());
+        // the mailbox is empty, there is nothing to schedule
+        Assertions.assertFalse(taskExecuteRunnable.trySchedule());
+        Assertions.assertTrue(submitted.isEmpty());
+
+        taskExecuteRunnable.addEvent(TaskEvent.newDispatchEvent(1, 3, "127.0.0.1:1234"));
+        Assertions.assertEquals(1, submitted.size());
+    }
+
+    @Test
+    void testFailedEventIsRetriedBySchedule() {
+        ConcurrentLinkedQueue<Runnable> submitted = new ConcurrentLinkedQueue<>();
+        TaskExecuteRunnable taskExecuteRunnable = new TaskExecuteRunnable(1, handlerMap(), submitted::add);
+        failOnce = true;
+
+        taskExecuteRunnable.addEvent(TaskEvent.newDispatchEvent(1, 1, "127.0.0.1:1234"));
+        submitted.poll().run();
+        // the failed event is kept at the head of the mailbox and is not rescheduled immediately
+        Assertions.assertFalse(taskExecuteRunnable.isEmpty());
+        Assertions.assertTrue(submitted.isEmpty());
+
+        Assertions.assertTrue(taskExecuteRunnable.trySchedule());
+        submitted.poll().run();
+        Assertions.assertTrue(taskExecuteRunnable.isEmpty());
+        Assertions.assertEquals(Collections.singletonList(1), handledTaskInstanceIds);
+    }
+
+    private Map<TaskEventType, TaskEventHandler> handlerMap() {
+        return Collections.singletonMap(TaskEventType.DISPATCH, new TaskEventHandler() {
+
+            @Override
+            public void handleTaskEvent(TaskEvent taskEvent) throws TaskEventHandleException {
+                if (failOnce) {
+                    failOnce = false;
+                    throw new TaskEventHandleException("Handle task event failed");
+                }
+                handledTaskInstanceIds.add(taskEvent.getTaskInstanceId());
+            }
+
+            @Override
+            public TaskEventType getHandleEventType() {
+                return TaskEventType.DISPATCH;
+            }
+        });
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.AlertDao;
 import org.apache.dolphinscheduler.registry.api.Event;
 import org.apache.dolphinscheduler.registry.api.RegistryClient;
+import org.apache.dolphinscheduler.server.master.dispatch.host.WorkerCapacityLedger;
 import org.apache.dolphinscheduler.service.alert.ListenerEventAlertManager;
 
 import java.lang.reflect.InvocationTargetException;
@@ -47,6 +48,9 @@ public class ServerNodeManagerTest {
     @Mock
     ListenerEventAlertManager listenerEventAlertManager;
 
+    @Mock
+    WorkerCapacityLedger workerCapacityLedger;
+
     @InjectMocks
     ServerNodeManager serverNodeManager;
 
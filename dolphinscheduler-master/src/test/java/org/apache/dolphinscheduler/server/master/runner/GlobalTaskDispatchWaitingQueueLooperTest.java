@@ -17,26 +17,36 @@
 
 package org.apache.dolphinscheduler.server.master.runner;
 
+import static com.google.common.truth.Truth.assertThat;
 import static java.time.Duration.ofSeconds;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import org.apache.dolphinscheduler.common.enums.Priority;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.exception.TaskDispatchException;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatchFactory;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatcher;
 import org.apache.dolphinscheduler.server.master.runner.operator.TaskExecuteRunnableOperatorManager;
 
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -45,6 +55,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -75,7 +86,7 @@ class GlobalTaskDispatchWaitingQueueLooperTest {
         when(taskDispatchFactory.getTaskDispatcher(taskInstance)).thenReturn(taskDispatcher);
         doNothing().when(taskDispatcher).dispatchTask(any());
 
-        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable()).thenReturn(defaultTaskExecuteRunnable);
+        mockDispatchLane(defaultTaskExecuteRunnable);
         globalTaskDispatchWaitingQueueLooper.start();
         await().during(ofSeconds(1))
                 .untilAsserted(() -> verify(taskDispatchFactory, never()).getTaskDispatcher(taskInstance));
@@ -98,7 +109,7 @@ class GlobalTaskDispatchWaitingQueueLooperTest {
         when(taskDispatchFactory.getTaskDispatcher(taskInstance)).thenReturn(taskDispatcher);
         doNothing().when(taskDispatcher).dispatchTask(any());
 
-        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable()).thenReturn(defaultTaskExecuteRunnable);
+        mockDispatchLane(defaultTaskExecuteRunnable);
         globalTaskDispatchWaitingQueueLooper.start();
         await().atMost(ofSeconds(1)).untilAsserted(() -> {
             verify(taskDispatchFactory, atLeastOnce()).getTaskDispatcher(any(TaskInstance.class));
@@ -107,4 +118,116 @@ class GlobalTaskDispatchWaitingQueueLooperTest {
         globalTaskDispatchWaitingQueueLooper.close();
 
     }
+
+    @Test
+    void testDispatchFailureOnlyBlocksItsLane() throws Exception {
+        GlobalTaskDispatchWaitingQueue realGlobalTaskDispatchWaitingQueue = new GlobalTaskDispatchWaitingQueue();
+        GlobalTaskDispatchWaitingQueueLooper looper = new GlobalTaskDispatchWaitingQueueLooper();
+        ReflectionTestUtils.setField(looper, "globalTaskDispatchWaitingQueue", realGlobalTaskDispatchWaitingQueue);
+        ReflectionTestUtils.setField(looper, "taskDispatchFactory", taskDispatchFactory);
+
+        TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
+        when(taskDispatchFactory.getTaskDispatcher(any(TaskInstance.class))).thenReturn(taskDispatcher);
+        List<String> dispatchedTasks = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            TaskInstance taskInstance = invocation.getArgument(0, TaskExecuteRunnable.class).getTaskInstance();
+            if ("busyGroup".equals(taskInstance.getWorkerGroup())) {
+                throw new TaskDispatchException("no capacity");
+            }
+            dispatchedTasks.add(taskInstance.getName());
+            return null;
+        }).when(taskDispatcher).dispatchTask(any());
+
+        looper.start();
+        realGlobalTaskDispatchWaitingQueue.submitTaskExecuteRunnable(createTaskExecuteRunnable(1, "busyGroup"));
+        for (int i = 2; i <= 10; i++) {
+            realGlobalTaskDispatchWaitingQueue.submitTaskExecuteRunnable(createTaskExecuteRunnable(i, "default"));
+        }
+        await().atMost(ofSeconds(5)).until(() -> dispatchedTasks.size() == 9);
+        assertThat(dispatchedTasks).doesNotContain("task-1");
+        assertThat(realGlobalTaskDispatchWaitingQueue.getDispatchLane(createTaskExecuteRunnable(1, "busyGroup")))
+                .isEqualTo("busyGroup");
+        looper.close();
+    }
+
+    @Test
+    void testCloseWakeUpBlockedLoopers() throws Exception {
+        GlobalTaskDispatchWaitingQueue realGlobalTaskDispatchWaitingQueue = new GlobalTaskDispatchWaitingQueue();
+        GlobalTaskDispatchWaitingQueueLooper looper = new GlobalTaskDispatchWaitingQueueLooper();
+        ReflectionTestUtils.setField(looper, "globalTaskDispatchWaitingQueue", realGlobalTaskDispatchWaitingQueue);
+        ReflectionTestUtils.setField(looper, "taskDispatchFactory", taskDispatchFactory);
+        TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
+        when(taskDispatchFactory.getTaskDispatcher(any(TaskInstance.class))).thenReturn(taskDispatcher);
+
+        looper.start();
+        realGlobalTaskDispatchWaitingQueue.submitTaskExecuteRunnable(createTaskExecuteRunnable(1, "default"));
+        await().atMost(ofSeconds(5)).untilAsserted(() -> verify(taskDispatcher).dispatchTask(any()));
+        Map<String, Thread> laneLoopers = getLaneLoopers(looper);
+        assertThat(laneLoopers).hasSize(1);
+        Thread laneLooper = laneLoopers.get("default");
+
+        // Both the looper and the lane looper are blocked in taking
+        looper.close();
+        assertThat(looper.isAlive()).isFalse();
+        assertThat(laneLooper.isAlive()).isFalse();
+    }
+
+    @Test
+    void testIdleLaneRemoved() throws Exception {
+        GlobalTaskDispatchWaitingQueue realGlobalTaskDispatchWaitingQueue = new GlobalTaskDispatchWaitingQueue();
+        GlobalTaskDispatchWaitingQueueLooper looper = new GlobalTaskDispatchWaitingQueueLooper();
+        ReflectionTestUtils.setField(looper, "globalTaskDispatchWaitingQueue", realGlobalTaskDispatchWaitingQueue);
+        ReflectionTestUtils.setField(looper, "taskDispatchFactory", taskDispatchFactory);
+        ReflectionTestUtils.setField(looper, "laneIdleTimeoutMillis", 100L);
+        TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
+        when(taskDispatchFactory.getTaskDispatcher(any(TaskInstance.class))).thenReturn(taskDispatcher);
+        List<String> dispatchedTasks = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> dispatchedTasks.add(
+                invocation.getArgument(0, TaskExecuteRunnable.class).getTaskInstance().getName()))
+                        .when(taskDispatcher).dispatchTask(any());
+
+        looper.start();
+        realGlobalTaskDispatchWaitingQueue.submitTaskExecuteRunnable(createTaskExecuteRunnable(1, "default"));
+        await().atMost(ofSeconds(5)).until(() -> dispatchedTasks.size() == 1);
+        Thread laneLooper = getLaneLoopers(looper).get("default");
+        await().atMost(ofSeconds(5)).until(() -> getLaneLoopers(looper).isEmpty());
+        await().atMost(ofSeconds(5)).until(() -> !laneLooper.isAlive());
+
+        // The lane is created again with a new looper
+        realGlobalTaskDispatchWaitingQueue.submitTaskExecuteRunnable(createTaskExecuteRunnable(2, "default"));
+        await().atMost(ofSeconds(5)).until(() -> dispatchedTasks.size() == 2);
+        assertThat(dispatchedTasks).containsExactly("task-1", "task-2");
+        looper.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Thread> getLaneLoopers(GlobalTaskDispatchWaitingQueueLooper looper) {
+        return (Map<String, Thread>) ReflectionTestUtils.getField(looper, "taskDispatchLaneLoopers");
+    }
+
+    private void mockDispatchLane(DefaultTaskExecuteRunnable defaultTaskExecuteRunnable) throws Exception {
+        when(globalTaskDispatchWaitingQueue.takeCreatedDispatchLane()).thenReturn("default")
+                .thenAnswer(invocation -> {
+                    // no more lanes
+                    new CountDownLatch(1).await();
+                    return null;
+                });
+        when(globalTaskDispatchWaitingQueue.pollTaskExecuteRunnable(eq("default"), anyLong(), any()))
+                .thenReturn(defaultTaskExecuteRunnable);
+    }
+
+    private DefaultTaskExecuteRunnable createTaskExecuteRunnable(int taskInstanceId, String workerGroup) {
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setId(1);
+        processInstance.setProcessInstancePriority(Priority.MEDIUM);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(taskInstanceId);
+        taskInstance.setName("task-" + taskInstanceId);
+        taskInstance.setTaskType("SHELL");
+        taskInstance.setWorkerGroup(workerGroup);
+        taskInstance.setTaskInstancePriority(Priority.MEDIUM);
+        taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
+        return new DefaultTaskExecuteRunnable(processInstance, taskInstance, new TaskExecutionContext(),
+                new TaskExecuteRunnableOperatorManager());
+    }
 }
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import static java.time.Duration.ofSeconds;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.common.enums.StateEventType;
+import org.apache.dolphinscheduler.common.enums.TimeoutFlag;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StateWheelExecuteThreadTest {
+
+    @InjectMocks
+    private StateWheelExecuteThread stateWheelExecuteThread;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    @Mock
+    private WorkflowExecuteThreadPool workflowExecuteThreadPool;
+
+    @Mock
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+
+    @Mock
+    private WorkflowExecuteRunnable workflowExecuteRunnable;
+
+    private ProcessInstance processInstance;
+
+    @BeforeEach
+    void setUp() {
+        when(masterConfig.getStateWheelInterval()).thenReturn(Duration.ofMillis(10));
+        stateWheelExecuteThread.startWheelThread();
+
+        processInstance = new ProcessInstance();
+        processInstance.setId(1);
+        when(processInstanceExecCacheManager.getByProcessInstanceId(1)).thenReturn(workflowExecuteRunnable);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stateWheelExecuteThread.stopWheelThread();
+    }
+
+    @Test
+    void testTaskTimeoutFired() {
+        TaskInstance taskInstance = createTaskInstance(new Date(System.currentTimeMillis()
+                - TimeUnit.MINUTES.toMillis(2)));
+        when(workflowExecuteRunnable.getActiveTaskInstanceByTaskCode(taskInstance.getTaskCode()))
+                .thenReturn(Optional.of(taskInstance));
+
+        stateWheelExecuteThread.addTask4TimeoutCheck(processInstance, taskInstance);
+
+        await().atMost(ofSeconds(5))
+                .untilAsserted(() -> verify(workflowExecuteThreadPool).submitStateEvent(
+                        argThat(stateEvent -> stateEvent.getType() == StateEventType.TASK_TIMEOUT)));
+    }
+
+    @Test
+    void testTaskTimeoutNotFiredBeforeDeadline() {
+        // the task is not started yet, the check should be rescheduled rather than fired
+        TaskInstance taskInstance = createTaskInstance(null);
+        taskInstance.getTaskDefine().setTimeout(0);
+        when(workflowExecuteRunnable.getActiveTaskInstanceByTaskCode(taskInstance.getTaskCode()))
+                .thenReturn(Optional.of(taskInstance));
+
+        stateWheelExecuteThread.addTask4TimeoutCheck(processInstance, taskInstance);
+
+        await().during(ofSeconds(1))
+                .atMost(ofSeconds(2))
+                .untilAsserted(() -> verify(workflowExecuteThreadPool, never()).submitStateEvent(any()));
+    }
+
+    @Test
+    void testRemoveTaskTimeoutCheck() {
+        TaskInstance taskInstance = createTaskInstance(new Date());
+        taskInstance.getTaskDefine().setTimeout(1);
+        when(workflowExecuteRunnable.getActiveTaskInstanceByTaskCode(taskInstance.getTaskCode()))
+                .thenReturn(Optional.of(taskInstance));
+
+        stateWheelExecuteThread.addTask4TimeoutCheck(processInstance, taskInstance);
+        stateWheelExecuteThread.removeTask4TimeoutCheck(processInstance, taskInstance);
+        // add again after remove should schedule a new check
+        taskInstance.setStartTime(new Date(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(2)));
+        stateWheelExecuteThread.addTask4TimeoutCheck(processInstance, taskInstance);
+
+        await().atMost(ofSeconds(5))
+                .untilAsserted(() -> verify(workflowExecuteThreadPool).submitStateEvent(
+                        argThat(stateEvent -> stateEvent.getType() == StateEventType.TASK_TIMEOUT)));
+    }
+
+    @Test
+    void testTaskTimeoutRetriedIfTaskIsNotActiveYet() {
+        TaskInstance taskInstance = createTaskInstance(new Date(System.currentTimeMillis()
+                - TimeUnit.MINUTES.toMillis(2)));
+        // the task is not active at the first check, and the second check throws an exception
+        when(workflowExecuteRunnable.getActiveTaskInstanceByTaskCode(taskInstance.getTaskCode()))
+                .thenReturn(Optional.empty())
+                .thenThrow(new IllegalStateException("mock exception"))
+                .thenReturn(Optional.of(taskInstance));
+
+        stateWheelExecuteThread.addTask4TimeoutCheck(processInstance, taskInstance);
+
+        await().atMost(ofSeconds(5))
+                .untilAsserted(() -> verify(workflowExecuteThreadPool).submitStateEvent(
+                        argThat(stateEvent -> stateEvent.getType() == StateEventType.TASK_TIMEOUT)));
+    }
+
+    @Test
+    void testWorkflowTimeoutRetriedIfWorkflowIsNotCachedYet() {
+        processInstance.setStartTime(new Date(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(2)));
+        processInstance.setTimeout(1);
+        IWorkflowExecuteContext workflowExecuteContext = Mockito.mock(IWorkflowExecuteContext.class);
+        when(workflowExecuteContext.getWorkflowInstance()).thenReturn(processInstance);
+        when(workflowExecuteRunnable.getWorkflowExecuteContext()).thenReturn(workflowExecuteContext);
+        when(processInstanceExecCacheManager.getByProcessInstanceId(1))
+                .thenReturn(null)
+                .thenReturn(workflowExecuteRunnable);
+
+        stateWheelExecuteThread.addProcess4TimeoutCheck(processInstance);
+
+        await().atMost(ofSeconds(5))
+                .untilAsserted(() -> verify(workflowExecuteThreadPool).submitStateEvent(
+                        argThat(stateEvent -> stateEvent.getType() == StateEventType.PROCESS_TIMEOUT)));
+    }
+
+    @Test
+    void testTaskTimeoutRemovedIfWorkflowFinished() {
+        TaskInstance taskInstance = createTaskInstance(new Date(System.currentTimeMillis()
+                - TimeUnit.MINUTES.toMillis(2)));
+        when(workflowExecuteRunnable.workFlowFinish()).thenReturn(true);
+        when(workflowExecuteRunnable.getActiveTaskInstanceByTaskCode(taskInstance.getTaskCode()))
+                .thenReturn(Optional.of(taskInstance));
+
+        stateWheelExecuteThread.addTask4TimeoutCheck(processInstance, taskInstance);
+
+        await().during(ofSeconds(1))
+                .atMost(ofSeconds(2))
+                .untilAsserted(() -> verify(workflowExecuteThreadPool, never()).submitStateEvent(any()));
+    }
+
+    private TaskInstance createTaskInstance(Date startTime) {
+        TaskDefinition taskDefinition = new TaskDefinition();
+        taskDefinition.setTimeoutFlag(TimeoutFlag.OPEN);
+        taskDefinition.setTimeout(1);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        taskInstance.setProcessInstanceId(1);
+        taskInstance.setTaskCode(1L);
+        taskInstance.setTaskDefinitionVersion(1);
+        taskInstance.setStartTime(startTime);
+        taskInstance.setTaskDefine(taskDefinition);
+        return taskInstance;
+    }
+}
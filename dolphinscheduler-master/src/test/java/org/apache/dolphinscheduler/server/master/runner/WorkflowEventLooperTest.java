@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEvent;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventHandleException;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventHandler;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventQueue;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventType;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class WorkflowEventLooperTest {
+
+    private final List<Integer> handledWorkflowInstanceIds = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch blockedLatch = new CountDownLatch(1);
+
+    private final AtomicInteger failedTimes = new AtomicInteger();
+
+    private WorkflowEventQueue workflowEventQueue;
+
+    private WorkflowEventLooper workflowEventLooper;
+
+    @BeforeEach
+    void setUp() {
+        MasterConfig masterConfig = mock(MasterConfig.class);
+        when(masterConfig.getWorkflowEventLooperThreads()).thenReturn(2);
+        workflowEventQueue = new WorkflowEventQueue();
+        ReflectionTestUtils.setField(workflowEventQueue, "masterConfig", masterConfig);
+        workflowEventQueue.init();
+
+        WorkflowEventHandler workflowEventHandler = new WorkflowEventHandler() {
+
+            @Override
+            public void handleWorkflowEvent(WorkflowEvent workflowEvent) throws WorkflowEventHandleException {
+                if (workflowEvent.getWorkflowInstanceId() == 1) {
+                    // block the shard 1
+                    try {
+                        blockedLatch.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                if (workflowEvent.getWorkflowInstanceId() == 3 && failedTimes.getAndIncrement() == 0) {
+                    throw new WorkflowEventHandleException("mock failure");
+                }
+                handledWorkflowInstanceIds.add(workflowEvent.getWorkflowInstanceId());
+            }
+
+            @Override
+            public WorkflowEventType getHandleWorkflowEventType() {
+                return WorkflowEventType.START_WORKFLOW;
+            }
+        };
+        workflowEventLooper = new WorkflowEventLooper();
+        ReflectionTestUtils.setField(workflowEventLooper, "workflowEventQueue", workflowEventQueue);
+        ReflectionTestUtils.setField(workflowEventLooper, "workflowEventHandlerList",
+                Collections.singletonList(workflowEventHandler));
+        workflowEventLooper.init();
+        workflowEventLooper.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        blockedLatch.countDown();
+        workflowEventLooper.close();
+    }
+
+    @Test
+    void testShardByWorkflowInstanceId() {
+        assertThat(workflowEventQueue.getShardCount()).isEqualTo(2);
+        assertThat(workflowEventQueue.getShard(new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 1)))
+                .isEqualTo(workflowEventQueue.getShard(new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 3)));
+        assertThat(workflowEventQueue.getShard(new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 1)))
+                .isNotEqualTo(workflowEventQueue.getShard(new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 2)));
+    }
+
+    @Test
+    void testBlockedShardNotStallOtherShards() {
+        workflowEventQueue.addEvent(new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 1));
+        workflowEventQueue.addEvent(new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 3));
+        workflowEventQueue.addEvent(new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 2));
+        workflowEventQueue.addEvent(new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 4));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> handledWorkflowInstanceIds.size() == 2);
+        assertThat(handledWorkflowInstanceIds).containsExactly(2, 4).inOrder();
+        assertThat(workflowEventQueue.getShardSize(1)).isEqualTo(1);
+
+        blockedLatch.countDown();
+        // the event of workflow instance 3 is failed once and retried after backoff
+        await().atMost(Duration.ofSeconds(5)).until(() -> handledWorkflowInstanceIds.size() == 4);
+        assertThat(handledWorkflowInstanceIds).containsExactly(2, 4, 1, 3).inOrder();
+        assertThat(failedTimes.get()).isEqualTo(2);
+    }
+}
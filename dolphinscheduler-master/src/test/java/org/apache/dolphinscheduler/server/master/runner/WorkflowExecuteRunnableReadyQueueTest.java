@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class WorkflowExecuteRunnableReadyQueueTest {
+
+    private final WorkflowExecuteRunnableReadyQueue workflowExecuteRunnableReadyQueue =
+            new WorkflowExecuteRunnableReadyQueue();
+
+    @Test
+    void testMarkReadyOnlyOnceUntilPolled() throws InterruptedException {
+        WorkflowExecuteRunnable workflow1 = mockWorkflowExecuteRunnable(1);
+        WorkflowExecuteRunnable workflow2 = mockWorkflowExecuteRunnable(2);
+
+        workflowExecuteRunnableReadyQueue.markReady(workflow1);
+        workflowExecuteRunnableReadyQueue.markReady(workflow2);
+        workflowExecuteRunnableReadyQueue.markReady(workflow1);
+        assertThat(workflowExecuteRunnableReadyQueue.size()).isEqualTo(2);
+
+        assertThat(workflowExecuteRunnableReadyQueue.poll(0, TimeUnit.MILLISECONDS)).isSameInstanceAs(workflow1);
+        // the workflow can be marked ready again after polled
+        workflowExecuteRunnableReadyQueue.markReady(workflow1);
+        assertThat(workflowExecuteRunnableReadyQueue.poll(0, TimeUnit.MILLISECONDS)).isSameInstanceAs(workflow2);
+        assertThat(workflowExecuteRunnableReadyQueue.poll(0, TimeUnit.MILLISECONDS)).isSameInstanceAs(workflow1);
+        assertThat(workflowExecuteRunnableReadyQueue.poll(10, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void testClear() throws InterruptedException {
+        WorkflowExecuteRunnable workflow1 = mockWorkflowExecuteRunnable(1);
+        workflowExecuteRunnableReadyQueue.markReady(workflow1);
+        workflowExecuteRunnableReadyQueue.clear();
+        assertThat(workflowExecuteRunnableReadyQueue.size()).isEqualTo(0);
+
+        workflowExecuteRunnableReadyQueue.markReady(workflow1);
+        assertThat(workflowExecuteRunnableReadyQueue.poll(0, TimeUnit.MILLISECONDS)).isSameInstanceAs(workflow1);
+    }
+
+    private WorkflowExecuteRunnable mockWorkflowExecuteRunnable(int workflowInstanceId) {
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setId(workflowInstanceId);
+        IWorkflowExecuteContext workflowExecuteContext = mock(IWorkflowExecuteContext.class);
+        when(workflowExecuteContext.getWorkflowInstance()).thenReturn(processInstance);
+        WorkflowExecuteRunnable workflowExecuteRunnable = mock(WorkflowExecuteRunnable.class);
+        when(workflowExecuteRunnable.getWorkflowExecuteContext()).thenReturn(workflowExecuteContext);
+        return workflowExecuteRunnable;
+    }
+}
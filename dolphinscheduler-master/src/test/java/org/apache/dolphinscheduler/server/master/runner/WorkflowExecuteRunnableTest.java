@@ -39,6 +39,7 @@ import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.graph.IWorkflowGraph;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnableFactory;
+import org.apache.dolphinscheduler.server.master.runner.task.subworkflow.SubWorkflowFinishNotifier;
 import org.apache.dolphinscheduler.server.master.runner.taskgroup.TaskGroupCoordinator;
 import org.apache.dolphinscheduler.service.alert.ListenerEventAlertManager;
 import org.apache.dolphinscheduler.service.alert.ProcessAlertManager;
@@ -155,7 +156,9 @@ public class WorkflowExecuteRunnableTest {
                         taskInstanceDao,
                         defaultTaskExecuteRunnableFactory,
                         listenerEventAlertManager,
-                        taskGroupCoordinator));
+                        taskGroupCoordinator,
+                        Mockito.mock(WorkflowExecuteRunnableReadyQueue.class),
+                        Mockito.mock(SubWorkflowFinishNotifier.class)));
     }
 
     @Test
@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
 import org.apache.dolphinscheduler.server.master.dispatch.host.HostManager;
+import org.apache.dolphinscheduler.server.master.dispatch.host.WorkerCapacityLedger;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventService;
 import org.apache.dolphinscheduler.server.master.runner.TaskExecuteRunnable;
 
@@ -43,7 +44,7 @@ public class WorkerTaskDispatcherTest {
         HostManager hostManager = Mockito.mock(HostManager.class);
         Mockito.when(hostManager.select(Mockito.any())).thenReturn(Optional.of(Host.of("localhost:1234")));
         WorkerTaskDispatcher workerTaskDispatcher =
-                new WorkerTaskDispatcher(taskEventService, masterConfig, hostManager);
+                new WorkerTaskDispatcher(taskEventService, masterConfig, hostManager, new WorkerCapacityLedger());
 
         TaskExecuteRunnable taskExecuteRunnable = Mockito.mock(TaskExecuteRunnable.class);
         Mockito.when(taskExecuteRunnable.getTaskExecutionContext()).thenReturn(new TaskExecutionContext());
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.execute;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import lombok.NonNull;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class AsyncMasterTaskDelayQueueTest {
+
+    private AsyncMasterTaskDelayQueue asyncMasterTaskDelayQueue;
+
+    private AsyncTaskExecutionContext asyncTaskExecutionContext;
+
+    @BeforeEach
+    void before() {
+        asyncMasterTaskDelayQueue = new AsyncMasterTaskDelayQueue();
+        TaskExecutionContext taskExecutionContext = new TaskExecutionContext();
+        taskExecutionContext.setTaskInstanceId(1);
+        asyncTaskExecutionContext = new AsyncTaskExecutionContext(taskExecutionContext,
+                new AsyncTaskExecuteFunction() {
+
+                    @Override
+                    public @NonNull AsyncTaskExecutionStatus getAsyncTaskExecutionStatus() {
+                        return AsyncTaskExecutionStatus.RUNNING;
+                    }
+
+                    @Override
+                    public @NonNull Duration getAsyncTaskStateCheckInterval() {
+                        return Duration.ofMinutes(1);
+                    }
+                },
+                Mockito.mock(AsyncTaskCallbackFunction.class));
+    }
+
+    @Test
+    void testWakeupWaitingTask() throws InterruptedException {
+        asyncMasterTaskDelayQueue.addAsyncTask(asyncTaskExecutionContext);
+        // the first check doesn't have delay
+        Assertions.assertSame(asyncTaskExecutionContext, asyncMasterTaskDelayQueue.pollAsyncTask());
+
+        asyncMasterTaskDelayQueue.addAsyncTask(asyncTaskExecutionContext);
+        Assertions.assertTrue(asyncTaskExecutionContext.getDelay(TimeUnit.SECONDS) > 30);
+
+        Assertions.assertTrue(asyncMasterTaskDelayQueue.wakeupAsyncTask(1));
+        Assertions.assertTrue(asyncTaskExecutionContext.getDelay(TimeUnit.MILLISECONDS) <= 0);
+        Assertions.assertEquals(1, asyncMasterTaskDelayQueue.getAsyncTaskRunningNum());
+        Assertions.assertSame(asyncTaskExecutionContext, asyncMasterTaskDelayQueue.pollAsyncTask());
+    }
+
+    @Test
+    void testWakeupTaskBeingChecked() throws InterruptedException {
+        asyncMasterTaskDelayQueue.addAsyncTask(asyncTaskExecutionContext);
+        Assertions.assertSame(asyncTaskExecutionContext, asyncMasterTaskDelayQueue.pollAsyncTask());
+
+        // the task is being checked, the wakeup takes effect once it's added back
+        Assertions.assertTrue(asyncMasterTaskDelayQueue.wakeupAsyncTask(1));
+        Assertions.assertEquals(0, asyncMasterTaskDelayQueue.getAsyncTaskRunningNum());
+
+        asyncMasterTaskDelayQueue.addAsyncTask(asyncTaskExecutionContext);
+        Assertions.assertTrue(asyncTaskExecutionContext.getDelay(TimeUnit.MILLISECONDS) <= 0);
+        Assertions.assertSame(asyncTaskExecutionContext, asyncMasterTaskDelayQueue.pollAsyncTask());
+
+        // the wakeup is consumed
+        asyncMasterTaskDelayQueue.addAsyncTask(asyncTaskExecutionContext);
+        Assertions.assertTrue(asyncTaskExecutionContext.getDelay(TimeUnit.SECONDS) > 30);
+    }
+
+    @Test
+    void testWakeupRemovedTask() throws InterruptedException {
+        Assertions.assertFalse(asyncMasterTaskDelayQueue.wakeupAsyncTask(1));
+
+        asyncMasterTaskDelayQueue.addAsyncTask(asyncTaskExecutionContext);
+        Assertions.assertSame(asyncTaskExecutionContext, asyncMasterTaskDelayQueue.pollAsyncTask());
+        asyncMasterTaskDelayQueue.removeAsyncTask(asyncTaskExecutionContext);
+
+        Assertions.assertFalse(asyncMasterTaskDelayQueue.wakeupAsyncTask(1));
+        Assertions.assertEquals(0, asyncMasterTaskDelayQueue.getAsyncTaskRunningNum());
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.persist;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStateUpdate;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TaskInstanceStatePersisterTest {
+
+    @InjectMocks
+    private TaskInstanceStatePersister taskInstanceStatePersister;
+
+    @Mock
+    private TaskInstanceDao taskInstanceDao;
+
+    @Spy
+    private MasterConfig masterConfig = new MasterConfig();
+
+    @BeforeEach
+    void setUp() {
+        // the pending updates are flushed by the test
+        masterConfig.setTaskInstanceUpdateBatchWindow(Duration.ofHours(1));
+        masterConfig.setTaskInstanceUpdateMaxBatchSize(2);
+        taskInstanceStatePersister.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskInstanceStatePersister.close();
+    }
+
+    @Test
+    void testMergeUpdatesOfSameTaskInstance() {
+        TaskInstanceStateUpdate running = new TaskInstanceStateUpdate(1);
+        running.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        running.setHost("127.0.0.1:1234");
+        TaskInstanceStateUpdate success = new TaskInstanceStateUpdate(1);
+        success.setState(TaskExecutionStatus.SUCCESS);
+        success.setVarPool("[]");
+
+        CompletableFuture<Void> runningFuture = taskInstanceStatePersister.persist(running);
+        CompletableFuture<Void> successFuture = taskInstanceStatePersister.persist(success);
+        // the empty update waits for the pending one
+        CompletableFuture<Void> barrier = taskInstanceStatePersister.persist(new TaskInstanceStateUpdate(1));
+        assertThat(taskInstanceStatePersister.getPendingSize()).isEqualTo(1);
+        assertThat(barrier.isDone()).isFalse();
+
+        taskInstanceStatePersister.flush();
+
+        List<TaskInstanceStateUpdate> updates = captureBatches(1).get(0);
+        assertThat(updates).hasSize(1);
+        assertThat(updates.get(0).getState()).isEqualTo(TaskExecutionStatus.SUCCESS);
+        assertThat(updates.get(0).getHost()).isEqualTo("127.0.0.1:1234");
+        assertThat(updates.get(0).getVarPool()).isEqualTo("[]");
+        await().atMost(Duration.ofSeconds(10)).until(barrier::isDone);
+        assertThat(runningFuture.isDone()).isTrue();
+        assertThat(successFuture.isDone()).isTrue();
+        assertThat(taskInstanceStatePersister.persist(new TaskInstanceStateUpdate(1)).isDone()).isTrue();
+    }
+
+    @Test
+    void testFlushOnceBatchIsFull() {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            TaskInstanceStateUpdate update = new TaskInstanceStateUpdate(i);
+            update.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+            futures.add(taskInstanceStatePersister.persist(update));
+        }
+
+        // the full batch is written by the flush thread without waiting for the batch window
+        await().atMost(Duration.ofSeconds(10)).until(() -> futures.stream().allMatch(CompletableFuture::isDone));
+        assertThat(captureBatches(1).get(0)).hasSize(2);
+
+        TaskInstanceStateUpdate update = new TaskInstanceStateUpdate(3);
+        update.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        assertThat(taskInstanceStatePersister.persist(update).isDone()).isFalse();
+        assertThat(taskInstanceStatePersister.getPendingSize()).isEqualTo(1);
+    }
+
+    @Test
+    void testRetryFailedBatch() {
+        TaskInstanceStateUpdate running = new TaskInstanceStateUpdate(1);
+        running.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        running.setPid(100);
+        CompletableFuture<Void> runningFuture = taskInstanceStatePersister.persist(running);
+
+        doThrow(new RuntimeException("database is down"))
+                .doNothing()
+                .when(taskInstanceDao).batchUpdateTaskInstanceState(anyList());
+        taskInstanceStatePersister.flush();
+        assertThat(runningFuture.isDone()).isFalse();
+        assertThat(taskInstanceStatePersister.getPendingSize()).isEqualTo(1);
+
+        TaskInstanceStateUpdate success = new TaskInstanceStateUpdate(1);
+        success.setState(TaskExecutionStatus.SUCCESS);
+        CompletableFuture<Void> successFuture = taskInstanceStatePersister.persist(success);
+        taskInstanceStatePersister.flush();
+
+        List<TaskInstanceStateUpdate> retried = captureBatches(2).get(1);
+        assertThat(retried).hasSize(1);
+        assertThat(retried.get(0).getState()).isEqualTo(TaskExecutionStatus.SUCCESS);
+        assertThat(retried.get(0).getPid()).isEqualTo(100);
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> runningFuture.isDone() && successFuture.isDone());
+    }
+
+    @Test
+    void testCallbacksAreNotRunInFlushThread() {
+        TaskInstanceStateUpdate running = new TaskInstanceStateUpdate(1);
+        running.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        AtomicReference<Thread> callbackThread = new AtomicReference<>();
+        CompletableFuture<Void> callbackFuture = taskInstanceStatePersister.persist(running)
+                .thenRun(() -> callbackThread.set(Thread.currentThread()));
+
+        taskInstanceStatePersister.flush();
+
+        await().atMost(Duration.ofSeconds(10)).until(callbackFuture::isDone);
+        assertThat(callbackThread.get()).isNotSameInstanceAs(Thread.currentThread());
+        assertThat(callbackThread.get().getName()).contains("TaskInstanceStatePersister-CallbackThread");
+    }
+
+    @Test
+    void testEmptyUpdateWithoutPendingUpdate() {
+        assertThat(taskInstanceStatePersister.persist(new TaskInstanceStateUpdate(1)).isDone()).isTrue();
+        taskInstanceStatePersister.flush();
+        verify(taskInstanceDao, never()).batchUpdateTaskInstanceState(anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<TaskInstanceStateUpdate>> captureBatches(int times) {
+        ArgumentCaptor<List<TaskInstanceStateUpdate>> captor = ArgumentCaptor.forClass(List.class);
+        verify(taskInstanceDao, times(times)).batchUpdateTaskInstanceState(captor.capture());
+        return captor.getAllValues();
+    }
+}
@@ -17,15 +17,21 @@
 
 package org.apache.dolphinscheduler.server.master.runner.task.dynamic;
 
+import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.CMD_DYNAMIC_START_PARAMS;
 import static org.apache.dolphinscheduler.server.master.runner.execute.AsyncTaskExecuteFunction.AsyncTaskExecutionStatus;
 
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.DynamicParameters;
+import org.apache.dolphinscheduler.service.command.CommandAvailableNotifier;
 import org.apache.dolphinscheduler.service.subworkflow.SubWorkflowService;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
@@ -51,6 +57,9 @@ class DynamicAsyncTaskExecuteFunctionTest {
     @Mock
     private CommandMapper commandMapper;
 
+    @Mock
+    private CommandAvailableNotifier commandAvailableNotifier;
+
     @Mock
     private DynamicLogicTask dynamicLogicTask;
 
@@ -70,6 +79,7 @@ class DynamicAsyncTaskExecuteFunctionTest {
                 taskInstance,
                 dynamicLogicTask,
                 commandMapper,
+                commandAvailableNotifier,
                 subWorkflowService,
                 0);
     }
@@ -138,4 +148,36 @@ class DynamicAsyncTaskExecuteFunctionTest {
         Assertions.assertEquals(AsyncTaskExecutionStatus.FAILED, status);
     }
 
+    @Test
+    void shouldNotifyCommandAvailableWhenStartSubProcessInstances() {
+        // Given
+        processInstance.setCommandType(CommandType.START_PROCESS);
+        function = new DynamicAsyncTaskExecuteFunction(null, processInstance, taskInstance, dynamicLogicTask,
+                commandMapper, commandAvailableNotifier, subWorkflowService, 1);
+        ProcessInstance subProcessInstance = new ProcessInstance();
+        subProcessInstance.setId(3);
+        subProcessInstance.setProcessDefinitionCode(5L);
+        subProcessInstance.setProcessDefinitionVersion(1);
+        subProcessInstance.setCommandParam(JSONUtils.toJsonString(Collections.singletonMap(
+                CMD_DYNAMIC_START_PARAMS, JSONUtils.toJsonString(Collections.singletonMap("a", "1")))));
+        List<ProcessInstance> processInstances = Collections.singletonList(subProcessInstance);
+        Mockito.when(subWorkflowService.getAllDynamicSubWorkflow(1, 2L)).thenReturn(processInstances);
+        Mockito.when(subWorkflowService.filterFinishProcessInstances(Mockito.anyList()))
+                .thenReturn(Collections.emptyList());
+        Mockito.when(subWorkflowService.filterRunningProcessInstances(Mockito.anyList()))
+                .thenReturn(Collections.emptyList());
+        Mockito.when(subWorkflowService.filterWaitToRunProcessInstances(Mockito.anyList()))
+                .thenReturn(processInstances);
+        Mockito.when(commandMapper.insert(Mockito.any(Command.class))).thenAnswer(invocation -> {
+            invocation.<Command>getArgument(0).setId(4);
+            return 1;
+        });
+
+        // When
+        AsyncTaskExecutionStatus status = function.getAsyncTaskExecutionStatus();
+
+        // Then
+        Assertions.assertEquals(AsyncTaskExecutionStatus.RUNNING, status);
+        Mockito.verify(commandAvailableNotifier).notifyCommandAvailable(4);
+    }
 }
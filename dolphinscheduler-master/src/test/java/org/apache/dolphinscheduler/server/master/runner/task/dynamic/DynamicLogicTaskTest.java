@@ -27,6 +27,7 @@ import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.model.DynamicInputParameter;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.DynamicParameters;
+import org.apache.dolphinscheduler.service.command.CommandAvailableNotifier;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.service.subworkflow.SubWorkflowService;
 
@@ -66,6 +67,9 @@ class DynamicLogicTaskTest {
     @Mock
     private CommandMapper commandMapper;
 
+    @Mock
+    private CommandAvailableNotifier commandAvailableNotifier;
+
     private DynamicParameters dynamicParameters;
 
     private ProcessInstance processInstance;
@@ -91,7 +95,8 @@ class DynamicLogicTaskTest {
                 subWorkflowService,
                 processService,
                 processDefineMapper,
-                commandMapper);
+                commandMapper,
+                commandAvailableNotifier);
     }
 
     @Test
@@ -122,7 +127,8 @@ class DynamicLogicTaskTest {
                 subWorkflowService,
                 processService,
                 processDefineMapper,
-                commandMapper);
+                commandMapper,
+                commandAvailableNotifier);
 
         List<Map<String, String>> parameterGroup = dynamicLogicTask.generateParameterGroup();
 
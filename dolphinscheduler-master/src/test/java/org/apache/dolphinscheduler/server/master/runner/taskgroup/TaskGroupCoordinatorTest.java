@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.server.master.runner.taskgroup;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -36,8 +37,11 @@ import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.registry.api.RegistryClient;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -72,6 +76,12 @@ class TaskGroupCoordinatorTest {
     @Mock
     private ProcessInstanceDao processInstanceDao;
 
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        taskGroupCoordinator.interrupt();
+        taskGroupCoordinator.join(5_000);
+    }
+
     @Test
     void start() throws InterruptedException {
         // Get the Lock from Registry
@@ -179,4 +189,74 @@ class TaskGroupCoordinatorTest {
         verify(taskGroupQueueDao, Mockito.times(1)).updateById(taskGroupQueue);
 
     }
+
+    @Test
+    void releaseUsingTaskGroupSlot() {
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        taskInstance.setTaskGroupId(1);
+        TaskGroupQueue taskGroupQueue = TaskGroupQueue.builder()
+                .groupId(1)
+                .taskId(1)
+                .inQueue(Flag.YES.getCode())
+                .forceStart(Flag.NO.getCode())
+                .status(TaskGroupQueueStatus.ACQUIRE_SUCCESS)
+                .build();
+        when(taskGroupQueueDao.queryByTaskInstanceId(taskInstance.getId()))
+                .thenReturn(Lists.newArrayList(taskGroupQueue));
+        taskGroupCoordinator.releaseTaskGroupSlot(taskInstance);
+
+        assertEquals(TaskGroupQueueStatus.RELEASE, taskGroupQueue.getStatus());
+        verify(taskGroupDao, Mockito.times(1)).releaseTaskGroupSlot(1);
+
+        // Release again will not release the TaskGroup slot twice
+        taskGroupCoordinator.releaseTaskGroupSlot(taskInstance);
+        verify(taskGroupDao, Mockito.times(1)).releaseTaskGroupSlot(1);
+    }
+
+    @Test
+    void amendTaskGroupUseSizeOnlyIfNotChanged() {
+        TaskGroup taskGroup = new TaskGroup();
+        taskGroup.setId(1);
+        taskGroup.setGroupSize(2);
+        taskGroup.setUseSize(2);
+        when(taskGroupDao.queryAllTaskGroups()).thenReturn(Lists.newArrayList(taskGroup));
+        when(taskGroupQueueDao.countUsingTaskGroupQueueByGroupId(1)).thenReturn(1);
+        taskGroupCoordinator.start();
+
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> verify(taskGroupDao).amendTaskGroupUseSize(1, 2, 1));
+        verify(taskGroupDao, Mockito.never()).updateById(taskGroup);
+    }
+
+    @Test
+    void wakeupWaitingTaskGroupQueueOnRelease() {
+        TaskGroup taskGroup = new TaskGroup();
+        taskGroup.setId(1);
+        taskGroup.setGroupSize(1);
+        taskGroup.setUseSize(0);
+        when(taskGroupDao.queryByIds(Collections.singleton(1))).thenReturn(Lists.newArrayList(taskGroup));
+        taskGroupCoordinator.start();
+        // Wait the first dispatch round finished
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> verify(taskGroupDao).queryAvailableTaskGroups());
+
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        taskInstance.setTaskGroupId(1);
+        TaskGroupQueue taskGroupQueue = TaskGroupQueue.builder()
+                .groupId(1)
+                .taskId(1)
+                .inQueue(Flag.YES.getCode())
+                .forceStart(Flag.NO.getCode())
+                .status(TaskGroupQueueStatus.ACQUIRE_SUCCESS)
+                .build();
+        when(taskGroupQueueDao.queryByTaskInstanceId(taskInstance.getId()))
+                .thenReturn(Lists.newArrayList(taskGroupQueue));
+        taskGroupCoordinator.releaseTaskGroupSlot(taskInstance);
+
+        // The waiting TaskGroupQueue is checked before the next dispatch round
+        await().atMost(Duration.ofSeconds(3))
+                .untilAsserted(() -> verify(taskGroupQueueDao).queryAllInQueueTaskGroupQueueByGroupId(1));
+        verify(taskGroupDao, Mockito.times(1)).queryAvailableTaskGroups();
+    }
 }
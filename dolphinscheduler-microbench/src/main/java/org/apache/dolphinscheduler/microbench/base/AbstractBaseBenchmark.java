@@ -19,6 +19,8 @@ package org.apache.dolphinscheduler.microbench.base;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,6 +30,7 @@ import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.Profiler;
 import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
@@ -70,6 +73,10 @@ public abstract class AbstractBaseBenchmark {
             optBuilder.forks(getForks());
         }
 
+        for (Class<? extends Profiler> profiler : getProfilers()) {
+            optBuilder.addProfiler(profiler);
+        }
+
         String output = getReportDir();
         if (output != null) {
             boolean writeFileStatus;
@@ -100,6 +107,13 @@ public abstract class AbstractBaseBenchmark {
         new Runner(newOptionsBuilder().build()).run();
     }
 
+    /**
+     * The profilers attached to the benchmark, e.g. GCProfiler to measure the allocation rate
+     */
+    protected Collection<Class<? extends Profiler>> getProfilers() {
+        return Collections.emptyList();
+    }
+
     private int getWarmupIterations() {
 
         String value = System.getProperty("warmupIterations");
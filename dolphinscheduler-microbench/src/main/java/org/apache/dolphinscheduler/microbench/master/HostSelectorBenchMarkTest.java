@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.master;
+
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWeight;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWorker;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.LowerWeightRoundRobin;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.LowerWeightSelectorSnapshot;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.RandomSelector;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.RoundRobinSelector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Compare the throughput and the fairness of the host selectors when the dispatchers select concurrently.
+ * <p> The selected share of each host is logged after each iteration, the shared {@link LowerWeightRoundRobin} is the
+ * way the selector was used before {@link LowerWeightSelectorSnapshot}.
+ */
+@Slf4j
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+@Threads(8)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HostSelectorBenchMarkTest extends AbstractBaseBenchmark {
+
+    @Param({"3", "20"})
+    private int hostSize;
+
+    private List<HostWorker> hostWorkers;
+
+    private Set<HostWeight> hostWeights;
+
+    private RandomSelector randomSelector;
+
+    private RoundRobinSelector roundRobinSelector;
+
+    private LowerWeightRoundRobin lowerWeightRoundRobin;
+
+    private LowerWeightSelectorSnapshot lowerWeightSelectorSnapshot;
+
+    private Map<String, Integer> hostIndexes;
+
+    private LongAdder[] selectedTimes;
+
+    @Setup
+    public void before() {
+        hostWorkers = new ArrayList<>(hostSize);
+        hostWeights = new HashSet<>(hostSize);
+        hostIndexes = new HashMap<>(hostSize);
+        long startTime = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1);
+        for (int i = 0; i < hostSize; i++) {
+            HostWorker hostWorker = HostWorker.of("192.168.0." + i + ":1234", 100 - i, "default");
+            hostWorkers.add(hostWorker);
+            hostWeights.add(new HostWeight(hostWorker, 0.01 * i, 0.3, 0.3, 0.1, startTime));
+            hostIndexes.put(hostWorker.getAddress(), i);
+        }
+        randomSelector = new RandomSelector();
+        roundRobinSelector = new RoundRobinSelector();
+        lowerWeightRoundRobin = new LowerWeightRoundRobin();
+        lowerWeightSelectorSnapshot = new LowerWeightSelectorSnapshot(hostWeights);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetSelectedTimes() {
+        selectedTimes = new LongAdder[hostSize];
+        for (int i = 0; i < hostSize; i++) {
+            selectedTimes[i] = new LongAdder();
+        }
+    }
+
+    @Benchmark
+    public Host randomSelectorTest() {
+        return record(randomSelector.select(hostWorkers));
+    }
+
+    @Benchmark
+    public Host roundRobinSelectorTest() {
+        return record(roundRobinSelector.select(hostWorkers));
+    }
+
+    @Benchmark
+    public Host sharedLowerWeightRoundRobinTest() {
+        return record(lowerWeightRoundRobin.select(hostWeights).getHost());
+    }
+
+    @Benchmark
+    public Host lowerWeightSelectorSnapshotTest() {
+        return record(lowerWeightSelectorSnapshot.select().getHost());
+    }
+
+    private Host record(Host host) {
+        selectedTimes[hostIndexes.get(host.getAddress())].increment();
+        return host;
+    }
+
+    @TearDown(Level.Iteration)
+    public void logSelectedShare(BenchmarkParams benchmarkParams) {
+        long total = 0;
+        for (LongAdder times : selectedTimes) {
+            total += times.sum();
+        }
+        if (total == 0) {
+            return;
+        }
+        StringJoiner shares = new StringJoiner(", ");
+        for (int i = 0; i < hostSize; i++) {
+            shares.add(String.format("%.2f%%", selectedTimes[i].sum() * 100.0 / total));
+        }
+        log.info("{} selected share: [{}]", benchmarkParams.getBenchmark(), shares);
+    }
+
+}
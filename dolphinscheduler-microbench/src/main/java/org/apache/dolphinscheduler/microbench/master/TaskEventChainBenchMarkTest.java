@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.master;
+
+import org.apache.dolphinscheduler.common.enums.TaskEventType;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.server.master.event.TaskEventHandler;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskExecuteRunnable;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure the latency of one hop of a task chain: the event of the next task is added by another thread once the
+ * event of the previous task is handled, as the worker reports the result of the next task after it is dispatched.
+ * <p> The workflows run their chains concurrently, the score is the average time of one hop.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskEventChainBenchMarkTest extends AbstractBaseBenchmark {
+
+    private static final int CHAIN_LENGTH = 1000;
+
+    private static final String WORKER_ADDRESS = "127.0.0.1:1234";
+
+    @Param({"1", "64"})
+    private int workflowCount;
+
+    private ExecutorService taskEventExecutor;
+
+    private ExecutorService workerExecutor;
+
+    private TaskExecuteRunnable[] taskExecuteRunnables;
+
+    private volatile CountDownLatch chainLatch;
+
+    @Setup
+    public void before() {
+        taskEventExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        workerExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        TaskEventHandler nextHopHandler = new TaskEventHandler() {
+
+            @Override
+            public void handleTaskEvent(TaskEvent taskEvent) {
+                int nextTaskInstanceId = taskEvent.getTaskInstanceId() + 1;
+                if (nextTaskInstanceId > CHAIN_LENGTH) {
+                    chainLatch.countDown();
+                    return;
+                }
+                TaskExecuteRunnable taskExecuteRunnable = taskExecuteRunnables[taskEvent.getProcessInstanceId()];
+                workerExecutor.execute(() -> taskExecuteRunnable.addEvent(
+                        TaskEvent.newDispatchEvent(taskEvent.getProcessInstanceId(), nextTaskInstanceId,
+                                WORKER_ADDRESS)));
+            }
+
+            @Override
+            public TaskEventType getHandleEventType() {
+                return TaskEventType.DISPATCH;
+            }
+        };
+        taskExecuteRunnables = new TaskExecuteRunnable[workflowCount];
+        for (int i = 0; i < workflowCount; i++) {
+            taskExecuteRunnables[i] = new TaskExecuteRunnable(i,
+                    Collections.singletonMap(TaskEventType.DISPATCH, nextHopHandler), taskEventExecutor);
+        }
+    }
+
+    @TearDown
+    public void after() {
+        taskEventExecutor.shutdownNow();
+        workerExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHAIN_LENGTH)
+    public void testChainHop() throws InterruptedException {
+        chainLatch = new CountDownLatch(workflowCount);
+        for (int i = 0; i < workflowCount; i++) {
+            taskExecuteRunnables[i].addEvent(TaskEvent.newDispatchEvent(i, 1, WORKER_ADDRESS));
+        }
+        chainLatch.await();
+    }
+}
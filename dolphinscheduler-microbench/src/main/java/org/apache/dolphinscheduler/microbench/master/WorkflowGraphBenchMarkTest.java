@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.master;
+
+import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.server.master.graph.CompiledWorkflowGraph;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the dependency check of all the tasks of a large workflow on the {@link DAG} and on the
+ * {@link CompiledWorkflowGraph}, half of the tasks are complete.
+ * <p> FAN_OUT: one task is the upstream of all the other tasks, FAN_IN: one task depends on all the other tasks,
+ * LAYERED: the tasks are split into layers of 50 tasks, each task depends on all the tasks of the previous layer.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WorkflowGraphBenchMarkTest extends AbstractBaseBenchmark {
+
+    private static final int LAYER_SIZE = 50;
+
+    @Param({"2000", "10000"})
+    private int taskCount;
+
+    @Param({"FAN_OUT", "FAN_IN", "LAYERED"})
+    private String shape;
+
+    private DAG<Long, TaskNode, TaskNodeRelation> dag;
+
+    private Set<Long> completeTaskSet;
+
+    private CompiledWorkflowGraph compiledGraph;
+
+    private BitSet completeTaskIds;
+
+    @Setup
+    public void before() {
+        dag = new DAG<>();
+        for (int i = 0; i < taskCount; i++) {
+            long code = taskCode(i);
+            List<Long> preTaskCodes = preTaskCodes(i);
+            TaskNode taskNode = new TaskNode();
+            taskNode.setCode(code);
+            taskNode.setName("task-" + i);
+            taskNode.setPreTasks(JSONUtils.toJsonString(preTaskCodes));
+            dag.addNode(code, taskNode);
+        }
+        for (int i = 0; i < taskCount; i++) {
+            for (Long preTaskCode : preTaskCodes(i)) {
+                dag.addEdge(preTaskCode, taskCode(i));
+            }
+        }
+        compiledGraph = CompiledWorkflowGraph.compile(dag, Collections.emptySet());
+
+        completeTaskSet = new HashSet<>();
+        completeTaskIds = compiledGraph.newTaskIdSet();
+        for (int i = 0; i < taskCount; i += 2) {
+            completeTaskSet.add(taskCode(i));
+            completeTaskIds.set(compiledGraph.getTaskId(taskCode(i)));
+        }
+    }
+
+    private long taskCode(int index) {
+        // the task codes are snowflake ids in practice, which are out of the range of the boxed Long cache
+        return 10_000_000_000L + index * 7L;
+    }
+
+    private List<Long> preTaskCodes(int index) {
+        List<Long> preTaskCodes = new ArrayList<>();
+        switch (shape) {
+            case "FAN_OUT":
+                if (index > 0) {
+                    preTaskCodes.add(taskCode(0));
+                }
+                break;
+            case "FAN_IN":
+                if (index == taskCount - 1) {
+                    for (int i = 0; i < index; i++) {
+                        preTaskCodes.add(taskCode(i));
+                    }
+                }
+                break;
+            default:
+                int layerStart = index / LAYER_SIZE * LAYER_SIZE;
+                for (int i = Math.max(layerStart - LAYER_SIZE, 0); i < layerStart; i++) {
+                    preTaskCodes.add(taskCode(i));
+                }
+        }
+        return preTaskCodes;
+    }
+
+    @Benchmark
+    public int dagDependencyCheck() {
+        int readyTaskCount = 0;
+        for (Long taskCode : dag.getAllNodesList()) {
+            if (dag.getBeginNode().contains(taskCode)) {
+                readyTaskCount++;
+                continue;
+            }
+            boolean ready = true;
+            for (Long depCode : dag.getNode(taskCode).getDepList()) {
+                if (dag.containsNode(depCode) && !completeTaskSet.contains(depCode)) {
+                    ready = false;
+                    break;
+                }
+            }
+            if (ready && !dag.getEndNode().contains(taskCode)) {
+                readyTaskCount++;
+            }
+        }
+        return readyTaskCount;
+    }
+
+    @Benchmark
+    public int compiledDependencyCheck() {
+        int readyTaskCount = 0;
+        for (int taskId = 0; taskId < compiledGraph.getTaskCount(); taskId++) {
+            if (compiledGraph.isBeginTask(taskId)) {
+                readyTaskCount++;
+                continue;
+            }
+            if (compiledGraph.isAllDependenciesIn(taskId, completeTaskIds) && !compiledGraph.isEndTask(taskId)) {
+                readyTaskCount++;
+            }
+        }
+        return readyTaskCount;
+    }
+
+    @Benchmark
+    public CompiledWorkflowGraph compile() {
+        return CompiledWorkflowGraph.compile(dag, Collections.emptySet());
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.rpc;
+
+import org.apache.dolphinscheduler.extract.base.NettyRemotingClient;
+import org.apache.dolphinscheduler.extract.base.NettyRemotingClientFactory;
+import org.apache.dolphinscheduler.extract.base.NettyRemotingServer;
+import org.apache.dolphinscheduler.extract.base.client.JdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
+import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
+import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compare the throughput of many threads calling the same host through one channel and through a channel pool.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+@Threads(32)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+public class ChannelPoolBenchMarkTest extends AbstractBaseBenchmark {
+
+    @Param({"1", "4"})
+    private int channelsPerHost;
+
+    /**
+     * The entry size of the payload in {@link #dispatchTest(Blackhole)}, the large payload makes the head of line
+     * blocking on a single channel visible.
+     */
+    @Param({"1024"})
+    private int payloadSize;
+
+    private NettyRemotingServer nettyRemotingServer;
+
+    private NettyRemotingClient nettyRemotingClient;
+
+    private IService iService;
+
+    private Map<String, String> payload;
+
+    @Setup
+    public void before() {
+        nettyRemotingServer = new NettyRemotingServer(
+                NettyServerConfig.builder().serverName("NettyRemotingServer").listenPort(12346).build());
+        nettyRemotingServer.start();
+        SpringServerMethodInvokerDiscovery springServerMethodInvokerDiscovery =
+                new SpringServerMethodInvokerDiscovery(nettyRemotingServer);
+        springServerMethodInvokerDiscovery.postProcessAfterInitialization(new IServiceImpl(), "iServiceImpl");
+        nettyRemotingClient = NettyRemotingClientFactory.buildNettyRemotingClient(
+                NettyClientConfig.builder().channelsPerHost(channelsPerHost).build());
+        iService = new JdkDynamicRpcClientProxyFactory(nettyRemotingClient)
+                .getProxyClient("localhost:12346", IService.class);
+        payload = new HashMap<>();
+        for (int i = 0; i < payloadSize; i++) {
+            payload.put("varPool-" + i, "{\"prop\":\"prop-" + i + "\",\"direct\":\"IN\",\"type\":\"VARCHAR\"}");
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void sendTest(Blackhole bh) {
+        bh.consume(iService.ping("ping"));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void dispatchTest(Blackhole bh) {
+        bh.consume(iService.dispatch(payload));
+    }
+
+    @TearDown
+    public void after() {
+        nettyRemotingClient.close();
+        nettyRemotingServer.close();
+    }
+}
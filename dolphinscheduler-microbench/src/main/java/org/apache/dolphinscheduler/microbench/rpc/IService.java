@@ -20,10 +20,15 @@ package org.apache.dolphinscheduler.microbench.rpc;
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
 
+import java.util.Map;
+
 @RpcService
 public interface IService {
 
     @RpcMethod
     String ping(String pingRequest);
 
+    @RpcMethod
+    int dispatch(Map<String, String> payload);
+
 }
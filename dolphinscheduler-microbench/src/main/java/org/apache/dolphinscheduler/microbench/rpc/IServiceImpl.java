@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.microbench.rpc;
 
+import java.util.Map;
+
 public class IServiceImpl implements IService {
 
     @Override
@@ -24,4 +26,9 @@ public class IServiceImpl implements IService {
         return "I get " + pingRequest + ", I am Pong!";
     }
 
+    @Override
+    public int dispatch(Map<String, String> payload) {
+        return payload.size();
+    }
+
 }
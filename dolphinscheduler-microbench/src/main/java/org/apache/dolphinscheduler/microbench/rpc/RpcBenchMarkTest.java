@@ -17,12 +17,18 @@
 
 package org.apache.dolphinscheduler.microbench.rpc;
 
+import org.apache.dolphinscheduler.extract.base.NettyRemotingClient;
+import org.apache.dolphinscheduler.extract.base.NettyRemotingClientFactory;
 import org.apache.dolphinscheduler.extract.base.NettyRemotingServer;
-import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.base.client.JdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
 import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
 import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +38,7 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -46,10 +53,26 @@ import org.openjdk.jmh.infra.Blackhole;
 @BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
 public class RpcBenchMarkTest extends AbstractBaseBenchmark {
 
+    /**
+     * The serializer of the client, the server will response with the same serializer.
+     */
+    @Param({"JSON", "CBOR"})
+    private SerializerType serializerType;
+
+    /**
+     * The entry size of the payload in {@link #dispatchTest(Blackhole)}, used to simulate a large task dispatch.
+     */
+    @Param({"16", "1024"})
+    private int payloadSize;
+
     private NettyRemotingServer nettyRemotingServer;
 
+    private NettyRemotingClient nettyRemotingClient;
+
     private IService iService;
 
+    private Map<String, String> payload;
+
     @Setup
     public void before() {
         nettyRemotingServer = new NettyRemotingServer(
@@ -58,8 +81,14 @@ public class RpcBenchMarkTest extends AbstractBaseBenchmark {
         SpringServerMethodInvokerDiscovery springServerMethodInvokerDiscovery =
                 new SpringServerMethodInvokerDiscovery(nettyRemotingServer);
         springServerMethodInvokerDiscovery.postProcessAfterInitialization(new IServiceImpl(), "iServiceImpl");
-        iService =
-                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient("localhost:12345", IService.class);
+        nettyRemotingClient = NettyRemotingClientFactory.buildNettyRemotingClient(
+                NettyClientConfig.builder().serializerType(serializerType).build());
+        iService = new JdkDynamicRpcClientProxyFactory(nettyRemotingClient)
+                .getProxyClient("localhost:12345", IService.class);
+        payload = new HashMap<>();
+        for (int i = 0; i < payloadSize; i++) {
+            payload.put("varPool-" + i, "{\"prop\":\"prop-" + i + "\",\"direct\":\"IN\",\"type\":\"VARCHAR\"}");
+        }
     }
 
     @Benchmark
@@ -70,8 +99,17 @@ public class RpcBenchMarkTest extends AbstractBaseBenchmark {
         bh.consume(pong);
     }
 
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void dispatchTest(Blackhole bh) {
+        int size = iService.dispatch(payload);
+        bh.consume(size);
+    }
+
     @TearDown
     public void after() {
+        nettyRemotingClient.close();
         nettyRemotingServer.close();
     }
 }
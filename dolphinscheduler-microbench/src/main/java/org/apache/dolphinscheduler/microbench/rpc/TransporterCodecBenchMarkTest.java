@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.rpc;
+
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterDecoder;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterEncoder;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.profile.Profiler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Measure the cpu and the allocation of encoding and decoding a transporter, the allocation rate is reported by the
+ * {@link GCProfiler} as {@code gc.alloc.rate.norm}, which is the allocated bytes per operation.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+public class TransporterCodecBenchMarkTest extends AbstractBaseBenchmark {
+
+    @Param({"JSON", "CBOR"})
+    private SerializerType serializerType;
+
+    /**
+     * The entry size of the request argument, used to simulate a large task dispatch.
+     */
+    @Param({"16", "1024"})
+    private int payloadSize;
+
+    private EmbeddedChannel encoderChannel;
+
+    private EmbeddedChannel decoderChannel;
+
+    private Transporter transporter;
+
+    private ByteBuf frame;
+
+    @Setup
+    public void before() {
+        encoderChannel = new EmbeddedChannel(new TransporterEncoder());
+        decoderChannel = new EmbeddedChannel(new TransporterDecoder());
+
+        Map<String, String> payload = new HashMap<>();
+        for (int i = 0; i < payloadSize; i++) {
+            payload.put("varPool-" + i, "{\"prop\":\"prop-" + i + "\",\"direct\":\"IN\",\"type\":\"VARCHAR\"}");
+        }
+        transporter = Transporter.of(
+                TransporterHeader.of("dispatch"),
+                StandardRpcRequest.of(new Object[]{payload}, serializerType.getSerializer()),
+                serializerType);
+        frame = encode();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void encodeTest(Blackhole bh) {
+        ByteBuf encoded = encode();
+        bh.consume(encoded.readableBytes());
+        encoded.release();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void decodeTest(Blackhole bh) {
+        decoderChannel.writeInbound(frame.retainedDuplicate());
+        Transporter decoded = decoderChannel.readInbound();
+        try {
+            bh.consume(decoded.getSerializerType()
+                    .getSerializer()
+                    .deserialize(decoded.getBody(), StandardRpcRequest.class));
+        } finally {
+            decoded.release();
+        }
+    }
+
+    @TearDown
+    public void after() {
+        frame.release();
+        encoderChannel.finishAndReleaseAll();
+        decoderChannel.finishAndReleaseAll();
+    }
+
+    @Override
+    protected Collection<Class<? extends Profiler>> getProfilers() {
+        return Collections.singletonList(GCProfiler.class);
+    }
+
+    private ByteBuf encode() {
+        encoderChannel.writeOutbound(transporter);
+        return encoderChannel.readOutbound();
+    }
+
+}
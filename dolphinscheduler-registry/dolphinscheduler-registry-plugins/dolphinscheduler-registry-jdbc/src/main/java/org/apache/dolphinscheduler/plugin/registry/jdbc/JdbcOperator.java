@@ -17,14 +17,18 @@
 
 package org.apache.dolphinscheduler.plugin.registry.jdbc;
 
+import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryDataChangeEventMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryDataMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryLockMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.DataType;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryData;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryDataChangeEvent;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryLock;
+import org.apache.dolphinscheduler.registry.api.Event;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.session.SqlSessionFactory;
 
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
@@ -34,7 +38,9 @@ import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Component
 @ConditionalOnProperty(prefix = "registry", name = "type", havingValue = "jdbc")
@@ -44,11 +50,20 @@ public class JdbcOperator {
     private JdbcRegistryDataMapper jdbcRegistryDataMapper;
     @Autowired
     private JdbcRegistryLockMapper jdbcRegistryLockMapper;
+    @Autowired
+    private JdbcRegistryDataChangeEventMapper jdbcRegistryDataChangeEventMapper;
     private final long expireTimeWindow;
+    /**
+     * Used to write the data change and its data change event in one transaction, otherwise a failure between them
+     * will lose the event and the subscribers can only find the change at the next full sync.
+     */
+    private final TransactionTemplate transactionTemplate;
 
-    public JdbcOperator(JdbcRegistryProperties registryProperties) {
+    public JdbcOperator(JdbcRegistryProperties registryProperties, SqlSessionFactory sqlSessionFactory) {
         this.expireTimeWindow =
                 registryProperties.getTermExpireTimes() * registryProperties.getTermRefreshInterval().toMillis();
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(
+                sqlSessionFactory.getConfiguration().getEnvironment().getDataSource()));
     }
 
     public void healthCheck() {
@@ -59,50 +74,91 @@ public class JdbcOperator {
         return jdbcRegistryDataMapper.selectAll();
     }
 
+    /**
+     * Query the data change events whose revision is greater than the given revision, ordered by revision.
+     */
+    public List<JdbcRegistryDataChangeEvent> queryJdbcRegistryDataChangeEvents(long revision, int limit) {
+        return jdbcRegistryDataChangeEventMapper.selectByRevision(revision, limit);
+    }
+
+    /**
+     * Get the latest revision of the registry data, return 0 if there is no data change event.
+     */
+    public long getMaxRevision() {
+        Long maxRevision = jdbcRegistryDataChangeEventMapper.selectMaxRevision();
+        return maxRevision == null ? 0 : maxRevision;
+    }
+
     public Long insertOrUpdateEphemeralData(String key, String value) throws SQLException {
-        JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMapper.selectByKey(key);
-        if (jdbcRegistryData != null) {
-            long id = jdbcRegistryData.getId();
+        return insertOrUpdateData(key, value, DataType.EPHEMERAL);
+    }
+
+    /**
+     * Update the value of the ephemeral data by the id got from {@link #insertOrUpdateEphemeralData(String, String)},
+     * this can save a query by key for the frequently updated data, e.g. heartbeat.
+     *
+     * @return false if the data is not exist, e.g. it's expired and cleared
+     */
+    public boolean updateEphemeralDataById(long id, String key, String value) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
             if (jdbcRegistryDataMapper.updateDataAndTermById(id, value, System.currentTimeMillis()) <= 0) {
-                throw new SQLException(String.format("update registry value failed, key: %s, value: %s", key, value));
+                return false;
             }
-            return id;
-        }
-        jdbcRegistryData = JdbcRegistryData.builder()
-                .dataKey(key)
-                .dataValue(value)
-                .dataType(DataType.EPHEMERAL.getTypeValue())
-                .lastTerm(System.currentTimeMillis())
-                .build();
-        jdbcRegistryDataMapper.insert(jdbcRegistryData);
-        return jdbcRegistryData.getId();
+            insertDataChangeEvent(Event.Type.UPDATE, key, value);
+            return true;
+        }));
     }
 
     public long insertOrUpdatePersistentData(String key, String value) throws SQLException {
-        JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMapper.selectByKey(key);
-        if (jdbcRegistryData != null) {
-            long id = jdbcRegistryData.getId();
-            if (jdbcRegistryDataMapper.updateDataAndTermById(id, value, System.currentTimeMillis()) <= 0) {
-                throw new SQLException(String.format("update registry value failed, key: %s, value: %s", key, value));
+        return insertOrUpdateData(key, value, DataType.PERSISTENT);
+    }
+
+    private Long insertOrUpdateData(String key, String value, DataType dataType) throws SQLException {
+        Long id = transactionTemplate.execute(status -> {
+            JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMapper.selectByKey(key);
+            if (jdbcRegistryData != null) {
+                if (jdbcRegistryDataMapper.updateDataAndTermById(jdbcRegistryData.getId(), value,
+                        System.currentTimeMillis()) <= 0) {
+                    return null;
+                }
+                insertDataChangeEvent(Event.Type.UPDATE, key, value);
+                return jdbcRegistryData.getId();
             }
-            return id;
+            jdbcRegistryData = JdbcRegistryData.builder()
+                    .dataKey(key)
+                    .dataValue(value)
+                    .dataType(dataType.getTypeValue())
+                    .lastTerm(System.currentTimeMillis())
+                    .build();
+            jdbcRegistryDataMapper.insert(jdbcRegistryData);
+            insertDataChangeEvent(Event.Type.ADD, key, value);
+            return jdbcRegistryData.getId();
+        });
+        if (id == null) {
+            throw new SQLException(String.format("update registry value failed, key: %s, value: %s", key, value));
         }
-        jdbcRegistryData = JdbcRegistryData.builder()
-                .dataKey(key)
-                .dataValue(value)
-                .dataType(DataType.PERSISTENT.getTypeValue())
-                .lastTerm(System.currentTimeMillis())
-                .build();
-        jdbcRegistryDataMapper.insert(jdbcRegistryData);
-        return jdbcRegistryData.getId();
+        return id;
     }
 
     public void deleteDataByKey(String key) {
-        jdbcRegistryDataMapper.deleteByKey(key);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (jdbcRegistryDataMapper.deleteByKey(key) > 0) {
+                insertDataChangeEvent(Event.Type.REMOVE, key, null);
+            }
+        });
     }
 
     public void deleteDataById(long id) {
-        jdbcRegistryDataMapper.deleteById(id);
+        JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMapper.selectById(id);
+        if (jdbcRegistryData == null) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (jdbcRegistryDataMapper.deleteById(id) > 0) {
+                insertDataChangeEvent(Event.Type.REMOVE, jdbcRegistryData.getDataKey(),
+                        jdbcRegistryData.getDataValue());
+            }
+        });
     }
 
     public void clearExpireLock() {
@@ -110,8 +166,32 @@ public class JdbcOperator {
     }
 
     public void clearExpireEphemeralDate() {
-        jdbcRegistryDataMapper.clearExpireEphemeralDate(System.currentTimeMillis() - expireTimeWindow,
-                DataType.EPHEMERAL.getTypeValue());
+        long expireTerm = System.currentTimeMillis() - expireTimeWindow;
+        List<JdbcRegistryData> expireDataList =
+                jdbcRegistryDataMapper.selectExpireEphemeralDate(expireTerm, DataType.EPHEMERAL.getTypeValue());
+        for (JdbcRegistryData expireData : expireDataList) {
+            // Only the server which deleted the data writes the event, since all the servers clear the expired data
+            transactionTemplate.executeWithoutResult(status -> {
+                if (jdbcRegistryDataMapper.deleteExpireEphemeralDateById(expireData.getId(), expireTerm) > 0) {
+                    insertDataChangeEvent(Event.Type.REMOVE, expireData.getDataKey(), expireData.getDataValue());
+                }
+            });
+        }
+    }
+
+    public void clearExpireDataChangeEvent() {
+        jdbcRegistryDataChangeEventMapper.clearExpireEvent(
+                System.currentTimeMillis() - JdbcRegistryConstant.DATA_CHANGE_EVENT_RETENTION_MILLIS);
+    }
+
+    private void insertDataChangeEvent(Event.Type eventType, String key, String value) {
+        JdbcRegistryDataChangeEvent jdbcRegistryDataChangeEvent = JdbcRegistryDataChangeEvent.builder()
+                .eventType(eventType.name())
+                .dataKey(key)
+                .dataValue(value)
+                .eventTime(System.currentTimeMillis())
+                .build();
+        jdbcRegistryDataChangeEventMapper.insert(jdbcRegistryDataChangeEvent);
     }
 
     public JdbcRegistryData getData(String key) throws SQLException {
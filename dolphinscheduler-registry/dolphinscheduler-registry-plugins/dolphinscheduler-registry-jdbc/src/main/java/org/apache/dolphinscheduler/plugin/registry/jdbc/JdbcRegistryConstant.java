@@ -27,5 +27,10 @@ public final class JdbcRegistryConstant {
 
     public static final long LOCK_ACQUIRE_INTERVAL = 1_000;
 
+    /**
+     * The data change events older than this will be cleared, the subscriber which falls behind will do a full sync.
+     */
+    public static final long DATA_CHANGE_EVENT_RETENTION_MILLIS = 10 * 60 * 1_000;
+
     public static final String LOCK_OWNER = NetUtils.getHost() + "_" + OSUtils.getProcessID();
 }
@@ -42,6 +42,11 @@ public class JdbcRegistryProperties {
      * e.g. if you set 2, and latest two refresh error, then the ephemeral data/lock will be expire.
      */
     private int termExpireTimes = 3;
+    /**
+     * The subscriber only queries the data change events in each refresh, and queries the full data in this interval
+     * to fix the missed events.
+     */
+    private Duration subscribeFullSyncInterval = Duration.ofMinutes(1);
     private HikariConfig hikariConfig;
 
 }
@@ -44,10 +44,13 @@ public interface JdbcRegistryDataMapper extends BaseMapper<JdbcRegistryData> {
     int updateDataAndTermById(@Param("id") long id, @Param("data") String data, @Param("term") long term);
 
     @Delete("delete from t_ds_jdbc_registry_data where data_key = #{key}")
-    void deleteByKey(@Param("key") String key);
+    int deleteByKey(@Param("key") String key);
 
-    @Delete("delete from t_ds_jdbc_registry_data where last_term < #{term} and data_type = #{type}")
-    void clearExpireEphemeralDate(@Param("term") long term, @Param("type") int type);
+    @Select("select * from t_ds_jdbc_registry_data where last_term < #{term} and data_type = #{type}")
+    List<JdbcRegistryData> selectExpireEphemeralDate(@Param("term") long term, @Param("type") int type);
+
+    @Delete("delete from t_ds_jdbc_registry_data where id = #{id} and last_term < #{term}")
+    int deleteExpireEphemeralDateById(@Param("id") long id, @Param("term") long term);
 
     @Update({"<script>",
             "update t_ds_jdbc_registry_data",
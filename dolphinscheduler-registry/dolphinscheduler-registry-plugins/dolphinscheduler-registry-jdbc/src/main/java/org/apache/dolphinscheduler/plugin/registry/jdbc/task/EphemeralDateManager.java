@@ -26,10 +26,11 @@ import org.apache.dolphinscheduler.registry.api.ConnectionState;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -48,7 +49,10 @@ public class EphemeralDateManager implements AutoCloseable {
     private final JdbcOperator jdbcOperator;
     private final JdbcRegistryProperties registryProperties;
     private final List<ConnectionListener> connectionListeners = Collections.synchronizedList(new ArrayList<>());
-    private final Set<Long> ephemeralDateIds = Collections.synchronizedSet(new HashSet<>());
+    /**
+     * The ephemeral data key -> id, the data is updated by id and the terms of all ids are refreshed by one update.
+     */
+    private final Map<String, Long> ephemeralDateIds = new ConcurrentHashMap<>();
     private final ScheduledExecutorService scheduledExecutorService;
 
     public EphemeralDateManager(JdbcRegistryProperties registryProperties, JdbcOperator jdbcOperator) {
@@ -61,7 +65,7 @@ public class EphemeralDateManager implements AutoCloseable {
 
     public void start() {
         this.scheduledExecutorService.scheduleWithFixedDelay(
-                new EphemeralDateTermRefreshTask(jdbcOperator, connectionListeners, ephemeralDateIds),
+                new EphemeralDateTermRefreshTask(jdbcOperator, connectionListeners, ephemeralDateIds.values()),
                 registryProperties.getTermRefreshInterval().toMillis(),
                 registryProperties.getTermRefreshInterval().toMillis(),
                 TimeUnit.MILLISECONDS);
@@ -72,8 +76,12 @@ public class EphemeralDateManager implements AutoCloseable {
     }
 
     public long insertOrUpdateEphemeralData(String key, String value) throws SQLException {
-        long ephemeralId = jdbcOperator.insertOrUpdateEphemeralData(key, value);
-        ephemeralDateIds.add(ephemeralId);
+        Long ephemeralId = ephemeralDateIds.get(key);
+        if (ephemeralId != null && jdbcOperator.updateEphemeralDataById(ephemeralId, key, value)) {
+            return ephemeralId;
+        }
+        ephemeralId = jdbcOperator.insertOrUpdateEphemeralData(key, value);
+        ephemeralDateIds.put(key, ephemeralId);
         return ephemeralId;
     }
 
@@ -83,7 +91,7 @@ public class EphemeralDateManager implements AutoCloseable {
 
     @Override
     public void close() throws SQLException {
-        for (Long ephemeralDateId : ephemeralDateIds) {
+        for (Long ephemeralDateId : ephemeralDateIds.values()) {
             jdbcOperator.deleteDataById(ephemeralDateId);
         }
         ephemeralDateIds.clear();
@@ -95,12 +103,12 @@ public class EphemeralDateManager implements AutoCloseable {
     class EphemeralDateTermRefreshTask implements Runnable {
 
         private final List<ConnectionListener> connectionListeners;
-        private final Set<Long> ephemeralDateIds;
+        private final Collection<Long> ephemeralDateIds;
         private final JdbcOperator jdbcOperator;
 
         private EphemeralDateTermRefreshTask(JdbcOperator jdbcOperator,
                                              List<ConnectionListener> connectionListeners,
-                                             Set<Long> ephemeralDateIds) {
+                                             Collection<Long> ephemeralDateIds) {
             this.jdbcOperator = checkNotNull(jdbcOperator);
             this.connectionListeners = checkNotNull(connectionListeners);
             this.ephemeralDateIds = checkNotNull(ephemeralDateIds);
@@ -144,6 +152,7 @@ public class EphemeralDateManager implements AutoCloseable {
                     updateEphemeralDateTerm();
                 }
                 jdbcOperator.clearExpireEphemeralDate();
+                jdbcOperator.clearExpireDataChangeEvent();
                 return ConnectionState.CONNECTED;
             } catch (Exception ex) {
                 log.error("Get connection state error, meet an unknown exception", ex);
@@ -152,7 +161,8 @@ public class EphemeralDateManager implements AutoCloseable {
         }
 
         private void updateEphemeralDateTerm() throws SQLException {
-            if (!jdbcOperator.updateEphemeralDataTerm(ephemeralDateIds)) {
+            // Refresh the terms of all the ephemeral data in one update
+            if (!jdbcOperator.updateEphemeralDataTerm(new ArrayList<>(ephemeralDateIds))) {
                 log.warn("Update jdbc registry ephemeral data: {} term error", ephemeralDateIds);
             }
         }
@@ -20,12 +20,14 @@ package org.apache.dolphinscheduler.plugin.registry.jdbc.task;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcOperator;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryProperties;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryData;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryDataChangeEvent;
 import org.apache.dolphinscheduler.registry.api.Event;
 import org.apache.dolphinscheduler.registry.api.SubscribeListener;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -33,20 +35,24 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Used to refresh if the subscribe path has been changed.
+ * <p> Each round only queries the data change events after the last consumed revision, the full data is queried at
+ * start and every {@link JdbcRegistryProperties#getSubscribeFullSyncInterval()} as a safety net, e.g. the events are
+ * cleared before consumed.
+ * <p> The revisions are auto increment ids, concurrent writers may commit them out of order, so a revision skipped
+ * by a greater one is kept as a gap and re-queried until it shows up or times out.
  */
 @Slf4j
 public class SubscribeDataManager implements AutoCloseable {
 
     private final JdbcOperator jdbcOperator;
     private final JdbcRegistryProperties registryProperties;
-    private final Map<String, List<SubscribeListener>> dataSubScribeMap = new ConcurrentHashMap<>();
+    private final SubscribeListenerTrie subscribeListenerTrie = new SubscribeListenerTrie();
     private final ScheduledExecutorService dataSubscribeCheckThreadPool;
     private final Map<String, JdbcRegistryData> jdbcRegistryDataMap = new ConcurrentHashMap<>();
 
@@ -61,18 +67,19 @@ public class SubscribeDataManager implements AutoCloseable {
 
     public void start() {
         dataSubscribeCheckThreadPool.scheduleWithFixedDelay(
-                new RegistrySubscribeDataCheckTask(dataSubScribeMap, jdbcOperator, jdbcRegistryDataMap),
+                new RegistrySubscribeDataCheckTask(subscribeListenerTrie, jdbcOperator, jdbcRegistryDataMap,
+                        registryProperties.getSubscribeFullSyncInterval().toMillis()),
                 registryProperties.getTermRefreshInterval().toMillis(),
                 registryProperties.getTermRefreshInterval().toMillis(),
                 TimeUnit.MILLISECONDS);
     }
 
     public void addListener(String path, SubscribeListener subscribeListener) {
-        dataSubScribeMap.computeIfAbsent(path, k -> new ArrayList<>()).add(subscribeListener);
+        subscribeListenerTrie.addListener(path, subscribeListener);
     }
 
     public void removeListener(String path) {
-        dataSubScribeMap.remove(path);
+        subscribeListenerTrie.removeListener(path);
     }
 
     public String getData(String path) {
@@ -86,67 +93,193 @@ public class SubscribeDataManager implements AutoCloseable {
     @Override
     public void close() {
         dataSubscribeCheckThreadPool.shutdownNow();
-        dataSubScribeMap.clear();
+        subscribeListenerTrie.clear();
     }
 
-    @RequiredArgsConstructor
     static class RegistrySubscribeDataCheckTask implements Runnable {
 
-        private final Map<String, List<SubscribeListener>> dataSubScribeMap;
+        /**
+         * The max events queried in one query.
+         */
+        private static final int DATA_CHANGE_EVENT_BATCH_SIZE = 1000;
+
+        /**
+         * The max time to wait for the event of a skipped revision to be committed, the skipped revision may also be
+         * a rolled back one which will never show up.
+         */
+        private static final long REVISION_GAP_TIMEOUT_MILLIS = 30_000L;
+
+        /**
+         * If there are more skipped revisions than this, do a full sync rather than tracking them.
+         */
+        private static final int MAX_REVISION_GAP_SIZE = 1000;
+
+        private final SubscribeListenerTrie subscribeListenerTrie;
         private final JdbcOperator jdbcOperator;
         private final Map<String, JdbcRegistryData> jdbcRegistryDataMap;
+        private final long fullSyncIntervalMillis;
+
+        /**
+         * The events whose revision is not greater than it are all consumed or given up, the next round queries the
+         * events after it, -1 means the full sync has not been done.
+         */
+        private long revision = -1;
+        /**
+         * The max revision of the consumed data change events.
+         */
+        private long maxConsumedRevision = -1;
+        /**
+         * The skipped revisions which are less than {@link #maxConsumedRevision} -> the time they are found.
+         */
+        private final TreeMap<Long, Long> revisionGaps = new TreeMap<>();
+        private long lastFullSyncTime;
+
+        RegistrySubscribeDataCheckTask(SubscribeListenerTrie subscribeListenerTrie,
+                                       JdbcOperator jdbcOperator,
+                                       Map<String, JdbcRegistryData> jdbcRegistryDataMap,
+                                       long fullSyncIntervalMillis) {
+            this.subscribeListenerTrie = subscribeListenerTrie;
+            this.jdbcOperator = jdbcOperator;
+            this.jdbcRegistryDataMap = jdbcRegistryDataMap;
+            this.fullSyncIntervalMillis = fullSyncIntervalMillis;
+        }
 
         @Override
         public void run() {
-            // query the full data from database, and update the jdbcRegistryDataMap
             try {
-                Map<String, JdbcRegistryData> currentJdbcDataMap = jdbcOperator.queryAllJdbcRegistryData()
-                        .stream()
-                        .collect(Collectors.toMap(JdbcRegistryData::getDataKey, Function.identity()));
-                // find the different
-                List<JdbcRegistryData> addedData = new ArrayList<>();
-                List<JdbcRegistryData> deletedData = new ArrayList<>();
-                List<JdbcRegistryData> updatedData = new ArrayList<>();
-                for (Map.Entry<String, JdbcRegistryData> entry : currentJdbcDataMap.entrySet()) {
-                    JdbcRegistryData newData = entry.getValue();
-                    JdbcRegistryData oldData = jdbcRegistryDataMap.get(entry.getKey());
-                    if (oldData == null) {
-                        addedData.add(newData);
-                    } else {
-                        if (!entry.getValue().getLastUpdateTime().equals(oldData.getLastUpdateTime())) {
-                            updatedData.add(newData);
+                if (revision < 0 || System.currentTimeMillis() - lastFullSyncTime >= fullSyncIntervalMillis) {
+                    fullSync();
+                } else {
+                    incrementalSync();
+                }
+            } catch (Exception e) {
+                log.error("Query data from jdbc registry error", e);
+            }
+        }
+
+        /**
+         * Query the full data from database, and update the jdbcRegistryDataMap by the difference.
+         */
+        private void fullSync() {
+            // Get the revision before query the data, the events after it may be consumed again, which is harmless
+            long currentRevision = jdbcOperator.getMaxRevision();
+            // The events not committed yet before the data query are not included in the data, track them as gaps
+            List<JdbcRegistryDataChangeEvent> recentDataChangeEvents = jdbcOperator.queryJdbcRegistryDataChangeEvents(
+                    Math.max(currentRevision - MAX_REVISION_GAP_SIZE, 0), MAX_REVISION_GAP_SIZE);
+            Map<String, JdbcRegistryData> currentJdbcDataMap = jdbcOperator.queryAllJdbcRegistryData()
+                    .stream()
+                    .collect(Collectors.toMap(JdbcRegistryData::getDataKey, Function.identity()));
+            for (Map.Entry<String, JdbcRegistryData> entry : currentJdbcDataMap.entrySet()) {
+                JdbcRegistryData newData = entry.getValue();
+                JdbcRegistryData oldData = jdbcRegistryDataMap.put(entry.getKey(), newData);
+                if (oldData == null) {
+                    triggerListener(newData, Event.Type.ADD);
+                } else if (!Objects.equals(newData.getDataValue(), oldData.getDataValue())) {
+                    triggerListener(newData, Event.Type.UPDATE);
+                }
+            }
+            for (Map.Entry<String, JdbcRegistryData> entry : jdbcRegistryDataMap.entrySet()) {
+                if (!currentJdbcDataMap.containsKey(entry.getKey())
+                        && jdbcRegistryDataMap.remove(entry.getKey()) != null) {
+                    triggerListener(entry.getValue(), Event.Type.REMOVE);
+                }
+            }
+            revisionGaps.clear();
+            maxConsumedRevision = -1;
+            long now = System.currentTimeMillis();
+            for (JdbcRegistryDataChangeEvent dataChangeEvent : recentDataChangeEvents) {
+                if (dataChangeEvent.getId() > currentRevision) {
+                    break;
+                }
+                addRevisionGaps(dataChangeEvent.getId(), now);
+                maxConsumedRevision = dataChangeEvent.getId();
+            }
+            addRevisionGaps(currentRevision + 1, now);
+            maxConsumedRevision = currentRevision;
+            updateRevision(now);
+            lastFullSyncTime = now;
+        }
+
+        /**
+         * Query the data change events after the last consumed revision.
+         */
+        private void incrementalSync() {
+            long queryRevision = revision;
+            while (true) {
+                List<JdbcRegistryDataChangeEvent> dataChangeEvents =
+                        jdbcOperator.queryJdbcRegistryDataChangeEvents(queryRevision, DATA_CHANGE_EVENT_BATCH_SIZE);
+                long now = System.currentTimeMillis();
+                for (JdbcRegistryDataChangeEvent dataChangeEvent : dataChangeEvents) {
+                    long eventRevision = dataChangeEvent.getId();
+                    if (eventRevision <= maxConsumedRevision) {
+                        // Re-queried event, only the one filling a gap hasn't been consumed
+                        if (revisionGaps.remove(eventRevision) != null) {
+                            applyDataChangeEvent(dataChangeEvent);
                         }
+                        continue;
                     }
-                }
-                for (Map.Entry<String, JdbcRegistryData> entry : jdbcRegistryDataMap.entrySet()) {
-                    if (!currentJdbcDataMap.containsKey(entry.getKey())) {
-                        deletedData.add(entry.getValue());
+                    if (eventRevision - maxConsumedRevision - 1 + revisionGaps.size() > MAX_REVISION_GAP_SIZE) {
+                        log.warn("Too many revisions skipped before {}, will do full sync", eventRevision);
+                        fullSync();
+                        return;
                     }
+                    addRevisionGaps(eventRevision, now);
+                    applyDataChangeEvent(dataChangeEvent);
+                    maxConsumedRevision = eventRevision;
                 }
-                jdbcRegistryDataMap.clear();
-                jdbcRegistryDataMap.putAll(currentJdbcDataMap);
-                // trigger listener
-                for (Map.Entry<String, List<SubscribeListener>> entry : dataSubScribeMap.entrySet()) {
-                    String subscribeKey = entry.getKey();
-                    List<SubscribeListener> subscribeListeners = entry.getValue();
-                    triggerListener(addedData, subscribeKey, subscribeListeners, Event.Type.ADD);
-                    triggerListener(deletedData, subscribeKey, subscribeListeners, Event.Type.REMOVE);
-                    triggerListener(updatedData, subscribeKey, subscribeListeners, Event.Type.UPDATE);
+                if (dataChangeEvents.size() < DATA_CHANGE_EVENT_BATCH_SIZE) {
+                    updateRevision(now);
+                    return;
                 }
-            } catch (Exception e) {
-                log.error("Query data from jdbc registry error");
+                queryRevision = dataChangeEvents.get(dataChangeEvents.size() - 1).getId();
             }
         }
 
-        private void triggerListener(List<JdbcRegistryData> dataList,
-                                     String subscribeKey,
-                                     List<SubscribeListener> subscribeListeners,
-                                     Event.Type type) {
-            for (JdbcRegistryData data : dataList) {
-                if (data.getDataKey().startsWith(subscribeKey)) {
-                    subscribeListeners.forEach(subscribeListener -> subscribeListener
-                            .notify(new Event(data.getDataKey(), data.getDataKey(), data.getDataValue(), type)));
+        /**
+         * Track the revisions between {@link #maxConsumedRevision} and the given revision as gaps.
+         */
+        private void addRevisionGaps(long eventRevision, long now) {
+            if (maxConsumedRevision < 0) {
+                return;
+            }
+            for (long gap = maxConsumedRevision + 1; gap < eventRevision; gap++) {
+                revisionGaps.put(gap, now);
+            }
+        }
+
+        /**
+         * Give up the timeout gaps and move the revision to the one before the first gap.
+         */
+        private void updateRevision(long now) {
+            revisionGaps.values().removeIf(foundTime -> now - foundTime >= REVISION_GAP_TIMEOUT_MILLIS);
+            revision = revisionGaps.isEmpty() ? maxConsumedRevision : revisionGaps.firstKey() - 1;
+        }
+
+        private void applyDataChangeEvent(JdbcRegistryDataChangeEvent dataChangeEvent) {
+            String dataKey = dataChangeEvent.getDataKey();
+            if (Event.Type.REMOVE.name().equals(dataChangeEvent.getEventType())) {
+                JdbcRegistryData oldData = jdbcRegistryDataMap.remove(dataKey);
+                if (oldData != null) {
+                    triggerListener(oldData, Event.Type.REMOVE);
                 }
+                return;
+            }
+            JdbcRegistryData newData = JdbcRegistryData.builder()
+                    .dataKey(dataKey)
+                    .dataValue(dataChangeEvent.getDataValue())
+                    .build();
+            JdbcRegistryData oldData = jdbcRegistryDataMap.put(dataKey, newData);
+            if (oldData == null) {
+                triggerListener(newData, Event.Type.ADD);
+            } else if (!Objects.equals(newData.getDataValue(), oldData.getDataValue())) {
+                triggerListener(newData, Event.Type.UPDATE);
+            }
+        }
+
+        private void triggerListener(JdbcRegistryData data, Event.Type type) {
+            for (SubscribeListener subscribeListener : subscribeListenerTrie.getListeners(data.getDataKey())) {
+                subscribeListener
+                        .notify(new Event(data.getDataKey(), data.getDataKey(), data.getDataValue(), type));
             }
         }
 
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.registry.jdbc.task;
+
+import org.apache.dolphinscheduler.registry.api.SubscribeListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The subscribed paths organized as a character trie, so the listeners whose path is a prefix of the changed key can
+ * be found in O(key length) rather than matching the key with every subscribed path.
+ */
+class SubscribeListenerTrie {
+
+    private final Node root = new Node();
+
+    synchronized void addListener(String path, SubscribeListener subscribeListener) {
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.children.computeIfAbsent(path.charAt(i), c -> new Node());
+        }
+        node.listeners.add(subscribeListener);
+    }
+
+    synchronized void removeListener(String path) {
+        Node node = root;
+        for (int i = 0; i < path.length() && node != null; i++) {
+            node = node.children.get(path.charAt(i));
+        }
+        if (node != null) {
+            node.listeners.clear();
+        }
+    }
+
+    /**
+     * Get the listeners whose subscribed path is the prefix of the given key.
+     */
+    synchronized List<SubscribeListener> getListeners(String key) {
+        List<SubscribeListener> subscribeListeners = null;
+        Node node = root;
+        for (int i = 0; i <= key.length() && node != null; i++) {
+            if (!node.listeners.isEmpty()) {
+                if (subscribeListeners == null) {
+                    subscribeListeners = new ArrayList<>();
+                }
+                subscribeListeners.addAll(node.listeners);
+            }
+            node = i < key.length() ? node.children.get(key.charAt(i)) : null;
+        }
+        return subscribeListeners == null ? Collections.emptyList() : subscribeListeners;
+    }
+
+    synchronized void clear() {
+        root.children.clear();
+        root.listeners.clear();
+    }
+
+    private static class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+
+        private final List<SubscribeListener> listeners = new ArrayList<>();
+    }
+}
@@ -32,6 +32,20 @@ CREATE TABLE `t_ds_jdbc_registry_data`
   DEFAULT CHARSET = utf8;
 
 
+DROP TABLE IF EXISTS `t_ds_jdbc_registry_data_change_event`;
+CREATE TABLE `t_ds_jdbc_registry_data_change_event`
+(
+    `id`               bigint(11) NOT NULL AUTO_INCREMENT COMMENT 'primary key, used as the revision of the registry data',
+    `event_type`       varchar(64)  NOT NULL COMMENT 'ADD, UPDATE, REMOVE',
+    `data_key`         varchar(256) NOT NULL COMMENT 'key, like zookeeper node path',
+    `data_value`       text COMMENT 'data, like zookeeper node value',
+    `event_time`       bigint       NOT NULL COMMENT 'event time, used to clear the expired events',
+    PRIMARY KEY (`id`),
+    KEY `idx_event_time` (`event_time`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8;
+
+
 DROP TABLE IF EXISTS `t_ds_jdbc_registry_lock`;
 CREATE TABLE `t_ds_jdbc_registry_lock`
 (
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.registry.jdbc.task;
+
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcOperator;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryData;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryDataChangeEvent;
+import org.apache.dolphinscheduler.registry.api.Event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class SubscribeDataManagerTest {
+
+    @Test
+    void testSubscribeListenerTrie() {
+        SubscribeListenerTrie subscribeListenerTrie = new SubscribeListenerTrie();
+        List<String> notifiedPaths = new ArrayList<>();
+        subscribeListenerTrie.addListener("/nodes", event -> notifiedPaths.add("/nodes"));
+        subscribeListenerTrie.addListener("/nodes/worker", event -> notifiedPaths.add("/nodes/worker"));
+        subscribeListenerTrie.addListener("/lock", event -> notifiedPaths.add("/lock"));
+
+        subscribeListenerTrie.getListeners("/nodes/worker/127.0.0.1:1234").forEach(listener -> listener.notify(null));
+        Assertions.assertEquals(Arrays.asList("/nodes", "/nodes/worker"), notifiedPaths);
+
+        notifiedPaths.clear();
+        subscribeListenerTrie.getListeners("/nodes/master/127.0.0.1:5678").forEach(listener -> listener.notify(null));
+        Assertions.assertEquals(Collections.singletonList("/nodes"), notifiedPaths);
+
+        subscribeListenerTrie.removeListener("/nodes");
+        Assertions.assertEquals(1, subscribeListenerTrie.getListeners("/nodes/worker").size());
+        Assertions.assertTrue(subscribeListenerTrie.getListeners("/node").isEmpty());
+    }
+
+    @Test
+    void testIncrementalSyncAfterFullSync() {
+        JdbcOperator jdbcOperator = Mockito.mock(JdbcOperator.class);
+        Mockito.when(jdbcOperator.getMaxRevision()).thenReturn(10L);
+        Mockito.when(jdbcOperator.queryAllJdbcRegistryData()).thenReturn(Collections.singletonList(
+                JdbcRegistryData.builder().dataKey("/nodes/worker/w1").dataValue("v1").build()));
+
+        SubscribeListenerTrie subscribeListenerTrie = new SubscribeListenerTrie();
+        List<Event> events = new ArrayList<>();
+        subscribeListenerTrie.addListener("/nodes/worker", events::add);
+        Map<String, JdbcRegistryData> jdbcRegistryDataMap = new ConcurrentHashMap<>();
+        SubscribeDataManager.RegistrySubscribeDataCheckTask registrySubscribeDataCheckTask =
+                new SubscribeDataManager.RegistrySubscribeDataCheckTask(subscribeListenerTrie, jdbcOperator,
+                        jdbcRegistryDataMap, Long.MAX_VALUE);
+
+        // the first round is full sync
+        registrySubscribeDataCheckTask.run();
+        Assertions.assertEquals(1, events.size());
+        Assertions.assertEquals(Event.Type.ADD, events.get(0).type());
+        Assertions.assertEquals("v1", jdbcRegistryDataMap.get("/nodes/worker/w1").getDataValue());
+
+        // the following rounds only query the events after the revision
+        Mockito.when(jdbcOperator.queryJdbcRegistryDataChangeEvents(Mockito.eq(10L), Mockito.anyInt()))
+                .thenReturn(Arrays.asList(
+                        changeEvent(11L, Event.Type.UPDATE, "/nodes/worker/w1", "v2"),
+                        changeEvent(12L, Event.Type.ADD, "/nodes/master/m1", "v1"),
+                        changeEvent(13L, Event.Type.REMOVE, "/nodes/worker/w1", null)));
+        registrySubscribeDataCheckTask.run();
+        Assertions.assertEquals(3, events.size());
+        Assertions.assertEquals(Event.Type.UPDATE, events.get(1).type());
+        Assertions.assertEquals("v2", events.get(1).data());
+        Assertions.assertEquals(Event.Type.REMOVE, events.get(2).type());
+        Assertions.assertEquals("v2", events.get(2).data());
+        Assertions.assertNull(jdbcRegistryDataMap.get("/nodes/worker/w1"));
+        Assertions.assertEquals("v1", jdbcRegistryDataMap.get("/nodes/master/m1").getDataValue());
+
+        registrySubscribeDataCheckTask.run();
+        Mockito.verify(jdbcOperator).queryJdbcRegistryDataChangeEvents(Mockito.eq(13L), Mockito.anyInt());
+        Mockito.verify(jdbcOperator, Mockito.times(1)).queryAllJdbcRegistryData();
+    }
+
+    @Test
+    void testIncrementalSyncWithRevisionCommittedOutOfOrder() {
+        JdbcOperator jdbcOperator = Mockito.mock(JdbcOperator.class);
+        Mockito.when(jdbcOperator.getMaxRevision()).thenReturn(10L);
+        Mockito.when(jdbcOperator.queryAllJdbcRegistryData()).thenReturn(Collections.emptyList());
+
+        SubscribeListenerTrie subscribeListenerTrie = new SubscribeListenerTrie();
+        List<Event> events = new ArrayList<>();
+        subscribeListenerTrie.addListener("/nodes", events::add);
+        Map<String, JdbcRegistryData> jdbcRegistryDataMap = new ConcurrentHashMap<>();
+        SubscribeDataManager.RegistrySubscribeDataCheckTask registrySubscribeDataCheckTask =
+                new SubscribeDataManager.RegistrySubscribeDataCheckTask(subscribeListenerTrie, jdbcOperator,
+                        jdbcRegistryDataMap, Long.MAX_VALUE);
+        registrySubscribeDataCheckTask.run();
+
+        // revision 11 is not committed when 12 is queried
+        Mockito.when(jdbcOperator.queryJdbcRegistryDataChangeEvents(Mockito.eq(10L), Mockito.anyInt()))
+                .thenReturn(Collections.singletonList(changeEvent(12L, Event.Type.ADD, "/nodes/master/m2", "v1")));
+        registrySubscribeDataCheckTask.run();
+        Assertions.assertEquals(1, events.size());
+        Assertions.assertEquals("/nodes/master/m2", events.get(0).key());
+
+        // the gap is queried again, and the consumed revision 12 is not applied twice
+        Mockito.when(jdbcOperator.queryJdbcRegistryDataChangeEvents(Mockito.eq(10L), Mockito.anyInt()))
+                .thenReturn(Arrays.asList(
+                        changeEvent(11L, Event.Type.ADD, "/nodes/master/m1", "v1"),
+                        changeEvent(12L, Event.Type.ADD, "/nodes/master/m2", "v1")));
+        registrySubscribeDataCheckTask.run();
+        Assertions.assertEquals(2, events.size());
+        Assertions.assertEquals("/nodes/master/m1", events.get(1).key());
+        Assertions.assertEquals("v1", jdbcRegistryDataMap.get("/nodes/master/m1").getDataValue());
+
+        // all the revisions are consumed, query after the max one
+        registrySubscribeDataCheckTask.run();
+        Mockito.verify(jdbcOperator).queryJdbcRegistryDataChangeEvents(Mockito.eq(12L), Mockito.anyInt());
+        Assertions.assertEquals(2, events.size());
+    }
+
+    @Test
+    void testFullSyncTrackUncommittedRevision() {
+        JdbcOperator jdbcOperator = Mockito.mock(JdbcOperator.class);
+        Mockito.when(jdbcOperator.getMaxRevision()).thenReturn(12L);
+        Mockito.when(jdbcOperator.queryAllJdbcRegistryData()).thenReturn(Collections.emptyList());
+        // revision 11 is not committed during the full sync
+        Mockito.when(jdbcOperator.queryJdbcRegistryDataChangeEvents(Mockito.eq(0L), Mockito.anyInt()))
+                .thenReturn(Arrays.asList(
+                        changeEvent(10L, Event.Type.ADD, "/nodes/master/m0", "v1"),
+                        changeEvent(12L, Event.Type.ADD, "/nodes/master/m2", "v1")));
+
+        SubscribeListenerTrie subscribeListenerTrie = new SubscribeListenerTrie();
+        List<Event> events = new ArrayList<>();
+        subscribeListenerTrie.addListener("/nodes", events::add);
+        SubscribeDataManager.RegistrySubscribeDataCheckTask registrySubscribeDataCheckTask =
+                new SubscribeDataManager.RegistrySubscribeDataCheckTask(subscribeListenerTrie, jdbcOperator,
+                        new ConcurrentHashMap<>(), Long.MAX_VALUE);
+        registrySubscribeDataCheckTask.run();
+
+        Mockito.when(jdbcOperator.queryJdbcRegistryDataChangeEvents(Mockito.eq(10L), Mockito.anyInt()))
+                .thenReturn(Arrays.asList(
+                        changeEvent(11L, Event.Type.ADD, "/nodes/master/m1", "v1"),
+                        changeEvent(12L, Event.Type.ADD, "/nodes/master/m2", "v1")));
+        registrySubscribeDataCheckTask.run();
+        Assertions.assertEquals(1, events.size());
+        Assertions.assertEquals("/nodes/master/m1", events.get(0).key());
+    }
+
+    private JdbcRegistryDataChangeEvent changeEvent(long revision, Event.Type type, String key, String value) {
+        return JdbcRegistryDataChangeEvent.builder()
+                .id(revision)
+                .eventType(type.name())
+                .dataKey(key)
+                .dataValue(value)
+                .eventTime(System.currentTimeMillis())
+                .build();
+    }
+}
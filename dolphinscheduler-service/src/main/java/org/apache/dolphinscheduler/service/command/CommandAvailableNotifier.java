@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.command;
+
+import org.apache.dolphinscheduler.common.model.Server;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.master.ICommandAvailableListener;
+import org.apache.dolphinscheduler.extract.master.transportor.CommandAvailableEvent;
+import org.apache.dolphinscheduler.registry.api.RegistryClient;
+import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Notify the masters that new commands are available, so that the owner master can fetch the command immediately
+ * rather than waiting for the next fetch interval.
+ * <p>
+ * The notification is best-effort: it is sent asynchronously after the transaction which inserts the command is
+ * committed, and the notifications which are not sent yet are coalesced into one event. If the notification is lost,
+ * the command will still be fetched by the master's polling.
+ */
+@Slf4j
+@Component
+public class CommandAvailableNotifier {
+
+    @Autowired
+    private RegistryClient registryClient;
+
+    private final Queue<Integer> pendingCommandIds = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean notifyScheduled = new AtomicBoolean(false);
+
+    private final ExecutorService notifyExecutor =
+            ThreadUtils.newDaemonFixedThreadExecutor("CommandAvailableNotifyThread", 1);
+
+    public void notifyCommandAvailable(int commandId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // the master cannot see the command until the transaction is committed
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    addPendingCommand(commandId);
+                }
+            });
+            return;
+        }
+        addPendingCommand(commandId);
+    }
+
+    private void addPendingCommand(int commandId) {
+        pendingCommandIds.add(commandId);
+        if (notifyScheduled.compareAndSet(false, true)) {
+            notifyExecutor.execute(this::notifyMasters);
+        }
+    }
+
+    private void notifyMasters() {
+        notifyScheduled.set(false);
+        List<Integer> commandIds = new ArrayList<>();
+        Integer commandId;
+        while ((commandId = pendingCommandIds.poll()) != null) {
+            commandIds.add(commandId);
+        }
+        if (commandIds.isEmpty()) {
+            return;
+        }
+        CommandAvailableEvent commandAvailableEvent = new CommandAvailableEvent(commandIds);
+        // the master slot is calculated by the master itself, so we notify all the masters and the master will skip
+        // the commands which are not belong to it
+        for (Server server : registryClient.getServerList(RegistryNodeType.MASTER)) {
+            String masterAddress = String.format("%s:%s", server.getHost(), server.getPort());
+            try {
+                SingletonJdkDynamicRpcClientProxyFactory
+                        .getProxyClient(masterAddress, ICommandAvailableListener.class)
+                        .onCommandAvailable(commandAvailableEvent);
+            } catch (Exception e) {
+                log.warn("Notify commands: {} available to master: {} failed, the master will fetch it by polling",
+                        commandIds, masterAddress, e);
+            }
+        }
+    }
+
+}
@@ -78,6 +78,9 @@ public class CommandServiceImpl implements CommandService {
     @Autowired
     private ProcessDefinitionMapper processDefineMapper;
 
+    @Autowired
+    private CommandAvailableNotifier commandAvailableNotifier;
+
     @Override
     public void moveToErrorCommand(Command command, String message) {
         ErrorCommand errorCommand = new ErrorCommand(command, message);
@@ -103,6 +106,9 @@ public class CommandServiceImpl implements CommandService {
         }
         command.setId(null);
         result = commandMapper.insert(command);
+        if (result > 0) {
+            commandAvailableNotifier.notifyCommandAvailable(command.getId());
+        }
         return result;
     }
 
@@ -189,11 +195,17 @@ public class CommandServiceImpl implements CommandService {
     }
 
     private int upsertCommand(@NotNull Command command) {
+        int result;
         if (command.getId() != null) {
-            return commandMapper.updateById(command);
+            result = commandMapper.updateById(command);
         } else {
-            return commandMapper.insert(command);
+            result = commandMapper.insert(command);
         }
+        if (result > 0) {
+            // the masters back off fetching when idle, so the waiting thread command should be signaled too
+            commandAvailableNotifier.notifyCommandAvailable(command.getId());
+        }
+        return result;
     }
 
     @Override
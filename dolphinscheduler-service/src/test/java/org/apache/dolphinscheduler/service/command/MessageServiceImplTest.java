@@ -70,6 +70,9 @@ class MessageServiceImplTest {
     @Mock
     private ScheduleMapper scheduleMapper;
 
+    @Mock
+    private CommandAvailableNotifier commandAvailableNotifier;
+
     @Test
     public void testCreateSubCommand() {
         ProcessInstance parentInstance = new ProcessInstance();
@@ -201,6 +204,23 @@ class MessageServiceImplTest {
         Mockito.verify(commandMapper, Mockito.times(0)).deleteById(anyString());
     }
 
+    @Test
+    public void testCreateRecoveryWaitingThreadCommandNotifyCommandAvailable() {
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setIsSubProcess(Flag.NO);
+        processInstance.setId(111);
+        ProcessDefinition processDefinition = new ProcessDefinition();
+        processDefinition.setCode(10L);
+        processInstance.setProcessDefinition(processDefinition);
+        processInstance.setWarningGroupId(1);
+        Mockito.when(commandMapper.insert(Mockito.any(Command.class))).thenAnswer(invocation -> {
+            invocation.<Command>getArgument(0).setId(2);
+            return 1;
+        });
+        commandService.createRecoveryWaitingThreadCommand(null, processInstance);
+        Mockito.verify(commandAvailableNotifier, Mockito.times(1)).notifyCommandAvailable(2);
+    }
+
     @Test
     public void testCreateCommand() {
         Command command = new Command();
@@ -208,10 +228,14 @@ class MessageServiceImplTest {
         command.setCommandParam("{\"ProcessInstanceId\":222}");
         command.setCommandType(CommandType.START_PROCESS);
         int mockResult = 1;
-        Mockito.when(commandMapper.insert(command)).thenReturn(mockResult);
+        Mockito.when(commandMapper.insert(command)).thenAnswer(invocation -> {
+            command.setId(1);
+            return mockResult;
+        });
         int exeMethodResult = commandService.createCommand(command);
         Assertions.assertEquals(mockResult, exeMethodResult);
         Mockito.verify(commandMapper, Mockito.times(1)).insert(command);
+        Mockito.verify(commandAvailableNotifier, Mockito.times(1)).notifyCommandAvailable(1);
     }
 
 }
@@ -64,17 +64,25 @@ public class CommandApplication {
 
         @Override
         public void run(String... args) throws Exception {
+            if (dbType != DbType.MYSQL && dbType != DbType.POSTGRE_SQL) {
+                log.error("Unsupported database type: {}", dbType);
+                return;
+            }
             if (databaseDialect.tableExists("t_ds_jdbc_registry_data")
                     || databaseDialect.tableExists("t_ds_jdbc_registry_lock")) {
                 log.warn("t_ds_jdbc_registry_data/t_ds_jdbc_registry_lock already exists");
-                return;
-            }
-            if (dbType == DbType.MYSQL) {
+            } else if (dbType == DbType.MYSQL) {
                 jdbcRegistrySchemaInitializeInMysql();
-            } else if (dbType == DbType.POSTGRE_SQL) {
+            } else {
                 jdbcRegistrySchemaInitializeInPG();
+            }
+            // The change event table is added later, create it separately for the upgraded cluster
+            if (databaseDialect.tableExists("t_ds_jdbc_registry_data_change_event")) {
+                log.warn("t_ds_jdbc_registry_data_change_event already exists");
+            } else if (dbType == DbType.MYSQL) {
+                jdbcRegistryDataChangeEventSchemaInitializeInMysql();
             } else {
-                log.error("Unsupported database type: {}", dbType);
+                jdbcRegistryDataChangeEventSchemaInitializeInPG();
             }
         }
 
@@ -116,6 +124,44 @@ public class CommandApplication {
             }
         }
 
+        private void jdbcRegistryDataChangeEventSchemaInitializeInMysql() throws SQLException {
+            try (
+                    Connection connection = dataSource.getConnection();
+                    Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE `t_ds_jdbc_registry_data_change_event`\n" +
+                        "(\n" +
+                        "    `id`               bigint(11) NOT NULL AUTO_INCREMENT COMMENT 'primary key, used as the revision of the registry data',\n"
+                        +
+                        "    `event_type`       varchar(64)  NOT NULL COMMENT 'ADD, UPDATE, REMOVE',\n" +
+                        "    `data_key`         varchar(256) NOT NULL COMMENT 'key, like zookeeper node path',\n" +
+                        "    `data_value`       text COMMENT 'data, like zookeeper node value',\n" +
+                        "    `event_time`       bigint       NOT NULL COMMENT 'event time, used to clear the expired events',\n"
+                        +
+                        "    PRIMARY KEY (`id`),\n" +
+                        "    KEY `idx_event_time` (`event_time`)\n" +
+                        ") ENGINE = InnoDB\n" +
+                        "  DEFAULT CHARSET = utf8;");
+            }
+        }
+
+        private void jdbcRegistryDataChangeEventSchemaInitializeInPG() throws SQLException {
+            try (
+                    Connection connection = dataSource.getConnection();
+                    Statement statement = connection.createStatement()) {
+                statement.execute("create table t_ds_jdbc_registry_data_change_event\n" +
+                        "(\n" +
+                        "    id               bigserial\n" +
+                        "        constraint t_ds_jdbc_registry_data_change_event_pk primary key,\n" +
+                        "    event_type       varchar                             not null,\n" +
+                        "    data_key         varchar                             not null,\n" +
+                        "    data_value       text,\n" +
+                        "    event_time       bigint                              not null\n" +
+                        ");");
+                statement.execute(
+                        "create index t_ds_jdbc_registry_data_change_event_time_index on t_ds_jdbc_registry_data_change_event (event_time);");
+            }
+        }
+
         private void jdbcRegistrySchemaInitializeInPG() throws SQLException {
             try (
                     Connection connection = dataSource.getConnection();
@@ -58,6 +58,15 @@ public class WorkerConfig implements Validator {
 
     private TenantConfig tenantConfig = new TenantConfig();
 
+    /**
+     * The task instance execution events sent to the same master are coalesced within this window.
+     */
+    private Duration eventBatchWindow = Duration.ofMillis(100);
+    /**
+     * The max event size of one batch, the batch will be sent immediately once it is full.
+     */
+    private int eventMaxBatchSize = 100;
+
     @Override
     public boolean supports(Class<?> clazz) {
         return WorkerConfig.class.isAssignableFrom(clazz);
@@ -72,6 +81,12 @@ public class WorkerConfig implements Validator {
         if (workerConfig.getMaxHeartbeatInterval().getSeconds() <= 0) {
             errors.rejectValue("max-heartbeat-interval", null, "shoule be a valid duration");
         }
+        if (workerConfig.getEventBatchWindow().toMillis() <= 0) {
+            errors.rejectValue("event-batch-window", null, "should be a valid duration");
+        }
+        if (workerConfig.getEventMaxBatchSize() <= 0) {
+            errors.rejectValue("event-max-batch-size", null, "should be a positive value");
+        }
         if (StringUtils.isEmpty(workerConfig.getWorkerAddress())) {
             workerConfig.setWorkerAddress(NetUtils.getAddr(workerConfig.getListenPort()));
         }
@@ -92,6 +107,8 @@ public class WorkerConfig implements Validator {
                         "\n  server-load-protection -> " + serverLoadProtection +
                         "\n  registry-disconnect-strategy -> " + registryDisconnectStrategy +
                         "\n  task-execute-threads-full-policy: " + taskExecuteThreadsFullPolicy +
+                        "\n  event-batch-window -> " + eventBatchWindow +
+                        "\n  event-max-batch-size -> " + eventMaxBatchSize +
                         "\n  address -> " + workerAddress +
                         "\n  registry-path: " + workerRegistryPath +
                         "\n****************************Worker Configuration**************************************";
@@ -17,131 +17,149 @@
 
 package org.apache.dolphinscheduler.server.worker.message;
 
-import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
 import org.apache.dolphinscheduler.extract.master.transportor.ITaskInstanceExecutionEvent;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.MapUtils;
-
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
-import lombok.Data;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
-import com.google.common.base.Objects;
+import com.google.common.annotations.VisibleForTesting;
 
+/**
+ * Resend the task instance execution events which are not acked by the master.
+ * <p> Each message is scheduled in a {@link DelayQueue} by its next retry time, the retry interval grows exponentially
+ * with jitter, so the retries of many messages will not be sent to the master at the same time. The expired messages
+ * are resent together by {@link TaskInstanceExecutionEventBatchSender}, so the messages sent to the same master are
+ * sent in batches.
+ * <p> Once the message is acked, its scheduled entry is removed from the queue, so the acked event is not kept alive
+ * until the entry expires. Each message only keeps its latest scheduled entry, the stale entries left in the queue after
+ * rescheduling are dropped once they expired.
+ */
 @Component
 @Slf4j
 public class MessageRetryRunner extends BaseDaemonThread {
 
-    protected MessageRetryRunner() {
-        super("WorkerMessageRetryRunnerThread");
-    }
+    /**
+     * The interval to resend the message if the master doesn't ack it.
+     */
+    private static final long ACK_TIMEOUT_RETRY_INTERVAL = Duration.ofMinutes(5).toMillis();
+
+    /**
+     * The initial interval to resend the message if it failed to be sent to the master.
+     */
+    private static final long SEND_FAILED_RETRY_INTERVAL = Duration.ofSeconds(1).toMillis();
 
-    private static final long MESSAGE_RETRY_WINDOW = Duration.ofMinutes(5L).toMillis();
+    private static final long MAX_RETRY_INTERVAL = Duration.ofMinutes(5).toMillis();
+
+    private static final double RETRY_INTERVAL_JITTER = 0.2;
 
-    @Lazy
     @Autowired
-    private List<TaskInstanceExecutionEventSender> messageSenders;
+    private TaskInstanceExecutionEventBatchSender taskInstanceExecutionEventBatchSender;
 
-    private final Map<ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType, TaskInstanceExecutionEventSender<ITaskInstanceExecutionEvent>> messageSenderMap =
-            new HashMap<>();
+    /**
+     * taskInstanceId -> eventType -> message
+     */
+    private final Map<Integer, Map<ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType, TaskInstanceMessage>> needToRetryMessages =
+            new ConcurrentHashMap<>();
 
-    private final Map<Integer, List<TaskInstanceMessage>> needToRetryMessages = new ConcurrentHashMap<>();
+    private final DelayQueue<RetryEntry> retryQueue = new DelayQueue<>();
+
+    protected MessageRetryRunner() {
+        super("WorkerMessageRetryRunnerThread");
+    }
 
     @Override
     public synchronized void start() {
         log.info("Message retry runner staring");
-        messageSenders.forEach(messageSender -> {
-            messageSenderMap.put(messageSender.getMessageType(), messageSender);
-            log.info("Injected message sender: {}", messageSender.getClass().getSimpleName());
-        });
         super.start();
         log.info("Message retry runner started");
     }
 
     public void addRetryMessage(int taskInstanceId, @NonNull ITaskInstanceExecutionEvent iTaskInstanceExecutionEvent) {
-        needToRetryMessages.computeIfAbsent(taskInstanceId, k -> Collections.synchronizedList(new ArrayList<>()))
-                .add(TaskInstanceMessage.of(taskInstanceId, iTaskInstanceExecutionEvent.getEventType(),
-                        iTaskInstanceExecutionEvent));
+        TaskInstanceMessage taskInstanceMessage = new TaskInstanceMessage(taskInstanceId, iTaskInstanceExecutionEvent);
+        needToRetryMessages.computeIfAbsent(taskInstanceId, k -> new ConcurrentHashMap<>())
+                .put(iTaskInstanceExecutionEvent.getEventType(), taskInstanceMessage);
+        scheduleRetry(taskInstanceMessage, retryInterval(ACK_TIMEOUT_RETRY_INTERVAL, 0));
     }
 
     public void removeRetryMessage(int taskInstanceId,
                                    @NonNull ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType eventType) {
-        List<TaskInstanceMessage> taskInstanceMessages = needToRetryMessages.get(taskInstanceId);
-        if (taskInstanceMessages != null) {
-            taskInstanceMessages.remove(TaskInstanceMessage.of(taskInstanceId, eventType, null));
+        Map<ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType, TaskInstanceMessage> taskInstanceMessages =
+                needToRetryMessages.get(taskInstanceId);
+        if (taskInstanceMessages == null) {
+            return;
+        }
+        TaskInstanceMessage taskInstanceMessage = taskInstanceMessages.remove(eventType);
+        if (taskInstanceMessage != null) {
+            cancelRetry(taskInstanceMessage);
+        }
+        if (taskInstanceMessages.isEmpty()) {
+            needToRetryMessages.remove(taskInstanceId, taskInstanceMessages);
         }
     }
 
     public void removeRetryMessages(int taskInstanceId) {
-        needToRetryMessages.remove(taskInstanceId);
+        Map<ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType, TaskInstanceMessage> taskInstanceMessages =
+                needToRetryMessages.remove(taskInstanceId);
+        if (taskInstanceMessages != null) {
+            taskInstanceMessages.values().forEach(this::cancelRetry);
+        }
     }
 
+    /**
+     * Update the master host of the messages, and resend them to the new master directly.
+     */
     public boolean updateMessageHost(int taskInstanceId, String messageReceiverHost) {
-        List<TaskInstanceMessage> taskInstanceMessages = this.needToRetryMessages.get(taskInstanceId);
-        if (CollectionUtils.isEmpty(taskInstanceMessages)) {
+        Map<ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType, TaskInstanceMessage> taskInstanceMessages =
+                needToRetryMessages.get(taskInstanceId);
+        if (taskInstanceMessages == null || taskInstanceMessages.isEmpty()) {
             return false;
         }
-        taskInstanceMessages.forEach(taskInstanceMessage -> {
+        taskInstanceMessages.values().forEach(taskInstanceMessage -> {
             taskInstanceMessage.getEvent().setWorkflowInstanceHost(messageReceiverHost);
+            scheduleRetry(taskInstanceMessage, 0L);
         });
         return true;
     }
 
+    /**
+     * Resend the events which failed to be sent after a short backoff, rather than waiting for the ack timeout.
+     */
+    public void onSendFailed(List<ITaskInstanceExecutionEvent> events) {
+        for (ITaskInstanceExecutionEvent event : events) {
+            TaskInstanceMessage taskInstanceMessage = getRetryMessage(event);
+            if (taskInstanceMessage != null) {
+                scheduleRetry(taskInstanceMessage,
+                        retryInterval(SEND_FAILED_RETRY_INTERVAL, taskInstanceMessage.getRetryTimes()));
+            }
+        }
+    }
+
+    @Override
     public void run() {
         while (!ServerLifeCycleManager.isStopped()) {
             try {
-                if (MapUtils.isEmpty(needToRetryMessages)) {
-                    Thread.sleep(MESSAGE_RETRY_WINDOW);
-                }
-
-                long now = System.currentTimeMillis();
-                Iterator<Map.Entry<Integer, List<TaskInstanceMessage>>> iterator =
-                        needToRetryMessages.entrySet().iterator();
-                while (iterator.hasNext()) {
-                    Map.Entry<Integer, List<TaskInstanceMessage>> taskEntry = iterator.next();
-                    Integer taskInstanceId = taskEntry.getKey();
-                    List<TaskInstanceMessage> taskInstanceMessages = taskEntry.getValue();
-                    if (taskInstanceMessages.isEmpty()) {
-                        iterator.remove();
-                        continue;
-                    }
-                    LogUtils.setTaskInstanceIdMDC(taskInstanceId);
-                    try {
-                        for (TaskInstanceMessage taskInstanceMessage : taskInstanceMessages) {
-                            ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType eventType =
-                                    taskInstanceMessage.getEventType();
-                            ITaskInstanceExecutionEvent event = taskInstanceMessage.getEvent();
-                            if (now - event.getEventSendTime() > MESSAGE_RETRY_WINDOW) {
-                                log.info("Begin retry send message to master, event: {}", event);
-                                event.setEventSendTime(now);
-                                messageSenderMap.get(eventType).sendEvent(event);
-                                log.info("Success send message to master, event: {}", event);
-                            }
-                        }
-                    } catch (Exception e) {
-                        log.warn("Retry send message to master error", e);
-                    } finally {
-                        LogUtils.removeTaskInstanceIdMDC();
-                    }
-                }
-                Thread.sleep(Constants.SLEEP_TIME_MILLIS);
+                List<RetryEntry> expiredEntries = new ArrayList<>();
+                expiredEntries.add(retryQueue.take());
+                retryQueue.drainTo(expiredEntries);
+                retryMessages(expiredEntries);
             } catch (InterruptedException instance) {
                 log.warn("The message retry thread is interrupted, will break this loop", instance);
                 Thread.currentThread().interrupt();
@@ -152,45 +170,140 @@ public class MessageRetryRunner extends BaseDaemonThread {
         }
     }
 
+    private void retryMessages(List<RetryEntry> expiredEntries) {
+        for (RetryEntry retryEntry : expiredEntries) {
+            TaskInstanceMessage taskInstanceMessage = retryEntry.getTaskInstanceMessage();
+            if (!isScheduled(retryEntry)) {
+                // The message is acked or rescheduled
+                continue;
+            }
+            ITaskInstanceExecutionEvent event = taskInstanceMessage.getEvent();
+            LogUtils.setTaskInstanceIdMDC(taskInstanceMessage.getTaskInstanceId());
+            try {
+                log.info("Begin retry send message to master, event: {}", event);
+                int retryTimes = taskInstanceMessage.incrementRetryTimes();
+                scheduleRetry(taskInstanceMessage, retryInterval(ACK_TIMEOUT_RETRY_INTERVAL, retryTimes));
+                taskInstanceExecutionEventBatchSender.sendEvent(event);
+            } catch (Exception e) {
+                log.warn("Retry send message to master error", e);
+            } finally {
+                LogUtils.removeTaskInstanceIdMDC();
+            }
+        }
+    }
+
+    private boolean isScheduled(RetryEntry retryEntry) {
+        TaskInstanceMessage taskInstanceMessage = retryEntry.getTaskInstanceMessage();
+        return taskInstanceMessage.getScheduledRetryEntry() == retryEntry
+                && getRetryMessage(taskInstanceMessage.getEvent()) == taskInstanceMessage;
+    }
+
+    private TaskInstanceMessage getRetryMessage(ITaskInstanceExecutionEvent event) {
+        Map<ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType, TaskInstanceMessage> taskInstanceMessages =
+                needToRetryMessages.get(event.getTaskInstanceId());
+        if (taskInstanceMessages == null) {
+            return null;
+        }
+        TaskInstanceMessage taskInstanceMessage = taskInstanceMessages.get(event.getEventType());
+        return taskInstanceMessage != null && taskInstanceMessage.getEvent() == event ? taskInstanceMessage : null;
+    }
+
+    private void scheduleRetry(TaskInstanceMessage taskInstanceMessage, long delayMillis) {
+        RetryEntry retryEntry = new RetryEntry(taskInstanceMessage, System.currentTimeMillis() + delayMillis);
+        taskInstanceMessage.setScheduledRetryEntry(retryEntry);
+        retryQueue.add(retryEntry);
+    }
+
+    private void cancelRetry(TaskInstanceMessage taskInstanceMessage) {
+        RetryEntry retryEntry = taskInstanceMessage.getScheduledRetryEntry();
+        taskInstanceMessage.setScheduledRetryEntry(null);
+        if (retryEntry != null) {
+            retryQueue.remove(retryEntry);
+        }
+    }
+
+    /**
+     * The retry interval is doubled after each retry, and is extended by a random {@link #RETRY_INTERVAL_JITTER}, so the
+     * message is never resent before the given interval.
+     */
+    @VisibleForTesting
+    static long retryInterval(long initialInterval, int retryTimes) {
+        long interval = MAX_RETRY_INTERVAL;
+        if (retryTimes < Long.numberOfLeadingZeros(initialInterval) - 1) {
+            interval = Math.min(initialInterval << retryTimes, MAX_RETRY_INTERVAL);
+        }
+        double jitter = ThreadLocalRandom.current().nextDouble(0, RETRY_INTERVAL_JITTER);
+        return (long) (interval * (1 + jitter));
+    }
+
+    @VisibleForTesting
+    int getRetryMessageSize() {
+        return needToRetryMessages.values().stream().mapToInt(Map::size).sum();
+    }
+
+    @VisibleForTesting
+    int getRetryQueueSize() {
+        return retryQueue.size();
+    }
+
     public void clearMessage() {
         needToRetryMessages.clear();
+        retryQueue.clear();
     }
 
     /**
-     * If two message has the same taskInstanceId and messageType they will be considered as the same message
+     * The message to be resent, each task instance has at most one message of each event type.
      */
-    @Data
+    @Getter
     public static class TaskInstanceMessage {
 
-        private long taskInstanceId;
-        private ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType eventType;
-        private ITaskInstanceExecutionEvent event;
+        private final int taskInstanceId;
+
+        private final ITaskInstanceExecutionEvent event;
+
+        private volatile int retryTimes;
+
+        @Getter(AccessLevel.NONE)
+        private volatile RetryEntry scheduledRetryEntry;
+
+        TaskInstanceMessage(int taskInstanceId, ITaskInstanceExecutionEvent event) {
+            this.taskInstanceId = taskInstanceId;
+            this.event = event;
+        }
+
+        synchronized int incrementRetryTimes() {
+            return ++retryTimes;
+        }
+
+        private RetryEntry getScheduledRetryEntry() {
+            return scheduledRetryEntry;
+        }
 
-        public static TaskInstanceMessage of(long taskInstanceId,
-                                             ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType eventType,
-                                             ITaskInstanceExecutionEvent event) {
-            TaskInstanceMessage taskInstanceMessage = new TaskInstanceMessage();
-            taskInstanceMessage.setTaskInstanceId(taskInstanceId);
-            taskInstanceMessage.setEventType(eventType);
-            taskInstanceMessage.setEvent(event);
-            return taskInstanceMessage;
+        private void setScheduledRetryEntry(RetryEntry scheduledRetryEntry) {
+            this.scheduledRetryEntry = scheduledRetryEntry;
+        }
+    }
+
+    @Getter
+    private static class RetryEntry implements Delayed {
+
+        private final TaskInstanceMessage taskInstanceMessage;
+
+        private final long retryTime;
+
+        RetryEntry(TaskInstanceMessage taskInstanceMessage, long retryTime) {
+            this.taskInstanceMessage = taskInstanceMessage;
+            this.retryTime = retryTime;
         }
 
         @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
-            }
-            TaskInstanceMessage that = (TaskInstanceMessage) o;
-            return taskInstanceId == that.taskInstanceId && eventType == that.eventType;
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(retryTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
         }
 
         @Override
-        public int hashCode() {
-            return Objects.hashCode(taskInstanceId, eventType);
+        public int compareTo(Delayed o) {
+            return Long.compare(retryTime, ((RetryEntry) o).retryTime);
         }
     }
 }
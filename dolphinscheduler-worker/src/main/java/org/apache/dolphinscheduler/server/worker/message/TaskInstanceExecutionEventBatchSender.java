@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.message;
+
+import org.apache.dolphinscheduler.extract.base.client.RpcBatchSender;
+import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.master.ITaskInstanceExecutionEventListener;
+import org.apache.dolphinscheduler.extract.master.transportor.ITaskInstanceExecutionEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionEventBatch;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.PostConstruct;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesce the task instance execution events sent to the same master, and send them by one
+ * {@link ITaskInstanceExecutionEventListener#onTaskInstanceExecutionEventBatch} call.
+ * <p> The events of one task instance are always sent to the same master in order, the failed events will be resent by
+ * {@link MessageRetryRunner}.
+ * <p> If the master doesn't support the batch method, e.g. it is not upgraded yet, the events are sent one by one by
+ * the {@link TaskInstanceExecutionEventSender} of the event type.
+ */
+@Slf4j
+@Component
+public class TaskInstanceExecutionEventBatchSender implements AutoCloseable {
+
+    @Autowired
+    private WorkerConfig workerConfig;
+
+    @Lazy
+    @Autowired
+    private MessageRetryRunner messageRetryRunner;
+
+    @Autowired
+    private List<TaskInstanceExecutionEventSender> messageSenders;
+
+    private final Map<ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType, TaskInstanceExecutionEventSender> messageSenderMap =
+            new HashMap<>();
+
+    private RpcBatchSender<ITaskInstanceExecutionEvent> rpcBatchSender;
+
+    @PostConstruct
+    public void init() {
+        messageSenders.forEach(messageSender -> messageSenderMap.put(messageSender.getMessageType(),
+                messageSender));
+        rpcBatchSender = new RpcBatchSender<>(
+                "TaskInstanceExecutionEventBatchSender",
+                workerConfig.getEventBatchWindow(),
+                workerConfig.getEventMaxBatchSize(),
+                this::sendBatch,
+                this::sendSingleEvent);
+    }
+
+    public void sendEvent(@NonNull ITaskInstanceExecutionEvent iTaskInstanceExecutionEvent) {
+        iTaskInstanceExecutionEvent.setEventSendTime(System.currentTimeMillis());
+        rpcBatchSender.add(iTaskInstanceExecutionEvent.getWorkflowInstanceHost(), iTaskInstanceExecutionEvent);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sendSingleEvent(String masterHost, ITaskInstanceExecutionEvent event) {
+        try {
+            messageSenderMap.get(event.getEventType()).sendEvent(event);
+        } catch (Exception ex) {
+            log.warn("Send event to master: {} failed, event: {}", masterHost, event, ex);
+            messageRetryRunner.onSendFailed(Collections.singletonList(event));
+        }
+    }
+
+    private CompletableFuture<Void> sendBatch(String masterHost, List<ITaskInstanceExecutionEvent> events) {
+        CompletableFuture<Void> future;
+        try {
+            ITaskInstanceExecutionEventListener iTaskInstanceExecutionEventListener =
+                    SingletonJdkDynamicRpcClientProxyFactory
+                            .getProxyClient(masterHost, ITaskInstanceExecutionEventListener.class);
+            future = iTaskInstanceExecutionEventListener
+                    .onTaskInstanceExecutionEventBatch(TaskInstanceExecutionEventBatch.of(events));
+        } catch (Exception ex) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+        }
+        return future.whenComplete((result, ex) -> {
+            if (ex != null) {
+                // Let the MessageRetryRunner resend these events as soon as possible
+                messageRetryRunner.onSendFailed(events);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        if (rpcBatchSender != null) {
+            rpcBatchSender.close();
+        }
+    }
+}
@@ -18,11 +18,14 @@
 package org.apache.dolphinscheduler.server.worker.rpc;
 
 import org.apache.dolphinscheduler.extract.worker.ITaskInstanceExecutionEventAckListener;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionEventAckBatch;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionFinishEventAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionInfoEventAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionRunningEventAck;
 import org.apache.dolphinscheduler.server.worker.runner.listener.TaskInstanceExecutionEventAckListenFunctionManager;
 
+import java.util.concurrent.CompletableFuture;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,4 +55,14 @@ public class TaskInstanceExecutionEventAckListenerImpl implements ITaskInstanceE
         taskInstanceExecutionEventAckListenFunctionManager.getTaskInstanceExecutionInfoEventAckListenFunction()
                 .handleTaskInstanceExecutionEventAck(taskInstanceExecutionInfoEventAck);
     }
+
+    @Override
+    public CompletableFuture<Void> handleTaskInstanceExecutionEventAckBatch(TaskInstanceExecutionEventAckBatch taskInstanceExecutionEventAckBatch) {
+        taskInstanceExecutionEventAckBatch.getRunningEventAcks()
+                .forEach(this::handleTaskInstanceExecutionRunningEventAck);
+        taskInstanceExecutionEventAckBatch.getFinishEventAcks()
+                .forEach(this::handleTaskInstanceExecutionFinishEventAck);
+        taskInstanceExecutionEventAckBatch.getInfoEventAcks().forEach(this::handleTaskInstanceExecutionInfoEventAck);
+        return CompletableFuture.completedFuture(null);
+    }
 }
@@ -20,6 +20,8 @@ package org.apache.dolphinscheduler.server.worker.rpc;
 import static org.apache.dolphinscheduler.common.constants.Constants.APPID_COLLECT;
 import static org.apache.dolphinscheduler.common.constants.Constants.DEFAULT_COLLECT_WAY;
 
+import org.apache.dolphinscheduler.common.log.LogLineIndex;
+import org.apache.dolphinscheduler.common.log.LogTail;
 import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
@@ -30,6 +32,8 @@ import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFil
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailResponse;
 import org.apache.dolphinscheduler.server.worker.runner.WorkerTaskExecutor;
 import org.apache.dolphinscheduler.server.worker.runner.WorkerTaskExecutorHolder;
 
@@ -62,6 +66,15 @@ public class WorkerLogServiceImpl implements ILogService {
         return new TaskInstanceLogPageQueryResponse(logContent);
     }
 
+    @Override
+    public TaskInstanceLogTailResponse tailTaskInstanceLog(TaskInstanceLogTailRequest taskInstanceLogTailRequest) {
+        LogTail logTail = LogUtils.tailFileContent(
+                taskInstanceLogTailRequest.getTaskInstanceLogAbsolutePath(),
+                taskInstanceLogTailRequest.getOffset(),
+                taskInstanceLogTailRequest.getMaxBytes());
+        return new TaskInstanceLogTailResponse(logTail.getContent(), logTail.getNextOffset());
+    }
+
     @Override
     public GetAppIdResponse getAppId(GetAppIdRequest getAppIdRequest) {
         String appInfoPath = null;
@@ -80,5 +93,6 @@ public class WorkerLogServiceImpl implements ILogService {
     @Override
     public void removeTaskInstanceLog(String taskInstanceLogAbsolutePath) {
         FileUtils.deleteFile(taskInstanceLogAbsolutePath);
+        LogLineIndex.remove(taskInstanceLogAbsolutePath);
     }
 }
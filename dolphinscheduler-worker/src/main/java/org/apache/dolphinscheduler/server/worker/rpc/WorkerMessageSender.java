@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.server.worker.rpc;
 import org.apache.dolphinscheduler.extract.master.transportor.ITaskInstanceExecutionEvent;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.worker.message.MessageRetryRunner;
+import org.apache.dolphinscheduler.server.worker.message.TaskInstanceExecutionEventBatchSender;
 import org.apache.dolphinscheduler.server.worker.message.TaskInstanceExecutionEventSender;
 
 import java.util.HashMap;
@@ -41,6 +42,9 @@ public class WorkerMessageSender {
     @Autowired
     private MessageRetryRunner messageRetryRunner;
 
+    @Autowired
+    private TaskInstanceExecutionEventBatchSender taskInstanceExecutionEventBatchSender;
+
     @Autowired
     private List<TaskInstanceExecutionEventSender> messageSenders;
 
@@ -63,7 +67,7 @@ public class WorkerMessageSender {
         ITaskInstanceExecutionEvent iTaskInstanceExecutionEvent = messageSender.buildEvent(taskExecutionContext);
         try {
             messageRetryRunner.addRetryMessage(taskExecutionContext.getTaskInstanceId(), iTaskInstanceExecutionEvent);
-            messageSender.sendEvent(iTaskInstanceExecutionEvent);
+            taskInstanceExecutionEventBatchSender.sendEvent(iTaskInstanceExecutionEvent);
         } catch (Exception e) {
             log.error("Send message error, eventType: {}, event: {}", eventType, iTaskInstanceExecutionEvent);
         }
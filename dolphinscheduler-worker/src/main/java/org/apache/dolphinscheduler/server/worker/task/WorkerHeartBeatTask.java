@@ -74,6 +74,7 @@ public class WorkerHeartBeatTask extends BaseHeartBeatTask<WorkerHeartBeat> {
                 .workerHostWeight(workerConfig.getHostWeight())
                 .threadPoolUsage(workerTaskExecutorThreadPool.getRunningTaskExecutorSize()
                         + workerTaskExecutorThreadPool.getWaitingTaskExecutorSize())
+                .workerExecThreads(workerConfig.getExecThreads())
                 .serverStatus(serverStatus)
                 .host(NetUtils.getHost())
                 .port(workerConfig.getListenPort())
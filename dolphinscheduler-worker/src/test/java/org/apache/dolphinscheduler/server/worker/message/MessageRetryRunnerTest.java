@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.message;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import org.apache.dolphinscheduler.extract.master.transportor.ITaskInstanceExecutionEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionFinishEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionRunningEvent;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.google.common.collect.Range;
+
+@ExtendWith(MockitoExtension.class)
+class MessageRetryRunnerTest {
+
+    @Mock
+    private TaskInstanceExecutionEventBatchSender taskInstanceExecutionEventBatchSender;
+
+    @InjectMocks
+    private MessageRetryRunner messageRetryRunner;
+
+    @BeforeEach
+    void setUp() {
+        messageRetryRunner.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        messageRetryRunner.interrupt();
+    }
+
+    @Test
+    void testRetryInterval() {
+        long initialInterval = Duration.ofSeconds(1).toMillis();
+        assertThat(MessageRetryRunner.retryInterval(initialInterval, 0)).isIn(
+                Range.closed(1000L, 1200L));
+        assertThat(MessageRetryRunner.retryInterval(initialInterval, 3)).isIn(
+                Range.closed(8000L, 9600L));
+        // The interval is capped and never overflows
+        long maxInterval = (long) (Duration.ofMinutes(5).toMillis() * 1.2);
+        assertThat(MessageRetryRunner.retryInterval(initialInterval, 20)).isAtMost(maxInterval);
+        assertThat(MessageRetryRunner.retryInterval(initialInterval, 100)).isAtMost(maxInterval);
+        assertThat(MessageRetryRunner.retryInterval(initialInterval, 100)).isGreaterThan(0L);
+    }
+
+    @Test
+    void testResendToNewMasterDirectly() {
+        TaskInstanceExecutionFinishEvent event = createFinishEvent(1, "master1:5678");
+        messageRetryRunner.addRetryMessage(1, event);
+
+        assertThat(messageRetryRunner.updateMessageHost(1, "master2:5678")).isTrue();
+        verify(taskInstanceExecutionEventBatchSender, timeout(5000)).sendEvent(event);
+        assertThat(event.getWorkflowInstanceHost()).isEqualTo("master2:5678");
+    }
+
+    @Test
+    void testResendAfterSendFailed() {
+        TaskInstanceExecutionFinishEvent event = createFinishEvent(1, "master1:5678");
+        messageRetryRunner.addRetryMessage(1, event);
+
+        messageRetryRunner.onSendFailed(Collections.singletonList(event));
+        verify(taskInstanceExecutionEventBatchSender, timeout(5000)).sendEvent(event);
+    }
+
+    @Test
+    void testRescheduledEntrySupersedesPreviousOne() {
+        TaskInstanceExecutionFinishEvent event = createFinishEvent(1, "master1:5678");
+        messageRetryRunner.addRetryMessage(1, event);
+
+        messageRetryRunner.onSendFailed(Collections.singletonList(event));
+        assertThat(messageRetryRunner.updateMessageHost(1, "master2:5678")).isTrue();
+        // The entry scheduled by the send failure is stale, the message is resent only once
+        verify(taskInstanceExecutionEventBatchSender, after(3000).times(1)).sendEvent(event);
+    }
+
+    @Test
+    void testAckedMessageIsNotResent() {
+        TaskInstanceExecutionFinishEvent event = createFinishEvent(1, "master1:5678");
+        messageRetryRunner.addRetryMessage(1, event);
+        assertThat(messageRetryRunner.getRetryMessageSize()).isEqualTo(1);
+
+        messageRetryRunner.removeRetryMessage(1, ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType.FINISH);
+        assertThat(messageRetryRunner.getRetryMessageSize()).isEqualTo(0);
+        assertThat(messageRetryRunner.updateMessageHost(1, "master2:5678")).isFalse();
+
+        messageRetryRunner.onSendFailed(Collections.singletonList(event));
+        verify(taskInstanceExecutionEventBatchSender, after(2000).never()).sendEvent(event);
+    }
+
+    @Test
+    void testAckedMessageIsRemovedFromRetryQueue() {
+        TaskInstanceExecutionFinishEvent finishEvent = createFinishEvent(1, "master1:5678");
+        TaskInstanceExecutionRunningEvent runningEvent = new TaskInstanceExecutionRunningEvent();
+        runningEvent.setTaskInstanceId(2);
+        messageRetryRunner.addRetryMessage(1, finishEvent);
+        messageRetryRunner.addRetryMessage(2, runningEvent);
+        assertThat(messageRetryRunner.getRetryQueueSize()).isEqualTo(2);
+
+        messageRetryRunner.removeRetryMessage(1, ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType.FINISH);
+        assertThat(messageRetryRunner.getRetryQueueSize()).isEqualTo(1);
+
+        messageRetryRunner.removeRetryMessages(2);
+        assertThat(messageRetryRunner.getRetryQueueSize()).isEqualTo(0);
+        assertThat(messageRetryRunner.getRetryMessageSize()).isEqualTo(0);
+    }
+
+    private TaskInstanceExecutionFinishEvent createFinishEvent(int taskInstanceId, String workflowInstanceHost) {
+        TaskInstanceExecutionFinishEvent event = new TaskInstanceExecutionFinishEvent();
+        event.setTaskInstanceId(taskInstanceId);
+        event.setWorkflowInstanceHost(workflowInstanceHost);
+        return event;
+    }
+}